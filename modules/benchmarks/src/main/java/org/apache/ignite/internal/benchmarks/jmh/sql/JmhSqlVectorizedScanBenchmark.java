@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.sql;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_VECTORIZED_SCAN_BATCH_SIZE;
+
+/**
+ * Compares row by row H2 evaluation of map queries with vectorized evaluation over batches of rows read directly
+ * from binary objects. Queries are filters and aggregates of a TPC-H like line item table without grouping.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 3)
+public class JmhSqlVectorizedScanBenchmark {
+    /** Number of rows. */
+    private static final int ROWS = 500_000;
+
+    /** Cache name. */
+    private static final String CACHE_NAME = "LINEITEM";
+
+    /** First ship date in days since epoch, 1992-01-02. */
+    private static final int MIN_SHIP_DATE = 8036;
+
+    /** Number of ship dates. */
+    private static final int SHIP_DATES = 2526;
+
+    /** Pricing summary, TPC-H Q1 without grouping. */
+    private static final String Q1 = "SELECT SUM(L_QUANTITY), SUM(L_EXTENDEDPRICE), AVG(L_DISCOUNT), " +
+        "AVG(L_QUANTITY), COUNT(*) FROM LINEITEM WHERE L_SHIPDATE <= ?";
+
+    /** Revenue forecast, TPC-H Q6 with the sum of prices instead of the sum of products. */
+    private static final String Q6 = "SELECT SUM(L_EXTENDEDPRICE), COUNT(*) FROM LINEITEM WHERE L_SHIPDATE >= ? " +
+        "AND L_SHIPDATE < ? AND L_DISCOUNT >= ? AND L_DISCOUNT <= ? AND L_QUANTITY < ?";
+
+    /** Filter by dictionary encoded strings. */
+    private static final String FLAGS = "SELECT MIN(L_EXTENDEDPRICE), MAX(L_EXTENDEDPRICE), COUNT(*) " +
+        "FROM LINEITEM WHERE L_RETURNFLAG = 'R' AND L_LINESTATUS = 'F'";
+
+    /** Number of rows of a batch of vectorized evaluation, {@code 0} for H2 evaluation. */
+    @Param({"0", "1024"})
+    private int batchSize;
+
+    /** Query. */
+    @Param({"Q1", "Q6", "FLAGS"})
+    private String qryName;
+
+    /** Node. */
+    private Ignite node;
+
+    /** Cache. */
+    private IgniteCache<?, ?> cache;
+
+    /** Query. */
+    private SqlFieldsQuery qry;
+
+    /**
+     * Starts a node and loads data.
+     */
+    @Setup
+    public void setup() {
+        System.setProperty(IGNITE_SQL_VECTORIZED_SCAN_BATCH_SIZE, String.valueOf(batchSize));
+
+        TcpDiscoverySpi discoSpi = new TcpDiscoverySpi();
+
+        discoSpi.setIpFinder(new TcpDiscoveryVmIpFinder(true));
+
+        node = Ignition.start(new IgniteConfiguration()
+            .setIgniteInstanceName("node0")
+            .setLocalHost("127.0.0.1")
+            .setDiscoverySpi(discoSpi));
+
+        node.getOrCreateCache("default").query(new SqlFieldsQuery("CREATE TABLE LINEITEM (ID INT PRIMARY KEY, " +
+            "L_QUANTITY INT, L_EXTENDEDPRICE DOUBLE, L_DISCOUNT DOUBLE, L_TAX DOUBLE, L_RETURNFLAG VARCHAR, " +
+            "L_LINESTATUS VARCHAR, L_SHIPDATE BIGINT) " +
+            "WITH \"CACHE_NAME=" + CACHE_NAME + ",VALUE_TYPE=LineItem\"")).getAll();
+
+        Random rnd = new Random(0);
+
+        try (IgniteDataStreamer<Integer, BinaryObject> ldr = node.dataStreamer(CACHE_NAME)) {
+            ldr.keepBinary(true);
+
+            for (int i = 0; i < ROWS; i++) {
+                int qty = 1 + rnd.nextInt(50);
+
+                ldr.addData(i, node.binary().builder("LineItem")
+                    .setField("L_QUANTITY", qty)
+                    .setField("L_EXTENDEDPRICE", qty * (900 + rnd.nextInt(110_000) / 100.0))
+                    .setField("L_DISCOUNT", rnd.nextInt(11) / 100.0)
+                    .setField("L_TAX", rnd.nextInt(9) / 100.0)
+                    .setField("L_RETURNFLAG", "RAN".substring(i % 3, i % 3 + 1))
+                    .setField("L_LINESTATUS", rnd.nextBoolean() ? "O" : "F")
+                    .setField("L_SHIPDATE", (long)(MIN_SHIP_DATE + rnd.nextInt(SHIP_DATES)))
+                    .build());
+            }
+        }
+
+        cache = node.cache(CACHE_NAME);
+
+        switch (qryName) {
+            case "Q1":
+                qry = new SqlFieldsQuery(Q1).setArgs(MIN_SHIP_DATE + SHIP_DATES - 90);
+
+                break;
+
+            case "Q6":
+                qry = new SqlFieldsQuery(Q6).setArgs(MIN_SHIP_DATE + 365, MIN_SHIP_DATE + 730, 0.05, 0.07, 24);
+
+                break;
+
+            case "FLAGS":
+                qry = new SqlFieldsQuery(FLAGS);
+
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown query: " + qryName);
+        }
+    }
+
+    /**
+     * Stops the node.
+     */
+    @TearDown
+    public void tearDown() {
+        Ignition.stopAll(true);
+
+        System.clearProperty(IGNITE_SQL_VECTORIZED_SCAN_BATCH_SIZE);
+    }
+
+    /**
+     * @return Query result.
+     */
+    @Benchmark
+    public List<List<?>> query() {
+        return cache.query(qry).getAll();
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        Options opts = new OptionsBuilder()
+            .include(JmhSqlVectorizedScanBenchmark.class.getSimpleName())
+            .jvmArgs("-Xms4g", "-Xmx4g")
+            .build();
+
+        new Runner(opts).run();
+    }
+}
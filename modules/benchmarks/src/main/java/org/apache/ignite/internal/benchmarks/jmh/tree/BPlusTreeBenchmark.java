@@ -44,6 +44,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseL
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.logger.java.JavaLogger;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -80,6 +81,10 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
     /** */
     private static final int KEYS = 1_000_000;
 
+    /** Search inner pages without read locks on lookups. */
+    @Param({"false", "true"})
+    private boolean optimisticReads;
+
     /** */
     private TestTree tree;
 
@@ -134,7 +139,7 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
     public void setup() throws Exception {
         pageMem = createPageMemory();
 
-        tree = new TestTree(new FakeReuseList(), CACHE_ID, pageMem, allocateMetaPage().pageId());
+        tree = new TestTree(new FakeReuseList(), CACHE_ID, pageMem, allocateMetaPage().pageId(), optimisticReads);
 
         for (long l = 0; l < KEYS; l++)
             tree.put(l);
@@ -176,14 +181,18 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
      * Test tree.
      */
     protected static class TestTree extends BPlusTree<Long, Long> {
+        /** */
+        private final boolean optimisticReads;
+
         /**
          * @param reuseList Reuse list.
          * @param cacheId Cache ID.
          * @param pageMem Page memory.
          * @param metaPageId Meta page ID.
+         * @param optimisticReads Search inner pages without read locks on lookups.
          * @throws IgniteCheckedException If failed.
          */
-        TestTree(ReuseList reuseList, int cacheId, PageMemory pageMem, long metaPageId)
+        TestTree(ReuseList reuseList, int cacheId, PageMemory pageMem, long metaPageId, boolean optimisticReads)
             throws IgniteCheckedException {
             super(
                 "test",
@@ -201,11 +210,18 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
                 mockPageLockTrackerManager()
             );
 
+            this.optimisticReads = optimisticReads;
+
             PageIO.registerTest(latestInnerIO(), latestLeafIO());
 
             initTree(true);
         }
 
+        /** {@inheritDoc} */
+        @Override protected boolean optimisticReads() {
+            return optimisticReads;
+        }
+
         /** {@inheritDoc} */
         @Override protected int compare(BPlusIO<Long> io, long pageAddr, int idx, Long n2)
             throws IgniteCheckedException {
@@ -214,6 +230,12 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
             return Long.compare(n1, n2);
         }
 
+        /** {@inheritDoc} */
+        @Override protected int compareInline(BPlusIO<Long> io, long pageAddr, int idx, Long n2)
+            throws IgniteCheckedException {
+            return compare(io, pageAddr, idx, n2);
+        }
+
         /** {@inheritDoc} */
         @Override public Long getRow(BPlusIO<Long> io, long pageAddr, int idx, Object ignore)
             throws IgniteCheckedException {
@@ -769,6 +769,9 @@ public class JdbcThinMetadataSelfTest extends JdbcThinAbstractSelfTest {
                 "SYS.SQL_QUERIES.DURATION.null.19",
                 "SYS.SQL_QUERIES.ORIGIN_NODE_ID.null.2147483647",
                 "SYS.SQL_QUERIES.INITIATOR_ID.null.2147483647",
+                "SYS.SQL_QUERIES.MAP_THREADS.null.10",
+                "SYS.SQL_QUERIES.REDUCE_MEMORY_PEAK.null.19",
+                "SYS.SQL_QUERIES.REDUCE_SPILLED_BYTES.null.19",
                 "SYS.SCAN_QUERIES.START_TIME.null.19",
                 "SYS.SCAN_QUERIES.TRANSFORMER.null.2147483647",
                 "SYS.SCAN_QUERIES.LOCAL.null.1",
@@ -20,6 +20,7 @@ package org.apache.ignite.internal.processors.compress;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.Arrays;
 import com.github.luben.zstd.Zstd;
 import net.jpountz.lz4.LZ4Compressor;
 import net.jpountz.lz4.LZ4Factory;
@@ -386,6 +387,101 @@ public class CompressionProcessorImpl extends CompressionProcessor {
         setCompressionInfo(page, DiskPageCompression.DISABLED, 0, 0);
     }
 
+    /** {@inheritDoc} */
+    @Override public byte[] compress(
+        byte[] src,
+        int srcOff,
+        int srcLen,
+        DiskPageCompression compression,
+        int compressLevel
+    ) throws IgniteCheckedException {
+        switch (compression) {
+            case ZSTD: {
+                byte[] dst = new byte[(int)Zstd.compressBound(srcLen)];
+
+                long res = Zstd.compressByteArray(dst, 0, dst.length, src, srcOff, srcLen, compressLevel);
+
+                if (Zstd.isError(res))
+                    throw new IgniteCheckedException("Failed to compress data with Zstd: " + Zstd.getErrorName(res));
+
+                return Arrays.copyOf(dst, (int)res);
+            }
+
+            case LZ4: {
+                LZ4Compressor compressor = Lz4.getCompressor(compressLevel);
+
+                byte[] dst = new byte[compressor.maxCompressedLength(srcLen)];
+
+                int len = compressor.compress(src, srcOff, srcLen, dst, 0, dst.length);
+
+                return Arrays.copyOf(dst, len);
+            }
+
+            case SNAPPY: {
+                byte[] dst = new byte[Snappy.maxCompressedLength(srcLen)];
+
+                try {
+                    int len = Snappy.compress(src, srcOff, srcLen, dst, 0);
+
+                    return Arrays.copyOf(dst, len);
+                }
+                catch (IOException e) {
+                    throw new IgniteCheckedException("Failed to compress data with Snappy.", e);
+                }
+            }
+        }
+
+        throw new IllegalStateException("Unsupported compression: " + compression);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void decompress(
+        byte[] src,
+        int srcOff,
+        int srcLen,
+        byte[] dst,
+        DiskPageCompression compression
+    ) throws IgniteCheckedException {
+        int len;
+
+        switch (compression) {
+            case ZSTD:
+                long res = Zstd.decompressByteArray(dst, 0, dst.length, src, srcOff, srcLen);
+
+                if (Zstd.isError(res))
+                    throw new IgniteCheckedException("Failed to decompress data with Zstd: " + Zstd.getErrorName(res));
+
+                len = (int)res;
+
+                break;
+
+            case LZ4:
+                Lz4.decompressor.decompress(src, srcOff, dst, 0, dst.length);
+
+                len = dst.length;
+
+                break;
+
+            case SNAPPY:
+                try {
+                    len = Snappy.uncompress(src, srcOff, srcLen, dst, 0);
+                }
+                catch (IOException e) {
+                    throw new IgniteCheckedException("Failed to decompress data with Snappy.", e);
+                }
+
+                break;
+
+            default:
+                throw new IllegalStateException("Unsupported compression: " + compression);
+        }
+
+        if (len != dst.length) {
+            throw new IgniteCheckedException("Unexpected decompressed data length [expected=" + dst.length +
+                ", actual=" + len + ']');
+        }
+    }
+
     /** */
     static class Lz4 {
         /** */
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.record.CheckpointRecord;
+import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
+import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.configuration.DiskPageCompression.LZ4;
+import static org.apache.ignite.configuration.DiskPageCompression.SKIP_GARBAGE;
+import static org.apache.ignite.configuration.DiskPageCompression.SNAPPY;
+import static org.apache.ignite.configuration.DiskPageCompression.ZSTD;
+
+/**
+ * Checks compression of WAL data records.
+ */
+public class WalRecordCompressionIntegrationTest extends GridCommonAbstractTest {
+    /** Entries count. */
+    private static final int ENTRIES_CNT = 2_000;
+
+    /** */
+    private DiskPageCompression compression;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteName) throws Exception {
+        DataStorageConfiguration dsCfg = new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true))
+            .setWalRecordCompression(compression);
+
+        return super.getConfiguration(igniteName)
+            .setDataStorageConfiguration(dsCfg)
+            // Set new IP finder for each node to start independent clusters.
+            .setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(new TcpDiscoveryVmIpFinder(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        compression = DiskPageCompression.DISABLED;
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testZstd() throws Exception {
+        checkRecordCompression(ZSTD);
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testLz4() throws Exception {
+        checkRecordCompression(LZ4);
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testSnappy() throws Exception {
+        checkRecordCompression(SNAPPY);
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testSkipGarbageNotSupported() throws Exception {
+        compression = SKIP_GARBAGE;
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> startGrid(0), IgniteCheckedException.class,
+            "WAL records compression not supported");
+    }
+
+    /**
+     * @param compression Compression algorithm.
+     * @throws Exception If failed.
+     */
+    private void checkRecordCompression(DiskPageCompression compression) throws Exception {
+        this.compression = compression;
+
+        // Ignite instance with compressed WAL data records.
+        IgniteEx ignite0 = startGrid(0);
+
+        this.compression = DiskPageCompression.DISABLED;
+
+        // Reference ignite instance with uncompressed WAL data records.
+        IgniteEx ignite1 = startGrid(1);
+
+        ignite0.cluster().state(ClusterState.ACTIVE);
+        ignite1.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, String> cache0 = ignite0.getOrCreateCache(DEFAULT_CACHE_NAME);
+        IgniteCache<Integer, String> cache1 = ignite1.getOrCreateCache(DEFAULT_CACHE_NAME);
+
+        forceCheckpoint();
+
+        WALPointer start0 = ignite0.context().cache().context().wal().log(new CheckpointRecord(null));
+        WALPointer start1 = ignite1.context().cache().context().wal().log(new CheckpointRecord(null));
+
+        for (int i = 0; i < ENTRIES_CNT; i++) {
+            cache0.put(i, value(i));
+            cache1.put(i, value(i));
+        }
+
+        // Write any WAL record to get current WAL pointers.
+        WALPointer ptr0 = ignite0.context().cache().context().wal().log(new CheckpointRecord(null));
+        WALPointer ptr1 = ignite1.context().cache().context().wal().log(new CheckpointRecord(null));
+
+        log.info("Compressed WAL pointer: " + ptr0);
+        log.info("Uncompressed WAL pointer: " + ptr1);
+
+        assertTrue("Compressed WAL must be smaller than uncompressed [ptr0=" + ptr0 + ", ptr1=" + ptr1 + ']',
+            ptr0.compareTo(ptr1) < 0);
+
+        assertEquals(ENTRIES_CNT, dataEntriesCount(ignite0, start0));
+        assertEquals(ENTRIES_CNT, dataEntriesCount(ignite1, start1));
+
+        // Compressed records are replayed on logical recovery.
+        stopGrid(1);
+        stopGrid(0, true);
+
+        ignite0 = startGrid(0);
+
+        ignite0.cluster().state(ClusterState.ACTIVE);
+
+        cache0 = ignite0.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < ENTRIES_CNT; i++)
+            assertEquals(value(i), cache0.get(i));
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @param from Pointer to start iteration from.
+     * @return Count of data entries of default cache logged starting from {@code from} pointer.
+     * @throws Exception If failed.
+     */
+    private int dataEntriesCount(IgniteEx ignite, WALPointer from) throws Exception {
+        int cacheId = CU.cacheId(DEFAULT_CACHE_NAME);
+
+        int cnt = 0;
+
+        try (WALIterator it = ignite.context().cache().context().wal().replay(from)) {
+            while (it.hasNext()) {
+                IgniteBiTuple<WALPointer, WALRecord> tup = it.next();
+
+                if (!(tup.get2() instanceof DataRecord))
+                    continue;
+
+                for (DataEntry e : ((DataRecord)tup.get2()).writeEntries()) {
+                    if (e.cacheId() == cacheId)
+                        cnt++;
+                }
+            }
+        }
+
+        return cnt;
+    }
+
+    /**
+     * @param i Index.
+     * @return Well compressible value which is larger than compression threshold.
+     */
+    private static String value(int i) {
+        StringBuilder sb = new StringBuilder();
+
+        for (int j = 0; j < 100; j++)
+            sb.append("value-").append(i).append('-').append(j % 10).append(';');
+
+        return sb.toString();
+    }
+}
@@ -30,6 +30,7 @@ import org.apache.ignite.internal.processors.compress.DiskPageCompressionIntegra
 import org.apache.ignite.internal.processors.compress.DiskPageCompressionIntegrationTest;
 import org.apache.ignite.internal.processors.compress.FileSystemUtilsTest;
 import org.apache.ignite.internal.processors.compress.WalPageCompressionIntegrationTest;
+import org.apache.ignite.internal.processors.compress.WalRecordCompressionIntegrationTest;
 import org.apache.ignite.testframework.junits.DynamicSuite;
 import org.junit.runner.RunWith;
 
@@ -60,6 +61,9 @@ public class IgnitePdsCompressionTestSuite {
         suite.add(IgnitePdsCheckpointSimulationWithRealCpDisabledAndWalCompressionTest.class);
         suite.add(WalCompactionAndPageCompressionTest.class);
 
+        // WAL data records compression.
+        suite.add(WalRecordCompressionIntegrationTest.class);
+
         enableCompressionByDefault();
         IgnitePdsTestSuite.addRealPageStoreTests(suite, null);
 
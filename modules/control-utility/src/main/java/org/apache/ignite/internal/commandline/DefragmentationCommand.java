@@ -36,7 +36,9 @@ import org.apache.ignite.internal.visor.defragmentation.VisorDefragmentationTask
 import org.apache.ignite.internal.visor.defragmentation.VisorDefragmentationTaskResult;
 
 import static org.apache.ignite.internal.commandline.CommandList.DEFRAGMENTATION;
+import static org.apache.ignite.internal.commandline.CommandLogger.optional;
 import static org.apache.ignite.internal.commandline.defragmentation.DefragmentationSubcommands.CANCEL;
+import static org.apache.ignite.internal.commandline.defragmentation.DefragmentationSubcommands.ONLINE;
 import static org.apache.ignite.internal.commandline.defragmentation.DefragmentationSubcommands.SCHEDULE;
 
 /** */
@@ -47,6 +49,15 @@ public class DefragmentationCommand implements Command<DefragmentationArguments>
     /** */
     private static final String CACHES_ARG = "--caches";
 
+    /** */
+    private static final String FILL_FACTOR_ARG = "--fill-factor";
+
+    /** */
+    private static final String RATE_ARG = "--rate";
+
+    /** Default fill factor of online defragmentation. */
+    private static final double DFLT_FILL_FACTOR = 0.5;
+
     /** */
     private DefragmentationArguments args;
 
@@ -117,8 +128,11 @@ public class DefragmentationCommand implements Command<DefragmentationArguments>
 
         switch (cmd) {
             case SCHEDULE:
+            case ONLINE:
                 List<String> consistentIds = null;
                 List<String> cacheNames = null;
+                double fillFactor = DFLT_FILL_FACTOR;
+                double rate = 0;
 
                 String subarg;
 
@@ -157,17 +171,53 @@ public class DefragmentationCommand implements Command<DefragmentationArguments>
                             break;
                         }
 
+                        case FILL_FACTOR_ARG: {
+                            if (cmd != ONLINE) {
+                                subarg = null;
+
+                                break;
+                            }
+
+                            argIter.nextArg("");
+
+                            fillFactor = nextDoubleArg(argIter, FILL_FACTOR_ARG);
+
+                            if (fillFactor <= 0 || fillFactor > 1)
+                                throw new IllegalArgumentException(FILL_FACTOR_ARG + " must be in range (0, 1].");
+
+                            break;
+                        }
+
+                        case RATE_ARG: {
+                            if (cmd != ONLINE) {
+                                subarg = null;
+
+                                break;
+                            }
+
+                            argIter.nextArg("");
+
+                            rate = nextDoubleArg(argIter, RATE_ARG);
+
+                            if (rate < 0)
+                                throw new IllegalArgumentException(RATE_ARG + " must be non-negative.");
+
+                            break;
+                        }
+
                         default:
                             subarg = null;
                     }
                 }
                 while (subarg != null);
 
-                if (consistentIds == null)
+                if (consistentIds == null && cmd == SCHEDULE)
                     throw new IllegalArgumentException("--nodes argument is missing.");
 
                 args.setNodeIds(consistentIds);
                 args.setCacheNames(cacheNames);
+                args.setFillFactor(fillFactor);
+                args.setRate(rate);
 
                 break;
 
@@ -208,6 +258,17 @@ public class DefragmentationCommand implements Command<DefragmentationArguments>
             cacheNames
         );
 
+        usage(
+            log,
+            "Start online PDS defragmentation on underlying node or on given nodes without maintenance mode:",
+            DEFRAGMENTATION,
+            ONLINE.text(),
+            optional(NODES_ARG, consistentIds),
+            optional(CACHES_ARG, cacheNames),
+            optional(FILL_FACTOR_ARG, DFLT_FILL_FACTOR),
+            optional(RATE_ARG, "rowsPerSecond")
+        );
+
         usage(
             log,
             "Cancel scheduled or active PDS defragmentation on underlying node:",
@@ -225,10 +286,28 @@ public class DefragmentationCommand implements Command<DefragmentationArguments>
     private VisorDefragmentationTaskArg convertArguments() {
         return new VisorDefragmentationTaskArg(
             convertSubcommand(args.subcommand()),
-            args.cacheNames()
+            args.cacheNames(),
+            args.fillFactor(),
+            args.rate()
         );
     }
 
+    /**
+     * @param argIter Argument iterator.
+     * @param argName Argument name.
+     * @return Double value of the argument.
+     */
+    private static double nextDoubleArg(CommandArgIterator argIter, String argName) {
+        String str = argIter.nextArg("Expecting " + argName);
+
+        try {
+            return Double.parseDouble(str);
+        }
+        catch (NumberFormatException ignored) {
+            throw new IllegalArgumentException("Invalid value for " + argName + ": " + str);
+        }
+    }
+
     /** */
     private static VisorDefragmentationOperation convertSubcommand(DefragmentationSubcommands subcmd) {
         switch (subcmd) {
@@ -241,6 +320,9 @@ public class DefragmentationCommand implements Command<DefragmentationArguments>
             case CANCEL:
                 return VisorDefragmentationOperation.CANCEL;
 
+            case ONLINE:
+                return VisorDefragmentationOperation.ONLINE;
+
             default:
                 throw new IllegalArgumentException(subcmd.name());
         }
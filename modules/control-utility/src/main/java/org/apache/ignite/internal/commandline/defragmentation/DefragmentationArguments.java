@@ -31,6 +31,12 @@ public class DefragmentationArguments {
     /** */
     private List<String> cacheNames;
 
+    /** */
+    private double fillFactor;
+
+    /** */
+    private double rate;
+
     /** */
     public DefragmentationArguments(DefragmentationSubcommands subcmd) {
         this.subcmd = subcmd;
@@ -60,4 +66,24 @@ public class DefragmentationArguments {
     public List<String> cacheNames() {
         return cacheNames;
     }
+
+    /** */
+    public void setFillFactor(double fillFactor) {
+        this.fillFactor = fillFactor;
+    }
+
+    /** */
+    public double fillFactor() {
+        return fillFactor;
+    }
+
+    /** */
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    /** */
+    public double rate() {
+        return rate;
+    }
 }
@@ -34,6 +34,7 @@ import org.apache.ignite.configuration.DiskPageCompression;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.internal.client.GridClient;
 import org.apache.ignite.internal.marshaller.optimized.OptimizedMarshaller;
+import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointEntry;
 import org.apache.ignite.internal.processors.metastorage.DistributedMetaStorage;
 import org.apache.ignite.internal.processors.performancestatistics.FilePerformanceStatisticsWriter;
@@ -86,7 +87,9 @@ import static org.apache.ignite.internal.processors.cache.distributed.dht.topolo
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccCachingManager.DFLT_MVCC_TX_SIZE_CACHING_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager.DFLT_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE;
 import static org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager.DFLT_PDS_WAL_REBALANCE_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager.DFLT_PARTITION_KEY_FILTERS_MAX_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointHistory.DFLT_PDS_MAX_CHECKPOINT_MEMORY_HISTORY_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointPagesWriterFactory.DFLT_CHECKPOINT_MAX_COALESCED_PAGES;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointWorkflow.DFLT_CHECKPOINT_PARALLEL_SORT_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerFactory.DFLT_PAGE_LOCK_TRACKER_CAPACITY;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerFactory.HEAP_LOG;
@@ -111,6 +114,7 @@ import static org.apache.ignite.internal.processors.cache.transactions.IgniteTxM
 import static org.apache.ignite.internal.processors.cache.transactions.IgniteTxManager.DFLT_TX_DEADLOCK_DETECTION_MAX_ITERS;
 import static org.apache.ignite.internal.processors.cache.transactions.IgniteTxManager.DFLT_TX_OWNER_DUMP_REQUESTS_ALLOWED;
 import static org.apache.ignite.internal.processors.cache.transactions.TxDeadlockDetection.DFLT_TX_DEADLOCK_DETECTION_TIMEOUT;
+import static org.apache.ignite.internal.processors.cache.tree.PendingEntriesTree.DFLT_EXPIRY_BUCKET_SIZE;
 import static org.apache.ignite.internal.processors.cluster.ClusterProcessor.DFLT_DIAGNOSTIC_ENABLED;
 import static org.apache.ignite.internal.processors.cluster.ClusterProcessor.DFLT_UPDATE_NOTIFIER;
 import static org.apache.ignite.internal.processors.cluster.baseline.autoadjust.BaselineTopologyUpdater.DFLT_BASELINE_AUTO_ADJUST_LOG_INTERVAL;
@@ -1404,6 +1408,14 @@ public final class IgniteSystemProperties {
         defaults = "" + IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT)
     public static final String IGNITE_BPLUS_TREE_LOCK_RETRIES = "IGNITE_BPLUS_TREE_LOCK_RETRIES";
 
+    /**
+     * Enables optimistic reads of B+Tree inner pages on lookups: the page is read without a read lock and
+     * validated by the page version afterwards, the read lock is taken only on conflict.
+     */
+    @SystemProperty("Enables optimistic reads of B+Tree inner pages on lookups: the page is read without " +
+        "a read lock and validated by the page version afterwards, the read lock is taken only on conflict")
+    public static final String IGNITE_BPLUS_TREE_OPTIMISTIC_READS = "IGNITE_BPLUS_TREE_OPTIMISTIC_READS";
+
     /**
      * Amount of memory reserved in the heap at node start, which can be dropped to increase the chances of success when
      * handling OutOfMemoryError.
@@ -1754,6 +1766,15 @@ public final class IgniteSystemProperties {
         type = Integer.class, defaults = "" + DFLT_CHECKPOINT_PARALLEL_SORT_THRESHOLD)
     public static final String CHECKPOINT_PARALLEL_SORT_THRESHOLD = "CHECKPOINT_PARALLEL_SORT_THRESHOLD";
 
+    /**
+     * Maximum number of dirty pages with consecutive indexes in the same partition file which a checkpoint
+     * writer coalesces into a single write. Value {@code 1} disables coalescing.
+     */
+    @SystemProperty(value = "Maximum number of dirty pages with consecutive indexes in the same partition file " +
+        "which a checkpoint writer coalesces into a single write. Value 1 disables coalescing",
+        type = Integer.class, defaults = "" + DFLT_CHECKPOINT_MAX_COALESCED_PAGES)
+    public static final String IGNITE_CHECKPOINT_MAX_COALESCED_PAGES = "IGNITE_CHECKPOINT_MAX_COALESCED_PAGES";
+
     /**
      * Keep static cache configuration even if stored cache data differs from the static config. When this property
      * is set, static cache configuration will override persisted configuration. DDL operations are not allowed
@@ -2015,6 +2036,86 @@ public final class IgniteSystemProperties {
         type = Integer.class, defaults = "" + DFLT_IGNITE_INDEX_REBUILD_BATCH_SIZE)
     public static final String IGNITE_INDEX_REBUILD_BATCH_SIZE = "IGNITE_INDEX_REBUILD_BATCH_SIZE";
 
+    /**
+     * Number of bits per key of a partition key filter. The filter is a Bloom filter built in background
+     * for every partition of an atomic or transactional cache group, it allows to skip data tree lookups
+     * of missing keys. Default is {@code 0} which means that filters are disabled.
+     */
+    @SystemProperty(value = "Number of bits per key of a partition key filter used to skip lookups of missing " +
+        "keys, 0 disables filters", type = Integer.class, defaults = "0")
+    public static final String IGNITE_PARTITION_KEY_FILTER_BITS_PER_KEY = "IGNITE_PARTITION_KEY_FILTER_BITS_PER_KEY";
+
+    /**
+     * Max heap memory in bytes taken by partition key filters of the node, see
+     * {@link #IGNITE_PARTITION_KEY_FILTER_BITS_PER_KEY}. Filters of partitions which don't fit the limit are not
+     * built. The default value is {@link IgniteCacheDatabaseSharedManager#DFLT_PARTITION_KEY_FILTERS_MAX_SIZE}.
+     */
+    @SystemProperty(value = "Max heap memory in bytes taken by partition key filters of the node",
+        type = Long.class, defaults = "" + DFLT_PARTITION_KEY_FILTERS_MAX_SIZE)
+    public static final String IGNITE_PARTITION_KEY_FILTERS_MAX_SIZE = "IGNITE_PARTITION_KEY_FILTERS_MAX_SIZE";
+
+    /**
+     * Interval in milliseconds between refreshes of column chunks of SQL columnar replicas. Chunks of partitions
+     * modified since the previous refresh are rebuilt, queries over such partitions are executed by H2 until then.
+     */
+    @SystemProperty(value = "Interval in milliseconds between refreshes of column chunks of SQL columnar replicas",
+        type = Long.class, defaults = "1000")
+    public static final String IGNITE_SQL_COLUMNAR_REFRESH_INTERVAL = "IGNITE_SQL_COLUMNAR_REFRESH_INTERVAL";
+
+    /**
+     * Size in milliseconds of expire time buckets of entries pending eager TTL removal. Scans of pending entries
+     * are skipped until the earliest non-empty bucket is due. Default is 1000 ms.
+     */
+    @SystemProperty(value = "Size in milliseconds of expire time buckets of entries pending eager TTL removal",
+        type = Long.class, defaults = "" + DFLT_EXPIRY_BUCKET_SIZE)
+    public static final String IGNITE_TTL_EXPIRY_BUCKET_SIZE = "IGNITE_TTL_EXPIRY_BUCKET_SIZE";
+
+    /**
+     * Quota in bytes of rows buffered by the reducer of a distributed SQL query in merge tables. When the quota is
+     * exceeded, next pages are requested from map nodes only after the current ones are consumed and buffered rows
+     * are spilled to the local disk instead of being evicted. Default is {@code 0} which means no quota.
+     */
+    @SystemProperty(value = "Quota in bytes of rows buffered by the reducer of a distributed SQL query, when " +
+        "exceeded next pages are requested only after the current ones are consumed and buffered rows are spilled " +
+        "to disk, 0 means no quota", type = Long.class, defaults = "0")
+    public static final String IGNITE_SQL_REDUCE_MEMORY_QUOTA = "IGNITE_SQL_REDUCE_MEMORY_QUOTA";
+
+    /**
+     * Maximum number of threads executing a map query over partitions of an index segment. Partitions are split into
+     * morsels which are taken by the thread of the segment and by helper tasks of the query pool. Only unsorted map
+     * queries without LIMIT and OFFSET which scan a partitioned table are executed this way. Default is 1, the map
+     * query is executed by the thread of the segment only.
+     */
+    @SystemProperty(value = "Maximum number of threads executing a map query over partitions of an index segment, " +
+        "1 disables parallel execution of map queries", type = Integer.class, defaults = "1")
+    public static final String IGNITE_SQL_MAP_PARALLELISM = "IGNITE_SQL_MAP_PARALLELISM";
+
+    /**
+     * Number of rows of a batch of vectorized evaluation of SQL map queries. Map queries which compute
+     * COUNT/SUM/MIN/MAX/AVG of columns of a single partitioned table filtered by comparisons with constants are
+     * evaluated over batches of rows, which fields are read directly from binary objects to column vectors.
+     * Default is {@code 0}, such queries are executed by H2 unless the table has a columnar replica.
+     */
+    @SystemProperty(value = "Number of rows of a batch of vectorized evaluation of SQL map queries which compute " +
+        "aggregates over a single table, 0 disables vectorized evaluation", type = Integer.class, defaults = "0")
+    public static final String IGNITE_SQL_VECTORIZED_SCAN_BATCH_SIZE = "IGNITE_SQL_VECTORIZED_SCAN_BATCH_SIZE";
+
+    /**
+     * Maximum number of entries of the node-wide cache of parsed and split SQL queries shared by all connections.
+     * Least recently used entries are evicted when the limit is reached.
+     */
+    @SystemProperty(value = "Maximum number of entries of the node-wide cache of parsed SQL queries",
+        type = Integer.class, defaults = "1024")
+    public static final String IGNITE_SQL_PLAN_CACHE_SIZE = "IGNITE_SQL_PLAN_CACHE_SIZE";
+
+    /**
+     * Maximum estimated size in bytes of the node-wide cache of parsed and split SQL queries. Least recently used
+     * entries are evicted when the limit is reached.
+     */
+    @SystemProperty(value = "Maximum estimated size in bytes of the node-wide cache of parsed SQL queries",
+        type = Long.class, defaults = "33554432")
+    public static final String IGNITE_SQL_PLAN_CACHE_MAX_MEMORY = "IGNITE_SQL_PLAN_CACHE_MAX_MEMORY";
+
     /**
      * Enforces singleton.
      */
@@ -189,6 +189,12 @@ public class DataStorageConfiguration implements Serializable {
     /** Default compression algorithm for WAL page snapshot records. */
     public static final DiskPageCompression DFLT_WAL_PAGE_COMPRESSION = DiskPageCompression.DISABLED;
 
+    /** Default compression algorithm for WAL data records. */
+    public static final DiskPageCompression DFLT_WAL_RECORD_COMPRESSION = DiskPageCompression.DISABLED;
+
+    /** Default minimal size in bytes of WAL data record to be compressed. */
+    public static final int DFLT_WAL_RECORD_COMPRESSION_THRESHOLD = 1024;
+
     /** @see IgniteSystemProperties#IGNITE_USE_ASYNC_FILE_IO_FACTORY */
     public static final boolean DFLT_USE_ASYNC_FILE_IO_FACTORY = true;
 
@@ -336,6 +342,15 @@ public class DataStorageConfiguration implements Serializable {
     /** Compression level for WAL page snapshot records. */
     private Integer walPageCompressionLevel;
 
+    /** Compression algorithm for WAL data records. */
+    private DiskPageCompression walRecordCompression = DFLT_WAL_RECORD_COMPRESSION;
+
+    /** Compression level for WAL data records. */
+    private Integer walRecordCompressionLevel;
+
+    /** Minimal size in bytes of WAL data record to be compressed. */
+    private int walRecordCompressionThreshold = DFLT_WAL_RECORD_COMPRESSION_THRESHOLD;
+
     /** Default warm-up configuration. */
     @Nullable private WarmUpConfiguration dfltWarmUpCfg;
 
@@ -1246,6 +1261,76 @@ public class DataStorageConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * Gets compression algorithm for WAL data records.
+     *
+     * @return Record compression algorithm.
+     */
+    public DiskPageCompression getWalRecordCompression() {
+        return walRecordCompression == null ? DFLT_WAL_RECORD_COMPRESSION : walRecordCompression;
+    }
+
+    /**
+     * Sets compression algorithm for WAL data records. Records are compressed one by one, compressed record is
+     * marked in the record header, so WAL segments written with and without compression can be read by the same node.
+     * {@link DiskPageCompression#SKIP_GARBAGE} is not supported for WAL records.
+     *
+     * @param walRecordCompression Record compression algorithm.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWalRecordCompression(DiskPageCompression walRecordCompression) {
+        this.walRecordCompression = walRecordCompression;
+
+        return this;
+    }
+
+    /**
+     * Gets {@link #getWalRecordCompression algorithm} specific WAL data records compression level.
+     *
+     * @return WAL data records compression level or {@code null} for default.
+     */
+    public Integer getWalRecordCompressionLevel() {
+        return walRecordCompressionLevel;
+    }
+
+    /**
+     * Sets {@link #setWalRecordCompression algorithm} specific WAL data records compression level.
+     *
+     * @param walRecordCompressionLevel WAL data records compression level or {@code null} to use default.
+     *      {@link DiskPageCompression#ZSTD Zstd}: from {@code -131072} to {@code 22} (default {@code 3}).
+     *      {@link DiskPageCompression#LZ4 LZ4}: from {@code 0} to {@code 17} (default {@code 0}).
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWalRecordCompressionLevel(Integer walRecordCompressionLevel) {
+        this.walRecordCompressionLevel = walRecordCompressionLevel;
+
+        return this;
+    }
+
+    /**
+     * Gets minimal size in bytes of WAL data record to be compressed.
+     *
+     * @return Minimal size of compressed record.
+     */
+    public int getWalRecordCompressionThreshold() {
+        return walRecordCompressionThreshold;
+    }
+
+    /**
+     * Sets minimal size in bytes of WAL data record to be compressed. Smaller records are written as is.
+     * Default value is {@link #DFLT_WAL_RECORD_COMPRESSION_THRESHOLD}.
+     *
+     * @param walRecordCompressionThreshold Minimal size of compressed record.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWalRecordCompressionThreshold(int walRecordCompressionThreshold) {
+        A.ensure(walRecordCompressionThreshold >= 0, "WAL record compression threshold must be non-negative.");
+
+        this.walRecordCompressionThreshold = walRecordCompressionThreshold;
+
+        return this;
+    }
+
     /**
      * Gets encryyption configuration.
      *
@@ -70,7 +70,25 @@ public enum PageReplacementMode {
      * This algorithm has near to zero maintenance cost and replacement policy efficiency between random-LRU and
      * segmented-LRU.
      */
-    CLOCK;
+    CLOCK,
+
+    /**
+     * 2Q algorithm.
+     *
+     * 2Q is a scan-resistant algorithm which, unlike segmented-LRU, doesn't promote a page on repeated accesses that
+     * happen shortly after the page was loaded (e.g. reading all the rows of a data page during a scan). Pages list
+     * is divided into two queues: a FIFO queue for pages loaded for the first time and a protected LRU queue. New pages
+     * are added to the tail of the FIFO queue and accesses to them don't change their position. When a page is
+     * replaced, its ID is remembered in a bounded history of replaced pages (ghost entries). If the page is loaded
+     * again while it is still in the history, it is considered hot and is added to the protected LRU queue, accesses
+     * to the pages of this queue move them to its tail. Page to replace is polled from the head of the FIFO queue,
+     * so one-time scans, rebalancing or defragmentation replace each other's pages and leave the pages of the protected
+     * queue in memory.
+     *
+     * This algorithm requires a bit more memory than segmented-LRU to store the history of replaced pages (8 bytes per
+     * two pages), accesses to the pages of the FIFO queue are cheaper than in segmented-LRU.
+     */
+    TWO_QUEUE;
 
     /** Enumerated values. */
     private static final PageReplacementMode[] VALS = values();
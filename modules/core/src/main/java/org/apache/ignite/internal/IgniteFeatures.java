@@ -142,7 +142,10 @@ public enum IgniteFeatures {
     PERFORMANCE_STATISTICS(48),
 
     /** Restore cache group from the snapshot. */
-    SNAPSHOT_RESTORE_CACHE_GROUP(49);
+    SNAPSHOT_RESTORE_CACHE_GROUP(49),
+
+    /** Number of threads which executed a map query is sent with the first page of its result. */
+    SQL_MAP_THREADS(50);
 
     /**
      * Unique feature identifier.
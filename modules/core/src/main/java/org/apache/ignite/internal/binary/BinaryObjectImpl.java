@@ -361,14 +361,16 @@ public final class BinaryObjectImpl extends BinaryObjectExImpl implements Extern
         return start + BinaryPrimitives.readInt(arr, start + GridBinaryMarshaller.SCHEMA_OR_RAW_OFF_POS);
     }
 
-    /** {@inheritDoc} */
-    @Nullable @Override public <F> F fieldByOrder(int order) {
+    /**
+     * Gets position of a field in the array of the object without reading the field value.
+     *
+     * @param order Field order.
+     * @return Position of the field header in the array or {@code -1} if there is no such field.
+     */
+    public int fieldPositionByOrder(int order) {
         if (order == BinarySchema.ORDER_NOT_FOUND)
-            return null;
-
-        Object val;
+            return -1;
 
-        // Calculate field position.
         int schemaOff = BinaryPrimitives.readInt(arr, start + GridBinaryMarshaller.SCHEMA_OR_RAW_OFF_POS);
 
         short flags = BinaryPrimitives.readShort(arr, start + GridBinaryMarshaller.FLAGS_POS);
@@ -387,6 +389,18 @@ public final class BinaryObjectImpl extends BinaryObjectExImpl implements Extern
         else
             fieldPos = start + BinaryPrimitives.readInt(arr, fieldOffsetPos);
 
+        return fieldPos;
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public <F> F fieldByOrder(int order) {
+        if (order == BinarySchema.ORDER_NOT_FOUND)
+            return null;
+
+        Object val;
+
+        int fieldPos = fieldPositionByOrder(order);
+
         // Read header and try performing fast lookup for well-known types (the most common types go first).
         byte hdr = BinaryPrimitives.readByte(arr, fieldPos);
 
@@ -69,6 +69,21 @@ public interface InlineIndexKeyType {
      */
     public int put(long pageAddr, int off, IndexKey key, int maxSize);
 
+    /**
+     * Copies inlined value to another place truncating it to the given max size if needed. Truncated copy of
+     * a value compares with any key as the source value does, or can't be compared at all.
+     *
+     * @param srcPageAddr Source page address.
+     * @param srcOff Source offset.
+     * @param srcMaxSize Max size to read from source.
+     * @param dstPageAddr Destination page address.
+     * @param dstOff Destination offset.
+     * @param dstMaxSize Max size to write to destination.
+     *
+     * @return Amount of bytes actually stored, {@code 0} if other keys must not be stored after this one.
+     */
+    public int copy(long srcPageAddr, int srcOff, int srcMaxSize, long dstPageAddr, int dstOff, int dstMaxSize);
+
     /**
      */
     @Nullable public IndexKey get(long pageAddr, int off, int maxSize);
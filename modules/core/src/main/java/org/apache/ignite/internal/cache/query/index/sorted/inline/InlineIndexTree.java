@@ -38,6 +38,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.SortedIndexDefinition
 import org.apache.ignite.internal.cache.query.index.sorted.ThreadLocalRowHandlerHolder;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineInnerIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineLeafIO;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.MvccIO;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.FullPageId;
@@ -52,6 +53,7 @@ import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapt
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.CorruptedTreeException;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusInnerIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusMetaIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIoResolver;
@@ -108,6 +110,9 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
     /** Whether MVCC is enabled. */
     private final boolean mvccEnabled;
 
+    /** Whether inner pages of version 2 with truncated inlined keys are created for the tree. */
+    private final boolean truncateInnerKeys;
+
     /**
      * Constructor.
      */
@@ -194,6 +199,8 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
 
         this.keyTypeSettings = keyTypeSettings;
 
+        truncateInnerKeys = canTruncateInnerKeys(rowHnd.inlineIndexKeyTypes(), inlineSize);
+
         initTree(initNew, inlineSize);
 
         this.recommender = recommender;
@@ -207,6 +214,55 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
         );
     }
 
+    /**
+     * Inner pages of version 2 inline keys into {@link AbstractInlineInnerIO#truncatedInlineSize(int)} bytes. Only
+     * variable length values may be truncated there: every fixed size key which leaf pages inline in front of the
+     * first variable length key must fit. Keys after a variable length value are compared only if the value is
+     * complete, so they are a part of the truncated tail.
+     *
+     * @param keyTypes Inlined key types.
+     * @param inlineSize Inline size of leaf pages.
+     * @return {@code True} if inner pages of version 2 don't drop fixed size keys of the index.
+     */
+    static boolean canTruncateInnerKeys(List<InlineIndexKeyType> keyTypes, int inlineSize) {
+        int truncSize = AbstractInlineInnerIO.truncatedInlineSize(inlineSize);
+
+        if (truncSize == inlineSize)
+            return false;
+
+        int off = 0;
+
+        for (InlineIndexKeyType keyType : keyTypes) {
+            int size = keyType.inlineSize();
+
+            // Variable length value, at least its header and the first byte must fit.
+            if (size < 0)
+                return off + 4 <= truncSize;
+
+            // The key isn't inlined on leaf pages either.
+            if (off + size > inlineSize)
+                return true;
+
+            if (off + size > truncSize)
+                return false;
+
+            off += size;
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected BPlusInnerIO<IndexRow> latestInnerIO() {
+        BPlusInnerIO<IndexRow> io = super.latestInnerIO();
+
+        // Inner pages of indexes which would lose fixed size keys keep full inlined keys.
+        if (truncateInnerKeys || !(io instanceof AbstractInlineInnerIO))
+            return io;
+
+        return AbstractInlineInnerIO.versions(inlineSize, mvccEnabled).forVersion(1);
+    }
+
     /**
      * Find whether tree supports inlining objects or not.
      *
@@ -273,6 +329,9 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
 
         int off = io.offset(idx);
 
+        // Inner pages may store keys truncated to a smaller inline size.
+        int ioInlineSize = ((InlineIO)io).inlineSize();
+
         List<IndexKeyDefinition> keyDefs = def.indexKeyDefinitions();
 
         List<InlineIndexKeyType> keyTypes = rowHandler().inlineIndexKeyTypes();
@@ -288,7 +347,7 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
                 if (keyIdx >= keyTypes.size())
                     break;
 
-                int maxSize = inlineSize - fieldOff;
+                int maxSize = ioInlineSize - fieldOff;
 
                 InlineIndexKeyType keyType = keyTypes.get(keyIdx);
 
@@ -344,6 +403,53 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
         return mvccCompare((MvccIO) io, pageAddr, idx, row);
     }
 
+    /** {@inheritDoc} */
+    @Override protected int compareInline(BPlusIO<IndexRow> io, long pageAddr, int idx, IndexRow row) {
+        if (inlineSize == 0 || mvccEnabled)
+            return NEED_ROW_TO_COMPARE;
+
+        int off = io.offset(idx);
+
+        int ioInlineSize = ((InlineIO)io).inlineSize();
+
+        List<IndexKeyDefinition> keyDefs = def.indexKeyDefinitions();
+
+        List<InlineIndexKeyType> keyTypes = rowHandler().inlineIndexKeyTypes();
+
+        int fieldOff = 0;
+
+        for (int keyIdx = 0; keyIdx < keyTypes.size(); keyIdx++) {
+            if (row.key(keyIdx) == null)
+                return 0;
+
+            InlineIndexKeyType keyType = keyTypes.get(keyIdx);
+
+            IndexKeyDefinition keyDef = keyDefs.get(keyIdx);
+
+            // Objects and values of other types are compared by the row.
+            if (keyType.type() == IndexKeyTypes.JAVA_OBJECT || !keyDef.validate(row.key(keyIdx)))
+                return NEED_ROW_TO_COMPARE;
+
+            int maxSize = ioInlineSize - fieldOff;
+
+            // The page may be modified concurrently, so the stored size must not go beyond the inlined item.
+            if (maxSize < 1 || keyType.inlineSize(pageAddr, off + fieldOff) > maxSize)
+                return NEED_ROW_TO_COMPARE;
+
+            int cmp = keyType.compare(pageAddr, off + fieldOff, maxSize, row.key(keyIdx));
+
+            if (cmp == CANT_BE_COMPARE || cmp == COMPARE_UNSUPPORTED)
+                return NEED_ROW_TO_COMPARE;
+
+            if (cmp != 0)
+                return applySortOrder(cmp, keyDef.order().sortOrder());
+
+            fieldOff += keyType.inlineSize(pageAddr, off + fieldOff);
+        }
+
+        return keyTypes.size() < keyDefs.size() ? NEED_ROW_TO_COMPARE : 0;
+    }
+
     /** */
     private int compareFullRows(IndexRow currRow, IndexRow row, int from) throws IgniteCheckedException {
         if (currRow == row)
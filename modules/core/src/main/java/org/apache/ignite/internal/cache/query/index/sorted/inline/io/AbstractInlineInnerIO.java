@@ -35,6 +35,9 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
  * Inner page to store index rows with inlined keys.
  */
 public abstract class AbstractInlineInnerIO extends BPlusInnerIO<IndexRow> implements InlineIO {
+    /** Min amount of bytes to store inlined index keys on inner pages since version 2. */
+    public static final int MIN_TRUNCATED_INLINE_SIZE = 32;
+
     /**
      * Amount of bytes to store inlined index keys.
      *
@@ -73,12 +76,29 @@ public abstract class AbstractInlineInnerIO extends BPlusInnerIO<IndexRow> imple
 
             AbstractInlineInnerIO io = mvcc ? new MvccInlineInnerIO(ioType, payload) : new InlineInnerIO(ioType, payload);
 
-            IOVersions<? extends AbstractInlineInnerIO> versions = new IOVersions<>(io);
+            // Inner pages hold only separator keys, so a shorter prefix of the inlined keys is enough there.
+            int truncSize = truncatedInlineSize(payload);
+
+            AbstractInlineInnerIO io2 = mvcc ? new MvccInlineInnerIO(ioType, 2, truncSize) :
+                new InlineInnerIO(ioType, 2, truncSize);
+
+            IOVersions<? extends AbstractInlineInnerIO> versions = new IOVersions<>(io, io2);
 
             PageIO.registerH2ExtraInner(versions, mvcc);
         }
     }
 
+    /**
+     * IOs are shared by indexes with different keys, so the size doesn't depend on them. An index tree creates
+     * inner pages of version 2 only if its fixed size keys fit this size, see {@link InlineIndexTree}.
+     *
+     * @param payload Size of inlined index keys on leaf pages.
+     * @return Size of inlined index keys on inner pages since version 2.
+     */
+    public static int truncatedInlineSize(int payload) {
+        return Math.min(payload, Math.max(MIN_TRUNCATED_INLINE_SIZE, payload / 2));
+    }
+
     /** {@inheritDoc} */
     @SuppressWarnings("ForLoopReplaceableByForEach")
     @Override public final void storeByOffset(long pageAddr, int off, IndexRow row) {
@@ -131,15 +151,55 @@ public abstract class AbstractInlineInnerIO extends BPlusInnerIO<IndexRow> imple
     @Override public final void store(long dstPageAddr, int dstIdx, BPlusIO<IndexRow> srcIo, long srcPageAddr, int srcIdx) {
         int srcOff = srcIo.offset(srcIdx);
 
-        byte[] payload = PageUtils.getBytes(srcPageAddr, srcOff, inlineSize);
-
         int dstOff = offset(dstIdx);
 
-        PageUtils.putBytes(dstPageAddr, dstOff, payload);
+        int srcInlineSize = ((InlineIO)srcIo).inlineSize();
+
+        if (srcInlineSize == inlineSize) {
+            byte[] payload = PageUtils.getBytes(srcPageAddr, srcOff, inlineSize);
+
+            PageUtils.putBytes(dstPageAddr, dstOff, payload);
+        }
+        else
+            copyKeys(srcPageAddr, srcOff, srcInlineSize, dstPageAddr, dstOff);
 
         IORowHandler.store(dstPageAddr, dstOff + inlineSize, (InlineIO) srcIo, srcPageAddr, srcIdx, storeMvccInfo());
     }
 
+    /**
+     * Copies inlined keys between pages with different inline sizes.
+     *
+     * @param srcPageAddr Source page address.
+     * @param srcOff Source item offset.
+     * @param srcInlineSize Source inline size.
+     * @param dstPageAddr Destination page address.
+     * @param dstOff Destination item offset.
+     */
+    private void copyKeys(long srcPageAddr, int srcOff, int srcInlineSize, long dstPageAddr, int dstOff) {
+        InlineIndexRowHandler rowHnd = ThreadLocalRowHandlerHolder.rowHandler();
+
+        assert rowHnd != null;
+
+        int srcFieldOff = 0;
+        int dstFieldOff = 0;
+
+        for (InlineIndexKeyType keyType : rowHnd.inlineIndexKeyTypes()) {
+            int size = keyType.copy(srcPageAddr, srcOff + srcFieldOff, srcInlineSize - srcFieldOff,
+                dstPageAddr, dstOff + dstFieldOff, inlineSize - dstFieldOff);
+
+            // Inline size has exceeded.
+            if (size == 0)
+                break;
+
+            // The rest of keys can't be compared after a truncated one.
+            if (size != keyType.inlineSize(srcPageAddr, srcOff + srcFieldOff))
+                break;
+
+            srcFieldOff += size;
+            dstFieldOff += size;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public long link(long pageAddr, int idx) {
         return PageUtils.getLong(pageAddr, offset(idx) + inlineSize);
@@ -25,7 +25,16 @@ public final class InlineInnerIO extends AbstractInlineInnerIO {
      * Constructor.
      */
     public InlineInnerIO(short type, int inlineSize) {
+        this(type, 1, inlineSize);
+    }
+
+    /**
+     * @param type Page type.
+     * @param ver Page format version.
+     * @param inlineSize Size of inlined index keys.
+     */
+    public InlineInnerIO(short type, int ver, int inlineSize) {
         // Meta stores link to a cache row.
-        super(type, 1, 8, inlineSize);
+        super(type, ver, 8, inlineSize);
     }
 }
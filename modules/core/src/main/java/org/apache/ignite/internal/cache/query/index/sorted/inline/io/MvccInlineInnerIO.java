@@ -28,8 +28,17 @@ public class MvccInlineInnerIO extends AbstractInlineInnerIO {
      * @param payloadSize Payload size.
      */
     protected MvccInlineInnerIO(short type, int payloadSize) {
+        this(type, 1, payloadSize);
+    }
+
+    /**
+     * @param type Page type.
+     * @param ver Page format version.
+     * @param payloadSize Payload size.
+     */
+    protected MvccInlineInnerIO(short type, int ver, int payloadSize) {
         // Meta stores link and mvcc info about a cache row.
-        super(type, 1, 28, payloadSize);
+        super(type, ver, 28, payloadSize);
     }
 
     /** {@inheritDoc} */
@@ -22,6 +22,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexKey
 import org.apache.ignite.internal.cache.query.index.sorted.keys.IndexKey;
 import org.apache.ignite.internal.cache.query.index.sorted.keys.NullIndexKey;
 import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.util.GridUnsafe;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -144,6 +145,63 @@ public abstract class NullableInlineIndexKeyType<T extends IndexKey> implements
         return put0(pageAddr, off, (T) key, maxSize);
     }
 
+    /** {@inheritDoc} */
+    @Override public int copy(long srcPageAddr, int srcOff, int srcMaxSize, long dstPageAddr, int dstOff,
+        int dstMaxSize) {
+        boolean present = keySize > 0 ? keySize + 1 <= srcMaxSize : srcMaxSize >= 4;
+
+        int type = present ? PageUtils.getByte(srcPageAddr, srcOff) : IndexKeyTypes.UNKNOWN;
+
+        if (type == IndexKeyTypes.UNKNOWN) {
+            // Source value isn't inlined, so make sure that destination one isn't read as well.
+            if (dstMaxSize > 0)
+                PageUtils.putByte(dstPageAddr, dstOff, (byte) IndexKeyTypes.UNKNOWN);
+
+            return 0;
+        }
+
+        if (keySize > 0 && keySize + 1 > dstMaxSize)
+            return 0;
+
+        int size = inlineSize(srcPageAddr, srcOff);
+
+        if (size <= dstMaxSize) {
+            GridUnsafe.copyMemory(srcPageAddr + srcOff, dstPageAddr + dstOff, size);
+
+            return size;
+        }
+
+        // Only a variable length value of this type can be truncated.
+        int len = type == type() && dstMaxSize >= 4 ? truncatedLength(srcPageAddr, srcOff + 3, dstMaxSize - 3) : 0;
+
+        if (len == 0) {
+            // Nothing may be written beyond the destination, there may be no room even for the type.
+            if (dstMaxSize > 0)
+                PageUtils.putByte(dstPageAddr, dstOff, (byte) IndexKeyTypes.UNKNOWN);
+
+            return 0;
+        }
+
+        PageUtils.putByte(dstPageAddr, dstOff, (byte) type);
+        PageUtils.putShort(dstPageAddr, dstOff + 1, (short)(len | 0x8000));
+        GridUnsafe.copyMemory(srcPageAddr + srcOff + 3, dstPageAddr + dstOff + 3, len);
+
+        return len + 3;
+    }
+
+    /**
+     * Calculates length of a variable length value truncated to the given limit.
+     *
+     * @param pageAddr Page address.
+     * @param off Offset of the value bytes.
+     * @param limit Max length, it's guaranteed that the value is longer.
+     *
+     * @return Length of truncated value, {@code 0} if value can't be truncated.
+     */
+    protected int truncatedLength(long pageAddr, int off, int limit) {
+        return limit;
+    }
+
     /**
      * Puts given value into inline index tree.
      *
@@ -241,6 +241,17 @@ public class StringInlineIndexKeyType extends NullableInlineIndexKeyType<StringI
         return CANT_BE_COMPARE;
     }
 
+    /** {@inheritDoc} */
+    @Override protected int truncatedLength(long pageAddr, int off, int limit) {
+        // Do not split a multibyte character, see trimUTF8.
+        for (int i = limit; i > 0; i--) {
+            if ((PageUtils.getByte(pageAddr, off + i) & 0xc0) != 0x80)
+                return i;
+        }
+
+        return 0;
+    }
+
     /**
      * Convert String to byte[] with size limit, according to UTF-8 encoding.
      *
@@ -43,6 +43,11 @@ public class StringNoCompareInlineIndexKeyType extends NullableInlineIndexKeyTyp
         return delegate.get0(pageAddr, off);
     }
 
+    /** {@inheritDoc} */
+    @Override protected int truncatedLength(long pageAddr, int off, int limit) {
+        return delegate.truncatedLength(pageAddr, off, limit);
+    }
+
     /** {@inheritDoc} */
     @Override public int compare0(long pageAddr, int off, StringIndexKey key) {
         return COMPARE_UNSUPPORTED;
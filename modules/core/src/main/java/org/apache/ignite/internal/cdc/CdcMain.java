@@ -428,6 +428,7 @@ public class CdcMain implements Runnable {
                 .marshallerMappingFileStoreDir(marshaller)
                 .keepBinary(cdcCfg.isKeepBinary())
                 .filesOrDirs(segment.toFile())
+                .mmap(true)
                 .addFilter((type, ptr) -> type == DATA_RECORD_V2);
 
         long segmentIdx = segmentIndex(segment);
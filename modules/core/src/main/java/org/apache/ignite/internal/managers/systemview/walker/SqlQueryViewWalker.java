@@ -38,7 +38,10 @@ public class SqlQueryViewWalker implements SystemViewRowAttributeWalker<SqlQuery
         v.accept(4, "duration", long.class);
         v.accept(5, "initiatorId", String.class);
         v.accept(6, "local", boolean.class);
-        v.accept(7, "schemaName", String.class);
+        v.accept(7, "mapThreads", int.class);
+        v.accept(8, "reduceMemoryPeak", long.class);
+        v.accept(9, "reduceSpilledBytes", long.class);
+        v.accept(10, "schemaName", String.class);
     }
 
     /** {@inheritDoc} */
@@ -50,11 +53,14 @@ public class SqlQueryViewWalker implements SystemViewRowAttributeWalker<SqlQuery
         v.acceptLong(4, "duration", row.duration());
         v.accept(5, "initiatorId", String.class, row.initiatorId());
         v.acceptBoolean(6, "local", row.local());
-        v.accept(7, "schemaName", String.class, row.schemaName());
+        v.acceptInt(7, "mapThreads", row.mapThreads());
+        v.acceptLong(8, "reduceMemoryPeak", row.reduceMemoryPeak());
+        v.acceptLong(9, "reduceSpilledBytes", row.reduceSpilledBytes());
+        v.accept(10, "schemaName", String.class, row.schemaName());
     }
 
     /** {@inheritDoc} */
     @Override public int count() {
-        return 8;
+        return 11;
     }
 }
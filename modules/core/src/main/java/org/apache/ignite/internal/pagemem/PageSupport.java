@@ -85,6 +85,42 @@ public interface PageSupport {
      */
     public void readUnlock(int grpId, long pageId, long page);
 
+    /**
+     * Starts an optimistic read of the page. The page content at {@link #optimisticReadAddress(int, long, long)}
+     * may be read without a lock, but it can be modified concurrently, so anything read must be checked
+     * with {@link #validateOptimisticRead(int, long, long, long)} before it is used.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @return Non-zero stamp or {@code 0} if the page is write locked, was recycled or optimistic reads
+     *      are not supported.
+     */
+    public default long optimisticReadStamp(int grpId, long pageId, long page) {
+        return 0L;
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @return Pointer for optimistic reading of the page, {@code 0} if optimistic reads are not supported.
+     */
+    public default long optimisticReadAddress(int grpId, long pageId, long page) {
+        return 0L;
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param stamp Stamp returned by {@link #optimisticReadStamp(int, long, long)}.
+     * @return {@code True} if the page was not modified since the stamp was taken.
+     */
+    public default boolean validateOptimisticRead(int grpId, long pageId, long page, long stamp) {
+        return false;
+    }
+
     /**
      *
      * @param grpId Cache group ID.
@@ -68,10 +68,13 @@ import static org.apache.ignite.internal.util.GridUnsafe.wrapPointer;
  * +--------+--------+--------+--------+---------------------------+
  * |8 bytes |8 bytes |8 bytes |8 bytes |        PAGE_SIZE          |
  * +--------+--------+--------+--------+---------------------------+
- * | Marker |Page ID |Pin CNT |  Lock  |        Page data          |
+ * | Marker |Page ID |  Lock  |Version |        Page data          |
  * +--------+--------+--------+--------+---------------------------+
  * </pre>
  *
+ * The version is kept only if optimistic reads of B+Tree pages are enabled by
+ * {@link IgniteSystemProperties#IGNITE_BPLUS_TREE_OPTIMISTIC_READS}, otherwise page data follows the lock.
+ * <p/>
  * Note that first 8 bytes of page header are used either for page marker or for next relative pointer depending
  * on whether the page is in use or not.
  */
@@ -100,11 +103,21 @@ public class PageMemoryNoStoreImpl implements PageMemory {
     /** Page pin counter offset. */
     public static final int LOCK_OFFSET = 16;
 
+    /** Page modification version offset. */
+    private static final int VERSION_OFFSET = LOCK_OFFSET + OffheapReadWriteLock.LOCK_SIZE;
+
+    /** Page modification versions are kept in page headers for optimistic reads of B+Tree pages. */
+    private static final boolean PAGE_VERSIONS =
+        IgniteSystemProperties.getBoolean(IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS);
+
     /**
      * Need a 8-byte pointer for linked list, 8 bytes for internal needs (flags),
      * 4 bytes cache ID, 8 bytes timestamp.
      */
-    public static final int PAGE_OVERHEAD = LOCK_OFFSET + OffheapReadWriteLock.LOCK_SIZE;
+    public static final int PAGE_OVERHEAD = PAGE_VERSIONS ? VERSION_OFFSET + 8 : VERSION_OFFSET;
+
+    /** Marks optimistic read stamp as valid, so that stamp of the initial page version is not zero. */
+    private static final long OPTIMISTIC_STAMP_BIT = Long.MIN_VALUE;
 
     /** Number of bits required to store segment index. */
     private static final int SEG_BITS = 4;
@@ -371,6 +384,9 @@ public class PageMemoryNoStoreImpl implements PageMemory {
         // TODO pass an argument to decide whether the page should be cleaned.
         GridUnsafe.setMemory(absPtr + PAGE_OVERHEAD, sysPageSize - PAGE_OVERHEAD, (byte)0);
 
+        if (PAGE_VERSIONS)
+            incrementVersion(absPtr);
+
         return pageId;
     }
 
@@ -536,6 +552,37 @@ public class PageMemoryNoStoreImpl implements PageMemory {
         return 0L;
     }
 
+    /** {@inheritDoc} */
+    @Override public long optimisticReadStamp(int cacheId, long pageId, long page) {
+        assert started;
+
+        if (!PAGE_VERSIONS)
+            return 0L;
+
+        long ver = GridUnsafe.getLongVolatile(null, page + VERSION_OFFSET);
+
+        if (!rwLock.canReadOptimistic(page + LOCK_OFFSET, PageIdUtils.tag(pageId)))
+            return 0L;
+
+        return ver | OPTIMISTIC_STAMP_BIT;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long optimisticReadAddress(int cacheId, long pageId, long page) {
+        return page + PAGE_OVERHEAD;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean validateOptimisticRead(int cacheId, long pageId, long page, long stamp) {
+        assert (stamp & OPTIMISTIC_STAMP_BIT) != 0 : stamp;
+
+        // Page data must be read before the version.
+        GridUnsafe.loadFence();
+
+        return (GridUnsafe.getLongVolatile(null, page + VERSION_OFFSET) | OPTIMISTIC_STAMP_BIT) == stamp &&
+            rwLock.canReadOptimistic(page + LOCK_OFFSET, PageIdUtils.tag(pageId));
+    }
+
     /** {@inheritDoc} */
     @Override public long readLockForce(int cacheId, long pageId, long page) {
         assert started;
@@ -585,9 +632,22 @@ public class PageMemoryNoStoreImpl implements PageMemory {
 
         long actualId = PageIO.getPageId(page + PAGE_OVERHEAD);
 
+        // Invalidate optimistic reads started before or during the modification.
+        if (PAGE_VERSIONS)
+            incrementVersion(page);
+
         rwLock.writeUnlock(page + LOCK_OFFSET, PageIdUtils.tag(actualId));
     }
 
+    /**
+     * @param absPtr Absolute page pointer.
+     */
+    private static void incrementVersion(long absPtr) {
+        long ver = GridUnsafe.getLong(absPtr + VERSION_OFFSET);
+
+        GridUnsafe.putLongVolatile(null, absPtr + VERSION_OFFSET, ver + 1);
+    }
+
     /** {@inheritDoc} */
     @Override public boolean isDirty(int cacheId, long pageId, long page) {
         // always false for page no store.
@@ -893,6 +953,9 @@ public class PageMemoryNoStoreImpl implements PageMemory {
 
                     rwLock.init(absPtr + LOCK_OFFSET, tag);
 
+                    if (PAGE_VERSIONS)
+                        GridUnsafe.putLong(absPtr + VERSION_OFFSET, 0L);
+
                     return pageIdx;
                 }
             }
@@ -95,6 +95,37 @@ public interface PageStore extends Closeable {
      */
     public void write(long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) throws IgniteCheckedException;
 
+    /**
+     * Writes a run of pages with consecutive indexes. Pages are laid out one after another in {@code pagesBuf},
+     * so implementations may write the whole run with a single I/O operation. By default pages are written one
+     * by one.
+     *
+     * @param pageIds Page IDs, the first {@code cnt} of them are written.
+     * @param cnt Number of pages to write.
+     * @param pagesBuf Buffer with content of {@code cnt} pages starting from position {@code 0}.
+     * @param tag Partition file version, 1-based incrementing counter. For outdated pages {@code tag} has lower value,
+     * and write does nothing.
+     * @param calculateCrc if {@code False} crc calculation will be forcibly skipped.
+     * @throws IgniteCheckedException If page writing failed (IO error occurred).
+     */
+    public default void write(
+        long[] pageIds,
+        int cnt,
+        ByteBuffer pagesBuf,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        int pageSize = getPageSize();
+
+        for (int i = 0; i < cnt; i++) {
+            pagesBuf.limit((i + 1) * pageSize).position(i * pageSize);
+
+            write(pageIds[i], pagesBuf.slice().order(pagesBuf.order()), tag, calculateCrc);
+        }
+
+        pagesBuf.clear();
+    }
+
     /**
      * Gets page offset within the store file.
      *
@@ -19,6 +19,7 @@ package org.apache.ignite.internal.pagemem.wal.record;
 
 import java.util.Collections;
 import java.util.List;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.tostring.GridToStringInclude;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -33,6 +34,13 @@ public class DataRecord extends TimeStampRecord {
     @GridToStringInclude
     private List<DataEntry> writeEntries;
 
+    /**
+     * Record data compressed by WAL serializer. It's calculated together with the record size and released once the
+     * record is written, so the record is compressed once.
+     */
+    @GridToStringExclude
+    private byte[] compressedData;
+
     /** {@inheritDoc} */
     @Override public RecordType type() {
         return RecordType.DATA_RECORD_V2;
@@ -93,6 +101,21 @@ public class DataRecord extends TimeStampRecord {
         return writeEntries == null ? Collections.<DataEntry>emptyList() : writeEntries;
     }
 
+    /**
+     * @return Record data compressed by WAL serializer, empty array if the record is written as is, or {@code null}
+     *      if the record isn't serialized yet.
+     */
+    public byte[] compressedData() {
+        return compressedData;
+    }
+
+    /**
+     * @param compressedData Record data compressed by WAL serializer.
+     */
+    public void compressedData(byte[] compressedData) {
+        this.compressedData = compressedData;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(DataRecord.class, this, "super", super.toString());
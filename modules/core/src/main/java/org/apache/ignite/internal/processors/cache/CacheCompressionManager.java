@@ -82,6 +82,13 @@ public class CacheCompressionManager extends GridCacheManagerAdapter {
         }
     }
 
+    /**
+     * @return {@code true} if pages of the cache group may be compressed before they are written to the page store.
+     */
+    public boolean diskPageCompressionEnabled() {
+        return diskPageCompression != DiskPageCompression.DISABLED;
+    }
+
     /**
      * @param page Page buffer.
      * @param store Page store.
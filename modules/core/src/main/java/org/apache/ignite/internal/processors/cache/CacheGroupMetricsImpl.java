@@ -39,6 +39,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.topology.Grid
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
+import org.apache.ignite.internal.processors.cache.tree.PartitionKeyFilter;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
 import org.apache.ignite.internal.util.typedef.internal.CU;
@@ -175,6 +176,14 @@ public class CacheGroupMetricsImpl {
             this::getTotalAllocatedSize,
             "Total size of memory allocated for group, in bytes.");
 
+        mreg.register("PartitionKeyFilterFalsePositiveRate",
+            this::getPartitionKeyFilterFalsePositiveRate,
+            "Average estimated false positive rate of key filters of partitions located on this node.");
+
+        mreg.register("PartitionKeyFilterSize",
+            this::getPartitionKeyFilterSize,
+            "Total size of memory used by key filters of partitions located on this node, in bytes.");
+
         if (ctx.config().isEncryptionEnabled()) {
             mreg.register("ReencryptionFinished",
                 () -> !ctx.shared().kernalContext().encryption().reencryptionInProgress(ctx.groupId()),
@@ -377,6 +386,37 @@ public class CacheGroupMetricsImpl {
         return entriesCnt;
     }
 
+    /** */
+    public double getPartitionKeyFilterFalsePositiveRate() {
+        double rate = 0;
+        int cnt = 0;
+
+        for (GridDhtLocalPartition part : ctx.topology().localPartitions()) {
+            PartitionKeyFilter filter = part.dataStore().keyFilter();
+
+            if (filter != null) {
+                rate += filter.falsePositiveRate();
+                cnt++;
+            }
+        }
+
+        return cnt == 0 ? 0 : rate / cnt;
+    }
+
+    /** */
+    public long getPartitionKeyFilterSize() {
+        long size = 0;
+
+        for (GridDhtLocalPartition part : ctx.topology().localPartitions()) {
+            PartitionKeyFilter filter = part.dataStore().keyFilter();
+
+            if (filter != null)
+                size += filter.sizeInBytes();
+        }
+
+        return size;
+    }
+
     /** */
     public int getClusterOwningPartitionsCount() {
         return clusterPartitionsCountByState(GridDhtPartitionState.OWNING);
@@ -27,6 +27,9 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.topology.Grid
 import org.apache.ignite.internal.processors.cache.distributed.near.GridNearCacheAdapter;
 import org.apache.ignite.internal.processors.cache.distributed.near.GridNearCacheEntry;
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.internal.util.GridConcurrentSkipListSet;
 import org.apache.ignite.internal.util.lang.IgniteInClosure2X;
 import org.apache.ignite.internal.util.typedef.X;
@@ -35,6 +38,8 @@ import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
+
 /**
  * Eagerly removes expired entries from cache when
  * {@link CacheConfiguration#isEagerTtl()} flag is set.
@@ -43,6 +48,9 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
     /** @see IgniteSystemProperties#IGNITE_UNWIND_THROTTLING_TIMEOUT */
     public static final long DFLT_UNWIND_THROTTLING_TIMEOUT = 500L;
 
+    /** Time interval in milliseconds of the expired entries removal rate. */
+    private static final long EXPIRY_RATE_INTERVAL = 60_000L;
+
     /**
      * Throttling timeout in millis which avoid excessive PendingTree access on unwind
      * if there is nothing to clean yet.
@@ -65,6 +73,12 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
     /** */
     private GridCacheContext dhtCtx;
 
+    /** Number of expired entries removed eagerly, {@code null} for near cache. */
+    private LongAdderMetric expiredCnt;
+
+    /** Rate of eager removal of expired entries, {@code null} for near cache. */
+    private HitRateMetric expiredRate;
+
     /** */
     private final IgniteInClosure2X<GridCacheEntryEx, GridCacheVersion> expireC =
         new IgniteInClosure2X<GridCacheEntryEx, GridCacheVersion>() {
@@ -90,6 +104,9 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
 
                 if (touch)
                     entry.touch();
+
+                if (!entry.isNear())
+                    entry.context().ttl().onExpired();
             }
         };
 
@@ -108,6 +125,21 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
 
         eagerTtlEnabled = true;
 
+        if (!cctx.isNear()) {
+            MetricRegistry mreg = cctx.kernalContext().metric().registry(cacheMetricsRegistryName(cctx.name(), false));
+
+            expiredRate = mreg.hitRateMetric("ExpiredEntriesRemovalRate",
+                "Number of expired entries eagerly removed during the last minute.",
+                EXPIRY_RATE_INTERVAL,
+                20);
+
+            expiredCnt = mreg.longAdderMetric("ExpiredEntriesRemoved",
+                "The total number of expired entries eagerly removed from the cache.");
+
+            mreg.register("ExpiryBacklog", this::expiryBacklog,
+                "Number of entries of the cache group which are due to expire but not removed yet.");
+        }
+
         cctx.shared().ttl().register(this);
 
         pendingEntries = (!cctx.isLocal() && cctx.config().getNearConfiguration() != null) ? new GridConcurrentSkipListSetEx() : null;
@@ -167,6 +199,34 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
         return (pendingEntries != null ? pendingEntries.sizex() : 0) + cctx.offheap().expiredSize();
     }
 
+    /**
+     * Updates metrics on eager removal of an expired entry.
+     */
+    private void onExpired() {
+        LongAdderMetric expiredCnt0 = expiredCnt;
+
+        if (expiredCnt0 != null) {
+            expiredCnt0.increment();
+
+            expiredRate.increment();
+        }
+    }
+
+    /**
+     * @return Number of entries of the cache group which are due to expire but not removed yet.
+     */
+    public long expiryBacklog() {
+        if (!cctx.affinityNode())
+            return 0;
+
+        try {
+            return cctx.offheap().expiryBacklog();
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteException(e);
+        }
+    }
+
     /**
      * Updates the flag {@code hasPendingEntries} with the given value.
      *
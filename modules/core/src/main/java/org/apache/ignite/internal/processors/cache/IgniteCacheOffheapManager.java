@@ -30,6 +30,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.topology.Grid
 import org.apache.ignite.internal.processors.cache.mvcc.MvccSnapshot;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccVersion;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowValueReader;
 import org.apache.ignite.internal.processors.cache.persistence.CacheSearchRow;
 import org.apache.ignite.internal.processors.cache.persistence.DataRowCacheAware;
 import org.apache.ignite.internal.processors.cache.persistence.RootPage;
@@ -39,6 +40,7 @@ import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPa
 import org.apache.ignite.internal.processors.cache.persistence.partstorage.PartitionMetaStorage;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataTree;
+import org.apache.ignite.internal.processors.cache.tree.PartitionKeyFilter;
 import org.apache.ignite.internal.processors.cache.tree.PendingEntriesTree;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccUpdateResult;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.search.MvccLinkAwareSearchRow;
@@ -50,6 +52,7 @@ import org.apache.ignite.internal.util.IgniteTree;
 import org.apache.ignite.internal.util.lang.GridCloseableIterator;
 import org.apache.ignite.internal.util.lang.GridCursor;
 import org.apache.ignite.internal.util.lang.GridIterator;
+import org.apache.ignite.internal.util.lang.GridPlainClosure;
 import org.apache.ignite.internal.util.lang.IgniteInClosure2X;
 import org.apache.ignite.internal.util.lang.IgnitePredicateX;
 import org.apache.ignite.lang.IgniteBiTuple;
@@ -115,6 +118,23 @@ public interface IgniteCacheOffheapManager {
      */
     @Nullable public CacheDataRow read(GridCacheContext cctx, KeyCacheObject key) throws IgniteCheckedException;
 
+    /**
+     * Reads the value of the key from data pages by ranges, without materializing it on heap. The lock of the cache
+     * entry is held while the closure is executed, so the row can't be updated or removed. The reader can't be used
+     * after the closure returns.
+     *
+     * @param cctx Cache context.
+     * @param key Key.
+     * @param clo Closure which gets the value reader or {@code null} if there is no such key.
+     * @return Result of the closure.
+     * @throws IgniteCheckedException If failed.
+     */
+    public <R> R readValue(
+        GridCacheContext cctx,
+        KeyCacheObject key,
+        GridPlainClosure<CacheDataRowValueReader, R> clo
+    ) throws IgniteCheckedException;
+
     /**
      * @param p Partition.
      * @return Data store.
@@ -162,6 +182,15 @@ public interface IgniteCacheOffheapManager {
      */
     public long expiredSize() throws IgniteCheckedException;
 
+    /**
+     * Gets the number of entries pending expire whose expire time bucket is already due. The entries of all
+     * caches of the group are taken into account.
+     *
+     * @return Number of due entries.
+     * @throws IgniteCheckedException If failed.
+     */
+    public long expiryBacklog() throws IgniteCheckedException;
+
     /**
      * @param cctx Cache context.
      * @param key Key.
@@ -612,6 +641,11 @@ public interface IgniteCacheOffheapManager {
          */
         public CacheDataTree tree();
 
+        /**
+         * @return Filter of partition keys or {@code null} if filter is disabled or isn't built yet.
+         */
+        public @Nullable PartitionKeyFilter keyFilter();
+
         /**
          * Initialize data store if it exists.
          *
@@ -766,6 +800,16 @@ public interface IgniteCacheOffheapManager {
             long expireTime,
             @Nullable CacheDataRow oldRow) throws IgniteCheckedException;
 
+        /**
+         * Moves the row to another place of the partition without changing its data, so the data page which
+         * stores the row can be released. Must be called under the lock of the cache entry.
+         *
+         * @param cctx Cache context.
+         * @param row Row to move.
+         * @throws IgniteCheckedException If failed.
+         */
+        void relocate(GridCacheContext cctx, CacheDataRow row) throws IgniteCheckedException;
+
         /**
          * @param cctx Cache context.
          * @param key Key.
@@ -943,6 +987,14 @@ public interface IgniteCacheOffheapManager {
          */
         public CacheDataRow find(GridCacheContext cctx, KeyCacheObject key) throws IgniteCheckedException;
 
+        /**
+         * @param cctx Cache context.
+         * @param key Key.
+         * @return Link of the row of the key or {@code 0} if there is no such key.
+         * @throws IgniteCheckedException If failed.
+         */
+        public long findLink(GridCacheContext cctx, KeyCacheObject key) throws IgniteCheckedException;
+
         /**
          * Returns iterator over the all row versions for the given key.
          *
@@ -20,6 +20,7 @@ package org.apache.ignite.internal.processors.cache;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -28,6 +29,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -40,6 +42,7 @@ import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.failure.FailureContext;
 import org.apache.ignite.failure.FailureType;
 import org.apache.ignite.internal.NodeStoppingException;
+import org.apache.ignite.internal.managers.communication.GridIoPolicy;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.PageMemory;
@@ -62,6 +65,7 @@ import org.apache.ignite.internal.processors.cache.mvcc.MvccVersion;
 import org.apache.ignite.internal.processors.cache.mvcc.txlog.TxState;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapter;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowValueReader;
 import org.apache.ignite.internal.processors.cache.persistence.CacheSearchRow;
 import org.apache.ignite.internal.processors.cache.persistence.DataRowCacheAware;
 import org.apache.ignite.internal.processors.cache.persistence.RootPage;
@@ -79,6 +83,7 @@ import org.apache.ignite.internal.processors.cache.query.GridCacheQueryManager;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataRowStore;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataTree;
 import org.apache.ignite.internal.processors.cache.tree.DataRow;
+import org.apache.ignite.internal.processors.cache.tree.PartitionKeyFilter;
 import org.apache.ignite.internal.processors.cache.tree.PendingEntriesTree;
 import org.apache.ignite.internal.processors.cache.tree.PendingRow;
 import org.apache.ignite.internal.processors.cache.tree.RowLinkIO;
@@ -111,6 +116,8 @@ import org.apache.ignite.internal.util.collection.IntSet;
 import org.apache.ignite.internal.util.lang.GridCloseableIterator;
 import org.apache.ignite.internal.util.lang.GridCursor;
 import org.apache.ignite.internal.util.lang.GridIterator;
+import org.apache.ignite.internal.util.lang.GridPlainClosure;
+import org.apache.ignite.internal.util.lang.GridPlainRunnable;
 import org.apache.ignite.internal.util.lang.IgniteInClosure2X;
 import org.apache.ignite.internal.util.lang.IgnitePredicateX;
 import org.apache.ignite.internal.util.typedef.F;
@@ -126,6 +133,7 @@ import static java.lang.Boolean.TRUE;
 import static org.apache.ignite.internal.pagemem.PageIdAllocator.FLAG_IDX;
 import static org.apache.ignite.internal.pagemem.PageIdAllocator.INDEX_PARTITION;
 import static org.apache.ignite.internal.processors.cache.GridCacheUtils.TTL_ETERNAL;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.MOVING;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccUtils.INITIAL_VERSION;
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccUtils.MVCC_COUNTER_NA;
@@ -155,6 +163,9 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
     /** Batch size for cache removals during destroy. */
     private static final int BATCH_SIZE = 1000;
 
+    /** Max number of expired rows removed from a pending tree at once. */
+    protected static final int EXPIRE_BATCH_SIZE = 512;
+
     /** */
     protected GridCacheSharedContext ctx;
 
@@ -637,6 +648,64 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
         return row;
     }
 
+    /** {@inheritDoc} */
+    @Override public <R> R readValue(
+        GridCacheContext cctx,
+        KeyCacheObject key,
+        GridPlainClosure<CacheDataRowValueReader, R> clo
+    ) throws IgniteCheckedException {
+        assert !cctx.isNear() : cctx.name();
+
+        if (grp.mvccEnabled())
+            throw new IgniteCheckedException("Value reader isn't supported for MVCC caches.");
+
+        GridDhtLocalPartition part = null;
+
+        if (!grp.isLocal()) {
+            part = grp.topology().localPartition(cctx.affinity().partition(key), AffinityTopologyVersion.NONE, false);
+
+            if (part == null || !part.reserve())
+                return clo.apply(null);
+        }
+
+        try {
+            while (true) {
+                GridCacheEntryEx entry = cctx.cache().entryEx(key);
+
+                entry.lockEntry();
+
+                try {
+                    // Entry is removed from the map, a new one is created on retry.
+                    if (entry.obsolete())
+                        continue;
+
+                    long link = dataStore(part).findLink(cctx, key);
+
+                    if (link == 0L)
+                        return clo.apply(null);
+
+                    CacheDataRowValueReader reader = new CacheDataRowValueReader(grp, link);
+
+                    try {
+                        return clo.apply(reader);
+                    }
+                    finally {
+                        reader.close();
+                    }
+                }
+                finally {
+                    entry.unlockEntry();
+
+                    entry.touch();
+                }
+            }
+        }
+        finally {
+            if (part != null)
+                part.release();
+        }
+    }
+
     /** {@inheritDoc} */
     @Nullable @Override public CacheDataRow mvccRead(GridCacheContext cctx, KeyCacheObject key, MvccSnapshot mvccSnapshot)
         throws IgniteCheckedException {
@@ -1356,7 +1425,9 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
     ) throws IgniteCheckedException {
         long now = U.currentTimeMillis();
 
-        GridCacheVersion obsoleteVer = null;
+        // Nothing is due yet, skip the pending tree scan.
+        if (pendingEntries.expiryBuckets().nextExpireTime() > now)
+            return 0;
 
         GridCursor<PendingRow> cur;
 
@@ -1375,11 +1446,15 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
                 return 0;
 
             try {
+                List<PendingRow> batch = new ArrayList<>();
+
+                GridCacheVersion obsoleteVer = null;
+
                 int cleared = 0;
 
                 do {
                     if (amount != -1 && cleared > amount)
-                        return cleared;
+                        break;
 
                     PendingRow row = cur.get();
 
@@ -1388,20 +1463,20 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
                     assert row.key != null && row.link != 0 && row.expireTime != 0 : row;
 
-                    if (pendingEntries.removex(row)) {
-                        if (obsoleteVer == null)
-                            obsoleteVer = cctx.cache().nextVersion();
+                    batch.add(row);
 
-                        GridCacheEntryEx entry = cctx.cache().entryEx(row.key);
+                    if (batch.size() == EXPIRE_BATCH_SIZE) {
+                        obsoleteVer = expireRows(cctx, pendingEntries, batch, c, obsoleteVer);
 
-                        if (entry != null)
-                            c.apply(entry, obsoleteVer);
+                        batch.clear();
                     }
 
                     cleared++;
                 }
                 while (cur.next());
 
+                expireRows(cctx, pendingEntries, batch, c, obsoleteVer);
+
                 return cleared;
             }
             finally {
@@ -1413,15 +1488,61 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
         }
     }
 
+    /**
+     * Removes a batch of expired rows from the pending tree in a single pass and applies the expiry closure
+     * to entries of the actually removed rows.
+     *
+     * @param cctx Cache context.
+     * @param pendingTree Pending entries tree.
+     * @param rows Expired rows sorted in the tree order.
+     * @param c Expiry closure.
+     * @param obsoleteVer Obsolete version, {@code null} if it isn't generated yet.
+     * @return Obsolete version, {@code null} if it isn't generated yet.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable protected static GridCacheVersion expireRows(
+        GridCacheContext cctx,
+        PendingEntriesTree pendingTree,
+        List<PendingRow> rows,
+        IgniteInClosure2X<GridCacheEntryEx, GridCacheVersion> c,
+        @Nullable GridCacheVersion obsoleteVer
+    ) throws IgniteCheckedException {
+        if (rows.isEmpty())
+            return obsoleteVer;
+
+        for (PendingRow row : pendingTree.removeAll(rows)) {
+            if (obsoleteVer == null)
+                obsoleteVer = cctx.cache().nextVersion();
+
+            GridCacheEntryEx entry = cctx.cache().entryEx(row.key);
+
+            if (entry != null)
+                c.apply(entry, obsoleteVer);
+        }
+
+        return obsoleteVer;
+    }
+
     /** {@inheritDoc} */
     @Override public long expiredSize() throws IgniteCheckedException {
         return pendingEntries != null ? pendingEntries.size() : 0;
     }
 
+    /** {@inheritDoc} */
+    @Override public long expiryBacklog() throws IgniteCheckedException {
+        return pendingEntries != null ? pendingEntries.expiryBuckets().dueCount(U.currentTimeMillis()) : 0;
+    }
+
     /**
      *
      */
     public static class CacheDataStoreImpl implements CacheDataStore {
+        /** Min delay of key filter build retry in milliseconds. */
+        private static final long KEY_FILTER_MIN_RETRY_DELAY = 1_000;
+
+        /** Max delay of key filter build retry in milliseconds. */
+        private static final long KEY_FILTER_MAX_RETRY_DELAY = 10 * 60_000;
+
         /** */
         private final int partId;
 
@@ -1472,6 +1593,27 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
         /** */
         private volatile GridQueryRowCacheCleaner rowCacheCleaner;
 
+        /** Leaf of the data tree reached by the previous row of a batch inserted by the current thread. */
+        private final ThreadLocal<long[]> insertLeafId = new ThreadLocal<>();
+
+        /** Bits per key of partition key filter, {@code 0} if filter is disabled. */
+        private final int keyFilterBitsPerKey;
+
+        /** Filter of partition keys, {@code null} if it isn't built yet. */
+        private volatile PartitionKeyFilter keyFilter;
+
+        /** Filter of partition keys which is being built. */
+        private volatile PartitionKeyFilter buildingKeyFilter;
+
+        /** Key filter build guard. */
+        private final AtomicBoolean keyFilterBuilding = new AtomicBoolean();
+
+        /** Time when the key filter build may be started again after a failed or skipped one. */
+        private volatile long keyFilterRetryTime;
+
+        /** Delay of the next key filter build retry, grows exponentially while builds fail. */
+        private long keyFilterRetryDelay;
+
         /**
          * @param partId Partition number.
          * @param rowStore Row store.
@@ -1504,6 +1646,9 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
             updateValSizeThreshold = grp.shared().database().pageSize() / 2;
 
+            keyFilterBitsPerKey = grp.mvccEnabled() ? 0 :
+                IgniteSystemProperties.getInteger(IgniteSystemProperties.IGNITE_PARTITION_KEY_FILTER_BITS_PER_KEY, 0);
+
             mvccUpdateMarker = new MvccMarkUpdatedHandler(grp);
             mvccUpdateTxStateHint = new MvccUpdateTxStateHintHandler(grp);
             mvccApplyChanges = new MvccApplyChangesHandler(grp);
@@ -1519,6 +1664,166 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             return dataTree;
         }
 
+        /** {@inheritDoc} */
+        @Override public @Nullable PartitionKeyFilter keyFilter() {
+            return keyFilter;
+        }
+
+        /**
+         * Checks whether the partition might contain the given key. Schedules build of the key filter if it
+         * isn't built yet or is saturated.
+         *
+         * @param key Key.
+         * @return {@code False} if the partition definitely doesn't contain the key.
+         */
+        private boolean mightContain(KeyCacheObject key) {
+            if (keyFilterBitsPerKey <= 0)
+                return true;
+
+            PartitionKeyFilter filter = keyFilter;
+
+            if (filter == null || filter.saturated())
+                buildKeyFilterAsync();
+
+            return filter == null || filter.mightContain(key.hashCode());
+        }
+
+        /**
+         * Adds key of the row inserted to the data tree to key filters.
+         *
+         * @param row Row.
+         */
+        private void addToKeyFilter(CacheDataRow row) {
+            if (keyFilterBitsPerKey <= 0)
+                return;
+
+            // Building filter must be checked first, it's published as the key filter when the build is finished.
+            PartitionKeyFilter filter = buildingKeyFilter;
+
+            if (filter != null)
+                filter.add(row.hash());
+
+            filter = keyFilter;
+
+            if (filter != null)
+                filter.add(row.hash());
+        }
+
+        /**
+         * Builds the key filter by the data tree in background. Keys inserted concurrently are added to
+         * the filter by writers, so the built filter never gives a false negative answer.
+         * <p>
+         * The scan runs in the management pool with the partition reserved, the manager busy lock is held only
+         * while the next row is read, so neither node stop nor eviction of the partition waits for the whole scan.
+         */
+        private void buildKeyFilterAsync() {
+            if (U.currentTimeMillis() < keyFilterRetryTime || !keyFilterBuilding.compareAndSet(false, true))
+                return;
+
+            if (!busyLock.enterBusy()) {
+                keyFilterBuilding.set(false);
+
+                return;
+            }
+
+            try {
+                grp.shared().kernalContext().closure().runLocalSafe((GridPlainRunnable)() -> {
+                    GridDhtLocalPartition part = grp.isLocal() ? null : grp.topology().localPartition(partId);
+
+                    if (!grp.isLocal() && (part == null || !part.reserve())) {
+                        onKeyFilterBuildFinished(false);
+
+                        return;
+                    }
+
+                    long expKeys = Math.max(fullSize(), 1) * 2;
+                    long size = PartitionKeyFilter.sizeInBytes(expKeys, keyFilterBitsPerKey);
+
+                    boolean reserved = false;
+                    boolean built = false;
+
+                    try {
+                        reserved = grp.shared().database().reservePartitionKeyFilter(size);
+
+                        if (!reserved) {
+                            if (log.isDebugEnabled()) {
+                                log.debug("Partition key filter isn't built, memory limit of filters is reached " +
+                                    "[grp=" + grp.cacheOrGroupName() + ", part=" + partId + ", size=" + size + ']');
+                            }
+
+                            return;
+                        }
+
+                        PartitionKeyFilter filter = new PartitionKeyFilter(expKeys, keyFilterBitsPerKey);
+
+                        buildingKeyFilter = filter;
+
+                        GridCursor<? extends CacheDataRow> cur =
+                            dataTree.find(null, null, CacheDataRowAdapter.RowData.LINK_ONLY);
+
+                        while (true) {
+                            if (part != null && part.state() != OWNING && part.state() != MOVING)
+                                return;
+
+                            if (!busyLock.enterBusy())
+                                return;
+
+                            try {
+                                if (!cur.next())
+                                    break;
+
+                                filter.add(cur.get().hash());
+                            }
+                            finally {
+                                busyLock.leaveBusy();
+                            }
+                        }
+
+                        keyFilter = filter;
+
+                        built = true;
+                    }
+                    catch (Throwable e) {
+                        U.error(log, "Failed to build partition key filter [grp=" + grp.cacheOrGroupName() +
+                            ", part=" + partId + ']', e);
+                    }
+                    finally {
+                        buildingKeyFilter = null;
+
+                        if (reserved)
+                            grp.shared().database().releasePartitionKeyFilter(size);
+
+                        onKeyFilterBuildFinished(built);
+
+                        if (part != null)
+                            part.release();
+                    }
+                }, GridIoPolicy.MANAGEMENT_POOL);
+            }
+            finally {
+                busyLock.leaveBusy();
+            }
+        }
+
+        /**
+         * Releases the key filter build guard. A failed or skipped build is retried with an exponential backoff,
+         * so a partition which can't get its filter doesn't start a scan on every lookup.
+         *
+         * @param built {@code True} if the filter is built.
+         */
+        private void onKeyFilterBuildFinished(boolean built) {
+            if (built)
+                keyFilterRetryDelay = 0;
+            else {
+                keyFilterRetryDelay = keyFilterRetryDelay == 0 ? KEY_FILTER_MIN_RETRY_DELAY :
+                    Math.min(keyFilterRetryDelay * 2, KEY_FILTER_MAX_RETRY_DELAY);
+
+                keyFilterRetryTime = U.currentTimeMillis() + keyFilterRetryDelay;
+            }
+
+            keyFilterBuilding.set(false);
+        }
+
         /**
          * @param cacheId Cache ID.
          */
@@ -1731,7 +2036,12 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             throws IgniteCheckedException {
             assert cctx.shared().database().checkpointLockIsHeldByThread();
 
-            dataTree.invoke(row, CacheDataRowAdapter.RowData.NO_KEY, c);
+            long[] leafId = insertLeafId.get();
+
+            if (leafId != null)
+                leafId[0] = dataTree.invoke(row, CacheDataRowAdapter.RowData.NO_KEY, c, leafId[0]);
+            else
+                dataTree.invoke(row, CacheDataRowAdapter.RowData.NO_KEY, c);
 
             switch (c.operationType()) {
                 case PUT: {
@@ -1803,11 +2113,25 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
                 boolean cacheIdAwareGrp = grp.sharedGroup() || grp.storeCacheIdInDataPage();
 
-                for (DataRowCacheAware row : rows) {
+                List<DataRowCacheAware> sorted = new ArrayList<>(rows);
+
+                for (DataRowCacheAware row : sorted)
                     row.storeCacheId(cacheIdAwareGrp);
 
-                    if (!initPred.applyx(row) && row.value() != null)
-                        rowStore.removeRow(row.link(), grp.statisticsHolderData());
+                // Every row is initialized under its entry lock, so the rows can not be passed to the tree at once.
+                // Instead they go in the tree order, and the leaf reached by the previous row is tried first.
+                sorted.sort(Comparator.<DataRowCacheAware>comparingInt(CacheDataRow::cacheId).thenComparingInt(CacheDataRow::hash));
+
+                insertLeafId.set(new long[1]);
+
+                try {
+                    for (DataRowCacheAware row : sorted) {
+                        if (!initPred.applyx(row) && row.value() != null)
+                            rowStore.removeRow(row.link(), grp.statisticsHolderData());
+                    }
+                }
+                finally {
+                    insertLeafId.remove();
                 }
             }
             finally {
@@ -1935,6 +2259,8 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
                 if (clo.found())
                     return false;
 
+                List<MvccDataRow> rows = new ArrayList<>(hist.size());
+
                 for (GridCacheMvccEntryInfo info : hist) {
                     MvccDataRow row = new MvccDataRow(key,
                         info.value(),
@@ -1958,12 +2284,15 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
                     row.cacheId(cacheId);
 
-                    boolean hasOld = dataTree.putx(row);
+                    rows.add(row);
+                }
 
-                    assert !hasOld : row;
+                // Versions of the same key are neighbours in the tree, insert them in a single batch.
+                dataTree.invokeAll(rows.iterator(), CacheDataRowAdapter.RowData.NO_KEY,
+                    row -> new InsertRowClosure((CacheDataRow)row));
 
+                for (MvccDataRow row : rows)
                     finishUpdate(cctx, row, null);
-                }
 
                 return true;
             }
@@ -2551,6 +2880,44 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             }
         }
 
+        /** {@inheritDoc} */
+        @Override public void relocate(GridCacheContext cctx, CacheDataRow row) throws IgniteCheckedException {
+            assert !grp.mvccEnabled();
+            assert row.link() != 0L : row;
+
+            if (!busyLock.enterBusy())
+                throw new NodeStoppingException("Operation has been cancelled (node is stopping).");
+
+            try {
+                assert cctx.shared().database().checkpointLockIsHeldByThread();
+
+                int cacheId = grp.storeCacheIdInDataPage() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
+
+                DataRow dataRow = makeDataRow(row.key(), row.value(), row.version(), row.expireTime(), cacheId);
+
+                CacheObjectContext coCtx = cctx.cacheObjectContext();
+
+                // Make sure value bytes initialized.
+                row.key().valueBytes(coCtx);
+                row.value().valueBytes(coCtx);
+
+                rowStore.addRow(dataRow, grp.statisticsHolderData());
+
+                assert dataRow.link() != 0 : dataRow;
+
+                if (grp.sharedGroup() && dataRow.cacheId() == CU.UNDEFINED_CACHE_ID)
+                    dataRow.cacheId(cctx.cacheId());
+
+                dataTree.putx(dataRow);
+
+                // Updates indexes and pending entries and removes the old row.
+                finishUpdate(cctx, dataRow, row);
+            }
+            finally {
+                busyLock.leaveBusy();
+            }
+        }
+
         /** {@inheritDoc} */
         @Override public void mvccApplyUpdate(GridCacheContext cctx,
             KeyCacheObject key,
@@ -2660,6 +3027,9 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             if (oldRow == null && !oldRowExpired)
                 incrementSize(cctx.cacheId());
 
+            if (oldRow == null)
+                addToKeyFilter(newRow);
+
             GridCacheQueryManager qryMgr = cctx.queries();
 
             if (qryMgr.enabled())
@@ -2780,14 +3150,30 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
                 row = clo.row();
             }
-            else
+            else if (mightContain(key))
                 row = dataTree.findOne(new SearchRow(cacheId, key), CacheDataRowAdapter.RowData.NO_KEY);
+            else
+                row = null;
 
             afterRowFound(row, key);
 
             return row;
         }
 
+        /** {@inheritDoc} */
+        @Override public long findLink(GridCacheContext cctx, KeyCacheObject key) throws IgniteCheckedException {
+            key.valueBytes(cctx.cacheObjectContext());
+
+            int cacheId = grp.sharedGroup() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
+
+            if (!mightContain(key))
+                return 0L;
+
+            CacheDataRow row = dataTree.findOne(new SearchRow(cacheId, key), CacheDataRowAdapter.RowData.LINK_ONLY);
+
+            return row == null ? 0L : row.link();
+        }
+
         /** {@inheritDoc} */
         @Override public List<IgniteBiTuple<Object, MvccVersion>> mvccFindAllVersions(
             GridCacheContext cctx,
@@ -3274,6 +3660,36 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
         }
     }
 
+    /**
+     * Inserts a new row, the row must be absent in the tree.
+     */
+    private static final class InsertRowClosure implements IgniteTree.InvokeClosure<CacheDataRow> {
+        /** */
+        private final CacheDataRow newRow;
+
+        /**
+         * @param newRow New row.
+         */
+        InsertRowClosure(CacheDataRow newRow) {
+            this.newRow = newRow;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void call(@Nullable CacheDataRow oldRow) {
+            assert oldRow == null : newRow;
+        }
+
+        /** {@inheritDoc} */
+        @Override public CacheDataRow newRow() {
+            return newRow;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteTree.OperationType operationType() {
+            return IgniteTree.OperationType.PUT;
+        }
+    }
+
     /**
      * Mvcc remove handler.
      */
@@ -0,0 +1,481 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.binary.BinaryContext;
+import org.apache.ignite.internal.binary.BinaryObjectImpl;
+import org.apache.ignite.internal.binary.BinaryPositionReadable;
+import org.apache.ignite.internal.binary.BinaryPrimitives;
+import org.apache.ignite.internal.binary.BinarySchema;
+import org.apache.ignite.internal.binary.BinaryUtils;
+import org.apache.ignite.internal.binary.GridBinaryMarshaller;
+import org.apache.ignite.internal.binary.streams.BinaryHeapInputStream;
+import org.apache.ignite.internal.metric.IoStatisticsHolder;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPagePayload;
+import org.apache.ignite.internal.util.GridIntList;
+import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.pagemem.PageIdUtils.itemId;
+import static org.apache.ignite.internal.pagemem.PageIdUtils.pageId;
+
+/**
+ * Reader of a value of a row stored in data pages. It reads byte ranges of the value and fields of a binary
+ * object value directly from fragments of the row, so the whole value isn't materialized on heap. Fragments
+ * of the row are located lazily. A fragment is copied to a buffer as a whole under the read lock of its page,
+ * so sequential reads acquire every page of the row once.
+ * <p>
+ * Is created by {@link IgniteCacheOffheapManager#readValue} only, which holds the lock of the cache entry, so
+ * the row isn't removed or updated while the reader is used.
+ */
+public class CacheDataRowValueReader implements BinaryPositionReadable {
+    /** Cache group. */
+    private final CacheGroupContext grp;
+
+    /** Page memory. */
+    private final PageMemory pageMem;
+
+    /** Links of located row fragments. */
+    private final GridLongList fragLinks = new GridLongList();
+
+    /** Offsets of located row fragments in the row. */
+    private final GridIntList fragOffs = new GridIntList();
+
+    /** Length of located row fragments. */
+    private int locatedLen;
+
+    /** Link of the next fragment to locate, {@code 0} if all fragments are located. */
+    private long nextLink;
+
+    /** Link of the fragment following the last read one. */
+    private long readNextLink;
+
+    /** Bytes of the buffered fragment. */
+    @GridToStringExclude
+    private byte[] buf;
+
+    /** Index of the buffered fragment, {@code -1} if there is no buffered fragment. */
+    private int bufIdx = -1;
+
+    /** Whether the reader is closed. */
+    private boolean closed;
+
+    /** Offset of the value bytes in the row. */
+    private final int valOff;
+
+    /** Length of the value. */
+    private final int valLen;
+
+    /** Type of the value. */
+    private final byte valType;
+
+    /**
+     * @param grp Cache group.
+     * @param link Row link.
+     * @throws IgniteCheckedException If failed.
+     * @see IgniteCacheOffheapManager#readValue
+     */
+    public CacheDataRowValueReader(CacheGroupContext grp, long link) throws IgniteCheckedException {
+        assert !grp.mvccEnabled() : grp.cacheOrGroupName();
+        assert link != 0L;
+
+        this.grp = grp;
+
+        pageMem = grp.dataRegion().pageMemory();
+        nextLink = link;
+
+        locate(0);
+
+        boolean fragmented = nextLink != 0L;
+
+        int off = grp.storeCacheIdInDataPage() ? 4 : 0;
+
+        off += 5 + readInt(off);
+
+        // Expire time precedes the value in a fragmented row and follows the version in a single page row.
+        if (fragmented)
+            off += 8;
+
+        valLen = readInt(off);
+        valType = readByte(off + 4);
+        valOff = off + 5;
+    }
+
+    /**
+     * @return Value length.
+     */
+    public int valueLength() {
+        return valLen;
+    }
+
+    /**
+     * @return Value type, see {@link CacheObject#TYPE_REGULAR} and other types.
+     */
+    public byte valueType() {
+        return valType;
+    }
+
+    /**
+     * Reads a range of the value bytes.
+     *
+     * @param off Offset in the value.
+     * @param len Length.
+     * @return Bytes.
+     * @throws IgniteCheckedException If failed.
+     */
+    public byte[] read(int off, int len) throws IgniteCheckedException {
+        byte[] bytes = new byte[len];
+
+        read(off, bytes, 0, len);
+
+        return bytes;
+    }
+
+    /**
+     * Reads a range of the value bytes to the given array.
+     *
+     * @param off Offset in the value.
+     * @param dst Destination array.
+     * @param dstOff Offset in the destination array.
+     * @param len Length.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void read(int off, byte[] dst, int dstOff, int len) throws IgniteCheckedException {
+        if (off < 0 || len < 0 || off + len > valLen) {
+            throw new IndexOutOfBoundsException("Range is out of the value bounds [off=" + off + ", len=" + len +
+                ", valLen=" + valLen + ']');
+        }
+
+        readRow(valOff + off, dst, dstOff, len);
+    }
+
+    /**
+     * Reads a field of a binary object value. Only the object header and footer and the field bytes are read
+     * if the field is of a plain type, otherwise the whole object is read.
+     *
+     * @param ctx Binary context.
+     * @param fieldName Field name.
+     * @return Field value or {@code null} if there is no such field.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable public <F> F field(BinaryContext ctx, String fieldName) throws IgniteCheckedException {
+        if (valType != CacheObject.TYPE_BINARY)
+            throw new IgniteCheckedException("Value is not a binary object [type=" + valType + ']');
+
+        short flags = readShortPositioned(GridBinaryMarshaller.FLAGS_POS);
+        int typeId = readIntPositioned(GridBinaryMarshaller.TYPE_ID_POS);
+
+        if (readBytePositioned(0) != GridBinaryMarshaller.OBJ || typeId == GridBinaryMarshaller.UNREGISTERED_TYPE_ID)
+            return fullValue(ctx).field(fieldName);
+
+        if (!BinaryUtils.hasSchema(flags))
+            return null;
+
+        int fieldId = ctx.fieldId(typeId, fieldName);
+
+        int fieldIdLen = BinaryUtils.fieldIdLength(flags);
+        int fieldOffLen = BinaryUtils.fieldOffsetLength(flags);
+        int entryLen = fieldIdLen + fieldOffLen;
+
+        IgniteBiTuple<Integer, Integer> footerPos = BinaryUtils.footerAbsolute(this, 0);
+
+        int footerStart = footerPos.get1();
+        int footerEnd = footerPos.get2();
+
+        byte[] footer = read(footerStart, footerEnd - footerStart);
+
+        int cnt = footer.length / entryLen;
+        int order = BinarySchema.ORDER_NOT_FOUND;
+
+        if (fieldIdLen == 0) {
+            int schemaId = readIntPositioned(GridBinaryMarshaller.SCHEMA_ID_POS);
+
+            BinarySchema schema = ctx.schemaRegistry(typeId).schema(schemaId);
+
+            // Schema of compact footer isn't known yet.
+            if (schema == null)
+                return fullValue(ctx).field(fieldName);
+
+            order = schema.order(fieldId);
+        }
+        else {
+            for (int i = 0; i < cnt; i++) {
+                if (BinaryPrimitives.readInt(footer, i * entryLen) == fieldId) {
+                    order = i;
+
+                    break;
+                }
+            }
+        }
+
+        if (order == BinarySchema.ORDER_NOT_FOUND)
+            return null;
+
+        int fieldPos = fieldOffset(footer, order * entryLen + fieldIdLen, fieldOffLen);
+        int fieldEnd = order + 1 < cnt ? fieldOffset(footer, (order + 1) * entryLen + fieldIdLen, fieldOffLen) :
+            BinaryUtils.hasRaw(flags) ? BinaryUtils.rawOffsetAbsolute(this, 0) : footerStart;
+
+        byte[] field = read(fieldPos, fieldEnd - fieldPos);
+
+        // Objects and collections might reference other objects of the value by handles.
+        if (!plainType(field[0]))
+            return fullValue(ctx).field(fieldName);
+
+        return (F)BinaryUtils.unmarshal(BinaryHeapInputStream.create(field, 0), ctx, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte readBytePositioned(int pos) {
+        try {
+            return read(pos, 1)[0];
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteException(e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public short readShortPositioned(int pos) {
+        try {
+            return BinaryPrimitives.readShort(read(pos, 2), 0);
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteException(e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public int readIntPositioned(int pos) {
+        try {
+            return BinaryPrimitives.readInt(read(pos, 4), 0);
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteException(e);
+        }
+    }
+
+    /**
+     * @param ctx Binary context.
+     * @return Binary object of the whole value.
+     * @throws IgniteCheckedException If failed.
+     */
+    private BinaryObjectImpl fullValue(BinaryContext ctx) throws IgniteCheckedException {
+        return new BinaryObjectImpl(ctx, read(0, valLen), 0);
+    }
+
+    /**
+     * @param hdr Header of a binary value.
+     * @return {@code True} if the value can be unmarshalled without the object it belongs to.
+     */
+    private static boolean plainType(byte hdr) {
+        return (hdr >= GridBinaryMarshaller.BYTE && hdr <= GridBinaryMarshaller.BOOLEAN_ARR) ||
+            hdr == GridBinaryMarshaller.DECIMAL || hdr == GridBinaryMarshaller.TIMESTAMP ||
+            hdr == GridBinaryMarshaller.TIME || hdr == GridBinaryMarshaller.NULL;
+    }
+
+    /**
+     * @param footer Footer bytes.
+     * @param pos Position of the field offset.
+     * @param fieldOffLen Field offset length.
+     * @return Field offset.
+     */
+    private static int fieldOffset(byte[] footer, int pos, int fieldOffLen) {
+        if (fieldOffLen == BinaryUtils.OFFSET_1)
+            return (int)BinaryPrimitives.readByte(footer, pos) & 0xFF;
+        else if (fieldOffLen == BinaryUtils.OFFSET_2)
+            return (int)BinaryPrimitives.readShort(footer, pos) & 0xFFFF;
+        else
+            return BinaryPrimitives.readInt(footer, pos);
+    }
+
+    /**
+     * @param off Offset in the row.
+     * @return Integer.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int readInt(int off) throws IgniteCheckedException {
+        byte[] bytes = new byte[4];
+
+        readRow(off, bytes, 0, 4);
+
+        return GridUnsafe.getInt(bytes, GridUnsafe.BYTE_ARR_OFF);
+    }
+
+    /**
+     * @param off Offset in the row.
+     * @return Byte.
+     * @throws IgniteCheckedException If failed.
+     */
+    private byte readByte(int off) throws IgniteCheckedException {
+        byte[] bytes = new byte[1];
+
+        readRow(off, bytes, 0, 1);
+
+        return bytes[0];
+    }
+
+    /**
+     * Reads a range of the row bytes.
+     *
+     * @param off Offset in the row.
+     * @param dst Destination array.
+     * @param dstOff Offset in the destination array.
+     * @param len Length.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void readRow(int off, byte[] dst, int dstOff, int len) throws IgniteCheckedException {
+        if (closed)
+            throw new IllegalStateException("Value reader is used out of the lock of the cache entry.");
+
+        while (len > 0) {
+            int idx = locate(off);
+
+            int fragOff = off - fragOffs.get(idx);
+            int fragLen = Math.min(len, fragmentEnd(idx) - off);
+
+            if (bufIdx != idx) {
+                readFragment(fragLinks.get(idx));
+
+                bufIdx = idx;
+            }
+
+            System.arraycopy(buf, fragOff, dst, dstOff, fragLen);
+
+            off += fragLen;
+            dstOff += fragLen;
+            len -= fragLen;
+        }
+    }
+
+    /**
+     * @param idx Fragment index.
+     * @return Offset of the fragment end in the row.
+     */
+    private int fragmentEnd(int idx) {
+        return idx + 1 < fragOffs.size() ? fragOffs.get(idx + 1) : locatedLen;
+    }
+
+    /**
+     * Locates fragments of the row up to the given offset.
+     *
+     * @param off Offset in the row.
+     * @return Index of the fragment which contains the offset.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int locate(int off) throws IgniteCheckedException {
+        while (off >= locatedLen) {
+            if (nextLink == 0L)
+                throw new IgniteCheckedException("Offset is out of the row bounds [off=" + off +
+                    ", len=" + locatedLen + ']');
+
+            long link = nextLink;
+
+            fragLinks.add(link);
+            fragOffs.add(locatedLen);
+
+            locatedLen += readFragment(link);
+
+            bufIdx = fragLinks.size() - 1;
+            nextLink = readNextLink;
+        }
+
+        // Binary search of the last fragment which starts before the offset.
+        int lo = 0;
+        int hi = fragOffs.size() - 1;
+
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+
+            if (fragOffs.get(mid) <= off)
+                lo = mid;
+            else
+                hi = mid - 1;
+        }
+
+        return lo;
+    }
+
+    /**
+     * Reads bytes of a row fragment to {@link #buf} and the link of the next fragment to {@link #readNextLink}.
+     *
+     * @param link Fragment link.
+     * @return Fragment payload size.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int readFragment(long link) throws IgniteCheckedException {
+        int grpId = grp.groupId();
+        long pageId = pageId(link);
+
+        IoStatisticsHolder statHolder = grp.statisticsHolderData();
+
+        long page = pageMem.acquirePage(grpId, pageId, statHolder);
+
+        try {
+            long pageAddr = pageMem.readLock(grpId, pageId, page);
+
+            assert pageAddr != 0L : link;
+
+            try {
+                DataPageIO io = DataPageIO.VERSIONS.forPage(pageAddr);
+
+                DataPagePayload data = io.readPayload(pageAddr, itemId(link), pageMem.realPageSize(grpId));
+
+                int size = data.payloadSize();
+
+                if (buf == null || buf.length < size)
+                    buf = new byte[pageMem.realPageSize(grpId)];
+
+                PageUtils.getBytes(pageAddr, data.offset(), buf, 0, size);
+
+                readNextLink = data.nextLink();
+
+                return size;
+            }
+            finally {
+                pageMem.readUnlock(grpId, pageId, page);
+            }
+        }
+        finally {
+            pageMem.releasePage(grpId, pageId, page);
+        }
+    }
+
+    /**
+     * Closes the reader when the lock of the cache entry is released.
+     */
+    public void close() {
+        closed = true;
+        buf = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(CacheDataRowValueReader.class, this);
+    }
+}
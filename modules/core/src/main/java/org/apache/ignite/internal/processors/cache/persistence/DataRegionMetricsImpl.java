@@ -26,6 +26,7 @@ import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetri
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetricsImpl;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderWithDelegateMetric;
@@ -111,6 +112,9 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
     /** */
     private final LongAdderMetric readPages;
 
+    /** */
+    private final LongAdderMetric hitPages;
+
     /** */
     private final LongAdderMetric writtenPages;
 
@@ -147,6 +151,18 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
     /** Total throttling threads time in milliseconds. */
     private final LongAdderMetric totalThrottlingTime;
 
+    /** Histogram of throttling park time in microseconds. */
+    private final HistogramMetricImpl throttleParkTimeHistogram;
+
+    /** Speed of marking pages dirty which the throttling aims at. */
+    private final AtomicLongMetric throttleTargetRate;
+
+    /** Smoothed speed of marking pages dirty observed by the throttling. */
+    private final AtomicLongMetric throttleCurRate;
+
+    /** Smoothed checkpoint write latency observed by the throttling. */
+    private final AtomicLongMetric throttleDevLatency;
+
     /** */
     private final DataRegionConfiguration dataRegionCfg;
 
@@ -230,6 +246,10 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         readPages = mreg.longAdderMetric("PagesRead",
             "Number of pages read from last restart.");
 
+        hitPages = mreg.longAdderMetric("PagesHit",
+            "Number of page acquisitions that found the page already loaded into memory from last restart. " +
+                "Together with PagesRead gives the hit ratio of the page replacement policy.");
+
         writtenPages = mreg.longAdderMetric("PagesWritten",
             "Number of pages written from last restart.");
 
@@ -251,6 +271,20 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
             "Total throttling threads time in milliseconds. The Ignite throttles threads that generate " +
                 "dirty pages during the ongoing checkpoint.");
 
+        throttleParkTimeHistogram = mreg.histogram("ThrottleParkTimeHistogram",
+            new long[] {10, 100, 1_000, 10_000, 100_000, 1_000_000},
+            "Histogram of park time of throttled threads in microseconds.");
+
+        throttleTargetRate = mreg.longMetric("ThrottleTargetRate",
+            "Speed of marking pages dirty which the speed based throttling aims at (pages per second), " +
+                "0 if throttling is not required.");
+
+        throttleCurRate = mreg.longMetric("ThrottleCurrentRate",
+            "Smoothed speed of marking pages dirty observed by the speed based throttling (pages per second).");
+
+        throttleDevLatency = mreg.longMetric("ThrottleDeviceWriteLatency",
+            "Smoothed checkpoint write latency observed by the speed based throttling (nanoseconds per page).");
+
         mreg.longMetric("InitialSize", "Initial memory region size in bytes defined by its data region.")
             .value(dataRegionCfg.getInitialSize());
 
@@ -489,6 +523,14 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
             readPages.increment();
     }
 
+    /**
+     * Updates page hit.
+     */
+    public void onPageHit() {
+        if (metricsEnabled)
+            hitPages.increment();
+    }
+
     /**
      * Updates page written.
      */
@@ -711,6 +753,7 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         largeEntriesPages.reset();
         dirtyPages.reset();
         readPages.reset();
+        hitPages.reset();
         writtenPages.reset();
         replacedPages.reset();
         offHeapSize.reset();
@@ -739,4 +782,23 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         if (metricsEnabled)
             totalThrottlingTime.add(time);
     }
+
+    /** @param parkTime Park time of throttled thread in nanoseconds. */
+    public void addThrottleParkTime(long parkTime) {
+        if (metricsEnabled)
+            throttleParkTimeHistogram.value(parkTime / 1_000);
+    }
+
+    /**
+     * @param targetRate Speed of marking pages dirty which the throttling aims at, pages per second.
+     * @param curRate Smoothed speed of marking pages dirty, pages per second.
+     * @param devLatency Smoothed checkpoint write latency, nanoseconds per page.
+     */
+    public void onThrottleControllerUpdate(long targetRate, long curRate, long devLatency) {
+        if (metricsEnabled) {
+            throttleTargetRate.value(targetRate);
+            throttleCurRate.value(curRate);
+            throttleDevLatency.value(devLatency);
+        }
+    }
 }
@@ -99,6 +99,15 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
     /** */
     private final AtomicLongMetric lastCpCowPages;
 
+    /** */
+    private final AtomicLongMetric lastCpPagesWriteOps;
+
+    /** */
+    private final AtomicLongMetric lastCpAvgPagesWriteSize;
+
+    /** */
+    private final AtomicLongMetric lastCpPagesWriteIops;
+
     /** */
     private volatile long rateTimeInterval;
 
@@ -168,6 +177,24 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
     /** Total size of the compressed segments in bytes. */
     private final LongAdderMetric walCompressedBytes;
 
+    /** */
+    private final AtomicLongMetric lastBinaryRecoveryDuration;
+
+    /** */
+    private final AtomicLongMetric lastBinaryRecoveryApplyAwaitDuration;
+
+    /** */
+    private final AtomicLongMetric lastBinaryRecoveryChanges;
+
+    /** */
+    private final AtomicLongMetric lastLogicalRecoveryDuration;
+
+    /** */
+    private final AtomicLongMetric lastLogicalRecoveryApplyAwaitDuration;
+
+    /** */
+    private final AtomicLongMetric lastLogicalRecoveryUpdates;
+
     /**
      * @param mmgr Metrics manager.
      * @param metricsEnabled Metrics enabled flag.
@@ -261,6 +288,15 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
         lastCpCowPages = mreg.longMetric("LastCheckpointCopiedOnWritePagesNumber",
             "Number of pages copied to a temporary checkpoint buffer during the last checkpoint.");
 
+        lastCpPagesWriteOps = mreg.longMetric("LastCheckpointPagesWriteOperationsNumber",
+            "Number of write operations issued to page stores while pages of the last checkpoint were written.");
+
+        lastCpAvgPagesWriteSize = mreg.longMetric("LastCheckpointAveragePagesWriteSize",
+            "Average size of a page store write operation of the last checkpoint, in bytes.");
+
+        lastCpPagesWriteIops = mreg.longMetric("LastCheckpointPagesWriteIops",
+            "Number of page store write operations per second while pages of the last checkpoint were written.");
+
         lastWalSegmentRollOverTime = mreg.longMetric("WalLastRollOverTime",
             "Time of the last WAL segment rollover.");
 
@@ -326,6 +362,26 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
             "WalCompressedBytes",
             "Total size of the compressed segments in bytes."
         );
+
+        lastBinaryRecoveryDuration = mreg.longMetric("LastBinaryRecoveryDuration",
+            "Duration of the last binary memory restore on node start in milliseconds.");
+
+        lastBinaryRecoveryApplyAwaitDuration = mreg.longMetric("LastBinaryRecoveryApplyAwaitDuration",
+            "Duration of waiting for the striped apply of page changes to complete after the WAL was read " +
+                "during the last binary memory restore in milliseconds.");
+
+        lastBinaryRecoveryChanges = mreg.longMetric("LastBinaryRecoveryChangesNumber",
+            "Number of page changes applied during the last binary memory restore.");
+
+        lastLogicalRecoveryDuration = mreg.longMetric("LastLogicalRecoveryDuration",
+            "Duration of the last logical updates restore on node start in milliseconds.");
+
+        lastLogicalRecoveryApplyAwaitDuration = mreg.longMetric("LastLogicalRecoveryApplyAwaitDuration",
+            "Duration of waiting for the striped apply of logical updates to complete after the WAL was read " +
+                "during the last logical updates restore in milliseconds.");
+
+        lastLogicalRecoveryUpdates = mreg.longMetric("LastLogicalRecoveryUpdatesNumber",
+            "Number of logical updates applied during the last logical updates restore.");
     }
 
     /** {@inheritDoc} */
@@ -739,6 +795,8 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
      * @param totalPages Total number of all pages in checkpoint.
      * @param dataPages Total number of data pages in checkpoint.
      * @param cowPages Total number of COW-ed pages in checkpoint.
+     * @param writeOps Number of write operations issued to page stores during checkpoint pages write.
+     * @param writeBytes Number of bytes written to page stores during checkpoint pages write.
      */
     public void onCheckpoint(
         long beforeLockDuration,
@@ -755,7 +813,9 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
         long start,
         long totalPages,
         long dataPages,
-        long cowPages
+        long cowPages,
+        long writeOps,
+        long writeBytes
     ) {
         if (metricsEnabled) {
             lastCpBeforeLockDuration.value(beforeLockDuration);
@@ -773,6 +833,9 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
             lastCpTotalPages.value(totalPages);
             lastCpDataPages.value(dataPages);
             lastCpCowPages.value(cowPages);
+            lastCpPagesWriteOps.value(writeOps);
+            lastCpAvgPagesWriteSize.value(writeOps > 0 ? writeBytes / writeOps : 0);
+            lastCpPagesWriteIops.value(pagesWriteDuration > 0 ? writeOps * 1000 / pagesWriteDuration : 0);
 
             totalCheckpointTime.add(duration);
 
@@ -790,6 +853,32 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
         }
     }
 
+    /**
+     * @param duration Total binary memory restore duration.
+     * @param applyAwaitDuration Duration of waiting for the striped apply to complete after the WAL was read.
+     * @param changes Number of applied page changes.
+     */
+    public void onBinaryRecovery(long duration, long applyAwaitDuration, long changes) {
+        if (metricsEnabled) {
+            lastBinaryRecoveryDuration.value(duration);
+            lastBinaryRecoveryApplyAwaitDuration.value(applyAwaitDuration);
+            lastBinaryRecoveryChanges.value(changes);
+        }
+    }
+
+    /**
+     * @param duration Total logical updates restore duration.
+     * @param applyAwaitDuration Duration of waiting for the striped apply to complete after the WAL was read.
+     * @param updates Number of applied logical updates.
+     */
+    public void onLogicalRecovery(long duration, long applyAwaitDuration, long updates) {
+        if (metricsEnabled) {
+            lastLogicalRecoveryDuration.value(duration);
+            lastLogicalRecoveryApplyAwaitDuration.value(applyAwaitDuration);
+            lastLogicalRecoveryUpdates.value(updates);
+        }
+    }
+
     /**
      * @param sparseStorageSize Sparse storage size.
      * @param storageSize Storage size.
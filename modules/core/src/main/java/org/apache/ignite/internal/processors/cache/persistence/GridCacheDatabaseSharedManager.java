@@ -41,6 +41,7 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.ToLongFunction;
@@ -2173,7 +2174,9 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         RestoreBinaryState restoreBinaryState = new RestoreBinaryState(status, it, lastArchivedSegment, cacheGroupsPredicate);
 
-        AtomicLong applied = new AtomicLong();
+        LongAdder applied = new LongAdder();
+
+        long applyAwaitDuration;
 
         try {
             while (restoreBinaryState.hasNext()) {
@@ -2202,7 +2205,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                                     try {
                                         applyPageSnapshot(pageMem, pageSnapshot);
 
-                                        applied.incrementAndGet();
+                                        applied.increment();
                                     }
                                     catch (Throwable t) {
                                         U.error(log, "Failed to apply page snapshot. rec=[" + pageSnapshot + ']');
@@ -2280,7 +2283,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                                 try {
                                     applyPageDelta(pageMem, pageDelta, true);
 
-                                    applied.incrementAndGet();
+                                    applied.increment();
                                 }
                                 catch (Throwable t) {
                                     U.error(log, "Failed to apply page delta. rec=[" + pageDelta + ']');
@@ -2299,9 +2302,15 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         finally {
             it.close();
 
+            long applyAwaitStart = U.currentTimeMillis();
+
             awaitApplyComplete(exec, applyError);
+
+            applyAwaitDuration = U.currentTimeMillis() - applyAwaitStart;
         }
 
+        persStoreMetrics.onBinaryRecovery(U.currentTimeMillis() - start, applyAwaitDuration, applied.sum());
+
         if (!finalizeState)
             return null;
 
@@ -2649,7 +2658,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         AtomicReference<Throwable> applyError = new AtomicReference<>();
 
-        AtomicLong applied = new AtomicLong();
+        LongAdder applied = new LongAdder();
 
         long lastArchivedSegment = cctx.wal().lastArchivedSegment();
 
@@ -2751,7 +2760,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                                     applyError.compareAndSet(null, e);
                                 }
 
-                                applied.incrementAndGet();
+                                applied.increment();
                             }, cacheDesc.groupId(), dataEntry.partitionId(), exec, semaphore);
                         }
 
@@ -2841,11 +2850,17 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                 cctx.kernalContext().query().skipFieldLookup(false);
         }
 
+        long applyAwaitStart = U.currentTimeMillis();
+
         awaitApplyComplete(exec, applyError);
 
+        long end = U.currentTimeMillis();
+
+        persStoreMetrics.onLogicalRecovery(end - start, end - applyAwaitStart, applied.sum());
+
         if (log.isInfoEnabled())
             log.info("Finished applying WAL changes [updatesApplied=" + applied +
-                ", time=" + (U.currentTimeMillis() - start) + " ms]");
+                ", time=" + (end - start) + " ms]");
 
         for (DatabaseLifecycleListener lsnr : getDatabaseListeners(cctx.kernalContext()))
             lsnr.afterLogicalUpdatesApplied(this, restoreLogicalState);
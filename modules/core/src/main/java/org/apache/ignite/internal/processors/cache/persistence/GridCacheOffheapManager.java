@@ -42,6 +42,7 @@ import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.SystemProperty;
 import org.apache.ignite.failure.FailureContext;
+import org.apache.ignite.internal.managers.communication.GridIoPolicy;
 import org.apache.ignite.internal.managers.encryption.GridEncryptionManager;
 import org.apache.ignite.internal.managers.encryption.ReencryptStateUtils;
 import org.apache.ignite.internal.pagemem.FullPageId;
@@ -107,6 +108,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHan
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataRowStore;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataTree;
+import org.apache.ignite.internal.processors.cache.tree.PartitionKeyFilter;
 import org.apache.ignite.internal.processors.cache.tree.PendingEntriesTree;
 import org.apache.ignite.internal.processors.cache.tree.PendingRow;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccUpdateResult;
@@ -116,6 +118,7 @@ import org.apache.ignite.internal.processors.query.GridQueryRowCacheCleaner;
 import org.apache.ignite.internal.util.GridLongList;
 import org.apache.ignite.internal.util.GridSpinBusyLock;
 import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.lang.GridPlainRunnable;
 import org.apache.ignite.internal.util.lang.IgniteInClosure2X;
 import org.apache.ignite.internal.util.lang.IgnitePredicateX;
 import org.apache.ignite.internal.util.tostring.GridToStringInclude;
@@ -1273,6 +1276,18 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         return size;
     }
 
+    /** {@inheritDoc} */
+    @Override public long expiryBacklog() throws IgniteCheckedException {
+        long now = U.currentTimeMillis();
+
+        long size = 0;
+
+        for (CacheDataStore store : cacheDataStores())
+            size += ((GridCacheDataStore)store).expiryBacklog(now);
+
+        return size;
+    }
+
     /** {@inheritDoc} */
     @Override public void preloadPartition(int partId) throws IgniteCheckedException {
         if (grp.isLocal()) {
@@ -1926,6 +1941,9 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         /** */
         private final CountDownLatch latch = new CountDownLatch(1);
 
+        /** Guard of the restore of expiry buckets of the pending tree. */
+        private final AtomicBoolean expiryBucketsRestoring = new AtomicBoolean();
+
         /** */
         private CacheDataTree dataTree;
 
@@ -2402,6 +2420,13 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             return dataTree;
         }
 
+        /** {@inheritDoc} */
+        @Override public @Nullable PartitionKeyFilter keyFilter() {
+            CacheDataStore delegate0 = delegate;
+
+            return delegate0 == null ? null : delegate0.keyFilter();
+        }
+
         /** {@inheritDoc} */
         @Override public boolean init() {
             try {
@@ -2646,6 +2671,15 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             delegate.update(cctx, key, val, ver, expireTime, oldRow);
         }
 
+        /** {@inheritDoc} */
+        @Override public void relocate(GridCacheContext cctx, CacheDataRow row) throws IgniteCheckedException {
+            assert grp.shared().database().checkpointLockIsHeldByThread();
+
+            CacheDataStore delegate = init0(false);
+
+            delegate.relocate(cctx, row);
+        }
+
         /** {@inheritDoc} */
         @Override public boolean mvccInitialValue(
             GridCacheContext cctx,
@@ -2829,6 +2863,16 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             return null;
         }
 
+        /** {@inheritDoc} */
+        @Override public long findLink(GridCacheContext cctx, KeyCacheObject key) throws IgniteCheckedException {
+            CacheDataStore delegate = init0(true);
+
+            if (delegate != null)
+                return delegate.findLink(cctx, key);
+
+            return 0L;
+        }
+
         /** {@inheritDoc} */
         @Override public CacheDataRow mvccFind(GridCacheContext cctx, KeyCacheObject key, MvccSnapshot snapshot)
             throws IgniteCheckedException {
@@ -3030,6 +3074,19 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             return delegate0 == null ? 0 : pendingTree.size();
         }
 
+        /**
+         * Gets the number of entries pending expire whose expire time bucket is due by the given time.
+         *
+         * @param now Current time.
+         * @return Number of due entries.
+         * @throws IgniteCheckedException If failed to get number of due entries.
+         */
+        public long expiryBacklog(long now) throws IgniteCheckedException {
+            CacheDataStore delegate0 = init0(true);
+
+            return delegate0 == null ? 0 : pendingTree.expiryBuckets().dueCount(now);
+        }
+
         /**
          * Try to remove expired entries from data store.
          *
@@ -3054,7 +3111,12 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
 
             assert pendingTree != null : "Partition data store was not initialized.";
 
-            int cleared = purgeExpiredInternal(cctx, c, amount);
+            if (!pendingTree.expiryBuckets().restored())
+                restoreExpiryBucketsAsync();
+
+            // Nothing is due yet, skip the pending tree scan.
+            int cleared = pendingTree.expiryBuckets().nextExpireTime() > U.currentTimeMillis() ? 0 :
+                purgeExpiredInternal(cctx, c, amount);
 
             // Throttle if there is nothing to clean anymore.
             if (cleared < amount) {
@@ -3066,6 +3128,41 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             return cleared;
         }
 
+        /**
+         * Restores counts of expiry buckets of the pending tree in background. The tree is scanned in the management
+         * pool with the partition reserved, since expiration runs under the checkpoint read lock.
+         */
+        private void restoreExpiryBucketsAsync() {
+            if (!expiryBucketsRestoring.compareAndSet(false, true))
+                return;
+
+            PendingEntriesTree pendingTree0 = pendingTree;
+
+            grp.shared().kernalContext().closure().runLocalSafe((GridPlainRunnable)() -> {
+                GridDhtLocalPartition part = grp.isLocal() ? null : grp.topology().localPartition(partId);
+
+                if (!grp.isLocal() && (part == null || !part.reserve())) {
+                    expiryBucketsRestoring.set(false);
+
+                    return;
+                }
+
+                try {
+                    pendingTree0.restoreExpiryBuckets();
+                }
+                catch (Throwable e) {
+                    U.error(log, "Failed to restore expiry buckets of pending entries [grp=" + grp.cacheOrGroupName() +
+                        ", part=" + partId + ']', e);
+                }
+                finally {
+                    expiryBucketsRestoring.set(false);
+
+                    if (part != null)
+                        part.release();
+                }
+            }, GridIoPolicy.MANAGEMENT_POOL);
+        }
+
         /**
          * Removes expired entries from data store.
          *
@@ -3109,37 +3206,53 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
                     else
                         cur = pendingTree.find(null, new PendingRow(CU.UNDEFINED_CACHE_ID, now, 0));
 
-                    if (!cur.next())
+                    if (!cur.next()) {
+                        // Nothing is expired, drop overestimates left by the restore.
+                        if (!grp.sharedGroup())
+                            pendingTree.expiryBuckets().onPurged(now);
+
                         return 0;
+                    }
+
+                    List<PendingRow> batch = new ArrayList<>();
 
                     GridCacheVersion obsoleteVer = null;
 
                     int cleared = 0;
 
+                    boolean all = true;
+
                     do {
                         PendingRow row = cur.get();
 
-                        if (amount != -1 && cleared > amount)
-                            return cleared;
+                        if (amount != -1 && cleared > amount) {
+                            all = false;
+
+                            break;
+                        }
 
                         assert row.key != null && row.link != 0 && row.expireTime != 0 : row;
 
                         row.key.partition(partId);
 
-                        if (pendingTree.removex(row)) {
-                            if (obsoleteVer == null)
-                                obsoleteVer = cctx.cache().nextVersion();
+                        batch.add(row);
 
-                            GridCacheEntryEx e1 = cctx.cache().entryEx(row.key);
+                        if (batch.size() == EXPIRE_BATCH_SIZE) {
+                            obsoleteVer = expireRows(cctx, pendingTree, batch, c, obsoleteVer);
 
-                            if (e1 != null)
-                                c.apply(e1, obsoleteVer);
+                            batch.clear();
                         }
 
                         cleared++;
                     }
                     while (cur.next());
 
+                    expireRows(cctx, pendingTree, batch, c, obsoleteVer);
+
+                    // All the expired entries of the group are removed, drop overestimates left by the restore.
+                    if (all && !grp.sharedGroup())
+                        pendingTree.expiryBuckets().onPurged(now);
+
                     return cleared;
                 }
                 finally {
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -61,6 +62,7 @@ import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheSharedManagerAdapter;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager;
 import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.GridDhtPartitionsExchangeFuture;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointMarkersStorage;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointProgress;
@@ -78,6 +80,7 @@ import org.apache.ignite.internal.processors.cache.persistence.metastorage.Metas
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageReadWriteManager;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
+import org.apache.ignite.internal.processors.cache.tree.PartitionKeyFilter;
 import org.apache.ignite.internal.processors.cache.warmup.WarmUpStrategy;
 import org.apache.ignite.internal.processors.cluster.IgniteChangeGlobalStateSupport;
 import org.apache.ignite.internal.util.TimeBag;
@@ -95,6 +98,7 @@ import org.jetbrains.annotations.Nullable;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PARTITION_KEY_FILTERS_MAX_SIZE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_REUSE_MEMORY_ON_DEACTIVATE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_THRESHOLD_WAL_ARCHIVE_SIZE_PERCENTAGE;
 import static org.apache.ignite.IgniteSystemProperties.getDouble;
@@ -130,6 +134,9 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
     /** Maximum initial size on 32-bit JVM */
     private static final long MAX_PAGE_MEMORY_INIT_SIZE_32_BIT = 2L * 1024 * 1024 * 1024;
 
+    /** Default max heap memory taken by partition key filters of the node. */
+    public static final long DFLT_PARTITION_KEY_FILTERS_MAX_SIZE = 256L * 1024 * 1024;
+
     /** {@code True} to reuse memory on deactive. */
     protected final boolean reuseMemory = IgniteSystemProperties.getBoolean(IGNITE_REUSE_MEMORY_ON_DEACTIVATE);
 
@@ -163,6 +170,13 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
     /** First eviction was warned flag. */
     private volatile boolean firstEvictWarn;
 
+    /** Max heap memory taken by partition key filters of the node. */
+    private final long keyFiltersMaxSize = IgniteSystemProperties.getLong(IGNITE_PARTITION_KEY_FILTERS_MAX_SIZE,
+        DFLT_PARTITION_KEY_FILTERS_MAX_SIZE);
+
+    /** Heap memory reserved by partition key filters which are being built. */
+    private final AtomicLong buildingKeyFiltersSize = new AtomicLong();
+
 
     /** {@inheritDoc} */
     @Override protected void start0() throws IgniteCheckedException {
@@ -996,6 +1010,58 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
         // No-op.
     }
 
+    /**
+     * Reserves heap memory for a partition key filter to be built. Only filters which are being built are tracked,
+     * memory of the built ones is calculated by the data stores of the node, so filters of destroyed or evicted
+     * partitions don't need to be released.
+     *
+     * @param size Size of the filter in bytes.
+     * @return {@code False} if partition key filters of the node would exceed
+     *      {@link IgniteSystemProperties#IGNITE_PARTITION_KEY_FILTERS_MAX_SIZE}, nothing is reserved in this case.
+     */
+    public boolean reservePartitionKeyFilter(long size) {
+        // Reserve first, so concurrent builds see each other.
+        long building = buildingKeyFiltersSize.addAndGet(size);
+
+        if (building + partitionKeyFiltersSize() <= keyFiltersMaxSize)
+            return true;
+
+        buildingKeyFiltersSize.addAndGet(-size);
+
+        return false;
+    }
+
+    /**
+     * Releases memory reserved by {@link #reservePartitionKeyFilter(long)} once the filter is built or its build
+     * is failed.
+     *
+     * @param size Size of the filter in bytes.
+     */
+    public void releasePartitionKeyFilter(long size) {
+        buildingKeyFiltersSize.addAndGet(-size);
+    }
+
+    /**
+     * @return Heap memory taken by built partition key filters of the node.
+     */
+    private long partitionKeyFiltersSize() {
+        long size = 0;
+
+        for (CacheGroupContext grp : cctx.cache().cacheGroups()) {
+            if (!grp.affinityNode())
+                continue;
+
+            for (IgniteCacheOffheapManager.CacheDataStore store : grp.offheap().cacheDataStores()) {
+                PartitionKeyFilter filter = store.keyFilter();
+
+                if (filter != null)
+                    size += filter.sizeInBytes();
+            }
+        }
+
+        return size;
+    }
+
     /**
      * Method will perform cleanup cache page memory and each cache partition store.
      */
@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.cache.persistence.checkpoint;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -36,11 +37,15 @@ import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemor
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteCacheSnapshotManager;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.util.GridConcurrentMultiPairQueue;
+import org.apache.ignite.internal.util.GridLongList;
 import org.apache.ignite.internal.util.future.CountDownFuture;
 import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
 import org.apache.ignite.internal.util.typedef.internal.LT;
+import org.jetbrains.annotations.Nullable;
 import org.jsr166.ConcurrentLinkedHashMap;
 
+import static org.apache.ignite.internal.pagemem.PageIdUtils.pageIndex;
+import static org.apache.ignite.internal.pagemem.PageIdUtils.partId;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.getType;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.getVersion;
 import static org.apache.ignite.internal.util.IgniteUtils.hexLong;
@@ -76,6 +81,12 @@ public class CheckpointPagesWriter implements Runnable {
     /** Thread local with buffers for the checkpoint threads. Each buffer represent one page for durable memory. */
     private final ThreadLocal<ByteBuffer> threadBuf;
 
+    /** Thread local with buffers for runs of pages which are coalesced into a single write. */
+    private final ThreadLocal<ByteBuffer> threadBatchBuf;
+
+    /** Maximum number of pages with consecutive indexes which are coalesced into a single write. */
+    private final int maxCoalescedPages;
+
     /** Throttling policy according to the settings. */
     private final PageMemoryImpl.ThrottlingPolicy throttlingPolicy;
 
@@ -103,6 +114,8 @@ public class CheckpointPagesWriter implements Runnable {
      * @param log Logger.
      * @param dsMetrics Data storage metrics.
      * @param buf Thread local byte buffer.
+     * @param batchBuf Thread local byte buffer for coalesced pages.
+     * @param maxCoalescedPages Maximum number of pages coalesced into a single write.
      * @param throttlingPolicy Throttling policy.
      * @param pageMemoryGroupResolver Resolver of page memory by group id.
      * @param progress Checkpoint progress.
@@ -119,6 +132,8 @@ public class CheckpointPagesWriter implements Runnable {
         IgniteLogger log,
         DataStorageMetricsImpl dsMetrics,
         ThreadLocal<ByteBuffer> buf,
+        ThreadLocal<ByteBuffer> batchBuf,
+        int maxCoalescedPages,
         PageMemoryImpl.ThrottlingPolicy throttlingPolicy,
         IgniteThrowableFunction<Integer, PageMemoryEx> pageMemoryGroupResolver,
         CheckpointProgressImpl progress,
@@ -134,6 +149,8 @@ public class CheckpointPagesWriter implements Runnable {
         this.log = log;
         this.persStoreMetrics = dsMetrics;
         this.threadBuf = buf;
+        this.threadBatchBuf = batchBuf;
+        this.maxCoalescedPages = maxCoalescedPages;
         this.throttlingPolicy = throttlingPolicy;
         this.pageMemoryGroupResolver = pageMemoryGroupResolver;
         this.curCpProgress = progress;
@@ -182,44 +199,58 @@ public class CheckpointPagesWriter implements Runnable {
 
         ByteBuffer tmpWriteBuf = threadBuf.get();
 
+        WriteBatch batch = maxCoalescedPages > 1 ? new WriteBatch(tmpWriteBuf.capacity()) : null;
+
+        GridLongList pinnedPages = batch == null ? null : batch.pinnedPages;
+
         boolean throttlingEnabled = throttlingPolicy != PageMemoryImpl.ThrottlingPolicy.DISABLED;
 
         GridConcurrentMultiPairQueue.Result<PageMemoryEx, FullPageId> res =
             new GridConcurrentMultiPairQueue.Result<>();
 
-        while (writePageIds.next(res)) {
-            if (shutdownNow.getAsBoolean())
-                break;
+        try {
+            // Pages are taken in runs, so that each writer goes through adjacent pages of the same partition.
+            while (writePageIds.next(res, maxCoalescedPages)) {
+                if (shutdownNow.getAsBoolean())
+                    break;
 
-            beforePageWrite.run();
+                beforePageWrite.run();
 
-            FullPageId fullId = res.getValue();
+                FullPageId fullId = res.getValue();
 
-            PageMemoryEx pageMem = res.getKey();
+                PageMemoryEx pageMem = res.getKey();
 
-            snapshotMgr.beforePageWrite(fullId);
+                snapshotMgr.beforePageWrite(fullId);
 
-            tmpWriteBuf.rewind();
+                tmpWriteBuf.rewind();
 
-            PageStoreWriter pageStoreWriter =
-                pageStoreWriters.computeIfAbsent(pageMem, pageMemEx -> createPageStoreWriter(pageMemEx, pagesToRetry));
+                PageStoreWriter pageStoreWriter = pageStoreWriters.computeIfAbsent(pageMem,
+                    pageMemEx -> createPageStoreWriter(pageMemEx, pagesToRetry, batch));
 
-            pageMem.checkpointWritePage(fullId, tmpWriteBuf, pageStoreWriter, tracker);
+                pageMem.checkpointWritePage(fullId, tmpWriteBuf, pageStoreWriter, tracker, pinnedPages);
 
-            if (throttlingEnabled) {
-                while (pageMem.shouldThrottle()) {
-                    FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
+                if (throttlingEnabled) {
+                    while (pageMem.shouldThrottle()) {
+                        FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
 
-                    if (cpPageId.equals(FullPageId.NULL_PAGE))
-                        break;
+                        if (cpPageId.equals(FullPageId.NULL_PAGE))
+                            break;
 
-                    snapshotMgr.beforePageWrite(cpPageId);
+                        snapshotMgr.beforePageWrite(cpPageId);
 
-                    tmpWriteBuf.rewind();
+                        tmpWriteBuf.rewind();
 
-                    pageMem.checkpointWritePage(cpPageId, tmpWriteBuf, pageStoreWriter, tracker);
+                        pageMem.checkpointWritePage(cpPageId, tmpWriteBuf, pageStoreWriter, tracker, pinnedPages);
+                    }
                 }
             }
+
+            if (batch != null)
+                batch.flush();
+        }
+        finally {
+            if (batch != null)
+                batch.releasePinnedPages();
         }
 
         return pagesToRetry.isEmpty() ?
@@ -232,11 +263,13 @@ public class CheckpointPagesWriter implements Runnable {
      *
      * @param pageMemEx
      * @param pagesToRetry List pages for retry.
+     * @param batch Batch of pages to coalesce writes, {@code null} if every page is written separately.
      * @return Checkpoint page write context.
      */
     private PageStoreWriter createPageStoreWriter(
         PageMemoryEx pageMemEx,
-        Map<PageMemoryEx, List<FullPageId>> pagesToRetry
+        Map<PageMemoryEx, List<FullPageId>> pagesToRetry,
+        @Nullable WriteBatch batch
     ) {
         return new PageStoreWriter() {
             /** {@inheritDoc} */
@@ -261,15 +294,142 @@ public class CheckpointPagesWriter implements Runnable {
                         tracker.onDataPageWritten();
                 }
 
+                if (batch != null) {
+                    batch.add(pageMemEx, fullPageId, buf, tag);
+
+                    return;
+                }
+
                 curCpProgress.updateWrittenPages(1);
 
                 PageStore store = pageWriter.write(pageMemEx, fullPageId, buf, tag);
 
                 updStores.computeIfAbsent(store, k -> new LongAdder()).increment();
+
+                if (persStoreMetrics.metricsEnabled())
+                    tracker.onPagesWriteOperation(buf.limit());
             }
         };
     }
 
+    /**
+     * Run of pages with consecutive indexes of the same partition which is written to the page store with a single
+     * write. Pages handed to the batch stay pinned in page memory until they are written, otherwise the page could
+     * be replaced and read back from the store before its checkpointed content gets there.
+     */
+    private class WriteBatch {
+        /** Page size. */
+        private final int pageSize;
+
+        /** Content of batched pages. */
+        private final ByteBuffer buf;
+
+        /** Batched page IDs. */
+        private final long[] pageIds;
+
+        /** Pointers of batched pages which stay pinned until the batch is written. */
+        private final GridLongList pinnedPages;
+
+        /** Page memory of batched pages. */
+        private PageMemoryEx pageMem;
+
+        /** Cache group ID of batched pages. */
+        private int grpId;
+
+        /** Partition generation of batched pages. */
+        private int tag;
+
+        /** Number of batched pages. */
+        private int cnt;
+
+        /**
+         * @param pageSize Page size.
+         */
+        WriteBatch(int pageSize) {
+            this.pageSize = pageSize;
+
+            pageIds = new long[maxCoalescedPages];
+            pinnedPages = new GridLongList(maxCoalescedPages);
+
+            ByteBuffer buf = threadBatchBuf.get();
+
+            if (buf == null || buf.capacity() < pageSize * maxCoalescedPages) {
+                buf = ByteBuffer.allocateDirect(pageSize * maxCoalescedPages).order(ByteOrder.nativeOrder());
+
+                threadBatchBuf.set(buf);
+            }
+
+            buf.clear();
+
+            this.buf = buf;
+        }
+
+        /**
+         * Adds page to the batch. Previously batched pages are written first if the page does not continue them.
+         *
+         * @param pageMemEx Page memory.
+         * @param fullPageId Full page ID.
+         * @param pageBuf Page content.
+         * @param tag Partition generation.
+         * @throws IgniteCheckedException If failed.
+         */
+        void add(PageMemoryEx pageMemEx, FullPageId fullPageId, ByteBuffer pageBuf, int tag) throws IgniteCheckedException {
+            long pageId = fullPageId.pageId();
+
+            if (cnt > 0 && (cnt == pageIds.length || pageMem != pageMemEx || grpId != fullPageId.groupId() ||
+                this.tag != tag || partId(pageIds[cnt - 1]) != partId(pageId) ||
+                pageIndex(pageIds[cnt - 1]) + 1 != pageIndex(pageId)))
+                flush();
+
+            if (cnt == 0) {
+                pageMem = pageMemEx;
+                grpId = fullPageId.groupId();
+                this.tag = tag;
+            }
+
+            buf.put(pageBuf);
+
+            pageIds[cnt++] = pageId;
+        }
+
+        /**
+         * Writes batched pages and releases them.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        void flush() throws IgniteCheckedException {
+            if (cnt == 0)
+                return;
+
+            try {
+                buf.flip();
+
+                curCpProgress.updateWrittenPages(cnt);
+
+                // Write operations are counted by the writer, pages of some groups can't be written at once.
+                PageStore store = pageWriter.write(pageMem, grpId, pageIds, cnt, buf, tag,
+                    persStoreMetrics.metricsEnabled() ? tracker : null);
+
+                updStores.computeIfAbsent(store, k -> new LongAdder()).add(cnt);
+            }
+            finally {
+                buf.clear();
+
+                cnt = 0;
+
+                releasePinnedPages();
+            }
+        }
+
+        /**
+         * Releases pinned pages without writing them.
+         */
+        void releasePinnedPages() {
+            if (!pinnedPages.isEmpty())
+                pageMem.releaseCheckpointPages(pinnedPages);
+        }
+    }
+
     /** Interface which allows to write one page to page store. */
     public interface CheckpointPageWriter {
         /**
@@ -283,5 +443,48 @@ public class CheckpointPagesWriter implements Runnable {
          */
         PageStore write(PageMemoryEx pageMemEx, FullPageId fullPageId, ByteBuffer buf, int tag)
             throws IgniteCheckedException;
+
+        /**
+         * Writes a run of pages of the same partition with consecutive indexes. By default pages are written
+         * one by one.
+         *
+         * @param pageMemEx Page memory from which pages should be written.
+         * @param grpId Cache group ID.
+         * @param pageIds Page IDs, the first {@code cnt} of them are written.
+         * @param cnt Number of pages to write.
+         * @param pagesBuf Buffer with content of pages between position {@code 0} and its limit.
+         * @param tag Partition generation.
+         * @param tracker Checkpoint metrics tracker which counts write operations, {@code null} if metrics are
+         *      disabled.
+         * @return {@link PageStore} which was used to write.
+         * @throws IgniteCheckedException if fail.
+         */
+        default PageStore write(
+            PageMemoryEx pageMemEx,
+            int grpId,
+            long[] pageIds,
+            int cnt,
+            ByteBuffer pagesBuf,
+            int tag,
+            @Nullable CheckpointMetricsTracker tracker
+        ) throws IgniteCheckedException {
+            int pageSize = pagesBuf.limit() / cnt;
+
+            PageStore store = null;
+
+            for (int i = 0; i < cnt; i++) {
+                pagesBuf.limit((i + 1) * pageSize).position(i * pageSize);
+
+                store = write(pageMemEx, new FullPageId(pageIds[i], grpId),
+                    pagesBuf.slice().order(pagesBuf.order()), tag);
+
+                if (tracker != null)
+                    tracker.onPagesWriteOperation(pageSize);
+            }
+
+            pagesBuf.limit(cnt * pageSize).position(0);
+
+            return store;
+        }
     }
 }
@@ -27,6 +27,7 @@ import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
@@ -47,6 +48,9 @@ import org.jsr166.ConcurrentLinkedHashMap;
  * It holds all dependency which is needed for creation of checkpoint writer and recovery checkpoint writer.
  */
 public class CheckpointPagesWriterFactory {
+    /** @see IgniteSystemProperties#IGNITE_CHECKPOINT_MAX_COALESCED_PAGES */
+    public static final int DFLT_CHECKPOINT_MAX_COALESCED_PAGES = 16;
+
     /** Logger. */
     private final IgniteLogger log;
 
@@ -59,6 +63,13 @@ public class CheckpointPagesWriterFactory {
     /** Thread local with buffers for the checkpoint threads. Each buffer represent one page for durable memory. */
     private volatile ThreadLocal<ByteBuffer> threadBuf;
 
+    /** Thread local with buffers for runs of pages which are coalesced into a single write. */
+    private final ThreadLocal<ByteBuffer> threadBatchBuf = new ThreadLocal<>();
+
+    /** Maximum number of pages with consecutive indexes which are coalesced into a single write. */
+    private final int maxCoalescedPages = Math.max(1, IgniteSystemProperties.getInteger(
+        IgniteSystemProperties.IGNITE_CHECKPOINT_MAX_COALESCED_PAGES, DFLT_CHECKPOINT_MAX_COALESCED_PAGES));
+
     /** Throttling policy according to the settings. */
     private final PageMemoryImpl.ThrottlingPolicy throttlingPolicy;
 
@@ -124,6 +135,8 @@ public class CheckpointPagesWriterFactory {
             log,
             persStoreMetrics,
             threadBuf,
+            threadBatchBuf,
+            maxCoalescedPages,
             throttlingPolicy,
             pageMemoryGroupResolver,
             curCpProgress,
@@ -637,7 +637,9 @@ public class Checkpointer extends GridWorker {
                 tracker.checkpointStartTime(),
                 chp.pagesSize,
                 tracker.dataPagesWritten(),
-                tracker.cowPagesWritten()
+                tracker.cowPagesWritten(),
+                tracker.pagesWriteOperations(),
+                tracker.pagesWriteBytes()
             );
         }
     }
@@ -38,12 +38,8 @@ public class DefragmentationMXBeanImpl implements DefragmentationMXBean {
 
     /** {@inheritDoc} */
     @Override public boolean schedule(String cacheNames) {
-        final List<String> caches = Arrays.stream(cacheNames.split(","))
-            .filter(s -> !s.isEmpty())
-            .collect(Collectors.toList());
-
         try {
-            defragmentation.schedule(caches);
+            defragmentation.schedule(parseCacheNames(cacheNames));
 
             return true;
         }
@@ -52,6 +48,18 @@ public class DefragmentationMXBeanImpl implements DefragmentationMXBean {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean defragmentOnline(String cacheNames, double fillFactor, double rate) {
+        try {
+            defragmentation.defragmentOnline(parseCacheNames(cacheNames), fillFactor, rate);
+
+            return true;
+        }
+        catch (IgniteCheckedException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public boolean cancel() {
         try {
@@ -83,4 +91,14 @@ public class DefragmentationMXBeanImpl implements DefragmentationMXBean {
     @Override public long startTime() {
         return defragmentation.startTime();
     }
+
+    /**
+     * @param cacheNames Comma separated cache names.
+     * @return List of cache names.
+     */
+    private static List<String> parseCacheNames(String cacheNames) {
+        return Arrays.stream(cacheNames.split(","))
+            .filter(s -> !s.isEmpty())
+            .collect(Collectors.toList());
+    }
 }
@@ -24,6 +24,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.IgniteInternalFuture;
 
 /**
  * Defragmentation operation service.
@@ -39,7 +40,7 @@ public interface IgniteDefragmentation {
     ScheduleResult schedule(List<String> cacheNames) throws IgniteCheckedException;
 
     /**
-     * Cancel scheduled or ongoing defragmentation.
+     * Cancel scheduled or ongoing defragmentation, including online defragmentation.
      * @return Result of the cancellation.
      * @throws IgniteCheckedException If failed.
      */
@@ -52,6 +53,21 @@ public interface IgniteDefragmentation {
      */
     DefragmentationStatus status() throws IgniteCheckedException;
 
+    /**
+     * Starts online defragmentation of partitions of the given caches located on this node. Unlike scheduled
+     * defragmentation it doesn't require maintenance mode: rows of sparsely filled data pages are moved to
+     * denser pages partition by partition while the node serves load. Online defragmentation is stopped by
+     * {@link #cancel()} or by cancellation of the returned future.
+     *
+     * @param cacheNames Names of caches to run defragmentation on, all caches if empty.
+     * @param fillFactor Rows of data pages filled less than this factor are moved.
+     * @param rate Max number of moved rows per second, {@code 0} for unlimited rate.
+     * @return Future which is completed with the number of moved rows.
+     * @throws IgniteCheckedException If online defragmentation is already in progress.
+     */
+    IgniteInternalFuture<Long> defragmentOnline(List<String> cacheNames, double fillFactor, double rate)
+        throws IgniteCheckedException;
+
     /**
      * @return {@code true} if there is an ongoing defragmentation.
      */
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -25,9 +26,15 @@ import java.util.Optional;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.managers.communication.GridIoPolicy;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.CachePartitionDefragmentationManager.Status;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.A;
 import org.apache.ignite.maintenance.MaintenanceAction;
 import org.apache.ignite.maintenance.MaintenanceRegistry;
 import org.apache.ignite.maintenance.MaintenanceTask;
@@ -42,6 +49,9 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
     /** Kernal context. */
     private final GridKernalContext ctx;
 
+    /** Future of the last online defragmentation. */
+    private volatile OnlineDefragmentationFuture onlineFut;
+
     /** */
     public IgniteDefragmentationImpl(GridKernalContext ctx) {
         this.ctx = ctx;
@@ -65,6 +75,14 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
 
     /** {@inheritDoc} */
     @Override public CancelResult cancel() throws IgniteCheckedException {
+        OnlineDefragmentationFuture fut = onlineFut;
+
+        if (fut != null && !fut.isDone()) {
+            fut.cancel();
+
+            return CancelResult.CANCELLED;
+        }
+
         final MaintenanceRegistry maintenanceRegistry = ctx.maintenanceRegistry();
 
         if (!maintenanceRegistry.isMaintenanceMode()) {
@@ -161,8 +179,46 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
         );
     }
 
+    /** {@inheritDoc} */
+    @Override public synchronized IgniteInternalFuture<Long> defragmentOnline(List<String> cacheNames,
+        double fillFactor, double rate) throws IgniteCheckedException {
+        A.ensure(fillFactor > 0 && fillFactor <= 1, "fillFactor must be in range (0, 1]: " + fillFactor);
+        A.ensure(rate >= 0, "rate must be non-negative: " + rate);
+
+        if (onlineFut != null && !onlineFut.isDone())
+            throw new IgniteCheckedException("Online defragmentation is already in progress.");
+
+        List<OnlinePartitionDefragmentation> defrags = new ArrayList<>();
+
+        for (CacheGroupContext grp : ctx.cache().cacheGroups()) {
+            if (!grp.userCache() || grp.isLocal() || grp.mvccEnabled() || !grp.affinityNode())
+                continue;
+
+            if (F.isEmpty(cacheNames) || grp.caches().stream().anyMatch(cctx -> cacheNames.contains(cctx.name())))
+                defrags.add(new OnlinePartitionDefragmentation(grp, fillFactor, rate));
+        }
+
+        OnlineDefragmentationFuture fut = new OnlineDefragmentationFuture(defrags);
+
+        onlineFut = fut;
+
+        IgniteInternalFuture<?> runFut = ctx.closure().runLocalSafe(fut::run, GridIoPolicy.MANAGEMENT_POOL);
+
+        runFut.listen(f -> {
+            if (f.error() != null)
+                fut.onDone(f.error());
+        });
+
+        return fut;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean inProgress() {
+        OnlineDefragmentationFuture fut = onlineFut;
+
+        if (fut != null && !fut.isDone())
+            return true;
+
         final Status status = getStatus();
 
         return status != null && status.getFinishTs() == 0;
@@ -221,4 +277,59 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
         return defrgMgr.status();
     }
 
+    /**
+     * Future of online defragmentation. Cancellation stops defragmentation after the row being moved,
+     * the future is completed when defragmentation is stopped.
+     */
+    private static class OnlineDefragmentationFuture extends GridFutureAdapter<Long> {
+        /** Defragmentations of cache groups. */
+        private final List<OnlinePartitionDefragmentation> defrags;
+
+        /** Cancellation flag. */
+        private volatile boolean cancelled;
+
+        /**
+         * @param defrags Defragmentations of cache groups.
+         */
+        private OnlineDefragmentationFuture(List<OnlinePartitionDefragmentation> defrags) {
+            this.defrags = defrags;
+        }
+
+        /**
+         * Defragments cache groups one by one.
+         */
+        private void run() {
+            try {
+                long moved = 0;
+
+                for (OnlinePartitionDefragmentation defrag : defrags) {
+                    if (cancelled)
+                        break;
+
+                    moved += defrag.defragment();
+                }
+
+                if (cancelled)
+                    onCancelled();
+                else
+                    onDone(moved);
+            }
+            catch (Throwable e) {
+                onDone(e);
+
+                if (e instanceof Error)
+                    throw (Error)e;
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean cancel() {
+            cancelled = true;
+
+            for (OnlinePartitionDefragmentation defrag : defrags)
+                defrag.cancel();
+
+            return true;
+        }
+    }
 }
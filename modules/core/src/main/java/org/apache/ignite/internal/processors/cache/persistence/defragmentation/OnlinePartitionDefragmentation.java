@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheEntryEx;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager.CacheDataStore;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtInvalidPartitionException;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapter;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.BasicRateLimiter;
+import org.apache.ignite.internal.util.lang.GridCursor;
+
+/**
+ * Online defragmentation of partitions of a cache group. Unlike {@link CachePartitionDefragmentationManager}
+ * it doesn't require maintenance mode: rows stored on sparsely filled data pages are moved one by one
+ * to denser pages under the locks of their cache entries, so emptied pages go to the reuse bucket of
+ * the free list. Partitions are processed one at a time and the rate of moved rows is limited.
+ */
+public class OnlinePartitionDefragmentation {
+    /** Number of rows collected from the data tree before they are moved. */
+    private static final int BATCH_SIZE = 1000;
+
+    /** Cache group. */
+    private final CacheGroupContext grp;
+
+    /** Min free space of a data page which rows should be moved. */
+    private final int minFreeSpace;
+
+    /** Rate limiter of moved rows. */
+    private final BasicRateLimiter limiter;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Cancellation flag. */
+    private volatile boolean cancelled;
+
+    /**
+     * @param grp Cache group.
+     * @param fillFactor Rows of data pages filled less than this factor are moved.
+     * @param rate Max number of moved rows per second, {@code 0} for unlimited rate.
+     */
+    public OnlinePartitionDefragmentation(CacheGroupContext grp, double fillFactor, double rate) {
+        assert !grp.mvccEnabled() : grp.cacheOrGroupName();
+        assert fillFactor > 0 && fillFactor <= 1 : fillFactor;
+
+        this.grp = grp;
+
+        int pageSize = grp.dataRegion().pageMemory().pageSize();
+
+        minFreeSpace = (int)(pageSize * (1 - fillFactor));
+
+        limiter = new BasicRateLimiter(rate);
+        log = grp.shared().logger(OnlinePartitionDefragmentation.class);
+    }
+
+    /**
+     * Cancels defragmentation, a partition being processed is left partially defragmented.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Defragments all partitions of the group located on this node.
+     *
+     * @return Number of moved rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    public long defragment() throws IgniteCheckedException {
+        long moved = 0;
+
+        for (GridDhtLocalPartition part : grp.topology().currentLocalPartitions()) {
+            if (cancelled)
+                break;
+
+            moved += defragment(part);
+        }
+
+        if (log.isInfoEnabled()) {
+            log.info("Online defragmentation finished [grp=" + grp.cacheOrGroupName() + ", movedRows=" + moved +
+                ", cancelled=" + cancelled + ']');
+        }
+
+        return moved;
+    }
+
+    /**
+     * Defragments the partition.
+     *
+     * @param part Partition.
+     * @return Number of moved rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    public long defragment(GridDhtLocalPartition part) throws IgniteCheckedException {
+        if (!part.reserve())
+            return 0;
+
+        try {
+            CacheDataStore store = part.dataStore();
+
+            GridCursor<? extends CacheDataRow> cur = store.cursor(CacheDataRowAdapter.RowData.KEY_ONLY);
+
+            Map<Long, Boolean> sparsePages = new HashMap<>();
+
+            List<CacheDataRow> batch = new ArrayList<>(BATCH_SIZE);
+
+            long moved = 0;
+
+            while (!cancelled && cur.next()) {
+                CacheDataRow row = cur.get();
+
+                long pageId = PageIdUtils.pageId(row.link());
+
+                Boolean sparse = sparsePages.get(pageId);
+
+                if (sparse == null)
+                    sparsePages.put(pageId, sparse = sparse(pageId));
+
+                if (sparse)
+                    batch.add(row);
+
+                if (batch.size() == BATCH_SIZE) {
+                    moved += move(store, batch);
+
+                    batch.clear();
+                    sparsePages.clear();
+                }
+            }
+
+            if (!cancelled)
+                moved += move(store, batch);
+
+            return moved;
+        }
+        catch (GridDhtInvalidPartitionException ignore) {
+            // Partition is evicted.
+            return 0;
+        }
+        finally {
+            part.release();
+        }
+    }
+
+    /**
+     * Moves rows which weren't changed since they were read from the data tree.
+     *
+     * @param store Data store.
+     * @param rows Rows.
+     * @return Number of moved rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long move(CacheDataStore store, List<CacheDataRow> rows) throws IgniteCheckedException {
+        long moved = 0;
+
+        for (CacheDataRow row : rows) {
+            if (cancelled)
+                break;
+
+            limiter.acquire(1);
+
+            GridCacheContext cctx = grp.sharedGroup() ? grp.shared().cacheContext(row.cacheId()) :
+                grp.singleCacheContext();
+
+            if (cctx == null)
+                continue;
+
+            KeyCacheObject key = row.key();
+
+            grp.shared().database().checkpointReadLock();
+
+            try {
+                GridCacheEntryEx entry = cctx.cache().entryEx(key);
+
+                entry.lockEntry();
+
+                try {
+                    if (entry.obsolete())
+                        continue;
+
+                    CacheDataRow cur = store.find(cctx, key);
+
+                    // Row is already moved by an update.
+                    if (cur == null || cur.link() != row.link())
+                        continue;
+
+                    store.relocate(cctx, cur);
+
+                    moved++;
+                }
+                finally {
+                    entry.unlockEntry();
+                }
+
+                entry.touch();
+            }
+            finally {
+                grp.shared().database().checkpointReadUnlock();
+            }
+        }
+
+        return moved;
+    }
+
+    /**
+     * @param pageId Data page ID.
+     * @return {@code True} if the data page has enough free space to move its rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean sparse(long pageId) throws IgniteCheckedException {
+        PageMemory pageMem = grp.dataRegion().pageMemory();
+
+        int grpId = grp.groupId();
+
+        long page = pageMem.acquirePage(grpId, pageId);
+
+        try {
+            long pageAddr = pageMem.readLock(grpId, pageId, page);
+
+            // Page is recycled.
+            if (pageAddr == 0L)
+                return false;
+
+            try {
+                if (PageIO.getType(pageAddr) != PageIO.T_DATA)
+                    return false;
+
+                DataPageIO io = DataPageIO.VERSIONS.forPage(pageAddr);
+
+                return io.getFreeSpace(pageAddr) >= minFreeSpace;
+            }
+            finally {
+                pageMem.readUnlock(grpId, pageId, page);
+            }
+        }
+        finally {
+            pageMem.releasePage(grpId, pageId, page);
+        }
+    }
+}
@@ -201,11 +201,29 @@ public class EncryptedFileIO implements FileIO {
         return plainFileIO.write(encrypted, position);
     }
 
-    /** {@inheritDoc} */
+    /**
+     * Source buffer may contain several consecutive pages, each of them is encrypted separately
+     * and the result is written with a single write to the underlying file.
+     *
+     * {@inheritDoc}
+     */
     @Override public int writeFully(ByteBuffer srcBuf, long position) throws IOException {
-        ByteBuffer encrypted = ByteBuffer.allocate(pageSize);
+        assert srcBuf.remaining() % pageSize == 0 : srcBuf.remaining();
 
-        encrypt(srcBuf, encrypted);
+        ByteBuffer encrypted = ByteBuffer.allocate(srcBuf.remaining());
+
+        while (srcBuf.hasRemaining()) {
+            ByteBuffer srcPage = srcBuf.slice().order(srcBuf.order());
+            ByteBuffer encryptedPage = encrypted.slice();
+
+            srcPage.limit(pageSize);
+            encryptedPage.limit(pageSize);
+
+            encrypt(srcPage, encryptedPage);
+
+            srcBuf.position(srcBuf.position() + pageSize);
+            encrypted.position(encrypted.position() + pageSize);
+        }
 
         encrypted.rewind();
 
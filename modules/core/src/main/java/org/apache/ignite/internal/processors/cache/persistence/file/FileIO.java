@@ -215,6 +215,26 @@ public interface FileIO extends AutoCloseable {
      */
     public MappedByteBuffer map(int sizeBytes) throws IOException;
 
+    /**
+     * @return {@code True} if the file content can be mapped with {@link #mapReadOnly(long, int)}.
+     */
+    public default boolean canMapReadOnly() {
+        return false;
+    }
+
+    /**
+     * Maps the given region of this file into memory in read-only mode. Supported only if {@link #canMapReadOnly()}
+     * returns {@code true}.
+     *
+     * @param position Position within the file at which the mapped region is to start.
+     * @param sizeBytes Size of the region to be mapped.
+     * @return Instance of read-only mapped byte buffer.
+     * @throws IOException If some I/O error occurs.
+     */
+    public default MappedByteBuffer mapReadOnly(long position, int sizeBytes) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Forces any updates of this file to be written to the storage
      * device that contains it.
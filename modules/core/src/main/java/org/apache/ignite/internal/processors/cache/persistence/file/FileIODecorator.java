@@ -98,6 +98,16 @@ public class FileIODecorator extends AbstractFileIO {
         return delegate.map(sizeBytes);
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean canMapReadOnly() {
+        return delegate.canMapReadOnly();
+    }
+
+    /** {@inheritDoc} */
+    @Override public MappedByteBuffer mapReadOnly(long position, int sizeBytes) throws IOException {
+        return delegate.mapReadOnly(position, sizeBytes);
+    }
+
     /** {@inheritDoc} */
     @Override public void force() throws IOException {
         delegate.force();
@@ -721,33 +721,101 @@ public class FilePageStore implements PageStore {
                         "off=" + U.hexLong(off) + ", allocated=" + U.hexLong(allocated.get()) +
                             ", pageId=" + U.hexLong(pageId) + ", file=" + getFileAbsolutePath();
 
-                    assert pageBuf.position() == 0;
-                    assert pageBuf.order() == ByteOrder.nativeOrder() : "Page buffer order " + pageBuf.order()
-                        + " should be same with " + ByteOrder.nativeOrder();
-                    assert PageIO.getType(pageBuf) != 0 : "Invalid state. Type is 0! pageId = " + U.hexLong(pageId);
-                    assert PageIO.getVersion(pageBuf) != 0 : "Invalid state. Version is 0! pageId = " + U.hexLong(pageId);
+                    prepareWrite(pageId, pageBuf, calculateCrc);
 
-                    if (calculateCrc && !skipCrc) {
-                        assert PageIO.getCrc(pageBuf) == 0 : U.hexLong(pageId);
+                    fileIO.writeFully(pageBuf, off);
 
-                        PageIO.setCrc(pageBuf, calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)));
-                    }
+                    PageIO.setCrc(pageBuf, 0);
+
+                    if (interrupted)
+                        Thread.currentThread().interrupt();
+
+                    return;
+                }
+                finally {
+                    lock.readLock().unlock();
+                }
+            }
+            catch (IOException e) {
+                if (e instanceof ClosedChannelException) {
+                    try {
+                        if (e instanceof ClosedByInterruptException) {
+                            interrupted = true;
+
+                            Thread.interrupted();
+                        }
 
-                    // Check whether crc was calculated somewhere above the stack if it is forcibly skipped.
-                    assert skipCrc || PageIO.getCrc(pageBuf) != 0 || calcCrc32(pageBuf, pageSize) == 0 :
-                        "CRC hasn't been calculated, crc=0";
+                        reinit(fileIO);
 
-                    assert pageBuf.position() == 0 : pageBuf.position();
+                        pageBuf.position(0);
 
-                    for (PageWriteListener lsnr : lsnrs) {
-                        lsnr.accept(pageId, pageBuf);
+                        PageIO.setCrc(pageBuf, 0);
 
-                        pageBuf.rewind();
+                        continue;
                     }
+                    catch (IOException e0) {
+                        e0.addSuppressed(e);
 
-                    fileIO.writeFully(pageBuf, off);
+                        e = e0;
+                    }
+                }
 
-                    PageIO.setCrc(pageBuf, 0);
+                throw new StorageException("Failed to write page [file=" + getFileAbsolutePath()
+                    + ", pageId=" + pageId + ", tag=" + tag + "]", e);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(
+        long[] pageIds,
+        int cnt,
+        ByteBuffer pagesBuf,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        assert cnt > 0 && pagesBuf.capacity() >= cnt * pageSize : "cnt=" + cnt + ", capacity=" + pagesBuf.capacity();
+
+        init();
+
+        ByteBuffer[] pageBufs = new ByteBuffer[cnt];
+
+        for (int i = 0; i < cnt; i++) {
+            assert PageIdUtils.pageIndex(pageIds[i]) == PageIdUtils.pageIndex(pageIds[0]) + i :
+                "Pages are not consecutive [first=" + U.hexLong(pageIds[0]) + ", pageId=" + U.hexLong(pageIds[i]) + ']';
+
+            pagesBuf.limit((i + 1) * pageSize).position(i * pageSize);
+
+            pageBufs[i] = pagesBuf.slice().order(pagesBuf.order());
+        }
+
+        pagesBuf.limit(cnt * pageSize).position(0);
+
+        boolean interrupted = false;
+
+        while (true) {
+            FileIO fileIO = this.fileIO;
+
+            try {
+                lock.readLock().lock();
+
+                try {
+                    if (tag < this.tag)
+                        return;
+
+                    long off = pageOffset(pageIds[0]);
+
+                    assert (off >= 0 && off + (long)(cnt - 1) * pageSize <= allocated.get()) || recover :
+                        "off=" + U.hexLong(off) + ", cnt=" + cnt + ", allocated=" + U.hexLong(allocated.get()) +
+                            ", pageId=" + U.hexLong(pageIds[0]) + ", file=" + getFileAbsolutePath();
+
+                    for (int i = 0; i < cnt; i++)
+                        prepareWrite(pageIds[i], pageBufs[i], calculateCrc);
+
+                    fileIO.writeFully(pagesBuf, off);
+
+                    for (int i = 0; i < cnt; i++)
+                        PageIO.setCrc(pageBufs[i], 0);
 
                     if (interrupted)
                         Thread.currentThread().interrupt();
@@ -769,9 +837,10 @@ public class FilePageStore implements PageStore {
 
                         reinit(fileIO);
 
-                        pageBuf.position(0);
+                        pagesBuf.position(0);
 
-                        PageIO.setCrc(pageBuf, 0);
+                        for (int i = 0; i < cnt; i++)
+                            PageIO.setCrc(pageBufs[i], 0);
 
                         continue;
                     }
@@ -782,12 +851,46 @@ public class FilePageStore implements PageStore {
                     }
                 }
 
-                throw new StorageException("Failed to write page [file=" + getFileAbsolutePath()
-                    + ", pageId=" + pageId + ", tag=" + tag + "]", e);
+                throw new StorageException("Failed to write pages [file=" + getFileAbsolutePath()
+                    + ", pageId=" + pageIds[0] + ", cnt=" + cnt + ", tag=" + tag + "]", e);
             }
         }
     }
 
+    /**
+     * Calculates page CRC if needed and notifies page write listeners before the page is written to the file.
+     *
+     * @param pageId Page ID.
+     * @param pageBuf Page buffer.
+     * @param calculateCrc If {@code False} crc calculation will be forcibly skipped.
+     * @throws IOException If failed.
+     */
+    private void prepareWrite(long pageId, ByteBuffer pageBuf, boolean calculateCrc) throws IOException {
+        assert pageBuf.position() == 0;
+        assert pageBuf.order() == ByteOrder.nativeOrder() : "Page buffer order " + pageBuf.order()
+            + " should be same with " + ByteOrder.nativeOrder();
+        assert PageIO.getType(pageBuf) != 0 : "Invalid state. Type is 0! pageId = " + U.hexLong(pageId);
+        assert PageIO.getVersion(pageBuf) != 0 : "Invalid state. Version is 0! pageId = " + U.hexLong(pageId);
+
+        if (calculateCrc && !skipCrc) {
+            assert PageIO.getCrc(pageBuf) == 0 : U.hexLong(pageId);
+
+            PageIO.setCrc(pageBuf, calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)));
+        }
+
+        // Check whether crc was calculated somewhere above the stack if it is forcibly skipped.
+        assert skipCrc || PageIO.getCrc(pageBuf) != 0 || calcCrc32(pageBuf, pageSize) == 0 :
+            "CRC hasn't been calculated, crc=0";
+
+        assert pageBuf.position() == 0 : pageBuf.position();
+
+        for (PageWriteListener lsnr : lsnrs) {
+            lsnr.accept(pageId, pageBuf);
+
+            pageBuf.rewind();
+        }
+    }
+
     /**
      * @param pageBuf Page buffer.
      * @param pageSize Page size.
@@ -145,6 +145,16 @@ public class RandomAccessFileIO extends AbstractFileIO {
         return ch.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes);
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean canMapReadOnly() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public MappedByteBuffer mapReadOnly(long position, int sizeBytes) throws IOException {
+        return ch.map(FileChannel.MapMode.READ_ONLY, position, sizeBytes);
+    }
+
     /** {@inheritDoc} */
     @Override public void force() throws IOException {
         force(false);
@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.cache.persistence.pagemem;
 
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import org.apache.ignite.internal.pagemem.wal.record.CheckpointRecord;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointEntryType;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointMarkersStorage;
@@ -47,12 +48,26 @@ public class CheckpointMetricsTracker {
     private static final AtomicIntegerFieldUpdater<CheckpointMetricsTracker> COW_PAGES_UPDATER =
         AtomicIntegerFieldUpdater.newUpdater(CheckpointMetricsTracker.class, "cowPages");
 
+    /** */
+    private static final AtomicIntegerFieldUpdater<CheckpointMetricsTracker> PAGES_WRITE_OPS_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(CheckpointMetricsTracker.class, "pagesWriteOps");
+
+    /** */
+    private static final AtomicLongFieldUpdater<CheckpointMetricsTracker> PAGES_WRITE_BYTES_UPDATER =
+        AtomicLongFieldUpdater.newUpdater(CheckpointMetricsTracker.class, "pagesWriteBytes");
+
     /** */
     private volatile int dataPages;
 
     /** */
     private volatile int cowPages;
 
+    /** */
+    private volatile int pagesWriteOps;
+
+    /** */
+    private volatile long pagesWriteBytes;
+
     /** */
     private long cpStart = System.currentTimeMillis();
 
@@ -101,6 +116,28 @@ public class CheckpointMetricsTracker {
         DATA_PAGES_UPDATER.incrementAndGet(this);
     }
 
+    /**
+     * @param bytes Number of bytes of pages written to a page store with a single write operation.
+     */
+    public void onPagesWriteOperation(long bytes) {
+        PAGES_WRITE_OPS_UPDATER.incrementAndGet(this);
+        PAGES_WRITE_BYTES_UPDATER.addAndGet(this, bytes);
+    }
+
+    /**
+     * @return Number of write operations issued to page stores while checkpoint pages were written.
+     */
+    public int pagesWriteOperations() {
+        return pagesWriteOps;
+    }
+
+    /**
+     * @return Number of bytes of pages written to page stores.
+     */
+    public long pagesWriteBytes() {
+        return pagesWriteBytes;
+    }
+
     /**
      * @return COW pages.
      */
@@ -45,6 +45,9 @@ class PageHeader {
     /** Page temp copy buffer relative pointer offset. */
     private static final int PAGE_TMP_BUF_OFFSET = 40;
 
+    /** Page modification version offset, the version is kept only if page versions are enabled. */
+    private static final int PAGE_VERSION_OFFSET = 48;
+
     /**
      * @param absPtr Absolute pointer to initialize.
      * @param relative Relative pointer to write.
@@ -56,6 +59,9 @@ class PageHeader {
 
         GridUnsafe.putLong(absPtr, PAGE_MARKER);
         GridUnsafe.putInt(absPtr + PAGE_PIN_CNT_OFFSET, 0);
+
+        if (PageMemoryImpl.PAGE_VERSIONS)
+            GridUnsafe.putLong(absPtr + PAGE_VERSION_OFFSET, 0L);
     }
 
     /**
@@ -189,6 +195,27 @@ class PageHeader {
         return markerAndTs & ~0xFF;
     }
 
+    /**
+     * Reads page modification version, it is changed on every write unlock of the page.
+     *
+     * @param absPtr Absolute page address.
+     * @return Page version.
+     */
+    public static long version(long absPtr) {
+        return GridUnsafe.getLongVolatile(null, absPtr + PAGE_VERSION_OFFSET);
+    }
+
+    /**
+     * Increments page modification version. Must be called under the page write lock.
+     *
+     * @param absPtr Absolute page address.
+     */
+    public static void incrementVersion(long absPtr) {
+        long ver = GridUnsafe.getLong(absPtr + PAGE_VERSION_OFFSET);
+
+        GridUnsafe.putLongVolatile(null, absPtr + PAGE_VERSION_OFFSET, ver + 1);
+    }
+
     /**
      * Sets pointer to checkpoint buffer.
      *
@@ -27,6 +27,7 @@ import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.processors.cache.persistence.PageStoreWriter;
 import org.apache.ignite.internal.processors.cache.persistence.StorageException;
+import org.apache.ignite.internal.util.GridLongList;
 import org.apache.ignite.internal.util.GridMultiCollectionWrapper;
 
 /**
@@ -144,6 +145,36 @@ public interface PageMemoryEx extends PageMemory {
          CheckpointMetricsTracker tracker
      ) throws IgniteCheckedException;
 
+    /**
+     * Prepare page for write during checkpoint and keep it pinned after {@link PageStoreWriter} was called,
+     * so that the page can be neither replaced nor reloaded from the page store until the copied content is
+     * actually written. Pointers of pinned pages are added to {@code pinnedPages} and must be released with
+     * {@link #releaseCheckpointPages(GridLongList)}.
+     *
+     * @param pageId Page ID to get byte buffer for. The page ID must be present in the collection returned by
+     *      the {@link #beginCheckpoint(IgniteInternalFuture)} method call.
+     * @param buf Temporary buffer to write changes into.
+     * @param pageWriter Checkpoint page write context.
+     * @param tracker Checkpoint metrics tracker.
+     * @param pinnedPages Pointers of pages which were handed to {@code pageWriter} and are still pinned.
+     * @throws IgniteCheckedException If failed to obtain page data.
+     */
+    public void checkpointWritePage(
+        FullPageId pageId,
+        ByteBuffer buf,
+        PageStoreWriter pageWriter,
+        CheckpointMetricsTracker tracker,
+        GridLongList pinnedPages
+    ) throws IgniteCheckedException;
+
+    /**
+     * Releases pages pinned by {@link #checkpointWritePage(FullPageId, ByteBuffer, PageStoreWriter,
+     * CheckpointMetricsTracker, GridLongList)} and clears the given list.
+     *
+     * @param pinnedPages Pointers of pinned pages.
+     */
+    public void releaseCheckpointPages(GridLongList pinnedPages);
+
      /** */
      public PageReadWriteManager pageManager();
 
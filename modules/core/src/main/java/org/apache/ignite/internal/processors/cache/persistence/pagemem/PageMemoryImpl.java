@@ -98,6 +98,7 @@ import org.jetbrains.annotations.TestOnly;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_DELAYED_REPLACED_PAGE_WRITE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP;
 import static org.apache.ignite.IgniteSystemProperties.getBoolean;
@@ -119,13 +120,17 @@ import static org.apache.ignite.internal.util.GridUnsafe.wrapPointer;
  * <p/>
  * When page is allocated and is in use:
  * <pre>
- * +------------------+--------+--------+----+----+--------+--------+----------------------+
- * |     8 bytes      |8 bytes |8 bytes |4 b |4 b |8 bytes |8 bytes |       PAGE_SIZE      |
- * +------------------+--------+--------+----+----+--------+--------+----------------------+
- * | Marker/Timestamp |Rel ptr |Page ID |C ID|PIN | LOCK   |TMP BUF |       Page data      |
- * +------------------+--------+--------+----+----+--------+--------+----------------------+
+ * +------------------+--------+--------+----+----+--------+--------+--------+----------------------+
+ * |     8 bytes      |8 bytes |8 bytes |4 b |4 b |8 bytes |8 bytes |8 bytes |       PAGE_SIZE      |
+ * +------------------+--------+--------+----+----+--------+--------+--------+----------------------+
+ * | Marker/Timestamp |Rel ptr |Page ID |C ID|PIN | LOCK   |TMP BUF |VERSION |       Page data      |
+ * +------------------+--------+--------+----+----+--------+--------+--------+----------------------+
  * </pre>
  *
+ * The version is kept only if optimistic reads of B+Tree pages are enabled by
+ * {@link IgniteSystemProperties#IGNITE_BPLUS_TREE_OPTIMISTIC_READS}, otherwise page data follows the temporary
+ * buffer pointer.
+ * <p/>
  * Note that first 8 bytes of page header are used either for page marker or for next relative pointer depending
  * on whether the page is in use or not.
  */
@@ -143,6 +148,13 @@ public class PageMemoryImpl implements PageMemoryEx {
     /** Page lock offset. */
     public static final int PAGE_LOCK_OFFSET = 32;
 
+    /**
+     * Page modification versions are kept in page headers for optimistic reads of B+Tree pages.
+     *
+     * @see IgniteSystemProperties#IGNITE_BPLUS_TREE_OPTIMISTIC_READS
+     */
+    static final boolean PAGE_VERSIONS = getBoolean(IGNITE_BPLUS_TREE_OPTIMISTIC_READS);
+
     /**
      * 8b Marker/timestamp
      * 8b Relative pointer
@@ -151,12 +163,16 @@ public class PageMemoryImpl implements PageMemoryEx {
      * 4b Pin count
      * 8b Lock
      * 8b Temporary buffer
+     * 8b Modification version, only if {@link #PAGE_VERSIONS} are enabled
      */
-    public static final int PAGE_OVERHEAD = 48;
+    public static final int PAGE_OVERHEAD = PAGE_VERSIONS ? 56 : 48;
 
     /** Try again tag. */
     public static final int TRY_AGAIN_TAG = -1;
 
+    /** Marks optimistic read stamp as valid, so that stamp of the initial page version is not zero. */
+    private static final long OPTIMISTIC_STAMP_BIT = Long.MIN_VALUE;
+
     /** @see IgniteSystemProperties#IGNITE_DELAYED_REPLACED_PAGE_WRITE */
     public static final boolean DFLT_DELAYED_REPLACED_PAGE_WRITE = true;
 
@@ -355,6 +371,10 @@ public class PageMemoryImpl implements PageMemoryEx {
             case CLOCK:
                 pageReplacementPolicyFactory = new ClockPageReplacementPolicyFactory();
 
+                break;
+            case TWO_QUEUE:
+                pageReplacementPolicyFactory = new TwoQueuePageReplacementPolicyFactory();
+
                 break;
             default:
                 throw new IgniteException("Unexpected page replacement mode: " + pageReplacementMode);
@@ -766,6 +786,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 seg.pageReplacementPolicy.onHit(relPtr);
 
+                dataRegionMetrics.onPageHit();
+
                 statHolder.trackLogicalRead(absPtr + PAGE_OVERHEAD);
 
                 return absPtr;
@@ -877,6 +899,8 @@ public class PageMemoryImpl implements PageMemoryEx {
                 absPtr = seg.absolute(relPtr);
 
                 seg.pageReplacementPolicy.onHit(relPtr);
+
+                dataRegionMetrics.onPageHit();
             }
 
             seg.acquirePage(absPtr);
@@ -934,6 +958,9 @@ public class PageMemoryImpl implements PageMemoryEx {
                     dataRegionMetrics.onPageRead();
                 }
                 finally {
+                    if (PAGE_VERSIONS)
+                        PageHeader.incrementVersion(lockedPageAbsPtr);
+
                     rwLock.writeUnlock(lockedPageAbsPtr + PAGE_LOCK_OFFSET,
                         actualPageId == 0 ? OffheapReadWriteLock.TAG_LOCK_ALWAYS : PageIdUtils.tag(actualPageId));
                 }
@@ -1179,6 +1206,17 @@ public class PageMemoryImpl implements PageMemoryEx {
         ByteBuffer buf,
         PageStoreWriter pageStoreWriter,
         CheckpointMetricsTracker metricsTracker
+    ) throws IgniteCheckedException {
+        checkpointWritePage(fullId, buf, pageStoreWriter, metricsTracker, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void checkpointWritePage(
+        FullPageId fullId,
+        ByteBuffer buf,
+        PageStoreWriter pageStoreWriter,
+        CheckpointMetricsTracker metricsTracker,
+        @Nullable GridLongList pinnedPages
     ) throws IgniteCheckedException {
         assert buf.remaining() == pageSize();
 
@@ -1247,7 +1285,15 @@ public class PageMemoryImpl implements PageMemoryEx {
             }
         }
 
-        copyPageForCheckpoint(absPtr, fullId, buf, tag, pageSingleAcquire, pageStoreWriter, metricsTracker);
+        copyPageForCheckpoint(absPtr, fullId, buf, tag, pageSingleAcquire, pageStoreWriter, metricsTracker, pinnedPages);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void releaseCheckpointPages(GridLongList pinnedPages) {
+        for (int i = 0; i < pinnedPages.size(); i++)
+            PageHeader.releasePage(pinnedPages.get(i));
+
+        pinnedPages.clear();
     }
 
     /**
@@ -1257,6 +1303,8 @@ public class PageMemoryImpl implements PageMemoryEx {
      * @param pageSingleAcquire Page is acquired only once. We don't pin the page second time (until page will not be
      * copied) in case checkpoint temporary buffer is used.
      * @param pageStoreWriter Checkpoint page write context.
+     * @param pinnedPages If not {@code null}, the page is not released after the write, its pointer is added
+     * to this list instead.
      */
     private void copyPageForCheckpoint(
         long absPtr,
@@ -1265,7 +1313,8 @@ public class PageMemoryImpl implements PageMemoryEx {
         Integer tag,
         boolean pageSingleAcquire,
         PageStoreWriter pageStoreWriter,
-        CheckpointMetricsTracker tracker
+        CheckpointMetricsTracker tracker,
+        @Nullable GridLongList pinnedPages
     ) throws IgniteCheckedException {
         assert absPtr != 0;
         assert PageHeader.isAcquired(absPtr) || !isInCheckpoint(fullId);
@@ -1348,8 +1397,12 @@ public class PageMemoryImpl implements PageMemoryEx {
             }
 
             // We pinned the page either when allocated the temp buffer, or when resolved abs pointer.
-            // Must release the page only after write unlock.
-            PageHeader.releasePage(absPtr);
+            // Must release the page only after write unlock. If the writer only buffered the page content,
+            // the page stays pinned until the content reaches the page store.
+            if (canWrite && pinnedPages != null)
+                pinnedPages.add(absPtr);
+            else
+                PageHeader.releasePage(absPtr);
         }
     }
 
@@ -1578,6 +1631,37 @@ public class PageMemoryImpl implements PageMemoryEx {
         return absPtr + PAGE_OVERHEAD;
     }
 
+    /** {@inheritDoc} */
+    @Override public long optimisticReadStamp(int grpId, long pageId, long page) {
+        assert started;
+
+        if (!PAGE_VERSIONS)
+            return 0L;
+
+        long ver = PageHeader.version(page);
+
+        if (!rwLock.canReadOptimistic(page + PAGE_LOCK_OFFSET, PageIdUtils.tag(pageId)))
+            return 0L;
+
+        return ver | OPTIMISTIC_STAMP_BIT;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long optimisticReadAddress(int grpId, long pageId, long page) {
+        return page + PAGE_OVERHEAD;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean validateOptimisticRead(int grpId, long pageId, long page, long stamp) {
+        assert (stamp & OPTIMISTIC_STAMP_BIT) != 0 : stamp;
+
+        // Page data must be read before the version.
+        GridUnsafe.loadFence();
+
+        return (PageHeader.version(page) | OPTIMISTIC_STAMP_BIT) == stamp &&
+            rwLock.canReadOptimistic(page + PAGE_LOCK_OFFSET, PageIdUtils.tag(pageId));
+    }
+
     /** {@inheritDoc} */
     @Override public long readLockForce(int grpId, long pageId, long page) {
         assert started;
@@ -1715,6 +1799,10 @@ public class PageMemoryImpl implements PageMemoryEx {
             try {
                 assert pageId != 0 : U.hexLong(PageHeader.readPageId(page));
 
+                // Invalidate optimistic reads started before or during the modification.
+                if (PAGE_VERSIONS)
+                    PageHeader.incrementVersion(page);
+
                 rwLock.writeUnlock(page + PAGE_LOCK_OFFSET, PageIdUtils.tag(pageId));
 
                 assert PageIO.getVersion(page + PAGE_OVERHEAD) != 0 : dumpPage(pageId, fullId.groupId());
@@ -21,6 +21,7 @@ import java.nio.ByteBuffer;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.jetbrains.annotations.Nullable;
 
 /** */
 public interface PageReadWriteManager {
@@ -45,6 +46,46 @@ public interface PageReadWriteManager {
      */
     public PageStore write(int grpId, long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) throws IgniteCheckedException;
 
+    /**
+     * Writes a run of pages of the same partition with consecutive indexes for the given cache ID. Pages are laid
+     * out one after another in {@code pagesBuf} between its position {@code 0} and its limit. By default pages are
+     * written one by one.
+     *
+     * @param grpId Cache group ID.
+     * @param pageIds Page IDs, the first {@code cnt} of them are written.
+     * @param cnt Number of pages to write.
+     * @param pagesBuf Buffer with content of pages to write.
+     * @param tracker Checkpoint metrics tracker which counts write operations, {@code null} if metrics are disabled.
+     * @return Page store the pages were written to.
+     * @throws IgniteCheckedException If failed to write pages.
+     */
+    public default PageStore write(
+        int grpId,
+        long[] pageIds,
+        int cnt,
+        ByteBuffer pagesBuf,
+        int tag,
+        boolean calculateCrc,
+        @Nullable CheckpointMetricsTracker tracker
+    ) throws IgniteCheckedException {
+        int pageSize = pagesBuf.limit() / cnt;
+
+        PageStore store = null;
+
+        for (int i = 0; i < cnt; i++) {
+            pagesBuf.limit((i + 1) * pageSize).position(i * pageSize);
+
+            store = write(grpId, pageIds[i], pagesBuf.slice().order(pagesBuf.order()), tag, calculateCrc);
+
+            if (tracker != null)
+                tracker.onPagesWriteOperation(pageSize);
+        }
+
+        pagesBuf.limit(cnt * pageSize).position(0);
+
+        return store;
+    }
+
     /**
      * Allocates a page for the given page space.
      *
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * Bounded history of recently replaced pages ("ghost" entries) used by 2Q page replacement.
+ * <p>
+ * Only a 64-bit fingerprint of the page ID is stored, in a direct-mapped table: a newer entry overwrites an older
+ * one with the same slot. So the history is approximate, a fingerprint collision can produce a false ghost hit and
+ * an overwritten entry can produce a false ghost miss. Both only affect the choice of the segment for a loaded page.
+ * <p>
+ * Not thread-safe, all the methods are expected to be invoked under the segment write lock.
+ *
+ * @see PageReplacementMode#TWO_QUEUE
+ */
+public class PageReplacementGhostTable {
+    /** Empty slot marker. */
+    private static final long EMPTY = 0L;
+
+    /** Pointer to memory region to store fingerprints. */
+    private final long ptr;
+
+    /** Slots count. */
+    private final int cap;
+
+    /**
+     * @param cap Slots count.
+     * @param ptr Pointer to memory region.
+     */
+    public PageReplacementGhostTable(int cap, long ptr) {
+        assert cap > 0 : cap;
+
+        this.cap = cap;
+        this.ptr = ptr;
+
+        GridUnsafe.setMemory(ptr, ((long)cap) << 3, (byte)0);
+    }
+
+    /**
+     * Adds page to the history.
+     *
+     * @param grpId Cache group ID.
+     * @param effectivePageId Effective page ID.
+     */
+    public void add(int grpId, long effectivePageId) {
+        long fp = fingerprint(grpId, effectivePageId);
+
+        GridUnsafe.putLong(slotPtr(fp), fp);
+    }
+
+    /**
+     * Removes page from the history.
+     *
+     * @param grpId Cache group ID.
+     * @param effectivePageId Effective page ID.
+     * @return {@code True} if page was found in the history.
+     */
+    public boolean remove(int grpId, long effectivePageId) {
+        long fp = fingerprint(grpId, effectivePageId);
+
+        long slotPtr = slotPtr(fp);
+
+        if (GridUnsafe.getLong(slotPtr) != fp)
+            return false;
+
+        GridUnsafe.putLong(slotPtr, EMPTY);
+
+        return true;
+    }
+
+    /**
+     * @param fp Fingerprint.
+     * @return Pointer to the slot of the fingerprint.
+     */
+    private long slotPtr(long fp) {
+        return ptr + ((fp >>> 1) % cap << 3);
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param effectivePageId Effective page ID.
+     * @return Non-empty page fingerprint.
+     */
+    private static long fingerprint(int grpId, long effectivePageId) {
+        long h = effectivePageId * 0x9E3779B97F4A7C15L + grpId;
+
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        h ^= h >>> 32;
+
+        return h | 1L;
+    }
+
+    /**
+     * Memory required to service {@code cap} slots.
+     *
+     * @param cap Slots count.
+     */
+    public static long requiredMemory(int cap) {
+        return ((long)cap) << 3;
+    }
+}
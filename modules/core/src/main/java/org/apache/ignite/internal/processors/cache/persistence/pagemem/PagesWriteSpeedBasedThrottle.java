@@ -93,6 +93,9 @@ public class PagesWriteSpeedBasedThrottle implements PagesWriteThrottlePolicy {
      * */
     private final IntervalBasedMeasurement speedMarkAndAvgParkTime = new IntervalBasedMeasurement(250, 3);
 
+    /** Feedback controller smoothing device latency, dirty pages growth rate and resulting park time. */
+    private final ThrottleFeedbackController ctrl = new ThrottleFeedbackController();
+
     /** Total pages which is possible to store in page memory. */
     private long totalPages;
 
@@ -154,9 +157,15 @@ public class PagesWriteSpeedBasedThrottle implements PagesWriteThrottlePolicy {
 
         speedCpWrite.setCounter(fullyCompletedPages, curNanoTime);
 
-        long markDirtySpeed = speedMarkAndAvgParkTime.getSpeedOpsPerSec(curNanoTime);
+        long instCpWriteSpeed = speedCpWrite.getSpeedOpsPerSec(curNanoTime);
+
+        boolean ctrlUpdate = ctrl.onSample(curNanoTime, instCpWriteSpeed,
+            speedMarkAndAvgParkTime.getSpeedOpsPerSec(curNanoTime));
+
+        // Smoothed values are used to not follow short bursts of device latency.
+        long markDirtySpeed = ctrl.dirtyPagesGrowthRate();
 
-        long curCpWriteSpeed = speedCpWrite.getSpeedOpsPerSec(curNanoTime);
+        long curCpWriteSpeed = instCpWriteSpeed > 0 ? ctrl.deviceWriteSpeed() : 0;
 
         threadIds.add(Thread.currentThread().getId());
 
@@ -171,6 +180,8 @@ public class PagesWriteSpeedBasedThrottle implements PagesWriteThrottlePolicy {
 
         long throttleParkTimeNs = 0;
 
+        boolean tooLate = false;
+
         if (level == ThrottleMode.NO) {
             int nThreads = threadIds.size();
 
@@ -192,8 +203,11 @@ public class PagesWriteSpeedBasedThrottle implements PagesWriteThrottlePolicy {
 
                 detectCpPagesWriteStart(cpWrittenPages, dirtyPagesRatio);
 
-                if (dirtyPagesRatio >= MAX_DIRTY_PAGES)
+                if (dirtyPagesRatio >= MAX_DIRTY_PAGES) {
                     level = ThrottleMode.NO; // too late to throttle, will wait on safe to update instead.
+
+                    tooLate = true;
+                }
                 else {
                     int notEvictedPagesTotal = cpTotalPages - cpEvictedPages();
 
@@ -218,14 +232,22 @@ public class PagesWriteSpeedBasedThrottle implements PagesWriteThrottlePolicy {
             if (isPageInCheckpoint)
                 exponentialBackoffCntr.set(0);
 
-            if (level == ThrottleMode.NO)
-                throttleParkTimeNs = 0;
+            if (ctrlUpdate) {
+                ctrl.adjust(level == ThrottleMode.NO ? 0 : throttleParkTimeNs, threadIds.size());
+
+                pageMemory.metrics().onThrottleControllerUpdate(ctrl.targetRate(), ctrl.dirtyPagesGrowthRate(),
+                    ctrl.deviceLatency());
+            }
+
+            throttleParkTimeNs = tooLate ? 0 : ctrl.parkTime();
         }
 
         if (throttleParkTimeNs > 0) {
             recurrentLogIfNeed();
 
             doPark(throttleParkTimeNs);
+
+            pageMemory.metrics().addThrottleParkTime(throttleParkTimeNs);
         }
 
         pageMemory.metrics().addThrottlingTime(U.nanosToMillis(System.nanoTime() - curNanoTime));
@@ -298,10 +320,12 @@ public class PagesWriteSpeedBasedThrottle implements PagesWriteThrottlePolicy {
         if (prevWarnTime.compareAndSet(prevWarningNs, curNs) && log.isInfoEnabled()) {
             String msg = String.format("Throttling is applied to page modifications " +
                     "[percentOfPartTime=%.2f, markDirty=%d pages/sec, checkpointWrite=%d pages/sec, " +
-                    "estIdealMarkDirty=%d pages/sec, curDirty=%.2f, maxDirty=%.2f, avgParkTime=%d ns, " +
+                    "estIdealMarkDirty=%d pages/sec, targetMarkDirty=%d pages/sec, devLatency=%d ns, " +
+                    "devLatencyDeviation=%d ns, curDirty=%.2f, maxDirty=%.2f, avgParkTime=%d ns, " +
                     "pages: (total=%d, evicted=%d, written=%d, synced=%d, cpBufUsed=%d, cpBufTotal=%d)]",
                 weight, getMarkDirtySpeed(), getCpWriteSpeed(),
-                getLastEstimatedSpeedForMarkAll(), getCurrDirtyRatio(), getTargetDirtyRatio(), throttleParkTime(),
+                getLastEstimatedSpeedForMarkAll(), getTargetMarkDirtySpeed(), getDeviceWriteLatency(),
+                ctrl.deviceLatencyDeviation(), getCurrDirtyRatio(), getTargetDirtyRatio(), throttleParkTime(),
                 cpTotalPages(), cpEvictedPages(), cpWrittenPages(), cpSyncedPages(),
                 pageMemory.checkpointBufferPagesCount(), pageMemory.checkpointBufferPagesSize());
 
@@ -459,6 +483,8 @@ public class PagesWriteSpeedBasedThrottle implements PagesWriteThrottlePolicy {
         initDirtyRatioAtCpBegin = MIN_RATIO_NO_THROTTLE;
 
         lastObservedWritten.set(0);
+
+        ctrl.reset();
     }
 
 
@@ -469,6 +495,8 @@ public class PagesWriteSpeedBasedThrottle implements PagesWriteThrottlePolicy {
         speedCpWrite.finishInterval();
         speedMarkAndAvgParkTime.finishInterval();
         threadIds.clear();
+
+        ctrl.reset();
     }
 
     /**
@@ -518,6 +546,20 @@ public class PagesWriteSpeedBasedThrottle implements PagesWriteThrottlePolicy {
         return speedForMarkAll;
     }
 
+    /**
+     * @return Speed of marking pages dirty which the throttling aims at, pages/second. 0 means no limit.
+     */
+    public long getTargetMarkDirtySpeed() {
+        return ctrl.targetRate();
+    }
+
+    /**
+     * @return Smoothed checkpoint write latency of the device, nanoseconds per page.
+     */
+    public long getDeviceWriteLatency() {
+        return ctrl.deviceLatency();
+    }
+
     /**
      * Measurement shows how much throttling time is involved into average marking time.
      * @return metric started from 0.0 and showing how much throttling is involved into current marking process.
@@ -81,6 +81,15 @@ public class SegmentedLruPageList {
         return idx;
     }
 
+    /**
+     * Gets protected page flag of the head page of LRU list, i.e. the page to be removed by the next {@link #poll()}.
+     *
+     * @return {@code True} if the head page belongs to the protected segment.
+     */
+    synchronized boolean headProtected() {
+        return headIdx != NULL_IDX && protectedPage(headIdx);
+    }
+
     /**
      * Remove page from LRU list by page index.
      *
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feedback controller of park time used by {@link PagesWriteSpeedBasedThrottle}.<br>
+ * Device write latency (nanoseconds per checkpoint page) and growth rate of dirty pages are modeled separately by
+ * exponentially weighted moving averages, so a short latency burst of the disk does not turn into a throttling spike
+ * immediately. Park time is adjusted once per {@link #CONTROL_INTERVAL_NS} in AIMD manner: it is increased
+ * multiplicatively towards the value required by the throttling policy and released additively when the policy
+ * requires less throttling.<br>
+ * One thread can update state (winner in CAS of {@link #lastUpdateNs}), all other threads may read.
+ */
+class ThrottleFeedbackController {
+    /** Control interval. State is updated not often than once per interval. */
+    static final long CONTROL_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** Initial park time used when throttling starts. */
+    static final long STARTING_PARK_NANOS = 4000;
+
+    /** Smoothing factor of device latency. */
+    private static final double LATENCY_ALPHA = 0.125;
+
+    /** Smoothing factor of device latency deviation. */
+    private static final double LATENCY_DEV_BETA = 0.25;
+
+    /** Smoothing factor of dirty pages growth rate. */
+    private static final double GROWTH_ALPHA = 0.25;
+
+    /** Park time multiplier applied on each interval while more throttling is required. */
+    private static final int INCREASE_RATIO = 2;
+
+    /** Number of intervals required to release park time completely. */
+    private static final int RELEASE_INTERVALS = 8;
+
+    /** Nanos in second. */
+    private static final long NANOS_IN_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** Time of last state update. */
+    private final AtomicLong lastUpdateNs = new AtomicLong();
+
+    /** Smoothed device write latency, nanoseconds per page. 0 means 'no data'. */
+    private volatile long devLatencyNs;
+
+    /** Smoothed mean deviation of device write latency, nanoseconds per page. */
+    private volatile long devLatencyDevNs;
+
+    /** Smoothed growth rate of dirty pages, pages/second. */
+    private volatile long dirtyGrowthRate;
+
+    /** Park time applied to threads marking pages dirty. */
+    private volatile long parkNs;
+
+    /** Step of additive park time release, calculated at last park time increase. */
+    private volatile long releaseStepNs;
+
+    /** Marking rate which the park time required by the throttling policy aims at, pages/second. */
+    private volatile long targetRate;
+
+    /**
+     * Updates device and dirty pages growth models with instant measurements.
+     *
+     * @param curNanoTime Current time.
+     * @param cpWriteSpeed Instant checkpoint write speed, pages/second. 0 speed means 'no data'.
+     * @param markDirtySpeed Instant speed of marking pages dirty, pages/second.
+     * @return {@code True} if this thread won the update of current control interval and should provide the
+     * required park time to {@link #adjust(long, int)}.
+     */
+    boolean onSample(long curNanoTime, long cpWriteSpeed, long markDirtySpeed) {
+        long last = lastUpdateNs.get();
+
+        if (last != 0 && curNanoTime - last < CONTROL_INTERVAL_NS)
+            return false;
+
+        if (!lastUpdateNs.compareAndSet(last, curNanoTime))
+            return false;
+
+        if (cpWriteSpeed > 0) {
+            long sample = NANOS_IN_SECOND / cpWriteSpeed;
+
+            long latency = devLatencyNs;
+
+            if (latency == 0) {
+                devLatencyNs = sample;
+                devLatencyDevNs = sample / 2;
+            }
+            else {
+                devLatencyDevNs += (long)(LATENCY_DEV_BETA * (Math.abs(sample - latency) - devLatencyDevNs));
+                devLatencyNs = latency + (long)(LATENCY_ALPHA * (sample - latency));
+            }
+        }
+
+        long growth = dirtyGrowthRate;
+
+        dirtyGrowthRate = growth == 0 ? markDirtySpeed : growth + (long)(GROWTH_ALPHA * (markDirtySpeed - growth));
+
+        return true;
+    }
+
+    /**
+     * Moves park time towards the value required by throttling policy. Should be called only by the thread which
+     * won the update in {@link #onSample(long, long, long)}.
+     *
+     * @param requiredParkNs Park time required by throttling policy, 0 if throttling is not required.
+     * @param nThreads Number of threads marking pages dirty.
+     */
+    void adjust(long requiredParkNs, int nThreads) {
+        long cur = parkNs;
+
+        if (requiredParkNs > cur) {
+            long next = Math.min(requiredParkNs, Math.max(cur * INCREASE_RATIO, STARTING_PARK_NANOS));
+
+            releaseStepNs = Math.max(1, next / RELEASE_INTERVALS);
+
+            parkNs = next;
+        }
+        else if (requiredParkNs < cur)
+            parkNs = Math.max(requiredParkNs, cur - releaseStepNs);
+
+        targetRate = requiredParkNs > 0 ? NANOS_IN_SECOND * Math.max(1, nThreads) / requiredParkNs : 0;
+    }
+
+    /**
+     * Drops park time, device and growth models are kept.
+     */
+    void reset() {
+        parkNs = 0;
+        targetRate = 0;
+    }
+
+    /**
+     * @return Park time to apply, nanoseconds.
+     */
+    long parkTime() {
+        return parkNs;
+    }
+
+    /**
+     * @return Checkpoint write speed based on smoothed device latency, pages/second. 0 speed means 'no data'.
+     */
+    long deviceWriteSpeed() {
+        long latency = devLatencyNs;
+
+        return latency > 0 ? NANOS_IN_SECOND / latency : 0;
+    }
+
+    /**
+     * @return Smoothed device write latency, nanoseconds per page.
+     */
+    long deviceLatency() {
+        return devLatencyNs;
+    }
+
+    /**
+     * @return Smoothed mean deviation of device write latency, nanoseconds per page.
+     */
+    long deviceLatencyDeviation() {
+        return devLatencyDevNs;
+    }
+
+    /**
+     * @return Smoothed growth rate of dirty pages, pages/second.
+     */
+    long dirtyPagesGrowthRate() {
+        return dirtyGrowthRate;
+    }
+
+    /**
+     * @return Marking rate which the park time required by the throttling policy aims at, pages/second.
+     * 0 means no limit.
+     */
+    long targetRate() {
+        return targetRate;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.INVALID_REL_PTR;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.OUTDATED_REL_PTR;
+
+/**
+ * 2Q page replacement policy implementation.
+ *
+ * @see PageReplacementMode#TWO_QUEUE
+ */
+public class TwoQueuePageReplacementPolicy extends PageReplacementPolicy {
+    /** Ratio of ghost history size to total pages count. */
+    static final double GHOST_TO_TOTAL_PAGES_RATIO = 0.5;
+
+    /** Pages list: probationary segment is the FIFO queue, protected segment is the LRU queue. */
+    private final SegmentedLruPageList pageList;
+
+    /** History of replaced pages. */
+    private final PageReplacementGhostTable ghosts;
+
+    /**
+     * @param seg Page memory segment.
+     * @param ptr Pointer to memory region.
+     * @param pagesCnt Pages count.
+     */
+    protected TwoQueuePageReplacementPolicy(PageMemoryImpl.Segment seg, long ptr, int pagesCnt) {
+        super(seg);
+
+        pageList = new SegmentedLruPageList(pagesCnt, ptr);
+        ghosts = new PageReplacementGhostTable(ghostsCapacity(pagesCnt),
+            ptr + SegmentedLruPageList.requiredMemory(pagesCnt));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onHit(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        // Hits of the pages in the FIFO queue are treated as correlated references and don't promote the page.
+        if (pageList.protectedPage(pageIdx))
+            pageList.moveToTail(pageIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onMiss(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        FullPageId fullId = PageHeader.fullPageId(seg.absolute(relPtr));
+
+        pageList.addToTail(pageIdx, ghosts.remove(fullId.groupId(), fullId.effectivePageId()));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onRemove(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        pageList.remove(pageIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long replace() throws IgniteCheckedException {
+        LoadedPagesMap loadedPages = seg.loadedPages();
+
+        for (int i = 0; i < loadedPages.size(); i++) {
+            int pageIdx;
+            boolean protectedPage;
+
+            // Protected flag is cleared on poll, it's read under the same lock to return the page to its own queue.
+            synchronized (pageList) {
+                protectedPage = pageList.headProtected();
+                pageIdx = pageList.poll();
+            }
+
+            long relPtr = seg.relative(pageIdx);
+            long absPtr = seg.absolute(relPtr);
+
+            FullPageId fullId = PageHeader.fullPageId(absPtr);
+
+            // Check loaded pages map for outdated page.
+            relPtr = loadedPages.get(
+                fullId.groupId(),
+                fullId.effectivePageId(),
+                seg.partGeneration(fullId.groupId(), PageIdUtils.partId(fullId.pageId())),
+                INVALID_REL_PTR,
+                OUTDATED_REL_PTR
+            );
+
+            assert relPtr != INVALID_REL_PTR;
+
+            if (relPtr == OUTDATED_REL_PTR)
+                return seg.refreshOutdatedPage(fullId.groupId(), fullId.pageId(), true);
+
+            if (seg.tryToRemovePage(fullId, absPtr)) {
+                ghosts.add(fullId.groupId(), fullId.effectivePageId());
+
+                return relPtr;
+            }
+
+            // Return page to the tail of the queue it was polled from.
+            pageList.addToTail(pageIdx, protectedPage);
+        }
+
+        throw seg.oomException("no pages to replace");
+    }
+
+    /**
+     * @param pagesCnt Pages count.
+     * @return Ghost history capacity.
+     */
+    static int ghostsCapacity(int pagesCnt) {
+        return Math.max(1, (int)(pagesCnt * GHOST_TO_TOTAL_PAGES_RATIO));
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -77,10 +78,12 @@ import org.apache.ignite.internal.util.lang.GridTuple3;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.SB;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteClosure;
 import org.apache.ignite.lang.IgniteInClosure;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_LOCK_RETRIES;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.DONE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.FALSE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.READY;
@@ -120,6 +123,12 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
     private static final int LOCK_RETRIES = IgniteSystemProperties.getInteger(
         IGNITE_BPLUS_TREE_LOCK_RETRIES, IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT);
 
+    /** */
+    private static final boolean OPTIMISTIC_READS = IgniteSystemProperties.getBoolean(IGNITE_BPLUS_TREE_OPTIMISTIC_READS);
+
+    /** Result of {@link #compareInline(BPlusIO, long, int, Object)} if the row in the page is needed to compare. */
+    protected static final int NEED_ROW_TO_COMPARE = Integer.MIN_VALUE;
+
     /** */
     private final AtomicBoolean destroyed = new AtomicBoolean(false);
 
@@ -304,7 +313,11 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
                 idx = io.isLeaf() ? cnt - 1 : -cnt - 1; // (-cnt - 1) mimics not_found result of findInsertionPoint
                 // in case of cnt = 0 we end up in 'not found' branch below with idx being 0 after fix() adjustment
             else
-                idx = findInsertionPoint(lvl, io, pageAddr, 0, cnt, g.row, g.shift);
+                idx = findInsertionPoint(lvl, io, pageAddr, 0, cnt, g.row, g.shift, g.optimistic);
+
+            // The row can't be compared by the page content only, the page must be read under the lock.
+            if (idx == NEED_ROW_TO_COMPARE)
+                return RETRY;
 
             boolean found = idx >= 0;
 
@@ -346,6 +359,10 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
                 // Setup fwdId.
                 if (fwdId == 0)
                     g.fwdId(0L);
+                else if (g.optimistic) {
+                    // The forward page ID may be torn, it is locked only after the page is read under the lock.
+                    return RETRY;
+                }
                 else {
                     // We can do askNeighbor on forward page here because we always take locks in forward direction.
                     Result res = askNeighbor(fwdId, g, false);
@@ -1446,7 +1463,13 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
                 g.pageId = pageId;
                 g.fwdId = fwdId;
 
-                Result res = read(pageId, page, search, g, lvl, RETRY);
+                Result res = null;
+
+                if (lvl != 0 && optimisticReads() && g.canReadOptimistic())
+                    res = readOptimistic(pageId, page, g, lvl);
+
+                if (res == null)
+                    res = read(pageId, page, search, g, lvl, RETRY);
 
                 switch (res) {
                     case GO_DOWN:
@@ -1485,6 +1508,76 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         }
     }
 
+    /**
+     * Searches the inner page without a read lock. The page may be modified concurrently, so the result is used
+     * only if the page version has not changed during the search, otherwise the operation state is restored.
+     * Rows are compared by {@link #compareInline(BPlusIO, long, int, Object)}, so no link read from the page
+     * is followed before the read is validated.
+     *
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param g Operation.
+     * @param lvl Level.
+     * @return Result or {@code null} if the page must be read under the read lock.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Result readOptimistic(long pageId, long page, Get g, int lvl) throws IgniteCheckedException {
+        long stamp = pageMem.optimisticReadStamp(grpId, pageId, page);
+
+        if (stamp == 0L)
+            return null;
+
+        long pageAddr = pageMem.optimisticReadAddress(grpId, pageId, page);
+
+        if (pageAddr == 0L)
+            return null;
+
+        L row = g.row;
+        long fwdId = g.fwdId;
+        long backId = g.backId;
+
+        Result res = null;
+
+        try {
+            // A torn read may give any garbage, so check the bounds before the binary search.
+            if (PageIO.getType(pageAddr) == innerIos.getType()) {
+                BPlusIO<L> io = (BPlusIO<L>)pageIoRslvr.resolve(pageAddr);
+
+                int cnt = io.getCount(pageAddr);
+
+                if (cnt >= 0 && cnt <= io.getMaxCount(pageAddr, pageSize())) {
+                    g.optimistic = true;
+
+                    try {
+                        res = search.run(grpId, pageId, page, pageAddr, io, null, g, lvl, statisticsHolder());
+                    }
+                    finally {
+                        g.optimistic = false;
+                    }
+                }
+            }
+        }
+        catch (IgniteCheckedException | RuntimeException | AssertionError e) {
+            // The failure is real only if the page has not been modified concurrently.
+            if (pageMem.validateOptimisticRead(grpId, pageId, page, stamp))
+                throw e;
+
+            res = null;
+        }
+
+        // Retry is resolved by the read under the lock, it also covers rows which can't be compared inline.
+        if (res != null && res != RETRY && res != RETRY_ROOT &&
+            pageMem.validateOptimisticRead(grpId, pageId, page, stamp))
+            return res;
+
+        g.row = row;
+        g.pageId = pageId;
+        g.fwdId = fwdId;
+        g.backId = backId;
+
+        return null;
+    }
+
     /**
      * @param instance Instance name.
      * @param type Tree type.
@@ -1896,7 +1989,12 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
      * @throws IgniteCheckedException If failed.
      */
     @Override public final T remove(L row) throws IgniteCheckedException {
-        return doRemove(row, true);
+        T res = doRemove(row, true);
+
+        if (res != null)
+            onRemoved(row);
+
+        return res;
     }
 
     /**
@@ -1907,13 +2005,93 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
     public final boolean removex(L row) throws IgniteCheckedException {
         Boolean res = (Boolean)doRemove(row, false);
 
-        return res != null ? res : false;
+        if (res == null)
+            return false;
+
+        onRemoved(row);
+
+        return true;
     }
 
     /** {@inheritDoc} */
     @Override public void invoke(L row, Object z, InvokeClosure<T> c) throws IgniteCheckedException {
         checkDestroyed();
 
+        doInvoke(row, z, c);
+    }
+
+    /**
+     * Invokes closures for a batch of rows. The rows are expected to be sorted in the tree order without duplicates,
+     * so that neighbouring rows mostly belong to the same leaf: the rows are applied to the leaf reached by the
+     * previous row under a single write lock, and the descent from the root is done only if a row is outside of
+     * the leaf bounds or the leaf needs to be split or merged. Unsorted rows are handled correctly, but without
+     * any benefit.
+     *
+     * @param rows Rows sorted in the tree order.
+     * @param z Implementation specific argument, {@code null} always means that we need a full detached data row.
+     * @param cloFactory Factory of closures for the rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void invokeAll(
+        Iterator<? extends L> rows,
+        Object z,
+        IgniteClosure<? super L, ? extends InvokeClosure<T>> cloFactory
+    ) throws IgniteCheckedException {
+        checkDestroyed();
+
+        long leafId = 0L;
+
+        L row = rows.hasNext() ? rows.next() : null;
+
+        while (row != null) {
+            if (leafId != 0L && !sequentialWriteOptsEnabled) {
+                L next = invokeInLeaf(leafId, row, rows, z, cloFactory);
+
+                if (next == null)
+                    break;
+
+                // The rest of the run was handled in the leaf, the next row is known not to belong to it.
+                row = next;
+            }
+
+            leafId = doInvoke(row, z, cloFactory.apply(row));
+
+            row = rows.hasNext() ? rows.next() : null;
+        }
+
+        checkDestroyed();
+    }
+
+    /**
+     * Invokes the closure for a row of a batch, trying the leaf reached by the previous row first, see
+     * {@link #invokeAll(Iterator, Object, IgniteClosure)}. It is used when the rows of a batch can not be passed
+     * at once, because something has to be done around every tree operation, like locking of a cache entry.
+     *
+     * @param row Lookup row.
+     * @param z Implementation specific argument, {@code null} always means that we need a full detached data row.
+     * @param c Closure.
+     * @param leafId Leaf page ID returned for the previous row of the batch or {@code 0} for the first row.
+     * @return Leaf page ID to pass with the next row of the batch.
+     * @throws IgniteCheckedException If failed.
+     */
+    public long invoke(L row, Object z, InvokeClosure<T> c, long leafId) throws IgniteCheckedException {
+        checkDestroyed();
+
+        if (leafId != 0L && !sequentialWriteOptsEnabled &&
+            invokeInLeaf(leafId, row, Collections.emptyIterator(), z, r -> c) == null)
+            return leafId;
+
+        return doInvoke(row, z, c);
+    }
+
+    /**
+     * @param row Lookup row.
+     * @param z Implementation specific argument.
+     * @param c Closure.
+     * @return ID of the leaf page the closure was invoked on.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long doInvoke(L row, Object z, InvokeClosure<T> c) throws IgniteCheckedException {
         Invoke x = new Invoke(row, z, c);
 
         try {
@@ -1942,7 +2120,10 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
                             assert x.isFinished() : res;
                         }
 
-                        return;
+                        if (x.isPut() ? ((Put)x.op).oldRow != null : x.isRemove() && ((Remove)x.op).rmvd != null)
+                            onRemoved(x.foundRow);
+
+                        return x.leafId;
                 }
             }
         }
@@ -1961,6 +2142,302 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         }
     }
 
+    /**
+     * Tries to invoke closures for a run of rows on the given leaf without the descent from the root. The found
+     * rows are read under a single read lock while the rows belong to the leaf, the closures are called without
+     * page locks held, the same way as in a regular invoke, and then the modifications are applied under a single
+     * write lock. The leaf is validated again for every row before it is modified. If a modification can not be
+     * done in place (split, merge or inner replace is needed), then it and all the following ones are completed
+     * by regular puts and removes.
+     *
+     * @param leafId Leaf page ID reached by a previous operation.
+     * @param row First row of the run.
+     * @param rows Rest of the rows.
+     * @param z Implementation specific argument.
+     * @param cloFactory Factory of closures for the rows.
+     * @return The first row that was not handled: {@code row} itself if it does not belong to the leaf and
+     *      its closure was not called, or {@code null} if all the rows were handled.
+     * @throws IgniteCheckedException If failed.
+     */
+    private L invokeInLeaf(
+        long leafId,
+        L row,
+        Iterator<? extends L> rows,
+        Object z,
+        IgniteClosure<? super L, ? extends InvokeClosure<T>> cloFactory
+    ) throws IgniteCheckedException {
+        long page = acquirePage(leafId);
+
+        try {
+            long pageAddr = readLock(leafId, page);
+
+            if (pageAddr == 0L)
+                return row; // The page was recycled.
+
+            List<L> run = new ArrayList<>();
+            List<T> foundRows = new ArrayList<>();
+
+            L next = row;
+
+            try {
+                int prevIdx = Integer.MIN_VALUE;
+
+                do {
+                    int idx = leafInsertionPoint(pageAddr, next);
+
+                    // A closure must see the result of the previous one for the same row, so it goes to the next run.
+                    if (idx == Integer.MIN_VALUE || (idx >= 0 && idx == prevIdx))
+                        break;
+
+                    run.add(next);
+                    foundRows.add(idx >= 0 ? getRow(io(pageAddr), pageAddr, idx, z) : null);
+
+                    prevIdx = idx;
+                    next = rows.hasNext() ? rows.next() : null;
+                }
+                while (next != null && run.size() < io(pageAddr).getMaxCount(pageAddr, pageSize()));
+            }
+            finally {
+                readUnlock(leafId, page, pageAddr);
+            }
+
+            if (run.isEmpty())
+                return row;
+
+            List<InvokeClosure<T>> clos = new ArrayList<>(run.size());
+
+            for (int i = 0; i < run.size(); i++) {
+                InvokeClosure<T> c = cloFactory.apply(run.get(i));
+
+                c.call(foundRows.get(i));
+
+                if (c.operationType() == OperationType.PUT) {
+                    assert c.newRow() != null;
+
+                    onBeforePut(c.newRow());
+                }
+                else if (c.operationType() == OperationType.REMOVE)
+                    assert foundRows.get(i) != null;
+
+                clos.add(c);
+            }
+
+            int applied = applyInLeaf(leafId, page, run, foundRows, clos);
+
+            for (int i = 0; i < run.size(); i++) {
+                InvokeClosure<T> c = clos.get(i);
+
+                switch (c.operationType()) {
+                    case PUT:
+                        // The same row as in a regular invoke is reported as removed: the one that was replaced.
+                        T oldRow = i < applied ? foundRows.get(i) : doPut(c.newRow(), true);
+
+                        if (oldRow != null)
+                            onRemoved(oldRow);
+
+                        break;
+
+                    case REMOVE:
+                        T rmvd = i < applied ? foundRows.get(i) : doRemove(run.get(i), true);
+
+                        if (rmvd != null)
+                            onRemoved(rmvd);
+
+                        break;
+
+                    case NOOP:
+                    case IN_PLACE:
+                        break;
+
+                    default:
+                        throw new IllegalStateException();
+                }
+            }
+
+            return next;
+        }
+        catch (UnregisteredClassException | UnregisteredBinaryTypeException | AbstractCorruptedPersistenceException e) {
+            throw e;
+        }
+        catch (RuntimeException | AssertionError e) {
+            throw corruptedTreeException("Runtime failure on search row: " + row, e, grpId, leafId);
+        }
+        finally {
+            releasePage(leafId, page);
+        }
+    }
+
+    /**
+     * Applies the modifications of a run of rows to the leaf under a single write lock.
+     *
+     * @param leafId Leaf page ID.
+     * @param page Page pointer.
+     * @param run Rows of the run.
+     * @param foundRows Rows found in the leaf for the rows of the run.
+     * @param clos Called closures for the rows of the run.
+     * @return Number of the rows handled in the leaf, the rest ones have to be handled by regular puts and removes.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int applyInLeaf(
+        long leafId,
+        long page,
+        List<L> run,
+        List<T> foundRows,
+        List<InvokeClosure<T>> clos
+    ) throws IgniteCheckedException {
+        long pageAddr = writeLock(leafId, page);
+
+        if (pageAddr == 0L)
+            return 0;
+
+        boolean dirty = false;
+
+        int applied = 0;
+
+        try {
+            for (; applied < run.size(); applied++) {
+                InvokeClosure<T> c = clos.get(applied);
+
+                switch (c.operationType()) {
+                    case PUT:
+                        if (!putToLeaf(leafId, page, pageAddr, c.newRow(), foundRows.get(applied) != null))
+                            return applied;
+
+                        break;
+
+                    case REMOVE:
+                        if (!removeFromLeaf(leafId, page, pageAddr, run.get(applied)))
+                            return applied;
+
+                        break;
+
+                    case NOOP:
+                    case IN_PLACE:
+                        continue;
+
+                    default:
+                        throw new IllegalStateException();
+                }
+
+                dirty = true;
+            }
+
+            return applied;
+        }
+        finally {
+            writeUnlock(leafId, page, pageAddr, dirty);
+        }
+    }
+
+    /**
+     * @param leafId Leaf page ID.
+     * @param page Page pointer.
+     * @param pageAddr Page address, the page is write locked.
+     * @param newRow New row.
+     * @param replace {@code True} If the row was found in the leaf.
+     * @return {@code True} If the row was put, {@code false} if the leaf has changed or has to be split.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean putToLeaf(long leafId, long page, long pageAddr, T newRow, boolean replace)
+        throws IgniteCheckedException {
+        int idx = leafInsertionPoint(pageAddr, newRow);
+
+        if (idx == Integer.MIN_VALUE || (idx >= 0) != replace)
+            return false;
+
+        BPlusIO<L> io = io(pageAddr);
+
+        int cnt = io.getCount(pageAddr);
+
+        if (replace) {
+            // The rightmost row may have a copy in the inner page, it is replaced on the way down.
+            if (canGetRowFromInner && idx == cnt - 1 && io.getForward(pageAddr) != 0L)
+                return false;
+
+            boolean needWal = needWalDeltaRecord(leafId, page, null);
+
+            byte[] newRowBytes = io.store(pageAddr, idx, newRow, null, needWal);
+
+            if (needWal)
+                wal.log(new ReplaceRecord<>(grpId, leafId, io, newRowBytes, idx));
+        }
+        else {
+            if (cnt == io.getMaxCount(pageAddr, pageSize()))
+                return false; // Need to split page.
+
+            idx = fix(idx);
+
+            boolean needWal = needWalDeltaRecord(leafId, page, null);
+
+            byte[] rowBytes = io.insert(pageAddr, idx, newRow, null, 0L, needWal);
+
+            if (needWal)
+                wal.log(new InsertRecord<>(grpId, leafId, io, idx, rowBytes, 0L));
+        }
+
+        return true;
+    }
+
+    /**
+     * @param leafId Leaf page ID.
+     * @param page Page pointer.
+     * @param pageAddr Page address, the page is write locked.
+     * @param row Lookup row.
+     * @return {@code True} If the row was removed, {@code false} if the leaf has changed or has to be merged.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean removeFromLeaf(long leafId, long page, long pageAddr, L row) throws IgniteCheckedException {
+        int idx = leafInsertionPoint(pageAddr, row);
+
+        if (idx < 0)
+            return false;
+
+        BPlusIO<L> io = io(pageAddr);
+
+        int cnt = io.getCount(pageAddr);
+
+        // Need to do inner replace when we remove the rightmost row and the leaf has a forward page.
+        if (canGetRowFromInner && idx == cnt - 1 && io.getForward(pageAddr) != 0L)
+            return false;
+
+        if (cnt == 1 || mayMerge(cnt - 1, io.getMaxCount(pageAddr, pageSize())))
+            return false;
+
+        io.remove(pageAddr, idx, cnt);
+
+        if (needWalDeltaRecord(leafId, page, null))
+            wal.log(new RemoveRecord(grpId, leafId, idx, cnt));
+
+        return true;
+    }
+
+    /**
+     * @param pageAddr Page address.
+     * @param row Lookup row.
+     * @return Insertion point of the row in the leaf, or {@link Integer#MIN_VALUE} if the page is not a leaf or
+     *      the row can not be proven to belong to it.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int leafInsertionPoint(long pageAddr, L row) throws IgniteCheckedException {
+        if (PageIO.getType(pageAddr) != leafIos.getType())
+            return Integer.MIN_VALUE;
+
+        BPlusIO<L> io = io(pageAddr);
+
+        int cnt = io.getCount(pageAddr);
+
+        if (cnt == 0)
+            return Integer.MIN_VALUE;
+
+        int idx = findInsertionPoint(0, io, pageAddr, 0, cnt, row, 0);
+
+        // A missing row belongs to this leaf only if it is between the first and the last rows.
+        if (idx == -1 || idx == -cnt - 1)
+            return Integer.MIN_VALUE;
+
+        return idx;
+    }
+
     /**
      * @param x Invoke operation.
      * @param pageId Page ID.
@@ -2405,7 +2882,14 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
      * {@inheritDoc}
      */
     @Override public final T put(T row) throws IgniteCheckedException {
-        return doPut(row, true);
+        onBeforePut(row);
+
+        T res = doPut(row, true);
+
+        if (res != null)
+            onRemoved(row);
+
+        return res;
     }
 
     /**
@@ -2414,9 +2898,34 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
      * @return {@code True} if replaced existing row.
      */
     public boolean putx(T row) throws IgniteCheckedException {
+        onBeforePut(row);
+
         Boolean res = (Boolean)doPut(row, false);
 
-        return res != null ? res : false;
+        if (res == null)
+            return false;
+
+        onRemoved(row);
+
+        return true;
+    }
+
+    /**
+     * Called before a row is put to the tree by any operation, including invoke.
+     *
+     * @param row Row.
+     */
+    protected void onBeforePut(T row) {
+        // No-op.
+    }
+
+    /**
+     * Called after a row is removed from the tree or replaced by any operation, including invoke.
+     *
+     * @param row Row equal to the removed one in the tree order.
+     */
+    protected void onRemoved(L row) {
+        // No-op.
     }
 
     /**
@@ -3000,6 +3509,9 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         /** Ignore row passed, find last row */
         boolean findLast;
 
+        /** The page is searched without a read lock, so rows are compared by the page content only. */
+        boolean optimistic;
+
         /** Number of repetitions to capture a lock in the B+Tree (countdown). */
         int lockRetriesCnt = getLockRetries();
 
@@ -3079,6 +3591,14 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
             return lvl == 0; // Stop if we are at the bottom.
         }
 
+        /**
+         * @return {@code true} If inner pages can be searched without a read lock for this operation,
+         *      i.e. the search on inner pages has no side effects.
+         */
+        boolean canReadOptimistic() {
+            return true;
+        }
+
         /**
          * @param pageId Page.
          * @param lvl Level.
@@ -3174,6 +3694,12 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
 
             return true;
         }
+
+        /** {@inheritDoc} */
+        @Override boolean canReadOptimistic() {
+            // The row may be read from an inner page by its link.
+            return !canGetRowFromInner;
+        }
     }
 
     /**
@@ -3948,6 +4474,9 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         /** */
         Get op;
 
+        /** Leaf page the closure was invoked on. */
+        long leafId;
+
         /**
          * @param row Row.
          * @param x Implementation specific argument.
@@ -4038,6 +4567,8 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
 
             closureInvoked = DONE;
 
+            leafId = pageId;
+
             clo.call(foundRow);
 
             switch (clo.operationType()) {
@@ -4046,6 +4577,8 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
 
                     assert newRow != null;
 
+                    onBeforePut(newRow);
+
                     op = new Put(newRow, false);
 
                     break;
@@ -5334,6 +5867,23 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
      */
     private int findInsertionPoint(int lvl, BPlusIO<L> io, long buf, int low, int cnt, L row, int shift)
         throws IgniteCheckedException {
+        return findInsertionPoint(lvl, io, buf, low, cnt, row, shift, false);
+    }
+
+    /**
+     * @param io IO.
+     * @param buf Buffer.
+     * @param low Start index.
+     * @param cnt Row count.
+     * @param row Lookup row.
+     * @param shift Shift if equal.
+     * @param inlineOnly Compare with the page content only, see {@link #compareInline(BPlusIO, long, int, Object)}.
+     * @return Insertion point as in {@link Arrays#binarySearch(Object[], Object, Comparator)} or
+     *      {@link #NEED_ROW_TO_COMPARE} if the rows can't be compared by the page content only.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int findInsertionPoint(int lvl, BPlusIO<L> io, long buf, int low, int cnt, L row, int shift,
+        boolean inlineOnly) throws IgniteCheckedException {
         assert row != null;
 
         if (sequentialWriteOptsEnabled) {
@@ -5347,7 +5897,10 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         while (low <= high) {
             int mid = (low + high) >>> 1;
 
-            int cmp = compare(lvl, io, buf, mid, row);
+            int cmp = inlineOnly ? compareInline(io, buf, mid, row) : compare(lvl, io, buf, mid, row);
+
+            if (cmp == NEED_ROW_TO_COMPARE)
+                return NEED_ROW_TO_COMPARE;
 
             if (cmp == 0)
                 cmp = -shift; // We need to fix the case when search row matches multiple data rows.
@@ -5394,9 +5947,12 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
     }
 
     /**
+     * Gets IO of inner pages created over the leaf level. Other inner pages get the IO of the page they are split
+     * from, so the version of inner pages of an existing tree never changes.
+     *
      * @return Latest version of inner page IO.
      */
-    protected final BPlusInnerIO<L> latestInnerIO() {
+    protected BPlusInnerIO<L> latestInnerIO() {
         return innerIos.latest();
     }
 
@@ -5417,6 +5973,23 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
      */
     protected abstract int compare(BPlusIO<L> io, long pageAddr, int idx, L row) throws IgniteCheckedException;
 
+    /**
+     * Compares the lookup row with the row in the page by the page content only, i.e. it must never follow
+     * the link of the row. It is used to search inner pages which are read without a lock and may contain garbage,
+     * so the result is used only if the page has not been modified concurrently.
+     *
+     * @param io IO.
+     * @param pageAddr Page address.
+     * @param idx Index of row in the given buffer.
+     * @param row Lookup row.
+     * @return Comparison result as in {@link Comparator#compare(Object, Object)} or {@link #NEED_ROW_TO_COMPARE}
+     *      if the rows can't be compared by the page content, optimistic reads are disabled by default.
+     * @throws IgniteCheckedException If failed.
+     */
+    protected int compareInline(BPlusIO<L> io, long pageAddr, int idx, L row) throws IgniteCheckedException {
+        return NEED_ROW_TO_COMPARE;
+    }
+
     /**
      * @param lvl Level.
      * @param io IO.
@@ -6084,6 +6657,13 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         return LOCK_RETRIES;
     }
 
+    /**
+     * @return {@code True} If inner pages are searched without read locks on lookups.
+     */
+    protected boolean optimisticReads() {
+        return OPTIMISTIC_READS;
+    }
+
     /**
      * @param pageId Page ID.
      * @return Page absolute pointer.
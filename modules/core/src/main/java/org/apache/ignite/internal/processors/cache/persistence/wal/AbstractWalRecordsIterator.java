@@ -95,7 +95,7 @@ public abstract class AbstractWalRecordsIterator
     private final ByteBufferExpander buf;
 
     /** Factory to provide I/O interfaces for read primitives with files. */
-    private final SegmentFileInputFactory segmentFileInputFactory;
+    protected final SegmentFileInputFactory segmentFileInputFactory;
 
     /** Position of last read valid record. */
     private WALPointer lastRead;
@@ -561,6 +561,23 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                     checkCompressionLevelBounds(dsCfg.getWalPageCompressionLevel(), pageCompression) :
                     getDefaultCompressionLevel(pageCompression);
             }
+
+            DiskPageCompression recCompression = dsCfg.getWalRecordCompression();
+
+            if (recCompression != DiskPageCompression.DISABLED) {
+                if (serializerVer < 2) {
+                    throw new IgniteCheckedException("WAL records compression not supported for serializerVer=" +
+                        serializerVer);
+                }
+
+                if (recCompression == DiskPageCompression.SKIP_GARBAGE)
+                    throw new IgniteCheckedException("WAL records compression not supported for " + recCompression);
+
+                cctx.kernalContext().compress().checkPageCompressionSupported();
+
+                if (dsCfg.getWalRecordCompressionLevel() != null)
+                    checkCompressionLevelBounds(dsCfg.getWalRecordCompressionLevel(), recCompression);
+            }
         }
     }
 
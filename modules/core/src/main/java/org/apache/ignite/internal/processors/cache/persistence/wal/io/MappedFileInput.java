@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * File input, backed by a direct buffer with the whole segment: a read-only memory mapping of the segment file or
+ * a scratch area the segment was decompressed into. Records are read straight from the buffer, so file data is never
+ * copied into an intermediate buffer and skipped records are never touched at all. A mapping is released when
+ * {@link #io()} is closed.
+ */
+public class MappedFileInput implements FileInput {
+    /** Segment content. */
+    private final ByteBuffer buf;
+
+    /** I/O interface of the segment. */
+    private final SegmentIO io;
+
+    /**
+     * Maps the whole segment file, see {@link SegmentIO#canMapReadOnly()}.
+     *
+     * @param io Segment I/O to read from, reading starts from its current position.
+     * @param order Byte order.
+     * @throws IOException If failed to map the segment.
+     */
+    public MappedFileInput(SegmentIO io, ByteOrder order) throws IOException {
+        assert io.canMapReadOnly() : io;
+
+        long size = io.size();
+
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("Segment is too big to be mapped [segmentId=" + io.getSegmentId() +
+                ", size=" + size + ']');
+
+        long pos = io.position();
+
+        if (pos > size)
+            throw new EOFException("EOF at position [" + pos + "] segment size [" + size + ']');
+
+        MappedByteBuffer mapped = io.mapReadOnly(0, (int)size);
+
+        mapped.order(order);
+        mapped.position((int)pos);
+
+        buf = mapped;
+
+        this.io = new MappedSegmentIO(io, mapped);
+    }
+
+    /**
+     * @param io Segment I/O the content was read from.
+     * @param buf Segment content between position {@code 0} and the buffer limit, reading starts from the buffer
+     *      position. The buffer is not released on close.
+     */
+    public MappedFileInput(SegmentIO io, ByteBuffer buf) {
+        this.io = io;
+        this.buf = buf;
+    }
+
+    /** {@inheritDoc} */
+    @Override public SegmentIO io() {
+        return io;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void seek(long pos) throws IOException {
+        if (pos > buf.limit())
+            throw new EOFException();
+
+        buf.position((int)pos);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long position() {
+        return buf.position();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ByteBuffer buffer() {
+        return buf;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void ensure(int requested) throws IOException {
+        if (buf.remaining() < requested)
+            throw new EOFException("EOF at position [" + buf.position() + "] expected to read [" + requested + "] bytes");
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readFully(@NotNull byte[] b) throws IOException {
+        ensure(b.length);
+
+        buf.get(b);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readFully(@NotNull byte[] b, int off, int len) throws IOException {
+        ensure(len);
+
+        buf.get(b, off, len);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int skipBytes(int n) throws IOException {
+        ensure(n);
+
+        buf.position(buf.position() + n);
+
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readBoolean() throws IOException {
+        return readByte() == 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte readByte() throws IOException {
+        ensure(1);
+
+        return buf.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    /** {@inheritDoc} */
+    @Override public short readShort() throws IOException {
+        ensure(2);
+
+        return buf.getShort();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    /** {@inheritDoc} */
+    @Override public char readChar() throws IOException {
+        ensure(2);
+
+        return buf.getChar();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int readInt() throws IOException {
+        ensure(4);
+
+        return buf.getInt();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long readLong() throws IOException {
+        ensure(8);
+
+        return buf.getLong();
+    }
+
+    /** {@inheritDoc} */
+    @Override public float readFloat() throws IOException {
+        ensure(4);
+
+        return buf.getFloat();
+    }
+
+    /** {@inheritDoc} */
+    @Override public double readDouble() throws IOException {
+        ensure(8);
+
+        return buf.getDouble();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String readLine() throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String readUTF() throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Crc32CheckingFileInput startRead(boolean skipCheck) {
+        return new Crc32CheckingFileInput(this, skipCheck);
+    }
+
+    /**
+     * Segment I/O which unmaps the segment file on close.
+     */
+    private static class MappedSegmentIO extends SegmentIO {
+        /** Mapped segment file. */
+        private MappedByteBuffer buf;
+
+        /**
+         * @param delegate Segment I/O delegate.
+         * @param buf Mapped segment file.
+         */
+        MappedSegmentIO(SegmentIO delegate, MappedByteBuffer buf) {
+            super(delegate.getSegmentId(), delegate);
+
+            this.buf = buf;
+        }
+
+        /** {@inheritDoc} */
+        @Override public synchronized void close() throws IOException {
+            if (buf != null) {
+                GridUnsafe.cleanDirectBuffer(buf);
+
+                buf = null;
+            }
+
+            super.close();
+        }
+    }
+}
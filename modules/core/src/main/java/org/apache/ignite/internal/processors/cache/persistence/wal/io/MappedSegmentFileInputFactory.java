@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferExpander;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.HEADER_RECORD_SIZE;
+
+/**
+ * Implementation of factory to provide I/O interfaces for read primitives with files.
+ *
+ * Creating {@link MappedFileInput} over read-only memory mapping for segments which can be mapped. The rest, e.g.
+ * compressed archive segments, are decompressed into an off-heap scratch area which is reused for all segments, so
+ * segments are expected to be read one by one. The next segment to read can be prefetched in background with
+ * {@link #prefetch(File)}.
+ */
+public class MappedSegmentFileInputFactory implements SegmentFileInputFactory, AutoCloseable {
+    /** Initial size of the scratch area. */
+    private static final int INITIAL_SCRATCH_SIZE = 1024 * 1024;
+
+    /** Factory to open segments for prefetch. */
+    private final FileIOFactory ioFactory;
+
+    /** Scratch area for segments which can't be mapped. */
+    private ByteBuffer scratch;
+
+    /** Prefetch executor, created on the first prefetch. */
+    private ExecutorService prefetchExec;
+
+    /** Last prefetch. */
+    private Future<?> prefetchFut;
+
+    /**
+     * @param ioFactory Factory to open segments for prefetch.
+     */
+    public MappedSegmentFileInputFactory(FileIOFactory ioFactory) {
+        this.ioFactory = ioFactory;
+    }
+
+    /** {@inheritDoc} */
+    @Override public FileInput createFileInput(SegmentIO segmentIO, ByteBufferExpander buf) throws IOException {
+        // Reading of segment header touches just a few bytes, no need to map or read the whole segment for it.
+        if (buf.buffer().capacity() <= HEADER_RECORD_SIZE)
+            return new SimpleFileInput(segmentIO, buf);
+
+        if (segmentIO.canMapReadOnly())
+            return new MappedFileInput(segmentIO, buf.buffer().order());
+
+        return new MappedFileInput(segmentIO, readToScratch(segmentIO, buf.buffer().order()));
+    }
+
+    /**
+     * Loads the segment file to the page cache in background, so it is read from memory once it is opened.
+     * Prefetch which is not started yet is cancelled.
+     *
+     * @param file Segment file, compressed segments are loaded as is.
+     */
+    public synchronized void prefetch(File file) {
+        if (prefetchExec == null) {
+            prefetchExec = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "wal-segment-prefetch");
+
+                t.setDaemon(true);
+
+                return t;
+            });
+        }
+
+        if (prefetchFut != null)
+            prefetchFut.cancel(false);
+
+        prefetchFut = prefetchExec.submit(() -> {
+            try (FileIO io = ioFactory.create(file, READ)) {
+                long size = io.size();
+
+                if (io.canMapReadOnly() && size > 0 && size <= Integer.MAX_VALUE) {
+                    MappedByteBuffer mapped = io.mapReadOnly(0, (int)size);
+
+                    try {
+                        mapped.load();
+                    }
+                    finally {
+                        GridUnsafe.cleanDirectBuffer(mapped);
+                    }
+                }
+            }
+            catch (IOException ignore) {
+                // No-op, the segment will be read from disk.
+            }
+        });
+    }
+
+    /**
+     * Reads the rest of the segment to the scratch area. Content is placed at the same offsets as in the segment.
+     *
+     * @param io Segment I/O to read from, reading starts from its current position.
+     * @param order Byte order.
+     * @return Scratch area with the segment content.
+     * @throws IOException If failed.
+     */
+    private ByteBuffer readToScratch(SegmentIO io, ByteOrder order) throws IOException {
+        long pos = io.position();
+
+        // Size is unknown for compressed segments of the archive.
+        long size = Math.max(io.size(), pos);
+
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("Segment is too big to be read [segmentId=" + io.getSegmentId() +
+                ", size=" + size + ']');
+
+        if (scratch == null || scratch.capacity() < size) {
+            if (scratch != null)
+                GridUnsafe.cleanDirectBuffer(scratch);
+
+            scratch = ByteBuffer.allocateDirect(Math.max((int)size, INITIAL_SCRATCH_SIZE));
+        }
+
+        // Bytes before the position are already read from the segment, they are not expected to be read again.
+        scratch.clear().position((int)pos);
+
+        while (true) {
+            if (!scratch.hasRemaining())
+                growScratch(io);
+
+            if (io.read(scratch) < 0)
+                break;
+        }
+
+        scratch.flip();
+
+        scratch.position((int)pos);
+        scratch.order(order);
+
+        return scratch;
+    }
+
+    /**
+     * Doubles the scratch area keeping its content.
+     *
+     * @param io Segment I/O.
+     * @throws IOException If the segment is too big.
+     */
+    private void growScratch(SegmentIO io) throws IOException {
+        if (scratch.capacity() == Integer.MAX_VALUE)
+            throw new IOException("Segment is too big to be read [segmentId=" + io.getSegmentId() + ']');
+
+        ByteBuffer newScratch = ByteBuffer.allocateDirect((int)Math.min(scratch.capacity() * 2L, Integer.MAX_VALUE));
+
+        scratch.flip();
+
+        newScratch.put(scratch);
+
+        GridUnsafe.cleanDirectBuffer(scratch);
+
+        scratch = newScratch;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void close() {
+        if (prefetchExec != null) {
+            prefetchExec.shutdownNow();
+
+            prefetchExec = null;
+            prefetchFut = null;
+        }
+
+        if (scratch != null) {
+            GridUnsafe.cleanDirectBuffer(scratch);
+
+            scratch = null;
+        }
+    }
+}
@@ -189,7 +189,8 @@ public class IgniteWalIteratorFactory {
                 iteratorParametersBuilder.highBound,
                 iteratorParametersBuilder.keepBinary,
                 iteratorParametersBuilder.bufferSize,
-                iteratorParametersBuilder.strictBoundsCheck
+                iteratorParametersBuilder.strictBoundsCheck,
+                iteratorParametersBuilder.mmap
             ) {
                 @Override protected void onClose() throws IgniteCheckedException {
                     super.onClose();
@@ -210,7 +211,8 @@ public class IgniteWalIteratorFactory {
                 iteratorParametersBuilder.highBound,
                 iteratorParametersBuilder.keepBinary,
                 iteratorParametersBuilder.bufferSize,
-                iteratorParametersBuilder.strictBoundsCheck
+                iteratorParametersBuilder.strictBoundsCheck,
+                iteratorParametersBuilder.mmap
             );
         }
     }
@@ -470,6 +472,9 @@ public class IgniteWalIteratorFactory {
         /** Use strict bounds check for WAL segments. */
         private boolean strictBoundsCheck;
 
+        /** Read segments through read-only memory mapping instead of copying them into the read buffer. */
+        private boolean mmap;
+
         /**
          * Factory method for {@link IgniteWalIteratorFactory.IteratorParametersBuilder}.
          *
@@ -635,6 +640,17 @@ public class IgniteWalIteratorFactory {
             return this;
         }
 
+        /**
+         * @param mmap Read segments through read-only memory mapping. Compressed segments are decompressed into
+         * a reusable off-heap scratch area. The next segment is prefetched in background.
+         * @return IteratorParametersBuilder Self reference.
+         */
+        public IteratorParametersBuilder mmap(boolean mmap) {
+            this.mmap = mmap;
+
+            return this;
+        }
+
         /**
          * Copy current state of builder to new instance.
          *
@@ -653,7 +669,8 @@ public class IgniteWalIteratorFactory {
                 .from(lowBound)
                 .to(highBound)
                 .filter(filter)
-                .strictBoundsCheck(strictBoundsCheck);
+                .strictBoundsCheck(strictBoundsCheck)
+                .mmap(mmap);
         }
 
         /**
@@ -107,6 +107,8 @@ import org.apache.ignite.spi.metric.noop.NoopMetricExporterSpi;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.IgniteComponentType.COMPRESSION;
+
 /**
  * Dummy context for offline utilities. All grid components registered in the standalone context
  * must be properly stopped since the lifecycle of them are controlled by kernal.
@@ -144,6 +146,9 @@ public class StandaloneGridKernalContext implements GridKernalContext {
     /** Marshaller context implementation. */
     private MarshallerContextImpl marshallerCtx;
 
+    /** Compression processor. Used for reading compressed WAL records. */
+    private final CompressionProcessor compressProc;
+
     /**
      * @param log Logger.
      * @param binaryMetadataFileStoreDir folder specifying location of metadata File Store.
@@ -172,6 +177,7 @@ public class StandaloneGridKernalContext implements GridKernalContext {
         this.rsrcProc = new GridResourceProcessor(this);
         this.metricMgr = new GridMetricManager(this);
         this.sysViewMgr = new GridSystemViewManager(this);
+        this.compressProc = COMPRESSION.createOptional(this);
 
         // Fake folder provided to perform processor startup on empty folder.
         if (binaryMetadataFileStoreDir == null)
@@ -648,7 +654,7 @@ public class StandaloneGridKernalContext implements GridKernalContext {
 
     /** {@inheritDoc} */
     @Override public CompressionProcessor compress() {
-        return null;
+        return compressProc;
     }
 
     /** {@inheritDoc} */
@@ -47,6 +47,7 @@ import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WalSegmentTailReachedException;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.FileInput;
+import org.apache.ignite.internal.processors.cache.persistence.wal.io.MappedSegmentFileInputFactory;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SegmentFileInputFactory;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SegmentIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SimpleSegmentFileInputFactory;
@@ -109,6 +110,7 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
      * @param keepBinary Keep binary. This flag disables converting of non primitive types (BinaryObjects will be used
      * instead)
      * @param walFiles Wal files.
+     * @param mmap Read segments through read-only memory mapping.
      */
     StandaloneWalRecordsIterator(
         @NotNull IgniteLogger log,
@@ -120,7 +122,8 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
         WALPointer highBound,
         boolean keepBinary,
         int initialReadBufferSize,
-        boolean strictBoundsCheck
+        boolean strictBoundsCheck,
+        boolean mmap
     ) throws IgniteCheckedException {
         super(
             log,
@@ -128,7 +131,7 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
             new RecordSerializerFactoryImpl(sharedCtx, readTypeFilter),
             ioFactory,
             initialReadBufferSize,
-            FILE_INPUT_FACTORY
+            mmap ? new MappedSegmentFileInputFactory(ioFactory) : FILE_INPUT_FACTORY
         );
 
         if (strictBoundsCheck)
@@ -269,7 +272,17 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
             if (lowBound.index() == fd.idx())
                 initPtr = lowBound;
 
-            return initReadHandle(fd, initPtr);
+            AbstractReadFileHandle hnd = initReadHandle(fd, initPtr);
+
+            if (segmentFileInputFactory instanceof MappedSegmentFileInputFactory &&
+                curIdx + 1 < walFileDescriptors.size()) {
+                FileDescriptor next = walFileDescriptors.get(curIdx + 1);
+
+                if (checkBounds(next.idx()))
+                    ((MappedSegmentFileInputFactory)segmentFileInputFactory).prefetch(next.file());
+            }
+
+            return hnd;
         }
         catch (FileNotFoundException e) {
             if (log.isInfoEnabled())
@@ -516,6 +529,9 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
 
         closeCurrentWalSegment();
 
+        if (segmentFileInputFactory instanceof MappedSegmentFileInputFactory)
+            ((MappedSegmentFileInputFactory)segmentFileInputFactory).close();
+
         curWalSegmIdx = Integer.MAX_VALUE;
     }
 
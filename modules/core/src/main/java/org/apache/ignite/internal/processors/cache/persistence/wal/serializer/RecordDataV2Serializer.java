@@ -27,6 +27,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.DiskPageCompression;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.wal.record.CacheState;
 import org.apache.ignite.internal.pagemem.wal.record.CheckpointRecord;
@@ -52,20 +54,52 @@ import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccVersion;
 import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferBackedDataInput;
+import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferBackedDataInputImpl;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.record.HeaderRecord;
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.compress.CompressionProcessor.getDefaultCompressionLevel;
 
 /**
  * Record data V2 serializer.
+ * <p>
+ * Data records may be compressed if {@link DataStorageConfiguration#getWalRecordCompression()} is configured.
+ * Compressed record is marked by {@link #COMPRESSED_RECORD_FLAG} in the record type byte and its data is stored in
+ * following format:
+ * <ul>
+ * <li>Compression algorithm ordinal</li>
+ * <li>Plain data length</li>
+ * <li>Compressed data</li>
+ * </ul>
  */
 public class RecordDataV2Serializer extends RecordDataV1Serializer {
+    /** Flag of the record type byte marking compressed record data. Record type indexes never reach this bit. */
+    public static final int COMPRESSED_RECORD_FLAG = 0x80;
+
     /** Length of HEADER record data. */
     private static final int HEADER_RECORD_DATA_SIZE = /*Magic*/8 + /*Version*/4;
 
+    /** Length of compressed record data header: algorithm (1) + plain data length (4). */
+    private static final int COMPRESSED_HEADER_SIZE = 1 + 4;
+
+    /** Compressed data of record which is written as is. */
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
     /** Serializer of {@link TxRecord} records. */
     private final TxRecordSerializer txRecordSerializer;
 
+    /** Compression algorithm of data records. */
+    private final DiskPageCompression recCompression;
+
+    /** Compression level of data records. */
+    private final int recCompressionLevel;
+
+    /** Minimal plain size of data record to be compressed. */
+    private final int recCompressionThreshold;
+
     /**
      * Create an instance of V2 data serializer.
      *
@@ -75,6 +109,150 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
         super(cctx);
 
         this.txRecordSerializer = new TxRecordSerializer();
+
+        DataStorageConfiguration dsCfg = cctx.gridConfig().getDataStorageConfiguration();
+
+        DiskPageCompression compression = dsCfg == null ? null : dsCfg.getWalRecordCompression();
+
+        if (compression == null || compression == DiskPageCompression.SKIP_GARBAGE)
+            compression = DiskPageCompression.DISABLED;
+
+        recCompression = compression;
+
+        if (compression != DiskPageCompression.DISABLED) {
+            recCompressionLevel = dsCfg.getWalRecordCompressionLevel() != null ?
+                dsCfg.getWalRecordCompressionLevel() : getDefaultCompressionLevel(compression);
+
+            recCompressionThreshold = dsCfg.getWalRecordCompressionThreshold();
+        }
+        else {
+            recCompressionLevel = 0;
+            recCompressionThreshold = 0;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public int size(WALRecord rec) throws IgniteCheckedException {
+        byte[] compressed = compressedData(rec);
+
+        return compressed != null ? compressed.length : super.size(rec);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeRecord(WALRecord rec, ByteBuffer buf) throws IgniteCheckedException {
+        byte[] compressed = compressedData(rec);
+
+        if (compressed != null) {
+            buf.put(compressed);
+
+            // Compressed data is not needed anymore, don't keep it with the record.
+            ((DataRecord)rec).compressedData(null);
+
+            return;
+        }
+
+        super.writeRecord(rec, buf);
+    }
+
+    /**
+     * @param rec Record.
+     * @return {@code True} if record data is written compressed.
+     * @throws IgniteCheckedException If failed.
+     */
+    boolean isCompressed(WALRecord rec) throws IgniteCheckedException {
+        return compressedData(rec) != null;
+    }
+
+    /**
+     * Reads record written with {@link #COMPRESSED_RECORD_FLAG}.
+     *
+     * @param type Record type.
+     * @param in Input.
+     * @param size Size of compressed record data.
+     * @return Read record.
+     * @throws IOException If failed.
+     * @throws IgniteCheckedException If failed.
+     */
+    WALRecord readCompressedRecord(RecordType type, ByteBufferBackedDataInput in, int size)
+        throws IOException, IgniteCheckedException {
+        DiskPageCompression compression = DiskPageCompression.fromOrdinal(in.readByte());
+
+        int plainSize = in.readInt();
+
+        byte[] data = new byte[size - COMPRESSED_HEADER_SIZE];
+
+        in.readFully(data);
+
+        if (compression == null)
+            throw new IOException("Unknown compression of WAL record [type=" + type + ']');
+
+        byte[] plain = new byte[plainSize];
+
+        cctx.kernalContext().compress().decompress(data, 0, data.length, plain, compression);
+
+        ByteBuffer plainBuf = ByteBuffer.wrap(plain).order(GridUnsafe.NATIVE_BYTE_ORDER);
+
+        return readRecord(type, new ByteBufferBackedDataInputImpl().buffer(plainBuf), plainSize);
+    }
+
+    /**
+     * Compresses data record. The result is kept in the record, so the record is compressed once for the size
+     * calculation and the write that follows it.
+     *
+     * @param rec Record.
+     * @return Compressed record data with its header or {@code null} if record should be written as is.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private byte[] compressedData(WALRecord rec) throws IgniteCheckedException {
+        // Encrypted records are not compressed.
+        if (recCompression == DiskPageCompression.DISABLED || !(rec instanceof DataRecord) ||
+            recordType(rec) != rec.type())
+            return null;
+
+        DataRecord dataRec = (DataRecord)rec;
+
+        byte[] res = dataRec.compressedData();
+
+        if (res == null) {
+            res = compress(dataRec);
+
+            dataRec.compressedData(res);
+        }
+
+        return res.length > 0 ? res : null;
+    }
+
+    /**
+     * @param rec Record.
+     * @return Compressed record data with its header or empty array if compression gives nothing.
+     * @throws IgniteCheckedException If failed.
+     */
+    private byte[] compress(DataRecord rec) throws IgniteCheckedException {
+        int plainSize = plainSize(rec);
+
+        if (plainSize < recCompressionThreshold)
+            return EMPTY_BYTES;
+
+        ByteBuffer plain = ByteBuffer.allocate(plainSize).order(GridUnsafe.NATIVE_BYTE_ORDER);
+
+        writePlainRecord(rec, plain);
+
+        assert !plain.hasRemaining() : "Wrong plain size of record [rec=" + rec + ", size=" + plainSize + ']';
+
+        byte[] data = cctx.kernalContext().compress().compress(plain.array(), 0, plainSize, recCompression,
+            recCompressionLevel);
+
+        // Store record as is if compression gives nothing.
+        if (data.length + COMPRESSED_HEADER_SIZE >= plainSize)
+            return EMPTY_BYTES;
+
+        ByteBuffer res = ByteBuffer.allocate(COMPRESSED_HEADER_SIZE + data.length).order(GridUnsafe.NATIVE_BYTE_ORDER);
+
+        res.put((byte)recCompression.ordinal());
+        res.putInt(plainSize);
+        res.put(data);
+
+        return res.array();
     }
 
     /** {@inheritDoc} */
@@ -511,5 +689,4 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
         }
 
         return size;
-    }
-}
+    }}
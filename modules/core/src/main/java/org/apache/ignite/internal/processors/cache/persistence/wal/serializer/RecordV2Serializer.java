@@ -38,6 +38,7 @@ import org.apache.ignite.lang.IgniteBiPredicate;
 
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.SWITCH_SEGMENT_RECORD;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordDataV2Serializer.COMPRESSED_RECORD_FLAG;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.CRC_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.REC_TYPE_SIZE;
 
@@ -45,7 +46,8 @@ import static org.apache.ignite.internal.processors.cache.persistence.wal.serial
  * Record V2 serializer.
  * Stores records in following format:
  * <ul>
- * <li>Record type from {@link RecordType#index()} incremented by 1</li>
+ * <li>Record type from {@link RecordType#index()} incremented by 1, the highest bit is set if record data is
+ * compressed, see {@link RecordDataV2Serializer#COMPRESSED_RECORD_FLAG}</li>
  * <li>WAL pointer to double check consistency</li>
  * <li>Record length</li>
  * <li>Data</li>
@@ -107,7 +109,14 @@ public class RecordV2Serializer implements RecordSerializer {
             ByteBufferBackedDataInput in,
             WALPointer expPtr
         ) throws IOException, IgniteCheckedException {
-            WALRecord.RecordType recType = RecordV1Serializer.readRecordType(in);
+            int typeByte = in.readUnsignedByte();
+
+            if (typeByte == WALRecord.RecordType.STOP_ITERATION_RECORD_TYPE)
+                throw new SegmentEofException("Reached logical end of the segment", null);
+
+            boolean compressed = (typeByte & COMPRESSED_RECORD_FLAG) != 0;
+
+            WALRecord.RecordType recType = WALRecord.RecordType.fromIndex((typeByte & ~COMPRESSED_RECORD_FLAG) - 1);
 
             if (recType == SWITCH_SEGMENT_RECORD)
                 throw new SegmentEofException("Reached end of segment", null);
@@ -138,7 +147,7 @@ public class RecordV2Serializer implements RecordSerializer {
                 else
                     buf.clear();
 
-                buf.put((byte)(recType.index() + 1));
+                buf.put((byte)typeByte);
 
                 buf.putLong(ptr.index());
                 buf.putInt(ptr.fileOffset());
@@ -157,8 +166,11 @@ public class RecordV2Serializer implements RecordSerializer {
                 return new MarshalledRecord(recType, ptr, buf);
             }
             else {
-                WALRecord rec = dataSerializer.readRecord(recType, in, ptr.length() - REC_TYPE_SIZE -
-                    FILE_WAL_POINTER_SIZE - CRC_SIZE);
+                int size = ptr.length() - REC_TYPE_SIZE - FILE_WAL_POINTER_SIZE - CRC_SIZE;
+
+                WALRecord rec = compressed ?
+                    dataSerializer.readCompressedRecord(recType, in, size) :
+                    dataSerializer.readRecord(recType, in, size);
 
                 rec.position(ptr);
 
@@ -172,12 +184,20 @@ public class RecordV2Serializer implements RecordSerializer {
             WALRecord record,
             ByteBuffer buf
         ) throws IgniteCheckedException {
-            // Write record type.
-            RecordV1Serializer.putRecordType(buf, dataSerializer.recordType(record));
+            RecordType type = dataSerializer.recordType(record);
 
             // SWITCH_SEGMENT_RECORD should have only type, no need to write pointer.
-            if (record.type() == SWITCH_SEGMENT_RECORD)
+            if (record.type() == SWITCH_SEGMENT_RECORD) {
+                RecordV1Serializer.putRecordType(buf, type);
+
                 return;
+            }
+
+            // Write record type, compressed data is marked by the flag.
+            if (dataSerializer.isCompressed(record))
+                buf.put((byte)((type.index() + 1) | COMPRESSED_RECORD_FLAG));
+            else
+                RecordV1Serializer.putRecordType(buf, type);
 
             // Write record file position.
             putPositionOfRecord(buf, record);
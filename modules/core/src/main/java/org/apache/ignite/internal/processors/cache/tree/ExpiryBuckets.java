@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.tree;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Index of pending entries by coarse expire time buckets. Each bucket holds the number of entries with the expire
+ * time within the bucket, empty buckets are dropped. The number is never less than the actual number of entries:
+ * an entry is counted before it's added to the pending tree and uncounted after it's removed from the tree.
+ * So the index allows to skip scans of the pending tree when no bucket is due yet.
+ * <p>
+ * Counts of an existing tree are unknown until they are restored by a scan of the tree, see
+ * {@link #restore(GridCursor)}, and no scan is skipped until then. Removals while the counts are being restored
+ * are not uncounted, since the removed entry may be not counted by the scan. Such possible overestimates are
+ * recorded and dropped by {@link #onPurged(long)} once all the entries of their buckets are expired.
+ */
+public class ExpiryBuckets {
+    /** Count of a bucket being removed. */
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    /** Bucket size in milliseconds. */
+    private final long bucketSize;
+
+    /** Entry counts by bucket numbers. */
+    @GridToStringExclude
+    private final ConcurrentSkipListMap<Long, AtomicLong> buckets = new ConcurrentSkipListMap<>();
+
+    /** Updates while the counts are being restored by bucket numbers, each of them may be an overestimate. */
+    @GridToStringExclude
+    private final ConcurrentMap<Long, AtomicLong> uncertain = new ConcurrentHashMap<>();
+
+    /** Whether the counts are restored. */
+    private volatile boolean restored;
+
+    /**
+     * Creates an index of a new tree.
+     *
+     * @param bucketSize Bucket size in milliseconds.
+     */
+    public ExpiryBuckets(long bucketSize) {
+        this(bucketSize, true);
+    }
+
+    /**
+     * @param bucketSize Bucket size in milliseconds.
+     * @param restored {@code False} if the counts are to be restored by a scan of an existing tree.
+     */
+    public ExpiryBuckets(long bucketSize, boolean restored) {
+        assert bucketSize > 0 : bucketSize;
+
+        this.bucketSize = bucketSize;
+        this.restored = restored;
+    }
+
+    /**
+     * @return Bucket size in milliseconds.
+     */
+    public long bucketSize() {
+        return bucketSize;
+    }
+
+    /**
+     * @return {@code True} if the counts are restored.
+     */
+    public boolean restored() {
+        return restored;
+    }
+
+    /**
+     * Counts an entry which is going to be added.
+     *
+     * @param expireTime Expire time of the entry.
+     */
+    public void onAdd(long expireTime) {
+        Long bucket = expireTime / bucketSize;
+
+        // The entry may be counted by the scan as well.
+        if (!restored)
+            uncertain.computeIfAbsent(bucket, b -> new AtomicLong()).incrementAndGet();
+
+        add(bucket, 1);
+    }
+
+    /**
+     * Uncounts a removed entry.
+     *
+     * @param expireTime Expire time of the entry.
+     */
+    public void onRemove(long expireTime) {
+        Long bucket = expireTime / bucketSize;
+
+        // The entry may be not counted by the scan, keep the count.
+        if (!restored) {
+            uncertain.computeIfAbsent(bucket, b -> new AtomicLong()).incrementAndGet();
+
+            return;
+        }
+
+        subtract(bucket, 1);
+    }
+
+    /**
+     * Restores the counts by a scan of the tree. Entries added and removed concurrently are counted
+     * by {@link #onAdd(long)} and {@link #onRemove(long)}. Must not be called concurrently.
+     *
+     * @param cur Cursor over all the entries of the tree.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void restore(GridCursor<PendingRow> cur) throws IgniteCheckedException {
+        assert !restored;
+
+        Map<Long, Long> cnts = new HashMap<>();
+
+        while (cur.next())
+            cnts.merge(cur.get().expireTime / bucketSize, 1L, Long::sum);
+
+        for (Map.Entry<Long, Long> e : cnts.entrySet())
+            add(e.getKey(), e.getValue());
+
+        restored = true;
+    }
+
+    /**
+     * Drops possible overestimates of buckets which entries are expired. Must be called after all the entries which
+     * expire by the given time are removed from the tree.
+     *
+     * @param now Time up to which all the expired entries are removed.
+     */
+    public void onPurged(long now) {
+        if (!restored || uncertain.isEmpty())
+            return;
+
+        // Entries with an expire time of the previous bucket may still be added by updates started earlier.
+        long lastBucket = now / bucketSize - 2;
+
+        for (Map.Entry<Long, AtomicLong> e : uncertain.entrySet()) {
+            if (e.getKey() <= lastBucket && uncertain.remove(e.getKey(), e.getValue()))
+                subtract(e.getKey(), e.getValue().get());
+        }
+    }
+
+    /**
+     * @return Start time of the earliest non-empty bucket, {@link Long#MAX_VALUE} if there are no entries,
+     *      {@link Long#MIN_VALUE} if the counts are not restored yet.
+     */
+    public long nextExpireTime() {
+        if (!restored)
+            return Long.MIN_VALUE;
+
+        for (Map.Entry<Long, AtomicLong> e : buckets.entrySet()) {
+            if (e.getValue().get() > 0)
+                return e.getKey() * bucketSize;
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * @param now Current time.
+     * @return Number of entries in buckets which are due by the given time.
+     */
+    public long dueCount(long now) {
+        long cnt = 0;
+
+        for (AtomicLong c : buckets.headMap(now / bucketSize, true).values())
+            cnt += Math.max(0, c.get());
+
+        return cnt;
+    }
+
+    /**
+     * @return Number of entries.
+     */
+    public long size() {
+        return dueCount(Long.MAX_VALUE);
+    }
+
+    /**
+     * @return Number of non-empty buckets.
+     */
+    public int buckets() {
+        int cnt = 0;
+
+        for (AtomicLong c : buckets.values()) {
+            if (c.get() > 0)
+                cnt++;
+        }
+
+        return cnt;
+    }
+
+    /**
+     * @param bucket Bucket number.
+     * @param n Number of entries to count.
+     */
+    private void add(Long bucket, long n) {
+        while (true) {
+            AtomicLong cnt = buckets.get(bucket);
+
+            if (cnt == null) {
+                cnt = buckets.putIfAbsent(bucket, new AtomicLong(n));
+
+                if (cnt == null)
+                    return;
+            }
+
+            for (long c = cnt.get(); c != REMOVED; c = cnt.get()) {
+                if (cnt.compareAndSet(c, c + n))
+                    return;
+            }
+
+            // The bucket became empty and is being removed, help to remove it and retry with a new one.
+            buckets.remove(bucket, cnt);
+        }
+    }
+
+    /**
+     * @param bucket Bucket number.
+     * @param n Number of entries to uncount, the count doesn't go below zero.
+     */
+    private void subtract(Long bucket, long n) {
+        AtomicLong cnt = buckets.get(bucket);
+
+        if (cnt == null)
+            return;
+
+        for (long c = cnt.get(); c > 0; c = cnt.get()) {
+            long c0 = Math.max(0, c - n);
+
+            if (cnt.compareAndSet(c, c0)) {
+                if (c0 == 0 && cnt.compareAndSet(0, REMOVED))
+                    buckets.remove(bucket, cnt);
+
+                return;
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ExpiryBuckets.class, this);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.tree;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Bloom filter of key hashes of a partition. It never answers that a key is missing if the key was added,
+ * keys removed from the partition are not removed from the filter.
+ */
+public class PartitionKeyFilter {
+    /** Min filter size in bits. */
+    private static final int MIN_SIZE = 1 << 13;
+
+    /** Max filter size in bits, the filter takes 16 MB of heap at most. */
+    private static final int MAX_SIZE = 1 << 27;
+
+    /** Max number of hash functions. */
+    private static final int MAX_HASHES = 16;
+
+    /** Filter bits. */
+    @GridToStringExclude
+    private final AtomicLongArray bits;
+
+    /** Mask of a bit index. */
+    private final int mask;
+
+    /** Number of hash functions. */
+    private final int hashes;
+
+    /** Number of set bits. */
+    private final AtomicLong setBits = new AtomicLong();
+
+    /**
+     * @param expKeys Expected number of keys.
+     * @param bitsPerKey Bits per key.
+     */
+    public PartitionKeyFilter(long expKeys, int bitsPerKey) {
+        assert bitsPerKey > 0 : bitsPerKey;
+
+        int size = sizeInBits(expKeys, bitsPerKey);
+
+        bits = new AtomicLongArray(size >>> 6);
+        mask = size - 1;
+
+        // Optimal number of hash functions is bitsPerKey * ln(2).
+        hashes = Math.max(1, Math.min(MAX_HASHES, (int)Math.round(bitsPerKey * Math.log(2))));
+    }
+
+    /**
+     * @param hash Key hash code.
+     */
+    public void add(int hash) {
+        int h1 = mix(hash);
+        int h2 = mix(h1 ^ 0x5bd1e995) | 1;
+
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & mask;
+
+            int idx = bit >>> 6;
+            long m = 1L << bit;
+
+            while (true) {
+                long v = bits.get(idx);
+
+                if ((v & m) != 0)
+                    break;
+
+                if (bits.compareAndSet(idx, v, v | m)) {
+                    setBits.incrementAndGet();
+
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param hash Key hash code.
+     * @return {@code False} if key with the given hash code was definitely not added.
+     */
+    public boolean mightContain(int hash) {
+        int h1 = mix(hash);
+        int h2 = mix(h1 ^ 0x5bd1e995) | 1;
+
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & mask;
+
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0)
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return {@code True} if more than 3/4 of bits are set and the filter isn't of max size yet, so the filter
+     * should be rebuilt with a bigger size.
+     */
+    public boolean saturated() {
+        return mask + 1L < MAX_SIZE && setBits.get() > (mask + 1L) * 3 / 4;
+    }
+
+    /**
+     * @return Estimated probability of false positive answer.
+     */
+    public double falsePositiveRate() {
+        return Math.pow((double)setBits.get() / (mask + 1L), hashes);
+    }
+
+    /**
+     * @return Size of the filter in bytes.
+     */
+    public long sizeInBytes() {
+        return (mask + 1L) >>> 3;
+    }
+
+    /**
+     * @param expKeys Expected number of keys.
+     * @param bitsPerKey Bits per key.
+     * @return Size in bytes of the filter created with the given parameters.
+     */
+    public static long sizeInBytes(long expKeys, int bitsPerKey) {
+        return ((long)sizeInBits(expKeys, bitsPerKey)) >>> 3;
+    }
+
+    /**
+     * @param expKeys Expected number of keys.
+     * @param bitsPerKey Bits per key.
+     * @return Filter size in bits.
+     */
+    private static int sizeInBits(long expKeys, int bitsPerKey) {
+        return U.ceilPow2((int)Math.max(MIN_SIZE, Math.min(MAX_SIZE, expKeys * bitsPerKey)));
+    }
+
+    /**
+     * Finalization mix of MurmurHash3.
+     *
+     * @param h Hash code.
+     * @return Mixed hash code.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+
+        return h;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(PartitionKeyFilter.class, this);
+    }
+}
@@ -17,13 +17,17 @@
 
 package org.apache.ignite.internal.processors.cache.tree;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerManager;
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
+import org.apache.ignite.internal.util.IgniteTree;
 import org.apache.ignite.internal.util.typedef.internal.CU;
 
 /**
@@ -33,9 +37,15 @@ public class PendingEntriesTree extends BPlusTree<PendingRow, PendingRow> {
     /** */
     public static final Object WITHOUT_KEY = new Object();
 
+    /** @see IgniteSystemProperties#IGNITE_TTL_EXPIRY_BUCKET_SIZE */
+    public static final long DFLT_EXPIRY_BUCKET_SIZE = 1000L;
+
     /** */
     private final CacheGroupContext grp;
 
+    /** Entries of the tree by expire time buckets. */
+    private final ExpiryBuckets expiryBuckets;
+
     /**
      * @param grp Cache group.
      * @param name Tree name.
@@ -78,6 +88,80 @@ public class PendingEntriesTree extends BPlusTree<PendingRow, PendingRow> {
         assert !grp.dataRegion().config().isPersistenceEnabled() || grp.shared().database().checkpointLockIsHeldByThread();
 
         initTree(initNew);
+
+        // Counts of an existing tree are restored by restoreExpiryBuckets() outside of the checkpoint lock.
+        expiryBuckets = new ExpiryBuckets(
+            IgniteSystemProperties.getLong(IgniteSystemProperties.IGNITE_TTL_EXPIRY_BUCKET_SIZE, DFLT_EXPIRY_BUCKET_SIZE),
+            initNew);
+    }
+
+    /**
+     * @return Entries of the tree by expire time buckets.
+     */
+    public ExpiryBuckets expiryBuckets() {
+        return expiryBuckets;
+    }
+
+    /**
+     * Restores counts of expiry buckets of an existing tree by a scan of the tree, does nothing if they are
+     * restored. Scans of the tree for expired entries are not skipped until the counts are restored. Must not be
+     * called concurrently or under the checkpoint read lock, since the whole tree is scanned.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    public void restoreExpiryBuckets() throws IgniteCheckedException {
+        if (!expiryBuckets.restored())
+            expiryBuckets.restore(find(null, null, WITHOUT_KEY));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void onBeforePut(PendingRow row) {
+        expiryBuckets.onAdd(row.expireTime);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void onRemoved(PendingRow row) {
+        expiryBuckets.onRemove(row.expireTime);
+    }
+
+    /**
+     * Removes a batch of rows. The rows are expected to be sorted in the tree order, so they are removed
+     * leaf by leaf without a descent from the tree root for every row.
+     *
+     * @param rows Rows sorted in the tree order.
+     * @return Actually removed rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    public List<PendingRow> removeAll(List<PendingRow> rows) throws IgniteCheckedException {
+        List<PendingRow> rmvd = new ArrayList<>(rows.size());
+
+        invokeAll(rows.iterator(), WITHOUT_KEY, row -> new IgniteTree.InvokeClosure<PendingRow>() {
+            /** */
+            private IgniteTree.OperationType op;
+
+            /** {@inheritDoc} */
+            @Override public void call(PendingRow oldRow) {
+                if (oldRow == null)
+                    op = IgniteTree.OperationType.NOOP;
+                else {
+                    op = IgniteTree.OperationType.REMOVE;
+
+                    rmvd.add(row);
+                }
+            }
+
+            /** {@inheritDoc} */
+            @Override public PendingRow newRow() {
+                return null;
+            }
+
+            /** {@inheritDoc} */
+            @Override public IgniteTree.OperationType operationType() {
+                return op;
+            }
+        });
+
+        return rmvd;
     }
 
     /** {@inheritDoc} */
@@ -120,6 +204,12 @@ public class PendingEntriesTree extends BPlusTree<PendingRow, PendingRow> {
         return Long.compare(link, row.link);
     }
 
+    /** {@inheritDoc} */
+    @Override protected int compareInline(BPlusIO<PendingRow> io, long pageAddr, int idx, PendingRow row) {
+        // Links are compared as numbers and never followed.
+        return compare(io, pageAddr, idx, row);
+    }
+
     /** {@inheritDoc} */
     @Override public PendingRow getRow(BPlusIO<PendingRow> io, long pageAddr, int idx, Object flag)
         throws IgniteCheckedException {
@@ -170,6 +170,47 @@ public class CompressionProcessor extends GridProcessorAdapter {
         return fail();
     }
 
+    /**
+     * Compresses arbitrary data, e.g. payload of WAL record.
+     *
+     * @param src Source array.
+     * @param srcOff Source offset.
+     * @param srcLen Source length.
+     * @param compression Compression algorithm.
+     * @param compressLevel Compression level.
+     * @return Compressed data.
+     * @throws IgniteCheckedException If failed.
+     */
+    public byte[] compress(
+        byte[] src,
+        int srcOff,
+        int srcLen,
+        DiskPageCompression compression,
+        int compressLevel
+    ) throws IgniteCheckedException {
+        return fail();
+    }
+
+    /**
+     * Decompresses data compressed by {@link #compress(byte[], int, int, DiskPageCompression, int)}.
+     *
+     * @param src Source array.
+     * @param srcOff Source offset.
+     * @param srcLen Source length.
+     * @param dst Destination array, its length must be equal to the length of decompressed data.
+     * @param compression Compression algorithm.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void decompress(
+        byte[] src,
+        int srcOff,
+        int srcLen,
+        byte[] dst,
+        DiskPageCompression compression
+    ) throws IgniteCheckedException {
+        fail();
+    }
+
     /**
      * @param page Possibly compressed page buffer.
      * @param pageSize Page size.
@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.query;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.ignite.internal.processors.cache.query.GridCacheQueryType;
 import org.apache.ignite.internal.processors.tracing.MTC;
 import org.apache.ignite.internal.processors.tracing.Span;
@@ -65,6 +66,15 @@ public class GridRunningQueryInfo {
     /** Request ID. */
     private long reqId;
 
+    /** Peak size in bytes of rows buffered by the reducer. */
+    private volatile long reduceMemPeak;
+
+    /** Size in bytes of rows spilled to disk by the reducer. */
+    private volatile long reduceSpilledBytes;
+
+    /** Number of threads which executed map queries. */
+    private final AtomicInteger mapThreads = new AtomicInteger();
+
     /**
      * Constructor.
      *
@@ -221,4 +231,42 @@ public class GridRunningQueryInfo {
     public void requestId(long reqId) {
         this.reqId = reqId;
     }
+
+    /** @return Peak size in bytes of rows buffered by the reducer. */
+    public long reduceMemoryPeak() {
+        return reduceMemPeak;
+    }
+
+    /** @return Size in bytes of rows spilled to disk by the reducer. */
+    public long reduceSpilledBytes() {
+        return reduceSpilledBytes;
+    }
+
+    /**
+     * Updates reduce memory statistics, called from the query execution thread only.
+     *
+     * @param used Current size in bytes of rows buffered by the reducer.
+     * @param spilled Size in bytes of rows spilled to disk since the previous update.
+     */
+    public void onReduceMemory(long used, long spilled) {
+        if (used > reduceMemPeak)
+            reduceMemPeak = used;
+
+        if (spilled > 0)
+            reduceSpilledBytes += spilled;
+    }
+
+    /** @return Number of threads which executed map queries on all nodes. */
+    public int mapThreads() {
+        return mapThreads.get();
+    }
+
+    /**
+     * Adds threads which executed a map query on an index segment of a node.
+     *
+     * @param threads Number of threads.
+     */
+    public void onMapThreads(int threads) {
+        mapThreads.addAndGet(threads);
+    }
 }
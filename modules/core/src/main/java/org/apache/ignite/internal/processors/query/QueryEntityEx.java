@@ -37,6 +37,9 @@ public class QueryEntityEx extends QueryEntity {
     /** Whether to preserve order specified by {@link #getKeyFields()} or not. */
     private boolean preserveKeysOrder;
 
+    /** Whether a columnar replica of the table is created on data nodes. */
+    private boolean columnar;
+
     /**
      * Default constructor.
      */
@@ -58,6 +61,8 @@ public class QueryEntityEx extends QueryEntity {
             notNullFields = other0.notNullFields != null ? new HashSet<>(other0.notNullFields) : null;
 
             preserveKeysOrder = other0.preserveKeysOrder;
+
+            columnar = other0.columnar;
         }
     }
 
@@ -90,6 +95,23 @@ public class QueryEntityEx extends QueryEntity {
         return this;
     }
 
+    /**
+     * @return {@code true} if a columnar replica of the table is created on data nodes.
+     */
+    public boolean isColumnar() {
+        return columnar;
+    }
+
+    /**
+     * @param columnar Whether a columnar replica of the table is created on data nodes.
+     * @return {@code this} for chaining.
+     */
+    public QueryEntity setColumnar(boolean columnar) {
+        this.columnar = columnar;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean equals(Object o) {
         if (this == o)
@@ -101,7 +123,7 @@ public class QueryEntityEx extends QueryEntity {
         QueryEntityEx entity = (QueryEntityEx)o;
 
         return super.equals(entity) && F.eq(notNullFields, entity.notNullFields)
-            && preserveKeysOrder == entity.preserveKeysOrder;
+            && preserveKeysOrder == entity.preserveKeysOrder && columnar == entity.columnar;
     }
 
     /** {@inheritDoc} */
@@ -110,6 +132,7 @@ public class QueryEntityEx extends QueryEntity {
 
         res = 31 * res + (notNullFields != null ? notNullFields.hashCode() : 0);
         res = 31 * res + (preserveKeysOrder ? 1 : 0);
+        res = 31 * res + (columnar ? 1 : 0);
 
         return res;
     }
@@ -329,6 +329,9 @@ public class QueryUtils {
         normalEntity.setFieldsPrecision(entity.getFieldsPrecision());
         normalEntity.setFieldsScale(entity.getFieldsScale());
 
+        if (entity instanceof QueryEntityEx)
+            ((QueryEntityEx)normalEntity).setColumnar(((QueryEntityEx)entity).isColumnar());
+
         // Normalize table name.
         String normalTblName = entity.getTableName();
 
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.twostep.messages;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import org.apache.ignite.internal.IgniteFeatures;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+
+/**
+ * First page response with the number of threads which executed the map query. Is sent only to nodes which
+ * support {@link IgniteFeatures#SQL_MAP_THREADS}.
+ */
+public class GridQueryNextPageResponseV2 extends GridQueryNextPageResponse {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Number of threads which executed the map query. */
+    private int mapThreads;
+
+    /**
+     * Default constructor.
+     */
+    public GridQueryNextPageResponseV2() {
+        // No-op.
+    }
+
+    /**
+     * @param qryReqId Query request ID.
+     * @param segmentId Index segment ID.
+     * @param qry Query.
+     * @param page Page.
+     * @param allRows All rows count.
+     * @param cols Number of columns in row.
+     * @param vals Values for rows in this page added sequentially.
+     * @param plainRows Not marshalled rows for local node.
+     * @param last Last page flag.
+     * @param mapThreads Number of threads which executed the map query.
+     */
+    public GridQueryNextPageResponseV2(long qryReqId, int segmentId, int qry, int page, int allRows, int cols,
+        Collection<Message> vals, Collection<?> plainRows, boolean last, int mapThreads) {
+        super(qryReqId, segmentId, qry, page, allRows, cols, vals, plainRows, last);
+
+        this.mapThreads = mapThreads;
+    }
+
+    /**
+     * @return Number of threads which executed the map query.
+     */
+    public int mapThreads() {
+        return mapThreads;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        writer.setBuffer(buf);
+
+        if (!super.writeTo(buf, writer))
+            return false;
+
+        if (!writer.isHeaderWritten()) {
+            if (!writer.writeHeader(directType(), fieldsCount()))
+                return false;
+
+            writer.onHeaderWritten();
+        }
+
+        switch (writer.state()) {
+            case 11:
+                if (!writer.writeInt("mapThreads", mapThreads))
+                    return false;
+
+                writer.incrementState();
+
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        reader.setBuffer(buf);
+
+        if (!reader.beforeMessageRead())
+            return false;
+
+        if (!super.readFrom(buf, reader))
+            return false;
+
+        switch (reader.state()) {
+            case 11:
+                mapThreads = reader.readInt("mapThreads");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+        }
+
+        return reader.afterMessageRead(GridQueryNextPageResponseV2.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public short directType() {
+        return 178;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte fieldsCount() {
+        return 12;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridQueryNextPageResponseV2.class, this, "super", super.toString());
+    }
+}
@@ -230,6 +230,13 @@ public class QueryBinaryProperty implements GridQueryProperty {
         return alias;
     }
 
+    /**
+     * @return Name of the binary field of the property.
+     */
+    public String propertyName() {
+        return propName;
+    }
+
     /** {@inheritDoc} */
     @Override public Class<?> type() {
         return type;
@@ -121,8 +121,42 @@ public class GridConcurrentMultiPairQueue<K, V> {
      * @return {@code true} if {@link #next} return non empty result, or {@code false} if this queue is empty
      */
     public boolean next(Result<K, V> res) {
-        int absPos = pos.getAndIncrement();
+        return resolve(res, pos.getAndIncrement());
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, or returns {@code false} if this queue is empty.
+     * Unlike {@link #next(Result)} reserves up to {@code batchSize} consecutive positions for the given
+     * result holder at once, so values which are adjacent in the initial arrays are returned to the same
+     * consumer instead of being interleaved between concurrent consumers. The result holder must not be
+     * shared between consumers or queues.
+     *
+     * @param res Result holder.
+     * @param batchSize Maximum number of positions to reserve at once.
+     * @return {@code true} if {@link #next} return non empty result, or {@code false} if this queue is empty
+     */
+    public boolean next(Result<K, V> res, int batchSize) {
+        assert batchSize > 0 : batchSize;
+
+        if (res.reservedPos >= res.reservedEnd) {
+            int absPos = pos.getAndAdd(batchSize);
+
+            if (absPos >= maxPos)
+                return resolve(res, absPos);
 
+            res.reservedPos = absPos;
+            res.reservedEnd = Math.min(absPos + batchSize, maxPos);
+        }
+
+        return resolve(res, res.reservedPos++);
+    }
+
+    /**
+     * @param res Result holder.
+     * @param absPos Absolute position to retrieve.
+     * @return {@code true} if result is not empty, or {@code false} if position is out of the queue bounds.
+     */
+    private boolean resolve(Result<K, V> res, int absPos) {
         if (absPos >= maxPos) {
             res.set(null, null, 0);
 
@@ -171,6 +205,12 @@ public class GridConcurrentMultiPairQueue<K, V> {
         /** Value holeder. */
         private V val;
 
+        /** Next reserved position. */
+        private int reservedPos;
+
+        /** End of reserved positions, exclusive. */
+        private int reservedEnd;
+
         /** Current state setter. */
         public void set(K k, V v, int seg) {
             key = k;
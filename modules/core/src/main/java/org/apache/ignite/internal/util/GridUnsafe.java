@@ -1442,6 +1442,13 @@ public abstract class GridUnsafe {
         return UNSAFE.getLongVolatile(obj, off);
     }
 
+    /**
+     * Ensures that loads before the fence will not be reordered with loads and stores after the fence.
+     */
+    public static void loadFence() {
+        UNSAFE.loadFence();
+    }
+
     /**
      * Stores long value with volatile semantic.
      *
@@ -256,6 +256,20 @@ public class OffheapReadWriteLock {
         return lockCount(GridUnsafe.getLongVolatile(null, lock)) == -1;
     }
 
+    /**
+     * Checks whether the protected resource may be read without taking the lock: the write lock is not held
+     * and the tag matches.
+     *
+     * @param lock Lock address.
+     * @param tag Validation tag.
+     * @return {@code True} if the write lock is not held and the tag validation passed.
+     */
+    public boolean canReadOptimistic(long lock, int tag) {
+        long state = GridUnsafe.getLongVolatile(null, lock);
+
+        return checkTag(state, tag) && canReadLock(state);
+    }
+
     /**
      * @param lock Lock to check.
      * @return {@code True} if at least one read lock is held by any thread for the given offheap RW lock.
@@ -24,5 +24,7 @@ public enum VisorDefragmentationOperation {
     /** */
     STATUS,
     /** */
-    CANCEL
+    CANCEL,
+    /** */
+    ONLINE
 }
@@ -46,7 +46,8 @@ public class VisorDefragmentationTask extends VisorMultiNodeTask
 
     /** {@inheritDoc} */
     @Nullable @Override protected VisorDefragmentationTaskResult reduce0(List<ComputeJobResult> results) {
-        if (taskArg.operation() == VisorDefragmentationOperation.SCHEDULE) {
+        if (taskArg.operation() == VisorDefragmentationOperation.SCHEDULE ||
+            taskArg.operation() == VisorDefragmentationOperation.ONLINE) {
             StringBuilder msg = new StringBuilder();
 
             for (ComputeJobResult res : results) {
@@ -103,6 +104,9 @@ public class VisorDefragmentationTask extends VisorMultiNodeTask
 
                 case CANCEL:
                     return runCancel(arg);
+
+                case ONLINE:
+                    return runOnline(arg);
             }
 
             throw new IllegalArgumentException("Operation: " + arg.operation());
@@ -136,6 +140,20 @@ public class VisorDefragmentationTask extends VisorMultiNodeTask
             return new VisorDefragmentationTaskResult(true, message);
         }
 
+        /** */
+        private VisorDefragmentationTaskResult runOnline(VisorDefragmentationTaskArg arg) {
+            final IgniteDefragmentation defragmentation = ignite.context().defragmentation();
+
+            try {
+                defragmentation.defragmentOnline(arg.cacheNames(), arg.fillFactor(), arg.rate());
+            }
+            catch (IgniteCheckedException | IllegalArgumentException e) {
+                return new VisorDefragmentationTaskResult(false, e.getMessage());
+            }
+
+            return new VisorDefragmentationTaskResult(true, "Online defragmentation started.");
+        }
+
         /** */
         private VisorDefragmentationTaskResult runStatus(VisorDefragmentationTaskArg arg) {
             final IgniteDefragmentation defragmentation = ignite.context().defragmentation();
@@ -36,6 +36,12 @@ public class VisorDefragmentationTaskArg extends IgniteDataTransferObject {
     /** */
     private List<String> cacheNames;
 
+    /** Rows of data pages filled less than this factor are moved by online defragmentation. */
+    private double fillFactor;
+
+    /** Max number of rows moved by online defragmentation per second, {@code 0} for unlimited rate. */
+    private double rate;
+
     /** Empty constructor for serialization. */
     public VisorDefragmentationTaskArg() {
         // No-op.
@@ -51,6 +57,19 @@ public class VisorDefragmentationTaskArg extends IgniteDataTransferObject {
         this.cacheNames = cacheNames;
     }
 
+    /** */
+    public VisorDefragmentationTaskArg(
+        VisorDefragmentationOperation operation,
+        List<String> cacheNames,
+        double fillFactor,
+        double rate
+    ) {
+        this(operation, cacheNames);
+
+        this.fillFactor = fillFactor;
+        this.rate = rate;
+    }
+
     /** */
     public VisorDefragmentationOperation operation() {
         return operation;
@@ -61,11 +80,29 @@ public class VisorDefragmentationTaskArg extends IgniteDataTransferObject {
         return cacheNames;
     }
 
+    /** */
+    public double fillFactor() {
+        return fillFactor;
+    }
+
+    /** */
+    public double rate() {
+        return rate;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte getProtocolVersion() {
+        return V2;
+    }
+
     /** {@inheritDoc} */
     @Override protected void writeExternalData(ObjectOutput out) throws IOException {
         U.writeEnum(out, operation);
 
         U.writeCollection(out, cacheNames);
+
+        out.writeDouble(fillFactor);
+        out.writeDouble(rate);
     }
 
     /** {@inheritDoc} */
@@ -73,5 +110,10 @@ public class VisorDefragmentationTaskArg extends IgniteDataTransferObject {
         operation = U.readEnum(in, VisorDefragmentationOperation.class);
 
         cacheNames = U.readList(in);
+
+        if (protoVer >= V2) {
+            fillFactor = in.readDouble();
+            rate = in.readDouble();
+        }
     }
 }
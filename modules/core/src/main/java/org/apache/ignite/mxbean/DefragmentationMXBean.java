@@ -33,6 +33,23 @@ public interface DefragmentationMXBean {
         @MXBeanParameter(name = "cacheNames", description = "Names of caches to run defragmentation on.") String cacheNames
     );
 
+    /**
+     * Start online defragmentation of given caches on this node, it doesn't require maintenance mode.
+     *
+     * @param cacheNames Names of caches to run defragmentation on, comma separated, all caches if empty.
+     * @param fillFactor Rows of data pages filled less than this factor are moved.
+     * @param rate Max number of moved rows per second, {@code 0} for unlimited rate.
+     * @return {@code true} if defragmentation is started, {@code false} otherwise.
+     */
+    @MXBeanDescription("Start online defragmentation.")
+    public boolean defragmentOnline(
+        @MXBeanParameter(name = "cacheNames", description = "Names of caches to run defragmentation on.") String cacheNames,
+        @MXBeanParameter(name = "fillFactor", description = "Rows of data pages filled less than this factor are moved.")
+            double fillFactor,
+        @MXBeanParameter(name = "rate", description = "Max number of moved rows per second, 0 for unlimited rate.")
+            double rate
+    );
+
     /**
      * Cancel defragmentation.
      *
@@ -82,4 +82,19 @@ public class SqlQueryView {
     public boolean local() {
         return qry.local();
     }
+
+    /** @return Number of threads which executed map queries on all nodes. */
+    public int mapThreads() {
+        return qry.mapThreads();
+    }
+
+    /** @return Peak size in bytes of rows buffered by the reducer. */
+    public long reduceMemoryPeak() {
+        return qry.reduceMemoryPeak();
+    }
+
+    /** @return Size in bytes of rows spilled to disk by the reducer. */
+    public long reduceSpilledBytes() {
+        return qry.reduceSpilledBytes();
+    }
 }
@@ -19,10 +19,14 @@ package org.apache.ignite.internal.processors.cache;
 
 import javax.cache.expiry.Duration;
 import javax.cache.expiry.TouchedExpiryPolicy;
+import org.apache.ignite.IgniteCache;
 import org.apache.ignite.cache.CacheMode;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.internal.IgniteKernal;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.processors.metric.impl.LongGauge;
 import org.apache.ignite.internal.util.typedef.CAX;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.testframework.GridTestUtils;
@@ -34,6 +38,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.ignite.cache.CacheMode.LOCAL;
 import static org.apache.ignite.cache.CacheMode.PARTITIONED;
 import static org.apache.ignite.cache.CacheMode.REPLICATED;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
 
 /**
  * TTL manager self test.
@@ -89,6 +94,42 @@ public class GridCacheTtlManagerSelfTest extends GridCommonAbstractTest {
         checkTtl(REPLICATED);
     }
 
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testExpiryMetrics() throws Exception {
+        cacheMode = PARTITIONED;
+
+        IgniteKernal g = (IgniteKernal)startGrid(0);
+
+        try {
+            int cnt = 1000;
+
+            IgniteCache<Integer, Integer> cache = g.<Integer, Integer>cache(DEFAULT_CACHE_NAME).withExpiryPolicy(
+                new TouchedExpiryPolicy(new Duration(MILLISECONDS, 500)));
+
+            for (int i = 0; i < cnt; i++)
+                cache.put(i, i);
+
+            MetricRegistry mreg = g.context().metric().registry(cacheMetricsRegistryName(DEFAULT_CACHE_NAME, false));
+
+            LongAdderMetric removed = mreg.findMetric("ExpiredEntriesRemoved");
+            LongGauge backlog = mreg.findMetric("ExpiryBacklog");
+
+            assertNotNull(mreg.findMetric("ExpiredEntriesRemovalRate"));
+
+            assertTrue(GridTestUtils.waitForCondition(() -> removed.value() == cnt, 10_000));
+
+            assertEquals(0, backlog.value());
+            assertEquals(0, g.cache(DEFAULT_CACHE_NAME).size());
+            assertEquals(0, g.internalCache(DEFAULT_CACHE_NAME).context().ttl().pendingSize());
+        }
+        finally {
+            stopAllGrids();
+        }
+    }
+
     /**
      * @param mode Cache mode.
      * @throws Exception If failed.
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.util.Arrays;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.binary.BinaryContext;
+import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.binary.CacheObjectBinaryProcessorImpl;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CacheDataRowValueReader}.
+ */
+public class CacheDataRowValueReaderTest extends GridCommonAbstractTest {
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReadLargeValue() throws Exception {
+        checkRead(1024 * 1024);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReadSmallValue() throws Exception {
+        checkRead(16);
+    }
+
+    /**
+     * @param dataLen Length of the data field.
+     * @throws Exception If failed.
+     */
+    private void checkRead(int dataLen) throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        IgniteCache<Integer, BinaryObject> cache = ig.getOrCreateCache(DEFAULT_CACHE_NAME).withKeepBinary();
+
+        byte[] data = new byte[dataLen];
+
+        for (int i = 0; i < data.length; i++)
+            data[i] = (byte)i;
+
+        BinaryObject nested = ig.binary().builder("Nested").setField("val", 7).build();
+
+        BinaryObject val = ig.binary().builder("Document")
+            .setField("id", 42)
+            .setField("data", data)
+            .setField("nested", nested)
+            .setField("name", "doc")
+            .build();
+
+        cache.put(1, val);
+
+        GridCacheContext<?, ?> cctx = ig.cachex(DEFAULT_CACHE_NAME).context();
+
+        KeyCacheObject key = cctx.toCacheKeyObject(1);
+
+        byte[] bytes = ((CacheObject)val).valueBytes(cctx.cacheObjectContext());
+
+        BinaryContext binCtx = ((CacheObjectBinaryProcessorImpl)ig.context().cacheObjects()).binaryContext();
+
+        CacheDataRowValueReader[] used = new CacheDataRowValueReader[1];
+
+        boolean read = cctx.offheap().readValue(cctx, key, reader -> {
+            assertNotNull(reader);
+
+            assertEquals(CacheObject.TYPE_BINARY, reader.valueType());
+            assertEquals(bytes.length, reader.valueLength());
+
+            assertTrue(Arrays.equals(bytes, reader.read(0, bytes.length)));
+            assertTrue(Arrays.equals(Arrays.copyOfRange(bytes, bytes.length / 3, bytes.length / 2),
+                reader.read(bytes.length / 3, bytes.length / 2 - bytes.length / 3)));
+
+            assertEquals(42, (int)reader.field(binCtx, "id"));
+            assertEquals("doc", reader.field(binCtx, "name"));
+            assertTrue(Arrays.equals(data, reader.field(binCtx, "data")));
+            assertEquals(7, (int)reader.<BinaryObject>field(binCtx, "nested").field("val"));
+            assertNull(reader.field(binCtx, "missing"));
+
+            used[0] = reader;
+
+            return true;
+        });
+
+        assertTrue(read);
+
+        // Reader can't be used out of the lock of the cache entry.
+        GridTestUtils.assertThrows(log, () -> used[0].read(0, 1), IllegalStateException.class, null);
+
+        assertFalse(cctx.offheap().readValue(cctx, cctx.toCacheKeyObject(2), reader -> reader != null));
+    }
+}
@@ -463,6 +463,77 @@ public class IgniteDataStorageMetricsSelfTest extends GridCommonAbstractTest {
         checkWalArchiveAndTotalSize(n, false);
     }
 
+    /**
+     * Checks that binary and logical recovery metrics are updated on node restart.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRecoveryMetrics() throws Exception {
+        IgniteEx n = startGrid(0);
+
+        n.cluster().state(ACTIVE);
+
+        populateCache(n);
+
+        forceCheckpoint(n);
+
+        dbMgr(n).enableCheckpoints(false).get();
+
+        populateCache(n);
+
+        stopGrid(0, true);
+
+        n = startGrid(0);
+
+        n.cluster().state(ACTIVE);
+
+        MetricRegistry mreg = dsMetricRegistry(n);
+
+        AtomicLongMetric lastLogicalUpdates = mreg.findMetric("LastLogicalRecoveryUpdatesNumber");
+        AtomicLongMetric lastLogicalDuration = mreg.findMetric("LastLogicalRecoveryDuration");
+        AtomicLongMetric lastLogicalApplyAwait = mreg.findMetric("LastLogicalRecoveryApplyAwaitDuration");
+        AtomicLongMetric lastBinaryDuration = mreg.findMetric("LastBinaryRecoveryDuration");
+        AtomicLongMetric lastBinaryApplyAwait = mreg.findMetric("LastBinaryRecoveryApplyAwaitDuration");
+
+        assertTrue(lastLogicalUpdates.value() > 0);
+        assertTrue(lastLogicalDuration.value() >= lastLogicalApplyAwait.value());
+        assertTrue(lastBinaryDuration.value() >= lastBinaryApplyAwait.value());
+    }
+
+    /**
+     * Checks that adjacent dirty pages are coalesced into larger page store writes during checkpoint.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCheckpointPagesWriteMetrics() throws Exception {
+        IgniteEx n = startGrid(0);
+
+        n.cluster().state(ACTIVE);
+
+        forceCheckpoint(n);
+
+        MetricRegistry mreg = dsMetricRegistry(n);
+
+        AtomicLongMetric lastCpTotalPages = mreg.findMetric("LastCheckpointTotalPagesNumber");
+        AtomicLongMetric lastCpWriteOps = mreg.findMetric("LastCheckpointPagesWriteOperationsNumber");
+        AtomicLongMetric lastCpAvgWriteSize = mreg.findMetric("LastCheckpointAveragePagesWriteSize");
+
+        lastCpWriteOps.reset();
+
+        populateCache(n);
+
+        forceCheckpoint(n);
+
+        assertTrue(waitForCondition(() -> lastCpWriteOps.value() > 0, getTestTimeout()));
+
+        int pageSize = n.configuration().getDataStorageConfiguration().getPageSize();
+
+        assertTrue(lastCpWriteOps.value() < lastCpTotalPages.value());
+        assertTrue(lastCpAvgWriteSize.value() > pageSize);
+    }
+
     /**
      * Populates a cache w/32 KB of data.
      *
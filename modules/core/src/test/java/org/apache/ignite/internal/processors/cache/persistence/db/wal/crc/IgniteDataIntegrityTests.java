@@ -19,28 +19,40 @@ package org.apache.ignite.internal.processors.cache.persistence.db.wal.crc;
 
 import java.io.EOFException;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.file.Files;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.UnzipFileIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferExpander;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.FileInput;
+import org.apache.ignite.internal.processors.cache.persistence.wal.io.MappedFileInput;
+import org.apache.ignite.internal.processors.cache.persistence.wal.io.MappedSegmentFileInputFactory;
+import org.apache.ignite.internal.processors.cache.persistence.wal.io.SegmentIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SimpleFileInput;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
  *
  */
 public class IgniteDataIntegrityTests {
+    /** File. */
+    private File file;
+
     /** File input. */
     private SimpleFileInput fileInput;
 
@@ -50,7 +62,7 @@ public class IgniteDataIntegrityTests {
     /** */
     @Before
     public void setUp() throws Exception {
-        File file = File.createTempFile("integrity", "dat");
+        file = File.createTempFile("integrity", "dat");
         file.deleteOnExit();
 
         expBuf = new ByteBufferExpander(1024, ByteOrder.BIG_ENDIAN);
@@ -127,6 +139,46 @@ public class IgniteDataIntegrityTests {
         }
     }
 
+    /**
+     *
+     */
+    @Test
+    public void testSuccessfulPathMapped() throws Exception {
+        checkIntegrityMapped();
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testIntegrityViolationCheckingMapped() throws Exception {
+        toggleOneRandomBit(0, 1024 - 16);
+
+        try {
+            checkIntegrityMapped();
+
+            fail();
+        } catch (IgniteDataIntegrityViolationException ignore) {
+            //success
+        }
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testSkipingLastCorruptedEntryMapped() throws Exception {
+        toggleOneRandomBit(1024 - 16, 1024);
+
+        try {
+            checkIntegrityMapped();
+
+            fail();
+        } catch (EOFException ignore) {
+            //success
+        }
+    }
+
     /**
      *
      */
@@ -200,6 +252,93 @@ public class IgniteDataIntegrityTests {
         fileInput.io().force();
     }
 
+    /**
+     *
+     */
+    @Test
+    public void testSuccessfulPathZipped() throws Exception {
+        checkIntegrityZipped();
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testIntegrityViolationCheckingZipped() throws Exception {
+        toggleOneRandomBit(16, 1024 - 16);
+
+        try {
+            checkIntegrityZipped();
+
+            fail();
+        } catch (IgniteDataIntegrityViolationException ignore) {
+            //success
+        }
+    }
+
+    /**
+     *
+     */
+    private void checkIntegrityMapped() throws Exception {
+        fileInput.io().position(0);
+
+        MappedFileInput mappedInput = new MappedFileInput(new SegmentIO(0, fileInput.io()), ByteOrder.BIG_ENDIAN);
+
+        try {
+            for (int i = 0; i < 1024 / 16; i++) {
+                try (FileInput.Crc32CheckingFileInput in = mappedInput.startRead(false)) {
+                    in.readInt();
+                    in.readInt();
+                    in.readInt();
+                }
+            }
+        }
+        finally {
+            mappedInput.io().close();
+        }
+    }
+
+    /**
+     * Reads the zipped file through the scratch area of {@link MappedSegmentFileInputFactory}, the first entry is
+     * read before the input is created like a segment header.
+     */
+    private void checkIntegrityZipped() throws Exception {
+        File zip = File.createTempFile("integrity", "zip");
+        zip.deleteOnExit();
+
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zip))) {
+            zos.putNextEntry(new ZipEntry("integrity.dat"));
+
+            zos.write(Files.readAllBytes(file.toPath()));
+
+            zos.closeEntry();
+        }
+
+        SegmentIO io = new SegmentIO(0, new UnzipFileIO(zip));
+
+        try (MappedSegmentFileInputFactory factory = new MappedSegmentFileInputFactory(new RandomAccessFileIOFactory())) {
+            io.readFully(ByteBuffer.allocate(16));
+
+            FileInput in0 = factory.createFileInput(io, expBuf);
+
+            assertTrue(in0 instanceof MappedFileInput);
+            assertEquals(16, in0.position());
+
+            for (int i = 1; i < 1024 / 16; i++) {
+                try (FileInput.Crc32CheckingFileInput in = in0.startRead(false)) {
+                    in.readInt();
+                    in.readInt();
+                    in.readInt();
+                }
+            }
+
+            assertEquals(1024, in0.position());
+        }
+        finally {
+            io.close();
+        }
+    }
+
     /**
      *
      */
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
+
+import java.util.Collections;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests for online defragmentation of partitions.
+ */
+public class OnlineDefragmentationTest extends GridCommonAbstractTest {
+    /** */
+    private static final int KEYS = 20_000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        DataStorageConfiguration dsCfg = new DataStorageConfiguration();
+
+        dsCfg.setWalSegmentSize(4 * 1024 * 1024);
+        dsCfg.setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+            .setMaxSize(100L * 1024 * 1024)
+            .setMetricsEnabled(true)
+            .setPersistenceEnabled(true));
+
+        return cfg.setDataStorageConfiguration(dsCfg);
+    }
+
+    /**
+     * Checks that rows of sparsely filled pages are moved while the node is active and data stays consistent.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDefragmentOnline() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.getOrCreateCache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, new byte[200]);
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 5 != 0)
+                cache.remove(i);
+        }
+
+        DataRegionMetricsImpl metrics = ig.context().cache().context().database().dataRegion(null).metrics();
+
+        float fillFactor = metrics.getPagesFillFactor();
+
+        long moved = ig.context().defragmentation()
+            .defragmentOnline(Collections.singletonList(DEFAULT_CACHE_NAME), 0.5, 0).get(getTestTimeout());
+
+        assertTrue("moved=" + moved, moved > 0);
+        assertTrue("before=" + fillFactor + ", after=" + metrics.getPagesFillFactor(),
+            metrics.getPagesFillFactor() > fillFactor);
+
+        checkData(cache);
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME));
+    }
+
+    /**
+     * @param cache Cache.
+     */
+    private void checkData(IgniteCache<Integer, byte[]> cache) {
+        assertEquals(KEYS / 5, cache.size());
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 5 == 0)
+                assertEquals(200, cache.get(i).length);
+            else
+                assertNull(cache.get(i));
+        }
+    }
+}
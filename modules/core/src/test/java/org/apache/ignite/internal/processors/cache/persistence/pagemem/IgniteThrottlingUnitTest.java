@@ -47,6 +47,7 @@ import org.mockito.Mockito;
 import static java.lang.Thread.State.TIMED_WAITING;
 import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -385,4 +386,67 @@ public class IgniteThrottlingUnitTest {
 
         assertTrue(warnings.get() > 0);
     }
+
+    /**
+     * Checks that a short burst of device latency does not cause a park time spike.
+     */
+    @Test
+    public void controllerSmoothsDeviceLatencyBurst() {
+        ThrottleFeedbackController ctrl = new ThrottleFeedbackController();
+
+        long time = 1;
+
+        for (int i = 0; i < 100; i++, time += ThrottleFeedbackController.CONTROL_INTERVAL_NS)
+            assertTrue(ctrl.onSample(time, 20_000, 10_000));
+
+        assertEquals(20_000, ctrl.deviceWriteSpeed());
+        assertEquals(10_000, ctrl.dirtyPagesGrowthRate());
+
+        // Disk is 5 times slower for one control interval.
+        assertTrue(ctrl.onSample(time, 4_000, 10_000));
+
+        assertTrue(ctrl.deviceWriteSpeed() > 10_000);
+
+        // Samples within the same control interval are ignored.
+        assertFalse(ctrl.onSample(time + 1, 4_000, 10_000));
+    }
+
+    /**
+     * Checks that park time is increased multiplicatively and released gradually.
+     */
+    @Test
+    public void controllerParkTimeIncreaseAndRelease() {
+        ThrottleFeedbackController ctrl = new ThrottleFeedbackController();
+
+        long required = 100 * ThrottleFeedbackController.STARTING_PARK_NANOS;
+
+        long prev = 0;
+
+        int steps = 0;
+
+        while (ctrl.parkTime() < required) {
+            ctrl.adjust(required, 1);
+
+            assertTrue(ctrl.parkTime() > prev);
+            assertTrue(ctrl.parkTime() <= Math.max(2 * prev, ThrottleFeedbackController.STARTING_PARK_NANOS));
+
+            prev = ctrl.parkTime();
+
+            steps++;
+        }
+
+        assertTrue(steps < 10);
+        assertEquals(TimeUnit.SECONDS.toNanos(1) / required, ctrl.targetRate());
+
+        ctrl.adjust(0, 1);
+
+        assertTrue(ctrl.parkTime() > 0);
+        assertTrue(ctrl.parkTime() < required);
+        assertEquals(0, ctrl.targetRate());
+
+        for (int i = 0; i < 8; i++)
+            ctrl.adjust(0, 1);
+
+        assertEquals(0, ctrl.parkTime());
+    }
 }
@@ -73,6 +73,7 @@ import org.apache.ignite.testframework.junits.GridTestKernalContext;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
 import org.apache.ignite.testframework.junits.logger.GridTestLog4jLogger;
 import org.jetbrains.annotations.Nullable;
+import org.junit.Assume;
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -111,6 +112,51 @@ public class PageMemoryImplTest extends GridCommonAbstractTest {
         assertFalse(memory.safeToUpdate());
     }
 
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOptimisticReadValidation() throws Exception {
+        Assume.assumeTrue("Page versions are disabled", PageMemoryImpl.PAGE_VERSIONS);
+
+        PageMemoryImpl memory = createPageMemory(PageMemoryImpl.ThrottlingPolicy.DISABLED, null);
+
+        long pageId = memory.allocatePage(1, INDEX_PARTITION, FLAG_IDX);
+
+        acquireAndReleaseWriteLock(memory, new FullPageId(pageId, 1));
+
+        long page = memory.acquirePage(1, pageId);
+
+        try {
+            long stamp = memory.optimisticReadStamp(1, pageId, page);
+
+            assertTrue(stamp != 0L);
+            assertEquals(memory.readLock(1, pageId, page), memory.optimisticReadAddress(1, pageId, page));
+
+            memory.readUnlock(1, pageId, page);
+
+            // Read locks do not invalidate optimistic reads.
+            assertTrue(memory.validateOptimisticRead(1, pageId, page, stamp));
+
+            memory.writeLock(1, pageId, page);
+
+            assertEquals(0L, memory.optimisticReadStamp(1, pageId, page));
+            assertFalse(memory.validateOptimisticRead(1, pageId, page, stamp));
+
+            memory.writeUnlock(1, pageId, page, Boolean.FALSE, false);
+
+            assertFalse(memory.validateOptimisticRead(1, pageId, page, stamp));
+
+            long stamp0 = memory.optimisticReadStamp(1, pageId, page);
+
+            assertTrue(stamp0 != 0L && stamp0 != stamp);
+            assertTrue(memory.validateOptimisticRead(1, pageId, page, stamp0));
+        }
+        finally {
+            memory.releasePage(1, pageId, page);
+        }
+    }
+
     /**
      * @throws Exception If failed.
      */
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.internal.mem.DirectMemoryProvider;
+import org.apache.ignite.internal.mem.DirectMemoryRegion;
+import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test history of replaced pages used by 2Q page replacement.
+ */
+public class PageReplacementGhostTableTest extends GridCommonAbstractTest {
+    /** Max slots count. */
+    private static final int MAX_SLOTS_CNT = 1024;
+
+    /** Memory provider. */
+    private static DirectMemoryProvider provider;
+
+    /** Memory region. */
+    private static DirectMemoryRegion region;
+
+    /** */
+    @BeforeClass
+    public static void setUp() {
+        provider = new UnsafeMemoryProvider(log);
+        provider.initialize(new long[] {PageReplacementGhostTable.requiredMemory(MAX_SLOTS_CNT)});
+
+        region = provider.nextRegion();
+    }
+
+    /** */
+    @AfterClass
+    public static void tearDown() {
+        provider.shutdown(true);
+    }
+
+    /** */
+    @Test
+    public void testAddRemove() {
+        PageReplacementGhostTable ghosts = new PageReplacementGhostTable(MAX_SLOTS_CNT, region.address());
+
+        assertFalse(ghosts.remove(1, 1));
+
+        ghosts.add(1, 1);
+
+        assertFalse(ghosts.remove(2, 1));
+        assertFalse(ghosts.remove(1, 2));
+
+        assertTrue(ghosts.remove(1, 1));
+        assertFalse(ghosts.remove(1, 1));
+    }
+
+    /** */
+    @Test
+    public void testBoundedHistory() {
+        PageReplacementGhostTable ghosts = new PageReplacementGhostTable(MAX_SLOTS_CNT, region.address());
+
+        int pagesCnt = MAX_SLOTS_CNT * 4;
+
+        for (int i = 0; i < pagesCnt; i++)
+            ghosts.add(1, i);
+
+        int found = 0;
+
+        for (int i = 0; i < pagesCnt; i++) {
+            if (ghosts.remove(1, i))
+                found++;
+        }
+
+        assertTrue("Unexpected ghost entries count: " + found, found > 0 && found <= MAX_SLOTS_CNT);
+    }
+
+    /** */
+    @Test
+    public void testTableCleared() {
+        PageReplacementGhostTable ghosts = new PageReplacementGhostTable(MAX_SLOTS_CNT, region.address());
+
+        for (int i = 0; i < MAX_SLOTS_CNT; i++)
+            ghosts.add(1, i);
+
+        ghosts = new PageReplacementGhostTable(MAX_SLOTS_CNT, region.address());
+
+        for (int i = 0; i < MAX_SLOTS_CNT; i++)
+            assertFalse(ghosts.remove(1, i));
+    }
+}
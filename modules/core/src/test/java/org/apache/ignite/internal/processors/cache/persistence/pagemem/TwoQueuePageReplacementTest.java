@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import javax.cache.Cache;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cluster.ClusterState.ACTIVE;
+import static org.apache.ignite.configuration.PageReplacementMode.TWO_QUEUE;
+import static org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl.DATAREGION_METRICS_PREFIX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Checks page replacement with {@link org.apache.ignite.configuration.PageReplacementMode#TWO_QUEUE} mode.
+ */
+public class TwoQueuePageReplacementTest extends GridCommonAbstractTest {
+    /** */
+    private static final String REGION_NAME = "2q";
+
+    /** */
+    private static final long REGION_SIZE = 64L * 1024 * 1024;
+
+    /** */
+    private static final int ENTRIES_CNT = 50_000;
+
+    /** */
+    private static final int HOT_ENTRIES_CNT = 100;
+
+    /** */
+    private static final int VAL_SIZE = 2048;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        DataStorageConfiguration dsCfg = new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setName(REGION_NAME)
+                .setMaxSize(REGION_SIZE)
+                .setPersistenceEnabled(true)
+                .setMetricsEnabled(true)
+                .setPageReplacementMode(TWO_QUEUE));
+
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(dsCfg)
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testScansWithHotEntries() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < ENTRIES_CNT; i++)
+            cache.put(i, value(i));
+
+        for (int pass = 0; pass < 2; pass++) {
+            int scanned = 0;
+
+            try (QueryCursor<Cache.Entry<Integer, byte[]>> cur = cache.query(new ScanQuery<>())) {
+                for (Cache.Entry<Integer, byte[]> e : cur) {
+                    assertArrayEquals(value(e.getKey()), e.getValue());
+
+                    if (++scanned % 1000 == 0)
+                        checkHotEntries(cache);
+                }
+            }
+
+            assertEquals(ENTRIES_CNT, scanned);
+        }
+
+        forceCheckpoint(ignite);
+
+        for (int i = 0; i < ENTRIES_CNT; i++)
+            assertArrayEquals(value(i), cache.get(i));
+
+        MetricRegistry mreg = ignite.context().metric().registry(metricName(DATAREGION_METRICS_PREFIX, REGION_NAME));
+
+        assertTrue(mreg.<LongMetric>findMetric("PagesReplaced").value() > 0);
+        assertTrue(mreg.<LongMetric>findMetric("PagesRead").value() > 0);
+        assertTrue(mreg.<LongMetric>findMetric("PagesHit").value() > 0);
+    }
+
+    /**
+     * @param cache Cache.
+     */
+    private void checkHotEntries(IgniteCache<Integer, byte[]> cache) {
+        for (int i = 0; i < HOT_ENTRIES_CNT; i++)
+            assertArrayEquals(value(i), cache.get(i));
+    }
+
+    /**
+     * @param key Key.
+     * @return Value.
+     */
+    private static byte[] value(int key) {
+        byte[] val = new byte[VAL_SIZE];
+
+        val[0] = (byte)key;
+        val[VAL_SIZE - 1] = (byte)(key >> 8);
+
+        return val;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.tree;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ExpiryBuckets}.
+ */
+public class ExpiryBucketsTest extends GridCommonAbstractTest {
+    /** */
+    private static final long BUCKET_SIZE = 100;
+
+    /**
+     *
+     */
+    @Test
+    public void testCounts() {
+        ExpiryBuckets buckets = new ExpiryBuckets(BUCKET_SIZE);
+
+        assertEquals(Long.MAX_VALUE, buckets.nextExpireTime());
+
+        buckets.onAdd(1050);
+        buckets.onAdd(1099);
+        buckets.onAdd(1100);
+        buckets.onAdd(5000);
+
+        assertEquals(4, buckets.size());
+        assertEquals(3, buckets.buckets());
+        assertEquals(1000, buckets.nextExpireTime());
+
+        assertEquals(0, buckets.dueCount(999));
+        assertEquals(2, buckets.dueCount(1000));
+        assertEquals(3, buckets.dueCount(1150));
+        assertEquals(4, buckets.dueCount(6000));
+
+        buckets.onRemove(1050);
+
+        assertEquals(1000, buckets.nextExpireTime());
+
+        buckets.onRemove(1099);
+
+        assertEquals(1100, buckets.nextExpireTime());
+        assertEquals(2, buckets.buckets());
+
+        buckets.onRemove(1100);
+        buckets.onRemove(5000);
+
+        assertEquals(Long.MAX_VALUE, buckets.nextExpireTime());
+        assertEquals(0, buckets.size());
+        assertEquals(0, buckets.buckets());
+
+        // Removal of an entry which wasn't counted is ignored.
+        buckets.onRemove(5000);
+
+        buckets.onAdd(5000);
+
+        assertEquals(1, buckets.size());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRestore() throws Exception {
+        ExpiryBuckets buckets = new ExpiryBuckets(BUCKET_SIZE, false);
+
+        // Scans are never skipped until the counts are restored.
+        assertEquals(Long.MIN_VALUE, buckets.nextExpireTime());
+
+        // Both updates are made while the tree is scanned, they may be seen by the scan or not.
+        buckets.onAdd(1050);
+        buckets.onRemove(2050);
+
+        buckets.restore(cursor(1050, 2050, 3050));
+
+        assertTrue(buckets.restored());
+        assertEquals(1000, buckets.nextExpireTime());
+        assertEquals(4, buckets.size());
+
+        // Expired entry is removed by the purge.
+        buckets.onRemove(1050);
+
+        // Overestimates of the previous bucket are kept, since it may still get entries.
+        buckets.onPurged(2150);
+
+        assertEquals(2000, buckets.nextExpireTime());
+
+        buckets.onPurged(2250);
+
+        assertEquals(3000, buckets.nextExpireTime());
+        assertEquals(1, buckets.size());
+        assertEquals(1, buckets.buckets());
+    }
+
+    /**
+     * @param expireTimes Expire times of rows.
+     * @return Cursor over rows with the given expire times.
+     */
+    private static GridCursor<PendingRow> cursor(long... expireTimes) {
+        return new GridCursor<PendingRow>() {
+            /** */
+            private int idx = -1;
+
+            /** {@inheritDoc} */
+            @Override public boolean next() {
+                return ++idx < expireTimes.length;
+            }
+
+            /** {@inheritDoc} */
+            @Override public PendingRow get() {
+                return new PendingRow(CU.UNDEFINED_CACHE_ID, expireTimes[idx], idx + 1);
+            }
+        };
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        ExpiryBuckets buckets = new ExpiryBuckets(BUCKET_SIZE);
+
+        buckets.onAdd(100_000);
+
+        GridTestUtils.runMultiThreaded(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            for (int i = 0; i < 100_000; i++) {
+                long expireTime = rnd.nextLong(10 * BUCKET_SIZE);
+
+                buckets.onAdd(expireTime);
+                buckets.onRemove(expireTime);
+            }
+        }, 8, "expiry-buckets");
+
+        assertEquals(1, buckets.size());
+        assertEquals(1, buckets.buckets());
+        assertEquals(100_000, buckets.nextExpireTime());
+    }
+}
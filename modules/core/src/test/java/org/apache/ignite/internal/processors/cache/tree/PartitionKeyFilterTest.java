@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.tree;
+
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests for {@link PartitionKeyFilter}.
+ */
+public class PartitionKeyFilterTest extends GridCommonAbstractTest {
+    /** */
+    private static final int KEYS = 100_000;
+
+    /**
+     *
+     */
+    @Test
+    public void testNoFalseNegatives() {
+        PartitionKeyFilter filter = new PartitionKeyFilter(KEYS, 10);
+
+        for (int i = 0; i < KEYS; i++)
+            filter.add(Integer.valueOf(i).hashCode());
+
+        for (int i = 0; i < KEYS; i++)
+            assertTrue(filter.mightContain(Integer.valueOf(i).hashCode()));
+
+        assertFalse(filter.saturated());
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testFalsePositiveRate() {
+        PartitionKeyFilter filter = new PartitionKeyFilter(KEYS, 10);
+
+        for (int i = 0; i < KEYS; i++)
+            filter.add(i);
+
+        int falsePositives = 0;
+
+        for (int i = KEYS; i < 2 * KEYS; i++) {
+            if (filter.mightContain(i))
+                falsePositives++;
+        }
+
+        double rate = (double)falsePositives / KEYS;
+
+        assertTrue("rate=" + rate, rate < 0.05);
+        assertTrue("estimated=" + filter.falsePositiveRate(), filter.falsePositiveRate() < 0.05);
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testSaturated() {
+        PartitionKeyFilter filter = new PartitionKeyFilter(1, 10);
+
+        assertFalse(filter.mightContain(1));
+        assertEquals(1 << 10, filter.sizeInBytes());
+
+        for (int i = 0; i < KEYS; i++)
+            filter.add(i);
+
+        assertTrue(filter.saturated());
+    }
+}
@@ -46,6 +46,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Predicate;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.DataRegionConfiguration;
 import org.apache.ignite.failure.FailureContext;
 import org.apache.ignite.internal.IgniteInternalFuture;
@@ -76,14 +77,17 @@ import org.apache.ignite.internal.util.lang.GridCursor;
 import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.internal.util.typedef.internal.SB;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteClosure;
 import org.apache.ignite.testframework.GridTestUtils;
 import org.apache.ignite.testframework.junits.GridTestKernalContext;
 import org.apache.ignite.testframework.junits.WithSystemProperty;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
 import org.jetbrains.annotations.Nullable;
 import org.jsr166.ConcurrentLinkedHashMap;
+import org.junit.Assume;
 import org.junit.Test;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_PAGE_LOCK_TRACKER_CHECK_INTERVAL;
 import static org.apache.ignite.internal.pagemem.PageIdUtils.effectivePageId;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.rnd;
@@ -129,6 +133,9 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
     /** Forces printing lock/unlock events on the test tree */
     private static boolean PRINT_LOCKS = false;
 
+    /** Enables optimistic reads of inner pages in the test tree. */
+    protected static boolean OPTIMISTIC_READS = false;
+
     /** */
     protected PageMemory pageMem;
 
@@ -238,6 +245,7 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
             PUT_INC = 1;
             RMV_INC = -1;
             CNT = 10;
+            OPTIMISTIC_READS = false;
         }
     }
 
@@ -909,6 +917,158 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
         }
     }
 
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testRandomInvokeAll_1_30_1() throws IgniteCheckedException {
+        MAX_PER_PAGE = 1;
+        CNT = 30;
+
+        doTestRandomInvokeAll(true);
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testRandomInvokeAll_1_30_0() throws IgniteCheckedException {
+        MAX_PER_PAGE = 1;
+        CNT = 30;
+
+        doTestRandomInvokeAll(false);
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testRandomInvokeAll_0_3000_1() throws IgniteCheckedException {
+        MAX_PER_PAGE = 0;
+        CNT = 3000;
+
+        doTestRandomInvokeAll(true);
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testRandomInvokeAll_0_3000_0() throws IgniteCheckedException {
+        MAX_PER_PAGE = 0;
+        CNT = 3000;
+
+        doTestRandomInvokeAll(false);
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testRandomInvokeBatchOneByOne_0_3000_1() throws IgniteCheckedException {
+        MAX_PER_PAGE = 0;
+        CNT = 3000;
+
+        doTestRandomInvokeAll(true, true);
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testRandomInvokeBatchOneByOne_0_3000_0() throws IgniteCheckedException {
+        MAX_PER_PAGE = 0;
+        CNT = 3000;
+
+        doTestRandomInvokeAll(false, true);
+    }
+
+    /**
+     * @param canGetRow Can get row from inner page.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void doTestRandomInvokeAll(boolean canGetRow) throws IgniteCheckedException {
+        doTestRandomInvokeAll(canGetRow, false);
+    }
+
+    /**
+     * @param canGetRow Can get row from inner page.
+     * @param oneByOne Pass the rows of a batch one by one with the leaf reached by the previous row.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void doTestRandomInvokeAll(boolean canGetRow, boolean oneByOne) throws IgniteCheckedException {
+        TestTree tree = createTestTree(canGetRow);
+
+        Map<Long, Long> map = new HashMap<>();
+
+        int loops = reuseList == null ? 300 : 1000;
+
+        for (int i = 0; i < loops; i++) {
+            TreeSet<Long> batch = new TreeSet<>();
+
+            long start = BPlusTree.randomInt(CNT);
+            int len = 1 + BPlusTree.randomInt(Math.max(1, CNT / 5));
+
+            for (long x = start; x < start + len; x++) {
+                if (BPlusTree.randomInt(3) != 0)
+                    batch.add(x);
+            }
+
+            final int rnd = BPlusTree.randomInt(3);
+
+            // Update map: put missing keys, remove present keys on odd rounds, replace them on even ones.
+            for (Long x : batch) {
+                if (!map.containsKey(x))
+                    map.put(x, x);
+                else if (rnd == 1)
+                    map.remove(x);
+            }
+
+            // Consistently update tree.
+            IgniteClosure<Long, IgniteTree.InvokeClosure<Long>> cloFactory = x -> new IgniteTree.InvokeClosure<Long>() {
+                IgniteTree.OperationType op;
+
+                Long newRow;
+
+                @Override public void call(@Nullable Long row) {
+                    if (row == null) {
+                        op = PUT;
+                        newRow = x;
+                    }
+                    else {
+                        assertEquals(x, row);
+
+                        op = rnd == 1 ? REMOVE : rnd == 2 ? NOOP : PUT;
+                        newRow = op == PUT ? x : null;
+                    }
+                }
+
+                @Override public Long newRow() {
+                    return newRow;
+                }
+
+                @Override public IgniteTree.OperationType operationType() {
+                    return op;
+                }
+            };
+
+            if (oneByOne) {
+                long leafId = 0L;
+
+                for (Long x : batch)
+                    leafId = tree.invoke(x, null, cloFactory.apply(x), leafId);
+            }
+            else
+                tree.invokeAll(batch.iterator(), null, cloFactory);
+
+            assertNoLocks();
+
+            tree.validateTree();
+
+            assertEqualContents(tree, map);
+        }
+    }
+
     /**
      * @throws IgniteCheckedException If failed.
      */
@@ -2257,6 +2417,67 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
             checkIterate(tree, idx, 11L, -1L, false);
     }
 
+    /**
+     * Checks that lookups with optimistic reads of inner pages find all the rows that are not modified
+     * concurrently, while the tree is being split and merged.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOptimisticReadsConcurrentPutRemove() throws Exception {
+        Assume.assumeTrue("Page versions are disabled",
+            IgniteSystemProperties.getBoolean(IGNITE_BPLUS_TREE_OPTIMISTIC_READS));
+
+        OPTIMISTIC_READS = true;
+        MAX_PER_PAGE = 4;
+
+        TestTree tree = createTestTree(true);
+
+        final long keys = 10_000;
+
+        // Even keys are stable, odd ones are put and removed concurrently.
+        for (long k = 0; k < keys; k += 2)
+            tree.put(k);
+
+        IgniteInternalFuture<?> fut = multithreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                long k = rnd.nextLong(keys / 2) * 2 + 1;
+
+                if (rnd.nextBoolean())
+                    tree.put(k);
+                else
+                    tree.remove(k);
+            }
+
+            return null;
+        }, 4, "put-remove");
+
+        try {
+            multithreaded(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+                for (int i = 0; i < 100_000; i++) {
+                    long k = rnd.nextLong(keys / 2) * 2;
+
+                    assertEquals(k, tree.findOne(k).longValue());
+                }
+
+                return null;
+            }, 4, "find");
+        }
+        finally {
+            stop.set(true);
+
+            fut.get();
+        }
+
+        tree.validateTree();
+
+        assertNoLocks();
+    }
+
     /**
      * @throws Exception If failed.
      */
@@ -2805,6 +3026,12 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
             return Long.compare(n1, n2);
         }
 
+        /** {@inheritDoc} */
+        @Override protected int compareInline(BPlusIO<Long> io, long pageAddr, int idx, Long n2)
+            throws IgniteCheckedException {
+            return compare(io, pageAddr, idx, n2);
+        }
+
         /** {@inheritDoc} */
         @Override public Long getRow(BPlusIO<Long> io, long pageAddr, int idx, Object ignore)
             throws IgniteCheckedException {
@@ -2813,6 +3040,11 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
             return io.getLookupRow(this, pageAddr, idx);
         }
 
+        /** {@inheritDoc} */
+        @Override protected boolean optimisticReads() {
+            return OPTIMISTIC_READS;
+        }
+
         /**
          * @return Thread ID.
          */
@@ -151,4 +151,59 @@ public class GridConcurrentMultiPairQueueTest extends GridCommonAbstractTest {
 
         assertTrue(queue2.initialSize() == arr1.length + arr2.length + arr3.length + arr4.length);
     }
+
+    /** */
+    @Test
+    public void testGridConcurrentMultiPairQueueBatchedNext() throws Exception {
+        GridTestUtils.runMultiThreaded(() -> {
+            GridConcurrentMultiPairQueue.Result<Integer, Integer> res =
+                new GridConcurrentMultiPairQueue.Result<>();
+
+            while (queue.next(res, 3)) {
+                assertTrue(mapForCheck.containsKey(res.getKey()));
+
+                assertTrue(mapForCheck.get(res.getKey()).remove(res.getValue()));
+
+                Collection<Integer> coll = mapForCheck.get(res.getKey());
+
+                if (coll != null && coll.isEmpty())
+                    mapForCheck.remove(res.getKey(), coll);
+            }
+        }, ThreadLocalRandom.current().nextInt(1, 20), "GridConcurrentMultiPairQueue batched test");
+
+        assertTrue(mapForCheck.isEmpty());
+
+        assertTrue(queue.isEmpty());
+
+        Integer[] vals = new Integer[10];
+
+        for (int i = 0; i < vals.length; i++)
+            vals[i] = i;
+
+        GridConcurrentMultiPairQueue<Integer, Integer> q =
+            new GridConcurrentMultiPairQueue<>(Collections.singleton(new T2<>(1, vals)));
+
+        GridConcurrentMultiPairQueue.Result<Integer, Integer> res1 = new GridConcurrentMultiPairQueue.Result<>();
+        GridConcurrentMultiPairQueue.Result<Integer, Integer> res2 = new GridConcurrentMultiPairQueue.Result<>();
+
+        // Every holder gets a run of adjacent values even if calls are interleaved.
+        for (int i = 0; i < 4; i++) {
+            assertTrue(q.next(res1, 4));
+            assertEquals(i, (int)res1.getValue());
+
+            assertTrue(q.next(res2, 4));
+            assertEquals(4 + i, (int)res2.getValue());
+        }
+
+        assertTrue(q.next(res2, 4));
+        assertEquals(8, (int)res2.getValue());
+
+        assertTrue(q.next(res2, 4));
+        assertEquals(9, (int)res2.getValue());
+
+        assertFalse(q.next(res2, 4));
+        assertFalse(q.next(res1, 4));
+
+        assertTrue(q.isEmpty());
+    }
 }
@@ -1213,6 +1213,9 @@ public class CommandProcessor {
             res.setPreserveKeysOrder(true);
         }
 
+        if (createTbl.columnar())
+            res.setColumnar(true);
+
         if (!createTbl.wrapValue()) {
             GridSqlColumn valCol = null;
 
@@ -44,6 +44,7 @@ import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.CacheServerNotFoundException;
+import org.apache.ignite.cache.QueryEntity;
 import org.apache.ignite.cache.query.FieldsQueryCursor;
 import org.apache.ignite.cache.query.QueryCancelledException;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
@@ -105,6 +106,7 @@ import org.apache.ignite.internal.processors.query.GridQueryProperty;
 import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
 import org.apache.ignite.internal.processors.query.GridRunningQueryInfo;
 import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.QueryEntityEx;
 import org.apache.ignite.internal.processors.query.QueryField;
 import org.apache.ignite.internal.processors.query.QueryIndexDescriptorImpl;
 import org.apache.ignite.internal.processors.query.QueryUtils;
@@ -114,6 +116,7 @@ import org.apache.ignite.internal.processors.query.TableInformation;
 import org.apache.ignite.internal.processors.query.UpdateSourceIterator;
 import org.apache.ignite.internal.processors.query.h2.affinity.H2PartitionResolver;
 import org.apache.ignite.internal.processors.query.h2.affinity.PartitionExtractor;
+import org.apache.ignite.internal.processors.query.h2.columnar.ColumnarManager;
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeClientIndex;
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex;
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndexBase;
@@ -324,6 +327,9 @@ public class IgniteH2Indexing implements GridQueryIndexing {
     /** Functions manager. */
     private FunctionsManager funcMgr;
 
+    /** Columnar replicas manager. */
+    private ColumnarManager columnarMgr;
+
     /**
      * @return Kernal context.
      */
@@ -1342,6 +1348,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
             int timeout = operationTimeout(qryParams.timeout(), tx);
 
             Iterable<List<?>> iter = executeSelect0(
+                qryId,
                 qryDesc,
                 qryParams,
                 select,
@@ -1404,6 +1411,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         assert select != null;
 
         Iterable<List<?>> iter = executeSelect0(
+            null,
             parseRes.queryDescriptor(),
             parseRes.queryParameters(),
             select,
@@ -1426,6 +1434,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
     /**
      * Execute an all-ready {@link SqlFieldsQuery}.
      *
+     * @param qryId Running query ID, {@code null} if the query isn't registered.
      * @param qryDesc Plan key.
      * @param qryParams Parameters.
      * @param select Select.
@@ -1438,6 +1447,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
      * @throws IgniteCheckedException On error.
      */
     private Iterable<List<?>> executeSelect0(
+        @Nullable Long qryId,
         QueryDescriptor qryDesc,
         QueryParameters qryParams,
         QueryParserResultSelect select,
@@ -1463,6 +1473,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
             assert twoStepQry != null;
 
             iter = executeSelectDistributed(
+                qryId,
                 qryDesc,
                 qryParams,
                 twoStepQry,
@@ -1753,6 +1764,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
     /**
      * Run distributed query on detected set of partitions.
      *
+     * @param qryId Running query ID, {@code null} if the query isn't registered.
      * @param qryDesc Query descriptor.
      * @param qryParams Query parameters.
      * @param twoStepQry Two-step query.
@@ -1764,6 +1776,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
      */
     @SuppressWarnings("IfMayBeConditional")
     private Iterable<List<?>> executeSelectDistributed(
+        @Nullable Long qryId,
         final QueryDescriptor qryDesc,
         final QueryParameters qryParams,
         final GridCacheTwoStepQuery twoStepQry,
@@ -1818,7 +1831,8 @@ public class IgniteH2Indexing implements GridQueryIndexing {
                             qryParams.lazy(),
                             mvccTracker,
                             qryParams.dataPageScanEnabled(),
-                            qryParams.pageSize()
+                            qryParams.pageSize(),
+                            qryId
                         );
                     }
                     catch (Throwable e) {
@@ -1885,9 +1899,32 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         validateTypeDescriptor(type);
         schemaMgr.onCacheTypeCreated(cacheInfo, this, type, isSql);
 
+        if (cacheInfo.affinityNode() && columnar(cacheInfo, type))
+            columnarMgr.onColumnarTableCreated(schemaMgr.schemaName(cacheInfo.name()), type.tableName());
+
         return true;
     }
 
+    /**
+     * @param cacheInfo Cache context info.
+     * @param type Type description.
+     * @return {@code True} if the table of the type was created with a columnar replica.
+     */
+    private static boolean columnar(GridCacheContextInfo cacheInfo, GridQueryTypeDescriptor type) {
+        Collection<QueryEntity> entities = cacheInfo.config().getQueryEntities();
+
+        if (F.isEmpty(entities))
+            return false;
+
+        for (QueryEntity entity : entities) {
+            if (entity instanceof QueryEntityEx && ((QueryEntityEx)entity).isColumnar() &&
+                F.eq(entity.getTableName(), type.tableName()))
+                return true;
+        }
+
+        return false;
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheContextInfo registeredCacheInfo(String cacheName) {
         for (H2TableDescriptor tbl : schemaMgr.tablesForCache(cacheName)) {
@@ -2052,6 +2089,8 @@ public class IgniteH2Indexing implements GridQueryIndexing {
 
             tblDesc.table().markRebuildFromHashInProgress(val);
         }
+
+        schemaMgr.incrementVersion();
     }
 
     /**
@@ -2147,6 +2186,8 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         distrCfg = new DistributedSqlConfiguration(ctx, log);
 
         funcMgr = new FunctionsManager(distrCfg);
+
+        columnarMgr = new ColumnarManager(ctx, this);
     }
 
     /**
@@ -2331,6 +2372,8 @@ public class IgniteH2Indexing implements GridQueryIndexing {
 
         qryCtxRegistry.clearSharedOnLocalNodeStop();
 
+        columnarMgr.stop();
+
         runningQryMgr.stop();
         schemaMgr.stop();
         longRunningQryMgr.stop();
@@ -3064,6 +3107,13 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         return idx == null ? 0 : idx.size();
     }
 
+    /**
+     * @return Columnar replicas manager.
+     */
+    public ColumnarManager columnarManager() {
+        return columnarMgr;
+    }
+
     /**
      * @return Distributed SQL configuration.
      */
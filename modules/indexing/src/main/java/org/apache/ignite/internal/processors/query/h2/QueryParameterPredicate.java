@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperationType;
+import org.apache.ignite.internal.processors.query.stat.ColumnStatistics;
+import org.apache.ignite.internal.processors.query.stat.ObjectStatistics;
+import org.apache.ignite.internal.processors.query.stat.ObjectStatisticsImpl;
+import org.apache.ignite.internal.processors.query.stat.StatisticsKey;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.h2.message.DbException;
+import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Comparison of an indexed column of a table with a positional query parameter. Selectivity of such a predicate
+ * is known only when the parameter is bound, so it is used to choose a plan variant of a cached query by local
+ * statistics of the column.
+ */
+public class QueryParameterPredicate {
+    /** Selectivity which cannot be estimated. */
+    public static final double UNKNOWN = -1;
+
+    /** Schema name. */
+    private final String schemaName;
+
+    /** Table name. */
+    private final String tblName;
+
+    /** Column name. */
+    private final String colName;
+
+    /** H2 type of the column. */
+    private final int colType;
+
+    /** Comparison with the column on the left side. */
+    private final GridSqlOperationType op;
+
+    /** Index of the parameter. */
+    private final int paramIdx;
+
+    /**
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @param colName Column name.
+     * @param colType H2 type of the column.
+     * @param op Comparison with the column on the left side.
+     * @param paramIdx Index of the parameter.
+     */
+    public QueryParameterPredicate(String schemaName, String tblName, String colName, int colType,
+        GridSqlOperationType op, int paramIdx) {
+        assert isComparison(op) : op;
+
+        this.schemaName = schemaName;
+        this.tblName = tblName;
+        this.colName = colName;
+        this.colType = colType;
+        this.op = op;
+        this.paramIdx = paramIdx;
+    }
+
+    /**
+     * @param op Operation type.
+     * @return {@code True} if selectivity of comparison of a column with a parameter by the operation is estimated.
+     */
+    public static boolean isComparison(GridSqlOperationType op) {
+        switch (op) {
+            case EQUAL:
+            case SMALLER:
+            case SMALLER_EQUAL:
+            case BIGGER:
+            case BIGGER_EQUAL:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param op Comparison of a parameter with a column.
+     * @return The same comparison of the column with the parameter.
+     */
+    public static GridSqlOperationType swap(GridSqlOperationType op) {
+        switch (op) {
+            case SMALLER:
+                return GridSqlOperationType.BIGGER;
+
+            case SMALLER_EQUAL:
+                return GridSqlOperationType.BIGGER_EQUAL;
+
+            case BIGGER:
+                return GridSqlOperationType.SMALLER;
+
+            case BIGGER_EQUAL:
+                return GridSqlOperationType.SMALLER_EQUAL;
+
+            default:
+                return op;
+        }
+    }
+
+    /**
+     * Estimates the fraction of rows of a table matched by a conjunction of predicates over its columns. Predicates
+     * over the same column are combined to a range of values, and the fraction of the most selective column is
+     * returned, since it is the column the plan of the query may look up by an index.
+     *
+     * @param idx Indexing.
+     * @param preds Predicates over columns of a single table.
+     * @param args Query parameters.
+     * @return Fraction of rows from {@code 0} to {@code 1} or {@link #UNKNOWN} if the predicates can't be estimated.
+     */
+    public static double selectivity(IgniteH2Indexing idx, List<QueryParameterPredicate> preds,
+        @Nullable Object[] args) {
+        if (preds.isEmpty() || args == null)
+            return UNKNOWN;
+
+        QueryParameterPredicate first = preds.get(0);
+
+        ObjectStatistics stats = idx.statsManager().getLocalStatistics(
+            new StatisticsKey(first.schemaName, first.tblName));
+
+        if (!(stats instanceof ObjectStatisticsImpl))
+            return UNKNOWN;
+
+        double res = 1;
+
+        for (int i = 0; i < preds.size(); i++) {
+            String colName = preds.get(i).colName;
+
+            boolean seen = false;
+
+            for (int j = 0; j < i && !seen; j++)
+                seen = colName.equals(preds.get(j).colName);
+
+            if (seen)
+                continue;
+
+            double colRes = columnSelectivity(idx, ((ObjectStatisticsImpl)stats).columnStatistics(colName),
+                preds, colName, args);
+
+            // Any column may be selective enough to be looked up by index.
+            if (colRes == UNKNOWN)
+                return UNKNOWN;
+
+            res = Math.min(res, colRes);
+        }
+
+        return res;
+    }
+
+    /**
+     * @param idx Indexing.
+     * @param colStats Column statistics.
+     * @param preds Predicates.
+     * @param colName Name of the column.
+     * @param args Query parameters.
+     * @return Fraction of rows matched by predicates over the column or {@link #UNKNOWN}.
+     */
+    private static double columnSelectivity(IgniteH2Indexing idx, @Nullable ColumnStatistics colStats,
+        List<QueryParameterPredicate> preds, String colName, Object[] args) {
+        if (colStats == null || colStats.total() <= 0)
+            return UNKNOWN;
+
+        // Comparisons never match nulls.
+        if (colStats.min() == null || colStats.max() == null)
+            return 0;
+
+        double notNull = (double)(colStats.total() - colStats.nulls()) / colStats.total();
+
+        BigDecimal min = comparable(colStats.min());
+        BigDecimal max = comparable(colStats.max());
+
+        BigDecimal lo = min;
+        BigDecimal hi = max;
+
+        boolean eq = false;
+
+        for (QueryParameterPredicate pred : preds) {
+            if (!colName.equals(pred.colName))
+                continue;
+
+            if (pred.paramIdx >= args.length || args[pred.paramIdx] == null)
+                return UNKNOWN;
+
+            BigDecimal val = comparable(idx, args[pred.paramIdx], pred.colType);
+
+            if (pred.op == GridSqlOperationType.EQUAL)
+                eq = true;
+
+            // Only the number of distinct values is known for non-numeric columns.
+            if (val == null || min == null || max == null) {
+                if (pred.op == GridSqlOperationType.EQUAL)
+                    continue;
+
+                return UNKNOWN;
+            }
+
+            if (pred.op != GridSqlOperationType.SMALLER && pred.op != GridSqlOperationType.SMALLER_EQUAL)
+                lo = lo.max(val);
+
+            if (pred.op != GridSqlOperationType.BIGGER && pred.op != GridSqlOperationType.BIGGER_EQUAL)
+                hi = hi.min(val);
+        }
+
+        if (lo != null && hi != null && lo.compareTo(hi) > 0)
+            return 0;
+
+        if (eq)
+            return notNull / Math.max(colStats.distinct(), 1);
+
+        BigDecimal total = max.subtract(min);
+
+        if (total.signum() == 0)
+            return notNull;
+
+        return notNull * Math.min(1, hi.subtract(lo).doubleValue() / total.doubleValue());
+    }
+
+    /**
+     * @param idx Indexing.
+     * @param arg Query parameter.
+     * @param type H2 type of the column.
+     * @return Comparable form of the parameter converted to the type of the column or {@code null}.
+     */
+    @Nullable private static BigDecimal comparable(IgniteH2Indexing idx, Object arg, int type) {
+        try {
+            return comparable(H2Utils.wrap(idx.objectContext(), arg, type));
+        }
+        catch (IgniteCheckedException | DbException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param val Value.
+     * @return Comparable form of a numeric or date and time value or {@code null} for values of other types.
+     */
+    @Nullable private static BigDecimal comparable(Value val) {
+        try {
+            switch (val.getType()) {
+                case Value.BYTE:
+                case Value.SHORT:
+                case Value.INT:
+                case Value.LONG:
+                case Value.DECIMAL:
+                case Value.DOUBLE:
+                case Value.FLOAT:
+                    return val.getBigDecimal();
+
+                case Value.DATE:
+                    return BigDecimal.valueOf(val.getDate().getTime());
+
+                case Value.TIME:
+                    return BigDecimal.valueOf(val.getTime().getTime());
+
+                case Value.TIMESTAMP:
+                    return BigDecimal.valueOf(val.getTimestamp().getTime());
+
+                default:
+                    return null;
+            }
+        }
+        catch (DbException | NumberFormatException e) {
+            // Infinite and NaN values.
+            return null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(QueryParameterPredicate.class, this);
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.query.h2;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -47,7 +48,11 @@ import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
 import org.apache.ignite.internal.processors.query.h2.opt.QueryContext;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAlias;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAst;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlColumn;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlInsert;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperation;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperationType;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlParameter;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlQuery;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlQueryParser;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlQuerySplitter;
@@ -80,12 +85,15 @@ import org.apache.ignite.internal.sql.command.SqlKillTransactionCommand;
 import org.apache.ignite.internal.sql.command.SqlRefreshStatitsicsCommand;
 import org.apache.ignite.internal.sql.command.SqlRollbackTransactionCommand;
 import org.apache.ignite.internal.sql.command.SqlSetStreamingCommand;
-import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.h2.command.Prepared;
+import org.h2.index.Index;
+import org.h2.table.Column;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_PLAN_CACHE_MAX_MEMORY;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_PLAN_CACHE_SIZE;
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlQuerySplitter.keyColumn;
 import static org.apache.ignite.internal.processors.tracing.SpanTags.SQL_PARSER_CACHE_HIT;
 import static org.apache.ignite.internal.processors.tracing.SpanType.SQL_QRY_PARSE;
@@ -97,6 +105,15 @@ public class QueryParser {
     /** */
     private static final int CACHE_SIZE = 1024;
 
+    /** Default maximum estimated size of the cache in bytes. */
+    private static final long DFLT_CACHE_MAX_MEMORY = 32 * 1024 * 1024;
+
+    /**
+     * Fraction of rows of a table selected by comparisons with parameters starting from which the table is scanned
+     * instead of looked up by an index.
+     */
+    private static final double SCAN_SELECTIVITY = 0.3;
+
     /** A pattern for commands having internal implementation in Ignite. */
     private static final Pattern INTERNAL_CMD_RE = Pattern.compile(
         "^(create|drop)\\s+index|^analyze\\s|^refresh\\sstatistics|^drop\\sstatistics|^alter\\s+table|^copy" +
@@ -116,9 +133,8 @@ public class QueryParser {
     /** Query parser metrics holder. */
     private final QueryParserMetricsHolder metricsHolder;
 
-    /** */
-    private volatile GridBoundedConcurrentLinkedHashMap<QueryDescriptor, QueryParserCacheEntry> cache =
-        new GridBoundedConcurrentLinkedHashMap<>(CACHE_SIZE);
+    /** Node-wide cache of parsed queries. */
+    private final QueryPlanCache cache;
 
     /**
      * Constructor.
@@ -132,6 +148,13 @@ public class QueryParser {
 
         this.log = idx.kernalContext().log(QueryParser.class);
         this.metricsHolder = new QueryParserMetricsHolder(idx.kernalContext().metric());
+
+        cache = new QueryPlanCache(
+            metricsHolder,
+            () -> idx.schemaManager().version(),
+            IgniteSystemProperties.getInteger(IGNITE_SQL_PLAN_CACHE_SIZE, CACHE_SIZE),
+            IgniteSystemProperties.getLong(IGNITE_SQL_PLAN_CACHE_MAX_MEMORY, DFLT_CACHE_MAX_MEMORY)
+        );
     }
 
     /**
@@ -204,44 +227,100 @@ public class QueryParser {
     private QueryParserResult parse0(String schemaName, SqlFieldsQuery qry, boolean remainingAllowed) {
         QueryDescriptor qryDesc = queryDescriptor(schemaName, qry);
 
-        QueryParserCacheEntry cached = cache.get(qryDesc);
+        QueryPlanCache.Key key = cache.key(qryDesc, QueryPlanCache.Variant.DEFAULT);
 
-        if (cached != null) {
-            metricsHolder.countCacheHit();
+        QueryParserCacheEntry cached = cache.get(key);
 
-            MTC.span().addTag(SQL_PARSER_CACHE_HIT, () -> "true");
+        // A query is counted once, as a miss if any of its plan variants is parsed.
+        boolean hit = cached != null;
 
-            return new QueryParserResult(
-                qryDesc,
-                queryParameters(qry),
-                null,
-                cached.parametersMeta(),
-                cached.select(),
-                cached.dml(),
-                cached.command()
-            );
+        if (!hit) {
+            countCacheMiss();
+
+            // Try parsing as native command.
+            QueryParserResult parseRes = parseNative(schemaName, qry, remainingAllowed);
+
+            // Otherwise parse with H2.
+            if (parseRes == null)
+                parseRes = parseH2(schemaName, qry, qryDesc.batched(), remainingAllowed, false);
+
+            // Multi-statement queries are not cached.
+            if (parseRes.remainingQuery() != null)
+                return parseRes;
+
+            cached = new QueryParserCacheEntry(parseRes.parametersMeta(), parseRes.select(), parseRes.dml(), parseRes.command());
+
+            cache.put(key, cached);
+
+            if (cached.select() == null || cached.select().parameterPredicates().isEmpty())
+                return parseRes;
         }
 
-        metricsHolder.countCacheMiss();
+        QueryPlanCache.Variant variant = planVariant(cached, qry);
 
-        MTC.span().addTag(SQL_PARSER_CACHE_HIT, () -> "false");
+        if (variant != QueryPlanCache.Variant.DEFAULT) {
+            QueryPlanCache.Key variantKey = key.variant(variant);
 
-        // Try parsing as native command.
-        QueryParserResult parseRes = parseNative(schemaName, qry, remainingAllowed);
+            QueryParserCacheEntry variantCached = cache.get(variantKey);
 
-        // Otherwise parse with H2.
-        if (parseRes == null)
-            parseRes = parseH2(schemaName, qry, qryDesc.batched(), remainingAllowed);
+            if (variantCached == null) {
+                if (hit)
+                    countCacheMiss();
 
-        // Add to cache if not multi-statement.
-        if (parseRes.remainingQuery() == null) {
-            cached = new QueryParserCacheEntry(parseRes.parametersMeta(), parseRes.select(), parseRes.dml(), parseRes.command());
+                hit = false;
+
+                QueryParserResult parseRes = parseH2(schemaName, qry, qryDesc.batched(), remainingAllowed, true);
 
-            cache.put(qryDesc, cached);
+                variantCached = new QueryParserCacheEntry(parseRes.parametersMeta(), parseRes.select(), null, null);
+
+                cache.put(variantKey, variantCached);
+            }
+
+            cached = variantCached;
+        }
+
+        if (hit) {
+            metricsHolder.countCacheHit();
+
+            MTC.span().addTag(SQL_PARSER_CACHE_HIT, () -> "true");
         }
 
-        // Done.
-        return parseRes;
+        return new QueryParserResult(
+            qryDesc,
+            queryParameters(qry),
+            null,
+            cached.parametersMeta(),
+            cached.select(),
+            cached.dml(),
+            cached.command()
+        );
+    }
+
+    /**
+     * Counts a query which is not found in the cache.
+     */
+    private void countCacheMiss() {
+        metricsHolder.countCacheMiss();
+
+        MTC.span().addTag(SQL_PARSER_CACHE_HIT, () -> "false");
+    }
+
+    /**
+     * Chooses a plan variant of a cached query by selectivity of comparisons of indexed columns with bound
+     * parameters, estimated by local statistics of the table.
+     *
+     * @param cached Cached query.
+     * @param qry Query.
+     * @return Plan variant.
+     */
+    private QueryPlanCache.Variant planVariant(QueryParserCacheEntry cached, SqlFieldsQuery qry) {
+        if (cached.select() == null || cached.select().parameterPredicates().isEmpty())
+            return QueryPlanCache.Variant.DEFAULT;
+
+        double selectivity = QueryParameterPredicate.selectivity(idx, cached.select().parameterPredicates(),
+            qry.getArgs());
+
+        return selectivity >= SCAN_SELECTIVITY ? QueryPlanCache.Variant.SCAN : QueryPlanCache.Variant.DEFAULT;
     }
 
     /**
@@ -343,11 +422,12 @@ public class QueryParser {
      * @param qry Query.
      * @param batched Batched flag.
      * @param remainingAllowed Whether multiple statements are allowed.
+     * @param scan Whether a single table SELECT must scan the table instead of looking up its indexes.
      * @return Parsing result.
      */
     @SuppressWarnings("IfMayBeConditional")
     private QueryParserResult parseH2(String schemaName, SqlFieldsQuery qry, boolean batched,
-        boolean remainingAllowed) {
+        boolean remainingAllowed, boolean scan) {
         try (H2PooledConnection c = connMgr.connection(schemaName)) {
             // For queries that are explicitly local, we rely on the flag specified in the query
             // because this parsing result will be cached and used for queries directly.
@@ -569,7 +649,21 @@ public class QueryParser {
 
                 GridCacheTwoStepQuery twoStepQry = null;
 
+                List<QueryParameterPredicate> paramPreds = Collections.emptyList();
+
                 if (splitNeeded) {
+                    // Map queries are built from the AST, so the plan variant is applied to it before the split.
+                    if (!forUpdate && !batched) {
+                        GridSqlTable tbl = singleTable(selectStmt);
+
+                        if (tbl != null && tbl.useIndexes() == null) {
+                            paramPreds = parameterPredicates(tbl, ((GridSqlSelect)selectStmt).where());
+
+                            if (scan)
+                                tbl.useIndexes(Collections.emptyList());
+                        }
+                    }
+
                     GridSubqueryJoinOptimizer.pullOutSubQueries(selectStmt);
 
                     c.schema(newQry.getSchema());
@@ -598,7 +692,8 @@ public class QueryParser {
                     cacheIds,
                     mvccCacheId,
                     forUpdateQryOutTx,
-                    forUpdateQryTx
+                    forUpdateQryTx,
+                    paramPreds
                 );
 
                 return new QueryParserResult(
@@ -620,6 +715,99 @@ public class QueryParser {
         }
     }
 
+    /**
+     * @param stmt Statement.
+     * @return Table of a SELECT from a single table or {@code null}.
+     */
+    @Nullable private static GridSqlTable singleTable(GridSqlQuery stmt) {
+        if (!(stmt instanceof GridSqlSelect) || ((GridSqlSelect)stmt).from() == null)
+            return null;
+
+        GridSqlAst from = GridSqlAlias.unwrap(((GridSqlSelect)stmt).from());
+
+        return from instanceof GridSqlTable && ((GridSqlTable)from).dataTable() != null ? (GridSqlTable)from : null;
+    }
+
+    /**
+     * Collects comparisons of leading columns of indexes of the table with parameters from the conjunction of
+     * the WHERE clause.
+     *
+     * @param tbl Table.
+     * @param where WHERE clause.
+     * @return Comparisons of indexed columns with parameters.
+     */
+    private static List<QueryParameterPredicate> parameterPredicates(GridSqlTable tbl, @Nullable GridSqlAst where) {
+        if (!(where instanceof GridSqlOperation))
+            return Collections.emptyList();
+
+        GridSqlOperation op = (GridSqlOperation)where;
+
+        if (op.operationType() == GridSqlOperationType.AND) {
+            List<QueryParameterPredicate> left = parameterPredicates(tbl, op.child(0));
+            List<QueryParameterPredicate> right = parameterPredicates(tbl, op.child(1));
+
+            if (left.isEmpty() || right.isEmpty())
+                return left.isEmpty() ? right : left;
+
+            List<QueryParameterPredicate> res = new ArrayList<>(left);
+
+            res.addAll(right);
+
+            return res;
+        }
+
+        if (!QueryParameterPredicate.isComparison(op.operationType()) || op.size() != 2)
+            return Collections.emptyList();
+
+        GridSqlOperationType opType = op.operationType();
+
+        GridSqlAst col = op.child(0);
+        GridSqlAst param = op.child(1);
+
+        if (col instanceof GridSqlParameter) {
+            col = op.child(1);
+            param = op.child(0);
+
+            opType = QueryParameterPredicate.swap(opType);
+        }
+
+        if (!(col instanceof GridSqlColumn) || !(param instanceof GridSqlParameter))
+            return Collections.emptyList();
+
+        Column h2Col = ((GridSqlColumn)col).column();
+
+        GridH2Table h2Tbl = tbl.dataTable();
+
+        if (h2Col == null || h2Col.getTable() != h2Tbl || !isLeadingIndexColumn(h2Tbl, h2Col))
+            return Collections.emptyList();
+
+        return Collections.singletonList(new QueryParameterPredicate(
+            h2Tbl.identifier().schema(),
+            h2Tbl.identifier().table(),
+            h2Col.getName(),
+            h2Col.getType(),
+            opType,
+            ((GridSqlParameter)param).index()
+        ));
+    }
+
+    /**
+     * @param tbl Table.
+     * @param col Column.
+     * @return {@code True} if the column is the first column of an index of the table.
+     */
+    private static boolean isLeadingIndexColumn(GridH2Table tbl, Column col) {
+        for (Index h2Idx : tbl.getIndexes()) {
+            if (h2Idx.getIndexType().isScan() || F.isEmpty(h2Idx.getColumns()))
+                continue;
+
+            if (h2Idx.getColumns()[0] == col)
+                return true;
+        }
+
+        return false;
+    }
+
     /**
      * Throw exception is multiple statements are not allowed.
      *
@@ -756,7 +944,7 @@ public class QueryParser {
      * Clear cached plans.
      */
     public void clearCache() {
-        cache = new GridBoundedConcurrentLinkedHashMap<>(CACHE_SIZE);
+        cache.clear();
     }
 
     /**
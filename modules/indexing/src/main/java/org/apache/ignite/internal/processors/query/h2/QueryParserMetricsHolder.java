@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.query.h2;
 
+import java.util.function.LongSupplier;
 import org.apache.ignite.internal.processors.metric.GridMetricManager;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
@@ -34,16 +35,34 @@ public class QueryParserMetricsHolder {
     /** Query cache misses counter. */
     private final LongAdderMetric qryCacheMisses;
 
+    /** Query cache evictions counter. */
+    private final LongAdderMetric qryCacheEvictions;
+
+    /** Registry. */
+    private final MetricRegistry registry;
+
     /**
      * Create metrics holder with given metric manager.
      *
      * @param metricMgr Metric manager.
      */
     public QueryParserMetricsHolder(GridMetricManager metricMgr) {
-        MetricRegistry registry = metricMgr.registry(QUERY_PARSER_METRIC_GROUP_NAME);
+        registry = metricMgr.registry(QUERY_PARSER_METRIC_GROUP_NAME);
 
         qryCacheHits = registry.longAdderMetric("hits", "Count of hits for queries cache");
         qryCacheMisses = registry.longAdderMetric("misses", "Count of misses for queries cache");
+        qryCacheEvictions = registry.longAdderMetric("evictions", "Count of evictions from queries cache");
+    }
+
+    /**
+     * Registers gauges of the size of queries cache.
+     *
+     * @param size Supplier of the number of cached queries.
+     * @param mem Supplier of the estimated size of cached queries in bytes.
+     */
+    public void registerCacheSize(LongSupplier size, LongSupplier mem) {
+        registry.register("size", size, "Number of queries in queries cache");
+        registry.register("memory", mem, "Estimated size of queries in queries cache in bytes");
     }
 
     /**
@@ -59,4 +78,11 @@ public class QueryParserMetricsHolder {
     public void countCacheMiss() {
         qryCacheMisses.increment();
     }
+
+    /**
+     * Increment cache evictions counter. Should be called when query is evicted from cache to free space.
+     */
+    public void countCacheEviction() {
+        qryCacheEvictions.increment();
+    }
 }
@@ -66,6 +66,9 @@ public class QueryParserResultSelect {
      */
     private final String forUpdateQryTx;
 
+    /** Comparisons of indexed columns with parameters which selectivity chooses a plan variant. */
+    private final List<QueryParameterPredicate> paramPreds;
+
     /**
      * Constructor.
      *
@@ -77,6 +80,7 @@ public class QueryParserResultSelect {
      * @param mvccCacheId ID of the first MVCC cache.
      * @param forUpdateQryOutTx FOR UPDATE query string for execution out of transaction.
      * @param forUpdateQryTx FOR UPDATE query string for execution within transaction.
+     * @param paramPreds Comparisons of indexed columns with parameters which selectivity chooses a plan variant.
      */
     public QueryParserResultSelect(
         GridSqlStatement stmt,
@@ -86,7 +90,8 @@ public class QueryParserResultSelect {
         List<Integer> cacheIds,
         @Nullable Integer mvccCacheId,
         String forUpdateQryOutTx,
-        String forUpdateQryTx
+        String forUpdateQryTx,
+        List<QueryParameterPredicate> paramPreds
     ) {
         this.stmt = stmt;
         this.twoStepQry = twoStepQry;
@@ -96,6 +101,7 @@ public class QueryParserResultSelect {
         this.mvccCacheId = mvccCacheId;
         this.forUpdateQryOutTx = forUpdateQryOutTx;
         this.forUpdateQryTx = forUpdateQryTx;
+        this.paramPreds = paramPreds;
     }
 
     /**
@@ -174,4 +180,11 @@ public class QueryParserResultSelect {
     public String forUpdateQueryTx() {
         return forUpdateQryTx;
     }
+
+    /**
+     * @return Comparisons of indexed columns with parameters which selectivity chooses a plan variant.
+     */
+    public List<QueryParameterPredicate> parameterPredicates() {
+        return paramPreds;
+    }
 }
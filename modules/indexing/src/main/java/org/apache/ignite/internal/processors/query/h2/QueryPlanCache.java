@@ -0,0 +1,414 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.apache.ignite.internal.processors.cache.query.GridCacheSqlQuery;
+import org.apache.ignite.internal.processors.cache.query.GridCacheTwoStepQuery;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Node-wide cache of parsed and split queries shared by all connections. H2 prepared statements are bound to
+ * a session, so they are still cached by connections, while parsing, splitting and planning of map and reduce
+ * queries is done once per node.
+ * <p>
+ * Queries are looked up by SQL with insignificant whitespace removed, the version of the schema the query was
+ * parsed with and a plan variant. Entries parsed with an older schema are never returned and are evicted as least
+ * recently used. The cache is bounded by the number of entries and by the estimated size of entries in bytes.
+ */
+public class QueryPlanCache {
+    /** Number of segments. */
+    private static final int SEGMENTS = 16;
+
+    /** Estimated size of an entry without SQL texts. */
+    private static final int ENTRY_OVERHEAD = 1024;
+
+    /** Estimated size of parsed and split query per character of SQL text. */
+    private static final int BYTES_PER_CHAR = 16;
+
+    /** Segments. */
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /** Metrics. */
+    private final QueryParserMetricsHolder metrics;
+
+    /** Supplier of the current version of the schema. */
+    private final LongSupplier schemaVer;
+
+    /** Number of entries. */
+    private final AtomicLong size = new AtomicLong();
+
+    /** Estimated size of entries in bytes. */
+    private final AtomicLong mem = new AtomicLong();
+
+    /**
+     * @param metrics Metrics.
+     * @param schemaVer Supplier of the current version of the schema.
+     * @param maxSize Maximum number of entries.
+     * @param maxMem Maximum estimated size of entries in bytes.
+     */
+    public QueryPlanCache(QueryParserMetricsHolder metrics, LongSupplier schemaVer, int maxSize, long maxMem) {
+        assert maxSize > 0 : maxSize;
+        assert maxMem > 0 : maxMem;
+
+        this.metrics = metrics;
+        this.schemaVer = schemaVer;
+
+        for (int i = 0; i < SEGMENTS; i++)
+            segments[i] = new Segment(Math.max(1, maxSize / SEGMENTS), Math.max(1, maxMem / SEGMENTS));
+
+        metrics.registerCacheSize(size::get, mem::get);
+    }
+
+    /**
+     * Creates a key of a query for the current version of the schema. The key must be created before the query
+     * is parsed, so a query parsed concurrently with a schema change is cached for the old version.
+     *
+     * @param desc Query descriptor.
+     * @param variant Plan variant.
+     * @return Key.
+     */
+    public Key key(QueryDescriptor desc, Variant variant) {
+        QueryDescriptor normDesc = new QueryDescriptor(
+            desc.schemaName(),
+            normalize(desc.sql()),
+            desc.collocated(),
+            desc.distributedJoins(),
+            desc.enforceJoinOrder(),
+            desc.local(),
+            desc.skipReducerOnUpdate(),
+            desc.batched(),
+            desc.queryInitiatorId()
+        );
+
+        return new Key(normDesc, schemaVer.getAsLong(), variant);
+    }
+
+    /**
+     * Gets an entry without counting a hit or a miss, since a query may be looked up for several plan variants.
+     *
+     * @param key Key.
+     * @return Cached entry or {@code null} if the query is not cached.
+     */
+    @Nullable public QueryParserCacheEntry get(Key key) {
+        Segment seg = segment(key);
+
+        synchronized (seg) {
+            Node node = seg.get(key);
+
+            return node != null ? node.entry : null;
+        }
+    }
+
+    /**
+     * @param key Key.
+     * @param entry Entry.
+     */
+    public void put(Key key, QueryParserCacheEntry entry) {
+        Segment seg = segment(key);
+
+        Node node = new Node(entry, estimatedSize(key.desc.sql(), entry));
+
+        synchronized (seg) {
+            Node old = seg.put(key, node);
+
+            long delta = old != null ? node.size - old.size : node.size;
+
+            if (old == null)
+                size.incrementAndGet();
+
+            seg.mem += delta;
+
+            mem.addAndGet(delta);
+
+            Iterator<Node> it = seg.values().iterator();
+
+            while ((seg.size() > seg.maxSize || seg.mem > seg.maxMem) && it.hasNext()) {
+                Node evicted = it.next();
+
+                it.remove();
+
+                seg.mem -= evicted.size;
+
+                size.decrementAndGet();
+                mem.addAndGet(-evicted.size);
+
+                metrics.countCacheEviction();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        for (Segment seg : segments) {
+            synchronized (seg) {
+                size.addAndGet(-seg.size());
+                mem.addAndGet(-seg.mem);
+
+                seg.clear();
+
+                seg.mem = 0;
+            }
+        }
+    }
+
+    /**
+     * @return Number of entries.
+     */
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * @return Estimated size of entries in bytes.
+     */
+    public long memory() {
+        return mem.get();
+    }
+
+    /**
+     * @param key Key.
+     * @return Segment of the key.
+     */
+    private Segment segment(Key key) {
+        return segments[U.safeAbs(key.hashCode()) % SEGMENTS];
+    }
+
+    /**
+     * Estimates size of an entry by the length of the SQL texts it holds, since all parts of the entry are built
+     * from them: ASTs of the query, and map and reduce queries of two-step queries.
+     *
+     * @param sql SQL.
+     * @param entry Entry.
+     * @return Estimated size in bytes.
+     */
+    private static long estimatedSize(String sql, QueryParserCacheEntry entry) {
+        long chars = sql.length();
+
+        if (entry.select() != null) {
+            chars += sqlLength(entry.select().twoStepQuery());
+            chars += sqlLength(entry.select().forUpdateTwoStepQuery());
+        }
+
+        return ENTRY_OVERHEAD + chars * BYTES_PER_CHAR;
+    }
+
+    /**
+     * @param qry Two-step query.
+     * @return Total length of map and reduce queries.
+     */
+    private static long sqlLength(@Nullable GridCacheTwoStepQuery qry) {
+        if (qry == null)
+            return 0;
+
+        long len = qry.reduceQuery() != null ? qry.reduceQuery().query().length() : 0;
+
+        for (GridCacheSqlQuery mapQry : qry.mapQueries())
+            len += mapQry.query().length();
+
+        return len;
+    }
+
+    /**
+     * Collapses every sequence of whitespaces outside of literals, quoted identifiers and comments to a single
+     * space and trims the result, so queries which differ only by formatting share an entry.
+     *
+     * @param sql SQL.
+     * @return Normalized SQL.
+     */
+    static String normalize(String sql) {
+        int len = sql.length();
+
+        StringBuilder sb = new StringBuilder(len);
+
+        boolean space = false;
+
+        for (int i = 0; i < len; ) {
+            char c = sql.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                space = true;
+
+                i++;
+
+                continue;
+            }
+
+            if (space && sb.length() > 0)
+                sb.append(' ');
+
+            space = false;
+
+            int end;
+
+            if (c == '\'' || c == '"')
+                end = sql.indexOf(c, i + 1);
+            else if (sql.startsWith("$$", i))
+                end = sql.indexOf("$$", i + 2) + 1;
+            else if (sql.startsWith("/*", i))
+                end = sql.indexOf("*/", i + 2) + 1;
+            else if (sql.startsWith("--", i) || sql.startsWith("//", i))
+                end = sql.indexOf('\n', i + 2);
+            else {
+                sb.append(c);
+
+                i++;
+
+                continue;
+            }
+
+            // Unterminated tokens and comments last until the end of the query.
+            end = end <= i ? len - 1 : end;
+
+            sb.append(sql, i, end + 1);
+
+            i = end + 1;
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Plan variant of a query. Plans of queries with parameters are built without values of parameters, so
+     * selectivity of predicates is unknown and an index is used whenever it is applicable. A different variant
+     * is cached for parameters which select a large fraction of a table, so that it is scanned instead.
+     */
+    public enum Variant {
+        /** Plan chosen by H2 without values of parameters. */
+        DEFAULT,
+
+        /** Plan which scans the table of a single table query instead of looking up its indexes. */
+        SCAN
+    }
+
+    /**
+     * Key of a cached query.
+     */
+    public static class Key {
+        /** Query descriptor with normalized SQL. */
+        private final QueryDescriptor desc;
+
+        /** Version of the schema. */
+        private final long schemaVer;
+
+        /** Plan variant. */
+        private final Variant variant;
+
+        /**
+         * @param desc Query descriptor with normalized SQL.
+         * @param schemaVer Version of the schema.
+         * @param variant Plan variant.
+         */
+        private Key(QueryDescriptor desc, long schemaVer, Variant variant) {
+            this.desc = desc;
+            this.schemaVer = schemaVer;
+            this.variant = variant;
+        }
+
+        /**
+         * @param variant Plan variant.
+         * @return Key of the same query and version of the schema for another plan variant.
+         */
+        public Key variant(Variant variant) {
+            return variant == this.variant ? this : new Key(desc, schemaVer, variant);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (this == o)
+                return true;
+
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            Key key = (Key)o;
+
+            return schemaVer == key.schemaVer && variant == key.variant && desc.equals(key.desc);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            int res = desc.hashCode();
+
+            res = 31 * res + Long.hashCode(schemaVer);
+            res = 31 * res + variant.ordinal();
+
+            return res;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Key.class, this);
+        }
+    }
+
+    /**
+     * Cached entry with its estimated size.
+     */
+    private static class Node {
+        /** Entry. */
+        private final QueryParserCacheEntry entry;
+
+        /** Estimated size in bytes. */
+        private final long size;
+
+        /**
+         * @param entry Entry.
+         * @param size Estimated size in bytes.
+         */
+        private Node(QueryParserCacheEntry entry, long size) {
+            this.entry = entry;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Segment of the cache ordered from least to most recently used entry.
+     */
+    private static class Segment extends LinkedHashMap<Key, Node> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Maximum number of entries. */
+        private final int maxSize;
+
+        /** Maximum estimated size of entries in bytes. */
+        private final long maxMem;
+
+        /** Estimated size of entries in bytes. */
+        private long mem;
+
+        /**
+         * @param maxSize Maximum number of entries.
+         * @param maxMem Maximum estimated size of entries in bytes.
+         */
+        private Segment(int maxSize, long maxMem) {
+            super(16, 0.75f, true);
+
+            this.maxSize = maxSize;
+            this.maxMem = maxMem;
+        }
+    }
+}
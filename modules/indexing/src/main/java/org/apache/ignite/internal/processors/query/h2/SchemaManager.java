@@ -31,6 +31,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
@@ -144,6 +145,9 @@ public class SchemaManager {
     /** Drop table listeners. */
     private final Set<BiConsumer<String, String>> dropTblLsnrs = ConcurrentHashMap.newKeySet();
 
+    /** Version of schema objects, incremented on every change of tables, columns or indexes. */
+    private final AtomicLong ver = new AtomicLong();
+
     /**
      * Constructor.
      *
@@ -327,6 +331,8 @@ public class SchemaManager {
      * @param rmvIdx Whether to remove indexes.
      */
     public void onCacheDestroyed(String cacheName, boolean rmvIdx) {
+        ver.incrementAndGet();
+
         String schemaName = schemaName(cacheName);
 
         H2Schema schema = schemas.get(schemaName);
@@ -647,6 +653,10 @@ public class SchemaManager {
 
             throw e;
         }
+        finally {
+            // Cached parsing results must be rebuilt to use the promoted index.
+            ver.incrementAndGet();
+        }
     }
 
     /**
@@ -667,7 +677,12 @@ public class SchemaManager {
 
         tbl.setRemoveIndexOnDestroy(true);
 
-        connMgr.executeStatement(schemaName, sql);
+        try {
+            connMgr.executeStatement(schemaName, sql);
+        }
+        finally {
+            ver.incrementAndGet();
+        }
     }
 
     /**
@@ -696,6 +711,8 @@ public class SchemaManager {
         }
 
         desc.table().addColumns(cols, ifColNotExists);
+
+        ver.incrementAndGet();
     }
 
     /**
@@ -725,9 +742,27 @@ public class SchemaManager {
 
         desc.table().dropColumns(cols, ifColExists);
 
+        ver.incrementAndGet();
+
         dropColsLsnrs.forEach(l -> l.accept(desc.table(), cols));
     }
 
+    /**
+     * @return Version of schema objects. Changes when a table is destroyed or when columns or indexes of a table
+     *      are added or dropped.
+     */
+    public long version() {
+        return ver.get();
+    }
+
+    /**
+     * Increments version of schema objects when indexes of a table become usable or unusable by queries without
+     * a change of the schema, e.g. when indexes are rebuilt.
+     */
+    public void incrementVersion() {
+        ver.incrementAndGet();
+    }
+
     /**
      * Get table descriptor.
      *
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.columnar;
+
+import org.apache.ignite.internal.binary.BinaryFieldImpl;
+import org.apache.ignite.internal.binary.BinaryObjectImpl;
+import org.apache.ignite.internal.binary.BinaryPrimitives;
+import org.apache.ignite.internal.binary.GridBinaryMarshaller;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.query.GridQueryProperty;
+import org.apache.ignite.internal.processors.query.QueryUtils;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2RowDescriptor;
+import org.apache.ignite.internal.processors.query.property.QueryBinaryProperty;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads values of a column of a table from cache rows to a chunk builder. A field of a binary key or value is read
+ * directly from the bytes of the object at the offset found by the schema of the object, without deserialization
+ * of the field and creation of an H2 row and value. Values of other columns, and fields stored with a type other
+ * than the type of the column, are left to be read through H2 rows.
+ */
+class BinaryColumnReader {
+    /** H2 type of the column. */
+    private final int type;
+
+    /** Property of the column or {@code null} if values of the column are read through H2 rows only. */
+    @Nullable private final QueryBinaryProperty prop;
+
+    /** Binary header of values which are read directly. */
+    private final byte hdr;
+
+    /** Binary field of the property for the last read type. */
+    private BinaryFieldImpl field;
+
+    /**
+     * @param desc Row descriptor.
+     * @param colId H2 column ID.
+     * @param type H2 type of the column.
+     */
+    BinaryColumnReader(GridH2RowDescriptor desc, int colId, int type) {
+        this.type = type;
+
+        prop = property(desc, colId);
+        hdr = header(type);
+    }
+
+    /**
+     * @param desc Row descriptor.
+     * @param colId H2 column ID.
+     * @return Property of the column if it is a field of a binary key or value, {@code null} otherwise.
+     */
+    @Nullable private static QueryBinaryProperty property(GridH2RowDescriptor desc, int colId) {
+        if (colId < QueryUtils.DEFAULT_COLUMNS_COUNT || desc.isKeyAliasColumn(colId) || desc.isValueAliasColumn(colId))
+            return null;
+
+        GridQueryProperty prop = desc.property(colId - QueryUtils.DEFAULT_COLUMNS_COUNT);
+
+        // Fields of nested objects are read through H2 rows.
+        return prop instanceof QueryBinaryProperty && prop.parent() == null ? (QueryBinaryProperty)prop : null;
+    }
+
+    /**
+     * @param type H2 type of the column.
+     * @return Binary header of values of the type.
+     */
+    private static byte header(int type) {
+        switch (type) {
+            case Value.BYTE:
+                return GridBinaryMarshaller.BYTE;
+
+            case Value.SHORT:
+                return GridBinaryMarshaller.SHORT;
+
+            case Value.INT:
+                return GridBinaryMarshaller.INT;
+
+            case Value.LONG:
+                return GridBinaryMarshaller.LONG;
+
+            case Value.DOUBLE:
+                return GridBinaryMarshaller.DOUBLE;
+
+            case Value.STRING:
+                return GridBinaryMarshaller.STRING;
+
+            default:
+                throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+    }
+
+    /**
+     * Adds value of the column of the next row to the builder if the value can be read directly.
+     *
+     * @param row Cache row.
+     * @param builder Builder of the column.
+     * @return {@code True} if the value was added, {@code false} if it must be read through the H2 row.
+     */
+    boolean read(CacheDataRow row, ColumnChunk.Builder builder) {
+        if (prop == null)
+            return false;
+
+        Object obj = prop.key() ? row.key() : row.value();
+
+        if (!(obj instanceof BinaryObjectImpl) || !((BinaryObjectImpl)obj).hasArray())
+            return false;
+
+        BinaryObjectImpl bin = (BinaryObjectImpl)obj;
+
+        BinaryFieldImpl field0 = field;
+
+        if (field0 == null || field0.typeId() != bin.typeId())
+            field = field0 = bin.context().createField(bin.typeId(), prop.propertyName());
+
+        int pos = bin.fieldPositionByOrder(field0.fieldOrder(bin));
+
+        if (pos < 0) {
+            builder.addNull();
+
+            return true;
+        }
+
+        byte[] arr = bin.array();
+
+        byte fieldHdr = BinaryPrimitives.readByte(arr, pos);
+
+        if (fieldHdr == GridBinaryMarshaller.NULL) {
+            builder.addNull();
+
+            return true;
+        }
+
+        // Values of other types are converted by H2.
+        if (fieldHdr != hdr)
+            return false;
+
+        switch (type) {
+            case Value.BYTE:
+                ((LongColumnChunk.Builder)builder).add(BinaryPrimitives.readByte(arr, pos + 1));
+
+                break;
+
+            case Value.SHORT:
+                ((LongColumnChunk.Builder)builder).add(BinaryPrimitives.readShort(arr, pos + 1));
+
+                break;
+
+            case Value.INT:
+                ((LongColumnChunk.Builder)builder).add(BinaryPrimitives.readInt(arr, pos + 1));
+
+                break;
+
+            case Value.LONG:
+                ((LongColumnChunk.Builder)builder).add(BinaryPrimitives.readLong(arr, pos + 1));
+
+                break;
+
+            case Value.DOUBLE:
+                ((DoubleColumnChunk.Builder)builder).add(BinaryPrimitives.readDouble(arr, pos + 1));
+
+                break;
+
+            default:
+                assert type == Value.STRING : type;
+
+                int len = BinaryPrimitives.readInt(arr, pos + 1);
+
+                ((StringColumnChunk.Builder)builder).add(new String(arr, pos + 5, len, UTF_8));
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(BinaryColumnReader.class, this);
+    }
+}
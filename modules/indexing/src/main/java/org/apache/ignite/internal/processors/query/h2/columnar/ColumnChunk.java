@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.columnar;
+
+import java.util.Arrays;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperationType;
+import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable chunk of values of a single column of a partition. Rows are addressed by their position in the chunk,
+ * sets of rows are represented by selection bitmaps of {@code (size + 63) / 64} words.
+ */
+public abstract class ColumnChunk {
+    /** Number of rows. */
+    protected final int size;
+
+    /** Bitmap of rows with {@code null} values, {@code null} if there are no such rows. */
+    @Nullable protected final long[] nulls;
+
+    /**
+     * @param size Number of rows.
+     * @param nulls Bitmap of rows with {@code null} values.
+     */
+    protected ColumnChunk(int size, @Nullable long[] nulls) {
+        this.size = size;
+        this.nulls = nulls;
+    }
+
+    /**
+     * @return Number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retains in the selection only rows which values are {@code null} or not {@code null}.
+     *
+     * @param isNull {@code True} to retain rows with {@code null} values.
+     * @param sel Selection bitmap.
+     */
+    public void filterNulls(boolean isNull, long[] sel) {
+        for (int w = 0; w < sel.length; w++)
+            sel[w] &= isNull ? nullWord(w) : ~nullWord(w);
+    }
+
+    /**
+     * Retains in the selection only rows which values satisfy comparison with the given value.
+     *
+     * @param op Comparison operation, value of a row is the left operand.
+     * @param val Right operand converted with {@link #comparable(Object)}.
+     * @param sel Selection bitmap.
+     */
+    public abstract void filter(GridSqlOperationType op, Object val, long[] sel);
+
+    /**
+     * @param sel Selection bitmap.
+     * @return Number of selected rows with not {@code null} values.
+     */
+    public long count(long[] sel) {
+        long cnt = 0;
+
+        for (int w = 0; w < sel.length; w++)
+            cnt += Long.bitCount(sel[w] & ~nullWord(w));
+
+        return cnt;
+    }
+
+    /**
+     * @param sel Selection bitmap.
+     * @return Sum of selected not {@code null} values or {@code null} if there are no such values.
+     * @throws ArithmeticException If the sum can't be calculated exactly.
+     */
+    @Nullable public abstract Object sum(long[] sel);
+
+    /**
+     * @param sel Selection bitmap.
+     * @return Sum of selected not {@code null} values converted to {@code double}.
+     */
+    public abstract double doubleSum(long[] sel);
+
+    /**
+     * @param sel Selection bitmap.
+     * @param max {@code True} to find the maximum value, {@code false} to find the minimum one.
+     * @return Minimum or maximum of selected not {@code null} values or {@code null} if there are no such values.
+     */
+    @Nullable public abstract Comparable<?> extremum(long[] sel, boolean max);
+
+    /**
+     * Converts a value to the form this chunk compares with values of rows.
+     *
+     * @param type H2 type of the column.
+     * @param val Value.
+     * @return Converted value or {@code null} if values of the column can't be compared with the given one
+     *      the same way as H2 does.
+     */
+    @Nullable public static Object comparable(int type, Object val) {
+        switch (type) {
+            case Value.BYTE:
+            case Value.SHORT:
+            case Value.INT:
+            case Value.LONG:
+                if (val instanceof Byte || val instanceof Short || val instanceof Integer || val instanceof Long)
+                    return ((Number)val).longValue();
+
+                return null;
+
+            case Value.DOUBLE:
+                if (val instanceof Double || val instanceof Float || val instanceof Byte || val instanceof Short ||
+                    val instanceof Integer || val instanceof Long)
+                    return ((Number)val).doubleValue();
+
+                return null;
+
+            case Value.STRING:
+                return val instanceof String ? val : null;
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param type H2 type of the column.
+     * @return {@code True} if values of the type can be stored in a chunk.
+     */
+    public static boolean supported(int type) {
+        switch (type) {
+            case Value.BYTE:
+            case Value.SHORT:
+            case Value.INT:
+            case Value.LONG:
+            case Value.DOUBLE:
+            case Value.STRING:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param type H2 type of the column.
+     * @return {@code True} if values of the type can be summed.
+     */
+    public static boolean numeric(int type) {
+        return supported(type) && type != Value.STRING;
+    }
+
+    /**
+     * @param type H2 type of the column.
+     * @param cap Initial capacity.
+     * @return Builder of a chunk for the given type.
+     */
+    public static Builder builder(int type, int cap) {
+        switch (type) {
+            case Value.DOUBLE:
+                return new DoubleColumnChunk.Builder(cap);
+
+            case Value.STRING:
+                return new StringColumnChunk.Builder(cap);
+
+            default:
+                assert numeric(type) : type;
+
+                return new LongColumnChunk.Builder(cap);
+        }
+    }
+
+    /**
+     * @param size Number of rows.
+     * @return Selection bitmap with all rows selected.
+     */
+    public static long[] selectAll(int size) {
+        long[] sel = new long[(size + 63) >>> 6];
+
+        for (int w = 0; w < sel.length; w++)
+            sel[w] = -1L;
+
+        if ((size & 63) != 0)
+            sel[sel.length - 1] = (1L << (size & 63)) - 1;
+
+        return sel;
+    }
+
+    /**
+     * @param w Word index.
+     * @return Word of the bitmap of {@code null} values.
+     */
+    protected final long nullWord(int w) {
+        return nulls == null ? 0L : nulls[w];
+    }
+
+    /**
+     * @param w Word index.
+     * @return Number of rows covered by the word of a selection bitmap.
+     */
+    protected final int wordRows(int w) {
+        return Math.min(64, size - (w << 6));
+    }
+
+    /**
+     * Builder of a chunk, values are added in the order of rows.
+     */
+    public abstract static class Builder {
+        /** Number of added values. */
+        protected int size;
+
+        /** Bitmap of {@code null} values. */
+        protected long[] nulls;
+
+        /**
+         * @param cap Initial capacity.
+         */
+        protected Builder(int cap) {
+            nulls = new long[Math.max(1, (cap + 63) >>> 6)];
+        }
+
+        /**
+         * @param val Value of the next row.
+         */
+        public void add(Value val) {
+            if (val == null || val.getType() == Value.NULL)
+                addNull();
+            else
+                set(next(), val);
+        }
+
+        /**
+         * Adds {@code null} value of the next row.
+         */
+        public void addNull() {
+            int idx = next();
+
+            nulls[idx >>> 6] |= 1L << idx;
+        }
+
+        /**
+         * Clears added values, so the builder is reused for the next batch of rows. Chunks built before
+         * are not affected.
+         */
+        public void reset() {
+            Arrays.fill(nulls, 0, (size + 63) >>> 6, 0L);
+
+            size = 0;
+        }
+
+        /**
+         * @return Index of the next row, storage is grown to fit the row.
+         */
+        protected final int next() {
+            int idx = size++;
+
+            if ((idx >>> 6) >= nulls.length)
+                nulls = Arrays.copyOf(nulls, nulls.length << 1);
+
+            ensureCapacity(size);
+
+            return idx;
+        }
+
+        /**
+         * @return Chunk.
+         */
+        public abstract ColumnChunk build();
+
+        /**
+         * @param cap Required capacity.
+         */
+        protected abstract void ensureCapacity(int cap);
+
+        /**
+         * @param idx Row index.
+         * @param val Not {@code null} value.
+         */
+        protected abstract void set(int idx, Value val);
+
+        /**
+         * @return Bitmap of {@code null} values or {@code null} if there are no such values.
+         */
+        @Nullable protected long[] nulls() {
+            int words = (size + 63) >>> 6;
+
+            for (int w = 0; w < words; w++) {
+                if (nulls[w] != 0)
+                    return Arrays.copyOf(nulls, words);
+            }
+
+            return null;
+        }
+    }
+}
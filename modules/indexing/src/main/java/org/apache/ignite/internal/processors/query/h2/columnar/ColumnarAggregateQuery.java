@@ -0,0 +1,663 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.columnar;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.query.QueryCancelledException;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.query.GridQueryCancel;
+import org.apache.ignite.internal.processors.query.h2.H2Utils;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAggregateFunction;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAlias;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAst;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlColumn;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlConst;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlFunction;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlFunctionType;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperation;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperationType;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlParameter;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlSelect;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlTable;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgnitePredicate;
+import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Map query which computes aggregates of columns of a single table filtered by a conjunction of comparisons
+ * of columns with constants, for example {@code SELECT SUM(A), COUNT(*) FROM T WHERE B > ? AND C = 'x'}.
+ * Such a query is evaluated over column chunks of a {@link ColumnarReplica} instead of rows of the table.
+ * Partitions without actual chunks may be scanned in batches of rows, which are evaluated the same way.
+ */
+public class ColumnarAggregateQuery {
+    /** Replica. */
+    private final ColumnarReplica replica;
+
+    /** Aggregates in the order of result columns. */
+    private final Aggregate[] aggs;
+
+    /** Predicates. */
+    private final Predicate[] preds;
+
+    /** Query which returns the result row from parameters casted to the types of the original result columns. */
+    private final String resSql;
+
+    /** Indexes of replica columns used by aggregates and predicates. */
+    private final int[] cols;
+
+    /**
+     * @param replica Replica.
+     * @param aggs Aggregates.
+     * @param preds Predicates.
+     * @param resSql Result query.
+     */
+    private ColumnarAggregateQuery(ColumnarReplica replica, Aggregate[] aggs, Predicate[] preds, String resSql) {
+        this.replica = replica;
+        this.aggs = aggs;
+        this.preds = preds;
+        this.resSql = resSql;
+
+        BitSet used = new BitSet();
+
+        for (Aggregate agg : aggs) {
+            if (agg.col >= 0)
+                used.set(agg.col);
+        }
+
+        for (Predicate pred : preds)
+            used.set(pred.col);
+
+        cols = used.stream().toArray();
+    }
+
+    /**
+     * @param replica Replica of the table of the query.
+     * @param sel Query.
+     * @param meta Metadata of the query result.
+     * @return Columnar query or {@code null} if the query can't be evaluated over the replica.
+     * @throws SQLException If failed to get result metadata.
+     */
+    @Nullable public static ColumnarAggregateQuery create(
+        ColumnarReplica replica,
+        GridSqlSelect sel,
+        ResultSetMetaData meta
+    ) throws SQLException {
+        if (sel.distinct() || sel.groupColumns() != null || sel.havingColumn() >= 0 || sel.hasOffsetLimit() ||
+            !sel.sort().isEmpty() || sel.isForUpdate())
+            return null;
+
+        GridSqlAst from = GridSqlAlias.unwrap(sel.from());
+
+        if (!(from instanceof GridSqlTable) || ((GridSqlTable)from).dataTable() != replica.table())
+            return null;
+
+        List<GridSqlAst> cols = sel.columns(true);
+
+        if (cols.isEmpty() || cols.size() != meta.getColumnCount())
+            return null;
+
+        Aggregate[] aggs = new Aggregate[cols.size()];
+
+        for (int i = 0; i < aggs.length; i++) {
+            aggs[i] = aggregate(replica, GridSqlAlias.unwrap(cols.get(i)));
+
+            if (aggs[i] == null)
+                return null;
+        }
+
+        List<Predicate> preds = new ArrayList<>();
+
+        if (sel.where() != null && !predicates(replica, sel.where(), preds))
+            return null;
+
+        StringBuilder resSql = new StringBuilder("SELECT ");
+
+        for (int i = 0; i < aggs.length; i++) {
+            if (i > 0)
+                resSql.append(", ");
+
+            resSql.append("CAST(? AS ").append(meta.getColumnTypeName(i + 1)).append(") ")
+                .append(H2Utils.withQuotes(meta.getColumnLabel(i + 1)));
+        }
+
+        return new ColumnarAggregateQuery(replica, aggs, preds.toArray(new Predicate[preds.size()]),
+            resSql.toString());
+    }
+
+    /**
+     * @param replica Replica.
+     * @param el Select expression.
+     * @return Aggregate or {@code null} if the expression isn't supported.
+     */
+    @Nullable private static Aggregate aggregate(ColumnarReplica replica, GridSqlAst el) {
+        if (!(el instanceof GridSqlAggregateFunction))
+            return null;
+
+        GridSqlAggregateFunction fn = (GridSqlAggregateFunction)el;
+
+        if (fn.distinct())
+            return null;
+
+        GridSqlFunctionType type = fn.type();
+
+        if (type == GridSqlFunctionType.COUNT_ALL)
+            return new Aggregate(type, -1);
+
+        if (fn.size() != 1)
+            return null;
+
+        GridSqlAst arg = fn.child();
+
+        boolean castToDouble = false;
+
+        // Map part of AVG is an average of the argument casted to DOUBLE.
+        if (type == GridSqlFunctionType.AVG && arg instanceof GridSqlFunction &&
+            ((GridSqlFunction)arg).type() == GridSqlFunctionType.CAST && arg.resultType().type() == Value.DOUBLE &&
+            arg.size() == 1) {
+            arg = arg.child();
+
+            castToDouble = true;
+        }
+
+        int col = column(replica, arg);
+
+        if (col < 0)
+            return null;
+
+        switch (type) {
+            case COUNT:
+            case MIN:
+            case MAX:
+                return new Aggregate(type, col);
+
+            case SUM:
+                return ColumnChunk.numeric(replica.columnType(col)) ? new Aggregate(type, col) : null;
+
+            case AVG:
+                // Average of an integral column is integral unless the column is casted.
+                return ColumnChunk.numeric(replica.columnType(col)) &&
+                    (castToDouble || replica.columnType(col) == Value.DOUBLE) ? new Aggregate(type, col) : null;
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param replica Replica.
+     * @param el Condition.
+     * @param preds Predicates to add to.
+     * @return {@code True} if the condition is a conjunction of supported predicates.
+     */
+    private static boolean predicates(ColumnarReplica replica, GridSqlAst el, List<Predicate> preds) {
+        if (!(el instanceof GridSqlOperation))
+            return false;
+
+        GridSqlOperationType op = ((GridSqlOperation)el).operationType();
+
+        switch (op) {
+            case AND:
+                return predicates(replica, el.child(0), preds) && predicates(replica, el.child(1), preds);
+
+            case IS_NULL:
+            case IS_NOT_NULL: {
+                int col = column(replica, el.child(0));
+
+                if (col < 0)
+                    return false;
+
+                preds.add(new Predicate(col, op, null, -1));
+
+                return true;
+            }
+
+            case EQUAL:
+            case NOT_EQUAL:
+            case SMALLER:
+            case SMALLER_EQUAL:
+            case BIGGER:
+            case BIGGER_EQUAL: {
+                GridSqlAst left = el.child(0);
+                GridSqlAst right = el.child(1);
+
+                if (!(left instanceof GridSqlColumn)) {
+                    GridSqlAst tmp = left;
+
+                    left = right;
+                    right = tmp;
+                    op = mirror(op);
+                }
+
+                int col = column(replica, left);
+
+                if (col < 0)
+                    return false;
+
+                if (right instanceof GridSqlConst)
+                    preds.add(new Predicate(col, op, ((GridSqlConst)right).value().getObject(), -1));
+                else if (right instanceof GridSqlParameter)
+                    preds.add(new Predicate(col, op, null, ((GridSqlParameter)right).index()));
+                else
+                    return false;
+
+                return true;
+            }
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param op Comparison operation.
+     * @return Operation with swapped operands.
+     */
+    private static GridSqlOperationType mirror(GridSqlOperationType op) {
+        switch (op) {
+            case SMALLER:
+                return GridSqlOperationType.BIGGER;
+
+            case SMALLER_EQUAL:
+                return GridSqlOperationType.BIGGER_EQUAL;
+
+            case BIGGER:
+                return GridSqlOperationType.SMALLER;
+
+            case BIGGER_EQUAL:
+                return GridSqlOperationType.SMALLER_EQUAL;
+
+            default:
+                return op;
+        }
+    }
+
+    /**
+     * @param replica Replica.
+     * @param el Expression.
+     * @return Index of the column in the replica or {@code -1} if the expression isn't a column of the replica.
+     */
+    private static int column(ColumnarReplica replica, GridSqlAst el) {
+        if (!(el instanceof GridSqlColumn))
+            return -1;
+
+        GridSqlColumn col = (GridSqlColumn)el;
+
+        if (col.column() == null || col.column().getTable() != replica.table())
+            return -1;
+
+        int idx = replica.columnIndex(col.column().getName());
+
+        return idx >= 0 && replica.columnType(idx) == col.column().getType() ? idx : -1;
+    }
+
+    /**
+     * @return Replica.
+     */
+    public ColumnarReplica replica() {
+        return replica;
+    }
+
+    /**
+     * @return Query which returns the result row from parameters.
+     */
+    public String resultQuery() {
+        return resSql;
+    }
+
+    /**
+     * Computes the result row over the given partitions.
+     *
+     * @param cctx Cache context.
+     * @param parts Partitions.
+     * @param params Query parameters.
+     * @param batchSize Number of rows of a batch to scan partitions without actual chunks, {@code 0} if such
+     *      partitions must not be scanned.
+     * @param cancel Query cancel.
+     * @param deadline Time in milliseconds the query times out at or {@code 0} if there is no timeout.
+     * @return Values of the result row or {@code null} if some partition has no actual chunks and can't be scanned
+     *      or the query can't be evaluated over chunks with the given parameters.
+     * @throws QueryCancelledException If the query was cancelled or timed out.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable public Object[] execute(
+        GridCacheContext<?, ?> cctx,
+        int[] parts,
+        Object[] params,
+        int batchSize,
+        @Nullable GridQueryCancel cancel,
+        long deadline
+    ) throws IgniteCheckedException {
+        Object[] vals = new Object[preds.length];
+
+        boolean empty = false;
+
+        for (int i = 0; i < preds.length; i++) {
+            Predicate pred = preds[i];
+
+            if (pred.op == GridSqlOperationType.IS_NULL || pred.op == GridSqlOperationType.IS_NOT_NULL)
+                continue;
+
+            Object val = pred.paramIdx < 0 ? pred.val : pred.paramIdx < params.length ? params[pred.paramIdx] : null;
+
+            // Comparison with NULL is never true.
+            if (val == null) {
+                empty = true;
+
+                continue;
+            }
+
+            vals[i] = ColumnChunk.comparable(replica.columnType(pred.col), val);
+
+            if (vals[i] == null)
+                return null;
+        }
+
+        Accumulator acc = new Accumulator(vals, empty);
+
+        // Scan of a partition is stopped on cancel, the exception is thrown after the scan.
+        IgnitePredicate<PartitionColumns> batchVisitor = batch -> !cancelled(cancel, deadline) && acc.add(batch);
+
+        for (int p : parts) {
+            checkCancelled(cancel, deadline);
+
+            GridDhtLocalPartition part = cctx.topology().localPartition(p);
+
+            if (part == null)
+                return null;
+
+            PartitionColumns cols0 = replica.columns(part);
+
+            if (cols0 != null) {
+                if (!acc.add(cols0))
+                    return null;
+            }
+            else if (batchSize <= 0 || !replica.scan(part, cols, batchSize, batchVisitor)) {
+                checkCancelled(cancel, deadline);
+
+                return null;
+            }
+        }
+
+        return acc.result();
+    }
+
+    /**
+     * @param cancel Query cancel.
+     * @param deadline Time in milliseconds the query times out at or {@code 0} if there is no timeout.
+     * @throws QueryCancelledException If the query was cancelled or timed out.
+     */
+    private static void checkCancelled(@Nullable GridQueryCancel cancel, long deadline)
+        throws QueryCancelledException {
+        if (cancel != null)
+            cancel.checkCancelled();
+
+        if (deadline > 0 && U.currentTimeMillis() > deadline)
+            throw new QueryCancelledException();
+    }
+
+    /**
+     * @param cancel Query cancel.
+     * @param deadline Time in milliseconds the query times out at or {@code 0} if there is no timeout.
+     * @return {@code True} if the query was cancelled or timed out.
+     */
+    private static boolean cancelled(@Nullable GridQueryCancel cancel, long deadline) {
+        try {
+            checkCancelled(cancel, deadline);
+
+            return false;
+        }
+        catch (QueryCancelledException ignored) {
+            return true;
+        }
+    }
+
+    /**
+     * @param sum Current sum.
+     * @param val Sum to add.
+     * @return New sum.
+     */
+    @Nullable private static Object add(@Nullable Object sum, @Nullable Object val) {
+        if (sum == null)
+            return val;
+
+        if (val == null)
+            return sum;
+
+        if (sum instanceof Long)
+            return Math.addExact((Long)sum, (Long)val);
+
+        return (Double)sum + (Double)val;
+    }
+
+    /**
+     * @param cur Current extremum.
+     * @param val Extremum to merge.
+     * @param max {@code True} if maximum is computed.
+     * @return New extremum.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Nullable private static Object extremum(@Nullable Object cur, @Nullable Comparable val, boolean max) {
+        if (cur == null)
+            return val;
+
+        if (val == null)
+            return cur;
+
+        int cmp = val.compareTo(cur);
+
+        return (max ? cmp > 0 : cmp < 0) ? val : cur;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ColumnarAggregateQuery.class, this);
+    }
+
+    /**
+     * Accumulates aggregates over chunks of partitions or batches of rows.
+     */
+    private class Accumulator {
+        /** Right operands of predicates converted to the form of chunks. */
+        private final Object[] vals;
+
+        /** If predicates are never true. */
+        private final boolean empty;
+
+        /** Results of aggregates. */
+        private final Object[] res = new Object[aggs.length];
+
+        /** Counts of values of aggregates. */
+        private final long[] cnts = new long[aggs.length];
+
+        /** Sums of values of averages. */
+        private final double[] sums = new double[aggs.length];
+
+        /**
+         * @param vals Right operands of predicates.
+         * @param empty If predicates are never true.
+         */
+        private Accumulator(Object[] vals, boolean empty) {
+            this.vals = vals;
+            this.empty = empty;
+        }
+
+        /**
+         * @param cols Chunks.
+         * @return {@code False} if the query can't be evaluated over chunks.
+         */
+        private boolean add(PartitionColumns cols) {
+            long[] sel = ColumnChunk.selectAll(cols.rows());
+
+            if (empty)
+                Arrays.fill(sel, 0L);
+
+            for (int i = 0; i < preds.length; i++) {
+                Predicate pred = preds[i];
+                ColumnChunk chunk = cols.chunk(pred.col);
+
+                if (pred.op == GridSqlOperationType.IS_NULL || pred.op == GridSqlOperationType.IS_NOT_NULL)
+                    chunk.filterNulls(pred.op == GridSqlOperationType.IS_NULL, sel);
+                else if (vals[i] != null)
+                    chunk.filter(pred.op, vals[i], sel);
+            }
+
+            for (int i = 0; i < aggs.length; i++) {
+                Aggregate agg = aggs[i];
+
+                if (agg.type == GridSqlFunctionType.COUNT_ALL) {
+                    for (long word : sel)
+                        cnts[i] += Long.bitCount(word);
+
+                    continue;
+                }
+
+                ColumnChunk chunk = cols.chunk(agg.col);
+
+                switch (agg.type) {
+                    case COUNT:
+                        cnts[i] += chunk.count(sel);
+
+                        break;
+
+                    case AVG:
+                        cnts[i] += chunk.count(sel);
+                        sums[i] += chunk.doubleSum(sel);
+
+                        break;
+
+                    case SUM:
+                        try {
+                            res[i] = ColumnarAggregateQuery.add(res[i], chunk.sum(sel));
+                        }
+                        catch (ArithmeticException ignored) {
+                            // Let H2 compute the sum with a wider type.
+                            return false;
+                        }
+
+                        break;
+
+                    case MIN:
+                    case MAX:
+                        res[i] = extremum(res[i], chunk.extremum(sel, agg.type == GridSqlFunctionType.MAX),
+                            agg.type == GridSqlFunctionType.MAX);
+
+                        break;
+
+                    default:
+                        throw new IllegalStateException("Unsupported aggregate: " + agg.type);
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * @return Values of the result row.
+         */
+        private Object[] result() {
+            for (int i = 0; i < aggs.length; i++) {
+                switch (aggs[i].type) {
+                    case COUNT_ALL:
+                    case COUNT:
+                        res[i] = cnts[i];
+
+                        break;
+
+                    case AVG:
+                        res[i] = cnts[i] == 0 ? null : sums[i] / cnts[i];
+
+                        break;
+
+                    default:
+                        break;
+                }
+            }
+
+            return res;
+        }
+    }
+
+    /**
+     * Aggregate of a column.
+     */
+    private static class Aggregate {
+        /** Aggregate type. */
+        private final GridSqlFunctionType type;
+
+        /** Index of the column in the replica, {@code -1} for {@code COUNT(*)}. */
+        private final int col;
+
+        /**
+         * @param type Aggregate type.
+         * @param col Index of the column in the replica.
+         */
+        private Aggregate(GridSqlFunctionType type, int col) {
+            this.type = type;
+            this.col = col;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Aggregate.class, this);
+        }
+    }
+
+    /**
+     * Comparison of a column with a constant or a parameter.
+     */
+    private static class Predicate {
+        /** Index of the column in the replica. */
+        private final int col;
+
+        /** Comparison operation, column is the left operand. */
+        private final GridSqlOperationType op;
+
+        /** Constant. */
+        @Nullable private final Object val;
+
+        /** Parameter index or {@code -1} if the right operand is a constant. */
+        private final int paramIdx;
+
+        /**
+         * @param col Index of the column in the replica.
+         * @param op Comparison operation.
+         * @param val Constant.
+         * @param paramIdx Parameter index.
+         */
+        private Predicate(int col, GridSqlOperationType op, @Nullable Object val, int paramIdx) {
+            this.col = col;
+            this.op = op;
+            this.val = val;
+            this.paramIdx = paramIdx;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Predicate.class, this);
+        }
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.columnar;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
+import org.apache.ignite.internal.processors.cache.query.QueryTable;
+import org.apache.ignite.internal.processors.query.GridQueryCancel;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.h2.H2PooledConnection;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.h2.MapH2QueryInfo;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAlias;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAst;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlQueryParser;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlSelect;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlStatement;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlTable;
+import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.internal.util.worker.GridWorker;
+import org.apache.ignite.thread.IgniteThread;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_COLUMNAR_REFRESH_INTERVAL;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_VECTORIZED_SCAN_BATCH_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.getInteger;
+import static org.apache.ignite.IgniteSystemProperties.getLong;
+
+/**
+ * Manager of columnar replicas of tables. A replica of all supported columns is created on every data node for a table
+ * created with the {@code COLUMNAR} parameter, e.g. {@code CREATE TABLE ... WITH "COLUMNAR=true"}, replicas of chosen
+ * columns may be created by {@link #enable}. Replicas are node local, their chunks are rebuilt by a background worker
+ * for partitions modified since the last build. Map queries which compute aggregates over replica columns only
+ * are evaluated over chunks if all queried partitions have actual chunks, otherwise they are executed by H2.
+ * <p>
+ * If vectorized scan is enabled by {@link IgniteSystemProperties#IGNITE_SQL_VECTORIZED_SCAN_BATCH_SIZE}, partitions
+ * without actual chunks are scanned in batches of rows instead, and such queries over tables without replicas
+ * are evaluated the same way over batches of rows of all partitions.
+ */
+public class ColumnarManager {
+    /** Default interval of chunks refresh in milliseconds. */
+    public static final long DFLT_REFRESH_INTERVAL = 1_000L;
+
+    /** Maximum number of cached query plans. */
+    private static final int PLAN_CACHE_SIZE = 1024;
+
+    /** Plan of a query which can't be evaluated over a replica. */
+    private static final Object NOT_SUPPORTED = new Object();
+
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Indexing. */
+    private final IgniteH2Indexing h2;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Interval of chunks refresh in milliseconds. */
+    private final long refreshInterval = getLong(IGNITE_SQL_COLUMNAR_REFRESH_INTERVAL, DFLT_REFRESH_INTERVAL);
+
+    /** Number of rows of a batch of vectorized scan, {@code 0} if vectorized scan is disabled. */
+    private final int batchSize = Math.max(0, getInteger(IGNITE_SQL_VECTORIZED_SCAN_BATCH_SIZE, 0));
+
+    /** Replicas. */
+    private final ConcurrentMap<QueryTable, ColumnarReplica> replicas = new ConcurrentHashMap<>();
+
+    /** Query plans by schema name and query. */
+    private final Map<T2<String, String>, Object> plans = new GridBoundedConcurrentLinkedHashMap<>(PLAN_CACHE_SIZE);
+
+    /** Number of map queries evaluated over replicas. */
+    private final LongAdder execCnt = new LongAdder();
+
+    /** Tables with replicas enabled by configuration, which are created when the cache of a table is started. */
+    private final Set<QueryTable> configured = ConcurrentHashMap.newKeySet();
+
+    /** Refresh worker, started when the first replica is created. */
+    private GridWorker refreshWorker;
+
+    /**
+     * @param ctx Kernal context.
+     * @param h2 Indexing.
+     */
+    public ColumnarManager(GridKernalContext ctx, IgniteH2Indexing h2) {
+        this.ctx = ctx;
+        this.h2 = h2;
+
+        log = ctx.log(ColumnarManager.class);
+    }
+
+    /**
+     * Creates a columnar replica of a table. Replica of the same table is replaced.
+     *
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @param cols Names of replica columns.
+     */
+    public synchronized void enable(String schemaName, String tblName, Collection<String> cols) {
+        GridH2Table tbl = h2.schemaManager().dataTable(schemaName, tblName);
+
+        if (tbl == null) {
+            throw new IgniteSQLException("Table doesn't exist [schema=" + schemaName + ", tbl=" + tblName + ']',
+                IgniteQueryErrorCode.TABLE_NOT_FOUND);
+        }
+
+        ColumnarReplica replica = new ColumnarReplica(tbl, cols);
+
+        replicas.put(tbl.identifier(), replica);
+
+        tbl.columnarReplica(replica);
+
+        plans.clear();
+
+        startRefreshWorker();
+    }
+
+    /**
+     * Creates a columnar replica of all supported columns of a table created with the {@code COLUMNAR} parameter
+     * as soon as the cache of the table is started.
+     *
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     */
+    public synchronized void onColumnarTableCreated(String schemaName, String tblName) {
+        configured.add(new QueryTable(schemaName, tblName));
+
+        startRefreshWorker();
+    }
+
+    /**
+     * Starts the refresh worker if it's not started.
+     */
+    private void startRefreshWorker() {
+        if (refreshWorker == null) {
+            refreshWorker = new GridWorker(ctx.igniteInstanceName(), "columnar-refresh", log) {
+                @Override protected void body() throws InterruptedException, IgniteInterruptedCheckedException {
+                    while (!isCancelled()) {
+                        refresh();
+
+                        U.sleep(refreshInterval);
+                    }
+                }
+            };
+
+            IgniteThread thread = new IgniteThread(refreshWorker);
+
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Drops a columnar replica of a table.
+     *
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @return {@code True} if replica existed.
+     */
+    public synchronized boolean disable(String schemaName, String tblName) {
+        configured.remove(new QueryTable(schemaName, tblName));
+
+        ColumnarReplica replica = replicas.remove(new QueryTable(schemaName, tblName));
+
+        if (replica == null)
+            return false;
+
+        replica.table().columnarReplica(null);
+
+        plans.clear();
+
+        return true;
+    }
+
+    /**
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @return Columnar replica of the table or {@code null} if there is no replica.
+     */
+    @Nullable public ColumnarReplica replica(String schemaName, String tblName) {
+        return replicas.get(new QueryTable(schemaName, tblName));
+    }
+
+    /**
+     * @return Number of map queries evaluated over replicas.
+     */
+    public long executedQueries() {
+        return execCnt.sum();
+    }
+
+    /**
+     * Creates replicas of configured tables with started caches, rebuilds chunks of partitions modified since
+     * the last build, drops replicas of dropped tables.
+     */
+    public void refresh() {
+        for (QueryTable id : configured) {
+            GridH2Table tbl = h2.schemaManager().dataTable(id.schema(), id.table());
+
+            if (tbl != null && tbl.cacheContext() == null)
+                continue;
+
+            synchronized (this) {
+                if (!configured.remove(id) || tbl == null)
+                    continue;
+
+                try {
+                    enable(id.schema(), id.table(), ColumnarReplica.supportedColumns(tbl));
+                }
+                catch (IgniteSQLException ex) {
+                    U.warn(log, "Failed to create columnar replica [tbl=" + id + ", err=" + ex.getMessage() + ']');
+                }
+            }
+        }
+
+        for (Map.Entry<QueryTable, ColumnarReplica> e : replicas.entrySet()) {
+            QueryTable id = e.getKey();
+            ColumnarReplica replica = e.getValue();
+
+            if (h2.schemaManager().dataTable(id.schema(), id.table()) != replica.table()) {
+                replicas.remove(id, replica);
+
+                continue;
+            }
+
+            try {
+                int cnt = replica.refresh();
+
+                if (cnt > 0 && log.isDebugEnabled())
+                    log.debug("Columnar replica refreshed [tbl=" + id + ", parts=" + cnt + ']');
+            }
+            catch (IgniteCheckedException | RuntimeException ex) {
+                U.warn(log, "Failed to refresh columnar replica [tbl=" + id + ", err=" + ex.getMessage() + ']');
+            }
+        }
+    }
+
+    /**
+     * Evaluates a map query over a columnar replica if the query is supported and all partitions have actual chunks.
+     *
+     * @param conn Connection.
+     * @param stmt Prepared map query.
+     * @param schemaName Schema name.
+     * @param sql Map query.
+     * @param params Query parameters.
+     * @param cctx Cache context of the query.
+     * @param topVer Topology version.
+     * @param parts Explicit partitions or {@code null} to query primary partitions for the topology version.
+     * @param timeout Query timeout.
+     * @param cancel Query cancel.
+     * @param dataPageScanEnabled If data page scan is enabled.
+     * @param qryInfo Query info.
+     * @return Result set or {@code null} if the query must be executed by H2.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable public ResultSet execute(
+        H2PooledConnection conn,
+        PreparedStatement stmt,
+        String schemaName,
+        String sql,
+        Collection<Object> params,
+        @Nullable GridCacheContext<?, ?> cctx,
+        @Nullable AffinityTopologyVersion topVer,
+        @Nullable int[] parts,
+        int timeout,
+        @Nullable GridQueryCancel cancel,
+        Boolean dataPageScanEnabled,
+        MapH2QueryInfo qryInfo
+    ) throws IgniteCheckedException {
+        if ((replicas.isEmpty() && batchSize == 0) || cctx == null || topVer == null || !cctx.isPartitioned() ||
+            cctx.config().getQueryParallelism() != 1)
+            return null;
+
+        ColumnarAggregateQuery qry = plan(stmt, schemaName, sql);
+
+        if (qry == null || qry.replica().table().cacheId() != cctx.cacheId() || !actual(qry.replica()))
+            return null;
+
+        if (parts == null)
+            parts = U.toIntArray(cctx.affinity().primaryPartitions(ctx.localNodeId(), topVer));
+
+        int timeout0 = timeout >= 0 ? timeout : h2.distributedConfiguration().defaultQueryTimeout();
+
+        long deadline = timeout0 > 0 ? U.currentTimeMillis() + timeout0 : 0;
+
+        Object[] row = qry.execute(cctx, parts, params.toArray(), batchSize, cancel, deadline);
+
+        if (row == null)
+            return null;
+
+        execCnt.increment();
+
+        return h2.executeSqlQueryWithTimer(conn, qry.resultQuery(), Arrays.asList(row), timeout, cancel,
+            dataPageScanEnabled, qryInfo);
+    }
+
+    /**
+     * @param replica Replica of a query plan.
+     * @return {@code True} if the replica is the current replica of its table or, if vectorized scan is enabled,
+     *      a scan only replica of a table without a replica.
+     */
+    private boolean actual(ColumnarReplica replica) {
+        GridH2Table tbl = replica.table();
+
+        if (!replica.scanOnly())
+            return replicas.get(tbl.identifier()) == replica;
+
+        return batchSize > 0 && tbl.columnarReplica() == null &&
+            h2.schemaManager().dataTable(tbl.identifier().schema(), tbl.identifier().table()) == tbl;
+    }
+
+    /**
+     * @param stmt Prepared map query.
+     * @param schemaName Schema name.
+     * @param sql Map query.
+     * @return Columnar query or {@code null} if the query can't be evaluated over a replica.
+     */
+    @Nullable private ColumnarAggregateQuery plan(PreparedStatement stmt, String schemaName, String sql) {
+        T2<String, String> key = new T2<>(schemaName, sql);
+
+        Object plan = plans.get(key);
+
+        if (plan == null) {
+            plan = NOT_SUPPORTED;
+
+            try {
+                GridSqlStatement parsed = new GridSqlQueryParser(false, log).parse(GridSqlQueryParser.prepared(stmt));
+
+                if (parsed instanceof GridSqlSelect) {
+                    GridSqlAst from = GridSqlAlias.unwrap(((GridSqlSelect)parsed).from());
+
+                    GridH2Table tbl = from instanceof GridSqlTable ? ((GridSqlTable)from).dataTable() : null;
+
+                    ColumnarReplica replica = tbl != null ? tbl.columnarReplica() : null;
+
+                    // Tables without replicas are scanned in batches of rows.
+                    if (replica == null && tbl != null && batchSize > 0)
+                        replica = new ColumnarReplica(tbl, ColumnarReplica.supportedColumns(tbl), true);
+
+                    ColumnarAggregateQuery qry = replica != null ?
+                        ColumnarAggregateQuery.create(replica, (GridSqlSelect)parsed, stmt.getMetaData()) : null;
+
+                    if (qry != null)
+                        plan = qry;
+                }
+            }
+            catch (SQLException | IgniteSQLException e) {
+                if (log.isDebugEnabled())
+                    log.debug("Failed to plan columnar query [sql=" + sql + ", err=" + e.getMessage() + ']');
+            }
+
+            plans.put(key, plan);
+        }
+
+        return plan == NOT_SUPPORTED ? null : (ColumnarAggregateQuery)plan;
+    }
+
+    /**
+     * Stops the manager.
+     */
+    public synchronized void stop() {
+        if (refreshWorker != null) {
+            refreshWorker.cancel();
+
+            refreshWorker = null;
+        }
+
+        for (ColumnarReplica replica : replicas.values())
+            replica.table().columnarReplica(null);
+
+        configured.clear();
+        replicas.clear();
+        plans.clear();
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.columnar;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2RowDescriptor;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.opt.H2CacheRow;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.lang.IgnitePredicate;
+import org.h2.table.Column;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+
+/**
+ * Columnar replica of chosen columns of a table. Replica keeps column chunks per partition, which are rebuilt
+ * in background. Every update of a partition increments its modification stamp after the row is written
+ * to the partition, chunks are used only while the stamp they were built at is the current one.
+ * <p>
+ * Partitions without actual chunks may be scanned in batches of rows, which are evaluated the same way as chunks.
+ * A scan only replica never builds chunks, it describes columns of a table without a replica for such scans.
+ */
+public class ColumnarReplica {
+    /** Table. */
+    @GridToStringExclude
+    private final GridH2Table tbl;
+
+    /** Column names. */
+    private final String[] cols;
+
+    /** H2 types of columns. */
+    private final int[] types;
+
+    /** Modification stamps of partitions. */
+    @GridToStringExclude
+    private final AtomicLongArray stamps;
+
+    /** Column chunks of partitions. */
+    @GridToStringExclude
+    private final AtomicReferenceArray<PartitionColumns> parts;
+
+    /** If chunks are never built. */
+    private final boolean scanOnly;
+
+    /**
+     * @param tbl Table.
+     * @param cols Column names.
+     */
+    public ColumnarReplica(GridH2Table tbl, Collection<String> cols) {
+        this(tbl, cols, false);
+    }
+
+    /**
+     * @param tbl Table.
+     * @param cols Column names.
+     * @param scanOnly If chunks are never built.
+     */
+    public ColumnarReplica(GridH2Table tbl, Collection<String> cols, boolean scanOnly) {
+        GridCacheContext<?, ?> cctx = tbl.cacheContext();
+
+        if (cctx == null || !cctx.isPartitioned() || cctx.mvccEnabled() || cctx.config().getQueryParallelism() != 1) {
+            throw new IgniteSQLException("Columnar replica is supported only for started partitioned non-MVCC " +
+                "caches without query parallelism [tbl=" + tbl.getName() + ']',
+                IgniteQueryErrorCode.UNSUPPORTED_OPERATION);
+        }
+
+        if (cols.isEmpty()) {
+            throw new IgniteSQLException("Columns of columnar replica are not specified [tbl=" + tbl.getName() + ']',
+                IgniteQueryErrorCode.PARSING);
+        }
+
+        this.tbl = tbl;
+        this.cols = cols.toArray(new String[cols.size()]);
+
+        types = new int[this.cols.length];
+
+        for (int i = 0; i < this.cols.length; i++) {
+            if (!tbl.doesColumnExist(this.cols[i])) {
+                throw new IgniteSQLException("Column does not exist [tbl=" + tbl.getName() + ", col=" +
+                    this.cols[i] + ']', IgniteQueryErrorCode.COLUMN_NOT_FOUND);
+            }
+
+            types[i] = tbl.getColumn(this.cols[i]).getType();
+
+            if (!ColumnChunk.supported(types[i])) {
+                throw new IgniteSQLException("Column type is not supported by columnar replica [tbl=" +
+                    tbl.getName() + ", col=" + this.cols[i] + ']', IgniteQueryErrorCode.UNSUPPORTED_OPERATION);
+            }
+        }
+
+        this.scanOnly = scanOnly;
+
+        int partCnt = cctx.affinity().partitions();
+
+        stamps = new AtomicLongArray(scanOnly ? 0 : partCnt);
+        parts = new AtomicReferenceArray<>(scanOnly ? 0 : partCnt);
+    }
+
+    /**
+     * @param tbl Table.
+     * @return Names of table columns which types can be stored in chunks.
+     */
+    public static List<String> supportedColumns(GridH2Table tbl) {
+        List<String> cols = new ArrayList<>();
+
+        for (Column col : tbl.getColumns()) {
+            if (ColumnChunk.supported(col.getType()))
+                cols.add(col.getName());
+        }
+
+        return cols;
+    }
+
+    /**
+     * @return Table.
+     */
+    public GridH2Table table() {
+        return tbl;
+    }
+
+    /**
+     * @param colName Column name.
+     * @return Index of the column in the replica or {@code -1} if there is no such column.
+     */
+    public int columnIndex(String colName) {
+        for (int i = 0; i < cols.length; i++) {
+            if (cols[i].equals(colName))
+                return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param col Index of the column in the replica.
+     * @return H2 type of the column.
+     */
+    public int columnType(int col) {
+        return types[col];
+    }
+
+    /**
+     * @return {@code True} if chunks are never built.
+     */
+    public boolean scanOnly() {
+        return scanOnly;
+    }
+
+    /**
+     * Invoked after a row of the table is written to or removed from a partition.
+     *
+     * @param part Partition.
+     */
+    public void onUpdate(int part) {
+        if (!scanOnly)
+            stamps.incrementAndGet(part);
+    }
+
+    /**
+     * @param part Partition.
+     * @return Chunks of the partition or {@code null} if partition was modified after chunks were built.
+     */
+    @Nullable public PartitionColumns columns(GridDhtLocalPartition part) {
+        if (scanOnly)
+            return null;
+
+        PartitionColumns cols = parts.get(part.id());
+
+        return cols != null && cols.partition() == part && cols.stamp() == stamps.get(part.id()) ? cols : null;
+    }
+
+    /**
+     * Rebuilds chunks of all owned local partitions which were modified after chunks were built.
+     *
+     * @return Number of rebuilt partitions.
+     * @throws IgniteCheckedException If failed.
+     */
+    public int refresh() throws IgniteCheckedException {
+        GridCacheContext<?, ?> cctx = tbl.cacheContext();
+
+        if (cctx == null || scanOnly)
+            return 0;
+
+        int cnt = 0;
+
+        for (GridDhtLocalPartition part : cctx.topology().localPartitions()) {
+            if (part.state() == OWNING && columns(part) == null && refresh(part))
+                cnt++;
+        }
+
+        return cnt;
+    }
+
+    /**
+     * Rebuilds chunks of a partition.
+     *
+     * @param part Partition.
+     * @return {@code True} if chunks were built, {@code false} if partition isn't owned or was modified during
+     *      the build.
+     * @throws IgniteCheckedException If failed.
+     */
+    public boolean refresh(GridDhtLocalPartition part) throws IgniteCheckedException {
+        GridCacheContext<?, ?> cctx = tbl.cacheContext();
+
+        if (cctx == null || scanOnly || !part.reserve())
+            return false;
+
+        try {
+            if (part.state() != OWNING)
+                return false;
+
+            int[] colIds = columnIds();
+
+            if (colIds == null)
+                return false;
+
+            long stamp = stamps.get(part.id());
+
+            GridH2RowDescriptor desc = tbl.rowDescriptor();
+
+            ColumnChunk.Builder[] builders = new ColumnChunk.Builder[cols.length];
+            BinaryColumnReader[] readers = new BinaryColumnReader[cols.length];
+
+            int cap = (int)Math.min(Integer.MAX_VALUE, part.dataStore().fullSize());
+
+            for (int i = 0; i < cols.length; i++) {
+                builders[i] = ColumnChunk.builder(types[i], cap);
+                readers[i] = new BinaryColumnReader(desc, colIds[i], types[i]);
+            }
+
+            int cacheId = cctx.group().sharedGroup() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
+
+            GridCursor<? extends CacheDataRow> cur = part.dataStore().cursor(cacheId);
+
+            int rows = 0;
+
+            while (cur.next()) {
+                CacheDataRow row = cur.get();
+
+                if (!desc.type().matchType(row.value()))
+                    continue;
+
+                read(desc, row, colIds, readers, builders);
+
+                rows++;
+            }
+
+            // Chunks are consistent only if there were no updates during the scan.
+            if (stamps.get(part.id()) != stamp)
+                return false;
+
+            ColumnChunk[] chunks = new ColumnChunk[cols.length];
+
+            for (int i = 0; i < cols.length; i++)
+                chunks[i] = builders[i].build();
+
+            parts.set(part.id(), new PartitionColumns(part, stamp, rows, chunks));
+
+            return true;
+        }
+        finally {
+            part.release();
+        }
+    }
+
+    /**
+     * Scans rows of a partition in batches. Every batch is passed to the visitor as chunks of the given columns
+     * built from the batch rows, chunks of other columns are {@code null}. Chunks of a batch are valid only until
+     * the visitor returns.
+     *
+     * @param part Partition.
+     * @param scanCols Indexes of scanned columns in the replica.
+     * @param batchSize Maximum number of rows of a batch.
+     * @param visitor Visitor of batches, returns {@code false} to stop the scan.
+     * @return {@code True} if all rows were scanned, {@code false} if partition isn't owned, some column was
+     *      dropped or the scan was stopped by the visitor.
+     * @throws IgniteCheckedException If failed.
+     */
+    public boolean scan(
+        GridDhtLocalPartition part,
+        int[] scanCols,
+        int batchSize,
+        IgnitePredicate<PartitionColumns> visitor
+    ) throws IgniteCheckedException {
+        assert batchSize > 0 : batchSize;
+
+        GridCacheContext<?, ?> cctx = tbl.cacheContext();
+
+        if (cctx == null || !part.reserve())
+            return false;
+
+        try {
+            if (part.state() != OWNING)
+                return false;
+
+            int[] allColIds = columnIds();
+
+            if (allColIds == null)
+                return false;
+
+            GridH2RowDescriptor desc = tbl.rowDescriptor();
+
+            int[] colIds = new int[scanCols.length];
+            ColumnChunk.Builder[] builders = new ColumnChunk.Builder[scanCols.length];
+            BinaryColumnReader[] readers = new BinaryColumnReader[scanCols.length];
+
+            for (int i = 0; i < scanCols.length; i++) {
+                int col = scanCols[i];
+
+                colIds[i] = allColIds[col];
+                builders[i] = ColumnChunk.builder(types[col], batchSize);
+                readers[i] = new BinaryColumnReader(desc, colIds[i], types[col]);
+            }
+
+            int cacheId = cctx.group().sharedGroup() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
+
+            GridCursor<? extends CacheDataRow> cur = part.dataStore().cursor(cacheId);
+
+            int rows = 0;
+
+            while (cur.next()) {
+                CacheDataRow row = cur.get();
+
+                if (!desc.type().matchType(row.value()))
+                    continue;
+
+                read(desc, row, colIds, readers, builders);
+
+                if (++rows == batchSize) {
+                    if (!visitor.apply(batch(part, scanCols, rows, builders)))
+                        return false;
+
+                    rows = 0;
+                }
+            }
+
+            return rows == 0 || visitor.apply(batch(part, scanCols, rows, builders));
+        }
+        finally {
+            part.release();
+        }
+    }
+
+    /**
+     * Builds chunks of a batch and resets builders for the next batch.
+     *
+     * @param part Partition.
+     * @param scanCols Indexes of scanned columns in the replica.
+     * @param rows Number of rows.
+     * @param builders Builders of scanned columns.
+     * @return Chunks of the batch.
+     */
+    private PartitionColumns batch(GridDhtLocalPartition part, int[] scanCols, int rows,
+        ColumnChunk.Builder[] builders) {
+        ColumnChunk[] chunks = new ColumnChunk[cols.length];
+
+        for (int i = 0; i < scanCols.length; i++) {
+            chunks[scanCols[i]] = builders[i].build();
+
+            builders[i].reset();
+        }
+
+        return new PartitionColumns(part, -1L, rows, chunks);
+    }
+
+    /**
+     * Adds values of a row to builders. Values which can't be read from binary objects directly are read
+     * through the H2 row, which is created once per row.
+     *
+     * @param desc Row descriptor.
+     * @param row Cache row.
+     * @param colIds H2 column IDs.
+     * @param readers Readers of columns.
+     * @param builders Builders of columns.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static void read(
+        GridH2RowDescriptor desc,
+        CacheDataRow row,
+        int[] colIds,
+        BinaryColumnReader[] readers,
+        ColumnChunk.Builder[] builders
+    ) throws IgniteCheckedException {
+        H2CacheRow h2Row = null;
+
+        for (int i = 0; i < colIds.length; i++) {
+            if (readers[i].read(row, builders[i]))
+                continue;
+
+            if (h2Row == null)
+                h2Row = desc.createRow(row);
+
+            builders[i].add(h2Row.getValue(colIds[i]));
+        }
+    }
+
+    /**
+     * @return Current H2 column IDs of replica columns or {@code null} if some column was dropped or its type was
+     *      changed.
+     */
+    @Nullable private int[] columnIds() {
+        int[] colIds = new int[cols.length];
+
+        for (int i = 0; i < cols.length; i++) {
+            if (!tbl.doesColumnExist(cols[i]))
+                return null;
+
+            Column col = tbl.getColumn(cols[i]);
+
+            if (col.getType() != types[i])
+                return null;
+
+            colIds[i] = col.getColumnId();
+        }
+
+        return colIds;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ColumnarReplica.class, this, "tbl", tbl.getName());
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.columnar;
+
+import java.util.Arrays;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperationType;
+import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Chunk of floating point values. Values are compared the same way as H2 does, with {@link Double#compare}.
+ */
+public class DoubleColumnChunk extends ColumnChunk {
+    /** Values. */
+    private final double[] vals;
+
+    /**
+     * @param size Number of rows.
+     * @param nulls Bitmap of rows with {@code null} values.
+     * @param vals Values.
+     */
+    DoubleColumnChunk(int size, @Nullable long[] nulls, double[] vals) {
+        super(size, nulls);
+
+        this.vals = vals;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void filter(GridSqlOperationType op, Object val, long[] sel) {
+        double c = (Double)val;
+
+        for (int w = 0; w < sel.length; w++) {
+            long word = sel[w] & ~nullWord(w);
+
+            if (word == 0) {
+                sel[w] = 0;
+
+                continue;
+            }
+
+            int from = w << 6;
+            int cnt = wordRows(w);
+
+            long res = 0;
+
+            for (int i = 0; i < cnt; i++) {
+                int cmp = Double.compare(vals[from + i], c);
+
+                boolean match;
+
+                switch (op) {
+                    case EQUAL:
+                        match = cmp == 0;
+
+                        break;
+
+                    case NOT_EQUAL:
+                        match = cmp != 0;
+
+                        break;
+
+                    case SMALLER:
+                        match = cmp < 0;
+
+                        break;
+
+                    case SMALLER_EQUAL:
+                        match = cmp <= 0;
+
+                        break;
+
+                    case BIGGER:
+                        match = cmp > 0;
+
+                        break;
+
+                    case BIGGER_EQUAL:
+                        match = cmp >= 0;
+
+                        break;
+
+                    default:
+                        throw new IllegalArgumentException("Unsupported operation: " + op);
+                }
+
+                res |= (match ? 1L : 0L) << i;
+            }
+
+            sel[w] = word & res;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public Object sum(long[] sel) {
+        return count(sel) == 0 ? null : doubleSum(sel);
+    }
+
+    /** {@inheritDoc} */
+    @Override public double doubleSum(long[] sel) {
+        double sum = 0;
+
+        for (int w = 0; w < sel.length; w++) {
+            long word = sel[w] & ~nullWord(w);
+
+            for (; word != 0; word &= word - 1)
+                sum += vals[(w << 6) + Long.numberOfTrailingZeros(word)];
+        }
+
+        return sum;
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public Comparable<?> extremum(long[] sel, boolean max) {
+        Double res = null;
+
+        for (int w = 0; w < sel.length; w++) {
+            long word = sel[w] & ~nullWord(w);
+
+            for (; word != 0; word &= word - 1) {
+                double v = vals[(w << 6) + Long.numberOfTrailingZeros(word)];
+
+                if (res == null || (max ? Double.compare(v, res) > 0 : Double.compare(v, res) < 0))
+                    res = v;
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Builder of a chunk of floating point values.
+     */
+    static class Builder extends ColumnChunk.Builder {
+        /** Values. */
+        private double[] vals;
+
+        /**
+         * @param cap Initial capacity.
+         */
+        Builder(int cap) {
+            super(cap);
+
+            vals = new double[Math.max(1, cap)];
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void ensureCapacity(int cap) {
+            if (cap > vals.length)
+                vals = Arrays.copyOf(vals, Math.max(cap, vals.length << 1));
+        }
+
+        /**
+         * @param val Value of the next row.
+         */
+        void add(double val) {
+            vals[next()] = val;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void set(int idx, Value val) {
+            vals[idx] = val.getDouble();
+        }
+
+        /** {@inheritDoc} */
+        @Override public DoubleColumnChunk build() {
+            return new DoubleColumnChunk(size, nulls(), Arrays.copyOf(vals, size));
+        }
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.columnar;
+
+import java.util.Arrays;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperationType;
+import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Chunk of integral values. Values are stored as differences with the minimum value bit-packed with the least
+ * number of bits which fits the difference of the maximum and minimum values (frame of reference encoding).
+ */
+public class LongColumnChunk extends ColumnChunk {
+    /** Minimum value. */
+    private final long min;
+
+    /** Maximum value. */
+    private final long max;
+
+    /** Number of bits per value. */
+    private final int bits;
+
+    /** Packed values. */
+    private final long[] data;
+
+    /**
+     * @param size Number of rows.
+     * @param nulls Bitmap of rows with {@code null} values.
+     * @param vals Values, values of {@code null} rows are ignored.
+     */
+    LongColumnChunk(int size, @Nullable long[] nulls, long[] vals) {
+        super(size, nulls);
+
+        long min0 = Long.MAX_VALUE;
+        long max0 = Long.MIN_VALUE;
+
+        for (int i = 0; i < size; i++) {
+            if (isNull(i))
+                continue;
+
+            min0 = Math.min(min0, vals[i]);
+            max0 = Math.max(max0, vals[i]);
+        }
+
+        if (min0 > max0)
+            min0 = max0 = 0;
+
+        min = min0;
+        max = max0;
+
+        // The difference is treated as unsigned, so it fits 64 bits for any pair of values.
+        bits = 64 - Long.numberOfLeadingZeros(max - min);
+
+        data = new long[(int)(((long)size * bits + 63) >>> 6)];
+
+        if (bits == 0)
+            return;
+
+        for (int i = 0; i < size; i++) {
+            if (isNull(i))
+                continue;
+
+            long v = vals[i] - min;
+            long pos = (long)i * bits;
+            int w = (int)(pos >>> 6);
+            int off = (int)(pos & 63);
+
+            data[w] |= v << off;
+
+            if (off + bits > 64)
+                data[w + 1] |= v >>> (64 - off);
+        }
+    }
+
+    /**
+     * @param idx Row index.
+     * @return {@code True} if value of the row is {@code null}.
+     */
+    private boolean isNull(int idx) {
+        return (nullWord(idx >>> 6) & (1L << idx)) != 0;
+    }
+
+    /**
+     * @return Number of bits per value.
+     */
+    public int bitsPerValue() {
+        return bits;
+    }
+
+    /**
+     * @param idx Row index.
+     * @return Value of the row, undefined for {@code null} rows.
+     */
+    public long get(int idx) {
+        if (bits == 0)
+            return min;
+
+        long pos = (long)idx * bits;
+        int w = (int)(pos >>> 6);
+        int off = (int)(pos & 63);
+
+        long v = data[w] >>> off;
+
+        if (off + bits > 64)
+            v |= data[w + 1] << (64 - off);
+
+        return min + (bits == 64 ? v : v & ((1L << bits) - 1));
+    }
+
+    /**
+     * Decodes values of consecutive rows.
+     *
+     * @param from Index of the first row.
+     * @param cnt Number of rows.
+     * @param dst Destination array.
+     */
+    private void decode(int from, int cnt, long[] dst) {
+        if (bits == 0) {
+            Arrays.fill(dst, 0, cnt, min);
+
+            return;
+        }
+
+        long mask = bits == 64 ? -1L : (1L << bits) - 1;
+        long pos = (long)from * bits;
+
+        for (int i = 0; i < cnt; i++, pos += bits) {
+            int w = (int)(pos >>> 6);
+            int off = (int)(pos & 63);
+
+            long v = data[w] >>> off;
+
+            if (off + bits > 64)
+                v |= data[w + 1] << (64 - off);
+
+            dst[i] = min + (v & mask);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void filter(GridSqlOperationType op, Object val, long[] sel) {
+        long c = (Long)val;
+
+        // Whole chunk is decided by the range of values.
+        Boolean all = filterByRange(op, c);
+
+        if (all != null) {
+            filterNulls(false, sel);
+
+            if (!all)
+                Arrays.fill(sel, 0L);
+
+            return;
+        }
+
+        long[] buf = new long[64];
+
+        for (int w = 0; w < sel.length; w++) {
+            long word = sel[w] & ~nullWord(w);
+
+            if (word == 0) {
+                sel[w] = 0;
+
+                continue;
+            }
+
+            int cnt = wordRows(w);
+
+            decode(w << 6, cnt, buf);
+
+            long res = 0;
+
+            switch (op) {
+                case EQUAL:
+                    for (int i = 0; i < cnt; i++)
+                        res |= (buf[i] == c ? 1L : 0L) << i;
+
+                    break;
+
+                case NOT_EQUAL:
+                    for (int i = 0; i < cnt; i++)
+                        res |= (buf[i] != c ? 1L : 0L) << i;
+
+                    break;
+
+                case SMALLER:
+                    for (int i = 0; i < cnt; i++)
+                        res |= (buf[i] < c ? 1L : 0L) << i;
+
+                    break;
+
+                case SMALLER_EQUAL:
+                    for (int i = 0; i < cnt; i++)
+                        res |= (buf[i] <= c ? 1L : 0L) << i;
+
+                    break;
+
+                case BIGGER:
+                    for (int i = 0; i < cnt; i++)
+                        res |= (buf[i] > c ? 1L : 0L) << i;
+
+                    break;
+
+                case BIGGER_EQUAL:
+                    for (int i = 0; i < cnt; i++)
+                        res |= (buf[i] >= c ? 1L : 0L) << i;
+
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unsupported operation: " + op);
+            }
+
+            sel[w] = word & res;
+        }
+    }
+
+    /**
+     * @param op Comparison operation.
+     * @param c Right operand.
+     * @return {@code True} if all not {@code null} values satisfy the comparison, {@code false} if none of them
+     *      does, {@code null} if values must be checked one by one.
+     */
+    @Nullable private Boolean filterByRange(GridSqlOperationType op, long c) {
+        switch (op) {
+            case EQUAL:
+                return c < min || c > max ? Boolean.FALSE : min == max ? Boolean.TRUE : null;
+
+            case NOT_EQUAL:
+                return c < min || c > max ? Boolean.TRUE : min == max ? Boolean.FALSE : null;
+
+            case SMALLER:
+                return max < c ? Boolean.TRUE : min >= c ? Boolean.FALSE : null;
+
+            case SMALLER_EQUAL:
+                return max <= c ? Boolean.TRUE : min > c ? Boolean.FALSE : null;
+
+            case BIGGER:
+                return min > c ? Boolean.TRUE : max <= c ? Boolean.FALSE : null;
+
+            case BIGGER_EQUAL:
+                return min >= c ? Boolean.TRUE : max < c ? Boolean.FALSE : null;
+
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + op);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public Object sum(long[] sel) {
+        long[] buf = new long[64];
+
+        long sum = 0;
+        boolean found = false;
+
+        for (int w = 0; w < sel.length; w++) {
+            long word = sel[w] & ~nullWord(w);
+
+            if (word == 0)
+                continue;
+
+            found = true;
+
+            decode(w << 6, wordRows(w), buf);
+
+            for (; word != 0; word &= word - 1)
+                sum = Math.addExact(sum, buf[Long.numberOfTrailingZeros(word)]);
+        }
+
+        return found ? sum : null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public double doubleSum(long[] sel) {
+        long[] buf = new long[64];
+
+        double sum = 0;
+
+        for (int w = 0; w < sel.length; w++) {
+            long word = sel[w] & ~nullWord(w);
+
+            if (word == 0)
+                continue;
+
+            decode(w << 6, wordRows(w), buf);
+
+            for (; word != 0; word &= word - 1)
+                sum += buf[Long.numberOfTrailingZeros(word)];
+        }
+
+        return sum;
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public Comparable<?> extremum(long[] sel, boolean max) {
+        long res = max ? Long.MIN_VALUE : Long.MAX_VALUE;
+        boolean found = false;
+
+        for (int w = 0; w < sel.length; w++) {
+            long word = sel[w] & ~nullWord(w);
+
+            for (; word != 0; word &= word - 1) {
+                long v = get((w << 6) + Long.numberOfTrailingZeros(word));
+
+                res = max ? Math.max(res, v) : Math.min(res, v);
+                found = true;
+            }
+        }
+
+        return found ? res : null;
+    }
+
+    /**
+     * Builder of a chunk of integral values.
+     */
+    static class Builder extends ColumnChunk.Builder {
+        /** Values. */
+        private long[] vals;
+
+        /**
+         * @param cap Initial capacity.
+         */
+        Builder(int cap) {
+            super(cap);
+
+            vals = new long[Math.max(1, cap)];
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void ensureCapacity(int cap) {
+            if (cap > vals.length)
+                vals = Arrays.copyOf(vals, Math.max(cap, vals.length << 1));
+        }
+
+        /**
+         * @param val Value of the next row.
+         */
+        void add(long val) {
+            vals[next()] = val;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void set(int idx, Value val) {
+            vals[idx] = val.getLong();
+        }
+
+        /** {@inheritDoc} */
+        @Override public LongColumnChunk build() {
+            return new LongColumnChunk(size, nulls(), vals);
+        }
+    }
+}
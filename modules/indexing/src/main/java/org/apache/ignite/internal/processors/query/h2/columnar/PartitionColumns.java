@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.columnar;
+
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Column chunks of a table built from rows of a single partition.
+ */
+public class PartitionColumns {
+    /** Partition. */
+    @GridToStringExclude
+    private final GridDhtLocalPartition part;
+
+    /** Modification stamp of the partition the chunks were built at. */
+    private final long stamp;
+
+    /** Number of rows. */
+    private final int rows;
+
+    /** Chunks in the order of columns of the replica. */
+    @GridToStringExclude
+    private final ColumnChunk[] chunks;
+
+    /**
+     * @param part Partition.
+     * @param stamp Modification stamp of the partition the chunks were built at.
+     * @param rows Number of rows.
+     * @param chunks Chunks in the order of columns of the replica.
+     */
+    PartitionColumns(GridDhtLocalPartition part, long stamp, int rows, ColumnChunk[] chunks) {
+        this.part = part;
+        this.stamp = stamp;
+        this.rows = rows;
+        this.chunks = chunks;
+    }
+
+    /**
+     * @return Partition.
+     */
+    public GridDhtLocalPartition partition() {
+        return part;
+    }
+
+    /**
+     * @return Modification stamp of the partition the chunks were built at.
+     */
+    public long stamp() {
+        return stamp;
+    }
+
+    /**
+     * @return Number of rows.
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * @param col Column index in the replica.
+     * @return Chunk.
+     */
+    public ColumnChunk chunk(int col) {
+        return chunks[col];
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(PartitionColumns.class, this, "part", part.id());
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.columnar;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperationType;
+import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Chunk of strings. Values are replaced with codes of a sorted dictionary of distinct values of the chunk,
+ * so order of codes is the same as order of values and comparisons are made on bit-packed codes.
+ */
+public class StringColumnChunk extends ColumnChunk {
+    /** Sorted distinct values. */
+    private final String[] dict;
+
+    /** Codes of values. */
+    private final LongColumnChunk codes;
+
+    /**
+     * @param dict Sorted distinct values.
+     * @param codes Codes of values.
+     */
+    StringColumnChunk(String[] dict, LongColumnChunk codes) {
+        super(codes.size, codes.nulls);
+
+        this.dict = dict;
+        this.codes = codes;
+    }
+
+    /**
+     * @return Number of distinct values.
+     */
+    public int distinctValues() {
+        return dict.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void filter(GridSqlOperationType op, Object val, long[] sel) {
+        int pos = Arrays.binarySearch(dict, (String)val);
+
+        if (pos >= 0) {
+            codes.filter(op, (long)pos, sel);
+
+            return;
+        }
+
+        // Value is absent, codes of greater values start from the insertion point.
+        long ins = -pos - 1;
+
+        switch (op) {
+            case EQUAL:
+            case NOT_EQUAL:
+                codes.filter(op, -1L, sel);
+
+                break;
+
+            case SMALLER:
+            case SMALLER_EQUAL:
+                codes.filter(GridSqlOperationType.SMALLER, ins, sel);
+
+                break;
+
+            case BIGGER:
+            case BIGGER_EQUAL:
+                codes.filter(GridSqlOperationType.BIGGER_EQUAL, ins, sel);
+
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + op);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public Object sum(long[] sel) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public double doubleSum(long[] sel) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public Comparable<?> extremum(long[] sel, boolean max) {
+        Long code = (Long)codes.extremum(sel, max);
+
+        return code == null ? null : dict[code.intValue()];
+    }
+
+    /**
+     * Builder of a chunk of strings.
+     */
+    static class Builder extends ColumnChunk.Builder {
+        /** Values. */
+        private String[] vals;
+
+        /**
+         * @param cap Initial capacity.
+         */
+        Builder(int cap) {
+            super(cap);
+
+            vals = new String[Math.max(1, cap)];
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void ensureCapacity(int cap) {
+            if (cap > vals.length)
+                vals = Arrays.copyOf(vals, Math.max(cap, vals.length << 1));
+        }
+
+        /**
+         * @param val Not {@code null} value of the next row.
+         */
+        void add(String val) {
+            vals[next()] = val;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void reset() {
+            // Values of null rows must stay null to keep the dictionary of the next batch exact.
+            Arrays.fill(vals, 0, size, null);
+
+            super.reset();
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void set(int idx, Value val) {
+            vals[idx] = val.getString();
+        }
+
+        /** {@inheritDoc} */
+        @Override public StringColumnChunk build() {
+            Map<String, Integer> codes = new HashMap<>();
+
+            for (int i = 0; i < size; i++) {
+                if (vals[i] != null)
+                    codes.putIfAbsent(vals[i], 0);
+            }
+
+            String[] dict = codes.keySet().toArray(new String[codes.size()]);
+
+            Arrays.sort(dict);
+
+            for (int i = 0; i < dict.length; i++)
+                codes.put(dict[i], i);
+
+            long[] codeVals = new long[size];
+
+            for (int i = 0; i < size; i++) {
+                if (vals[i] != null)
+                    codeVals[i] = codes.get(vals[i]);
+            }
+
+            return new StringColumnChunk(dict, new LongColumnChunk(size, nulls(), codeVals));
+        }
+    }
+}
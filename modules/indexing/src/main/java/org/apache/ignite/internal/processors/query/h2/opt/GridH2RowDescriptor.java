@@ -222,6 +222,16 @@ public class GridH2RowDescriptor {
         return fieldTypes[col];
     }
 
+    /**
+     * Gets property for column index.
+     *
+     * @param col Column index.
+     * @return Property.
+     */
+    public GridQueryProperty property(int col) {
+        return props[col];
+    }
+
     /**
      * Gets column value by column index.
      *
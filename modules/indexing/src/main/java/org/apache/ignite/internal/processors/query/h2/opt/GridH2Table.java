@@ -53,6 +53,7 @@ import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.processors.query.h2.H2TableDescriptor;
 import org.apache.ignite.internal.processors.query.h2.H2Utils;
 import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.h2.columnar.ColumnarReplica;
 import org.apache.ignite.internal.processors.query.h2.database.H2IndexType;
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex;
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndexBase;
@@ -175,6 +176,9 @@ public class GridH2Table extends TableBase {
     /** Table statistics. */
     private volatile TableStatistics tblStats;
 
+    /** Columnar replica of the table, {@code null} if there is no replica. */
+    private volatile ColumnarReplica columnar;
+
     /** Logger. */
     @GridToStringExclude
     private IgniteLogger log;
@@ -801,6 +805,11 @@ public class GridH2Table extends TableBase {
         // Table size shows approximate count of rows.
         if (prevRow == null)
             size.increment();
+
+        ColumnarReplica columnar0 = columnar;
+
+        if (columnar0 != null)
+            columnar0.onUpdate(row.partition());
     }
 
     /**
@@ -812,6 +821,25 @@ public class GridH2Table extends TableBase {
         // Size of a table bases on PK index size. PK index key equals to a cache key, so we can rely on this condition.
         // Table size shows approximate count of rows.
         size.decrement();
+
+        ColumnarReplica columnar0 = columnar;
+
+        if (columnar0 != null)
+            columnar0.onUpdate(row.partition());
+    }
+
+    /**
+     * @return Columnar replica of the table or {@code null} if there is no replica.
+     */
+    @Nullable public ColumnarReplica columnarReplica() {
+        return columnar;
+    }
+
+    /**
+     * @param columnar Columnar replica of the table or {@code null} to drop the replica.
+     */
+    public void columnarReplica(@Nullable ColumnarReplica columnar) {
+        this.columnar = columnar;
     }
 
     /**
@@ -19,7 +19,10 @@ package org.apache.ignite.internal.processors.query.h2.opt;
 
 import java.util.HashSet;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataTree;
+import org.apache.ignite.internal.processors.query.h2.H2Utils;
 import org.h2.engine.Session;
+import org.h2.index.Cursor;
+import org.h2.result.SearchRow;
 import org.h2.result.SortOrder;
 import org.h2.table.Column;
 import org.h2.table.TableFilter;
@@ -27,7 +30,7 @@ import org.jetbrains.annotations.Nullable;
 
 /**
  * Scan index for {@link GridH2Table}. Delegates to {@link CacheDataTree} when either index rebuild is in progress,
- * or when direct scan over data pages is enabled.
+ * or when direct scan over data pages is enabled, or when the query context selects a few partitions to scan.
  */
 public class H2TableScanIndex extends H2ScanIndex<GridH2IndexBase> {
     /** */
@@ -68,6 +71,17 @@ public class H2TableScanIndex extends H2ScanIndex<GridH2IndexBase> {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public Cursor find(Session ses, SearchRow first, SearchRow last) {
+        QueryContext qctx = H2Utils.context(ses);
+
+        // Scan of a few partitions iterates their data instead of the whole segment of the tree index.
+        if (hashIdx != null && qctx != null && qctx.partitionScan())
+            return hashIdx.find(ses, null, null);
+
+        return super.find(ses, first, last);
+    }
+
     /** {@inheritDoc} */
     @Override public double getCost(Session ses, int[] masks, TableFilter[] filters, int filter,
         SortOrder sortOrder, HashSet<Column> allColumnsSet) {
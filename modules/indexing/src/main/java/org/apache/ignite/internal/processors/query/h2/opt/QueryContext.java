@@ -53,6 +53,9 @@ public class QueryContext {
     /** {@code True} for local queries, {@code false} for distributed ones. */
     private final boolean loc;
 
+    /** {@code True} if the filter selects a few partitions of the segment, so table scans iterate the partitions. */
+    private final boolean partScan;
+
     /**
      * Constructor.
      *
@@ -62,7 +65,6 @@ public class QueryContext {
      * @param mvccSnapshot MVCC snapshot.
      * @param loc {@code True} for local queries, {@code false} for distributed ones.
      */
-    @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
     public QueryContext(
         int segment,
         @Nullable IndexingQueryFilter filter,
@@ -70,6 +72,30 @@ public class QueryContext {
         @Nullable MvccSnapshot mvccSnapshot,
         @Nullable PartitionReservation reservations,
         boolean loc
+    ) {
+        this(segment, filter, distributedJoinCtx, mvccSnapshot, reservations, loc, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param segment Index segment ID.
+     * @param filter Filter.
+     * @param distributedJoinCtx Distributed join context.
+     * @param mvccSnapshot MVCC snapshot.
+     * @param loc {@code True} for local queries, {@code false} for distributed ones.
+     * @param partScan {@code True} if the filter selects a few partitions of the segment, so table scans iterate
+     *      the partitions instead of the whole segment.
+     */
+    @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
+    public QueryContext(
+        int segment,
+        @Nullable IndexingQueryFilter filter,
+        @Nullable DistributedJoinContext distributedJoinCtx,
+        @Nullable MvccSnapshot mvccSnapshot,
+        @Nullable PartitionReservation reservations,
+        boolean loc,
+        boolean partScan
     ) {
         this.segment = segment;
         this.filter = filter;
@@ -77,6 +103,7 @@ public class QueryContext {
         this.mvccSnapshot = mvccSnapshot;
         this.reservations = reservations;
         this.loc = loc;
+        this.partScan = partScan;
     }
 
     /**
@@ -141,6 +168,13 @@ public class QueryContext {
         return loc;
     }
 
+    /**
+     * @return {@code True} if table scans iterate partitions selected by the filter instead of the whole segment.
+     */
+    public boolean partitionScan() {
+        return partScan;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(QueryContext.class, this);
@@ -91,6 +91,9 @@ public class GridSqlCreateTable extends GridSqlStatement {
     /** See {@link CacheConfiguration#getQueryParallelism()}. */
     private Integer parallelism;
 
+    /** Whether a columnar replica of the table is created on data nodes. */
+    private boolean columnar;
+
     /**
      * @return Cache name upon which new cache configuration for this table must be based.
      */
@@ -371,6 +374,20 @@ public class GridSqlCreateTable extends GridSqlStatement {
         this.parallelism = parallelism;
     }
 
+    /**
+     * @return Whether a columnar replica of the table is created on data nodes.
+     */
+    public boolean columnar() {
+        return columnar;
+    }
+
+    /**
+     * @param columnar Whether a columnar replica of the table is created on data nodes.
+     */
+    public void columnar(boolean columnar) {
+        this.columnar = columnar;
+    }
+
     /** {@inheritDoc} */
     @Override public String getSQL() {
         return null;
@@ -523,6 +523,9 @@ public class GridSqlQueryParser {
     /** Query parallelism value of cache configuration. */
     private static final String PARAM_PARALLELISM = "PARALLELISM";
 
+    /** Whether a columnar replica of the table is created on data nodes. */
+    private static final String PARAM_COLUMNAR = "COLUMNAR";
+
     /** */
     private final IdentityHashMap<Object, Object> h2ObjToGridObj = new IdentityHashMap<>();
 
@@ -1684,6 +1687,11 @@ public class GridSqlQueryParser {
 
                 break;
 
+            case PARAM_COLUMNAR:
+                res.columnar(F.isEmpty(val) || Boolean.parseBoolean(val));
+
+                break;
+
             default:
                 throw new IgniteSQLException("Unsupported parameter: " + name, IgniteQueryErrorCode.PARSING);
         }
@@ -122,6 +122,13 @@ public class GridSqlTable extends GridSqlElement {
         this.useIndexes = useIndexes;
     }
 
+    /**
+     * @return List of indexes or {@code null} if there are no index hints.
+     */
+    @Nullable public List<String> useIndexes() {
+        return useIndexes;
+    }
+
     /**
      * @return Schema.
      */
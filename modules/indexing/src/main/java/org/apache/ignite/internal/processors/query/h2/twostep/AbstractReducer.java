@@ -19,8 +19,10 @@ package org.apache.ignite.internal.processors.query.h2.twostep;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -99,6 +101,15 @@ public abstract class AbstractReducer implements Reducer {
     /** */
     private Row lastEvictedRow;
 
+    /** Memory tracker of the query run. */
+    private ReduceMemoryTracker memTracker;
+
+    /**
+     * Pages which next pages are requested only after their rows are consumed, by queues they were polled from.
+     * Will be r/w from query execution thread only, does not need to be threadsafe.
+     */
+    private final Map<Pollable<ReduceResultPage>, ReduceResultPage> deferredFetches = new IdentityHashMap<>();
+
     /**
      * Constructor.
      *
@@ -137,6 +148,11 @@ public abstract class AbstractReducer implements Reducer {
         this.pageSize = pageSize;
     }
 
+    /** {@inheritDoc} */
+    @Override public void setMemoryTracker(ReduceMemoryTracker memTracker) {
+        this.memTracker = memTracker;
+    }
+
     /** {@inheritDoc} */
     @Override public void onFailure(UUID nodeId, final CacheException e) {
         if (nodeId == null)
@@ -202,6 +218,40 @@ public abstract class AbstractReducer implements Reducer {
         lastEvictedRow = requireNonNull(last(evictedBlock));
     }
 
+    /**
+     * Adds a row fetched from the stream. If the memory quota is set, the first blocks kept in memory are spilled
+     * to disk when too many rows are fetched or the quota is exceeded, so that all the fetched rows can be scanned
+     * again. Otherwise the first block is evicted when too many rows are fetched.
+     *
+     * @param row Row.
+     */
+    protected final void addFetched(Row row) {
+        assert memTracker != null;
+
+        fetched.add(row);
+
+        // Sizes of rows are estimated only to be checked against the quota.
+        if (memTracker.hasQuota()) {
+            memTracker.reserve(ReduceMemoryTracker.size(row));
+
+            while (fetched.inMemorySize() >= MAX_FETCH_SIZE || memTracker.exceeded()) {
+                List<Row> block = fetched.firstInMemoryBlock();
+
+                if (block == null)
+                    break;
+
+                fetched.onFirstInMemoryBlockSpilled(memTracker.spill(block));
+            }
+        }
+        else if (fetched.size() == MAX_FETCH_SIZE) {
+            List<Row> block = fetched.evictFirstBlock();
+
+            onBlockEvict(block);
+
+            assert fetched.size() < MAX_FETCH_SIZE;
+        }
+    }
+
     /**
      * @param l List.
      * @return Last element.
@@ -314,6 +364,10 @@ public abstract class AbstractReducer implements Reducer {
     }
 
     /**
+     * Polls the next page when rows of the current one are consumed. The next page of a source is requested right
+     * after the current one is polled, unless the memory quota of the query run is exceeded. In the latter case it
+     * is requested only after rows of the current page are consumed, so that at most one page per source is buffered.
+     *
      * @param queue Queue to poll.
      * @param iter Current iterator.
      * @return The same or new iterator.
@@ -321,10 +375,19 @@ public abstract class AbstractReducer implements Reducer {
     protected final Iterator<Value[]> pollNextIterator(Pollable<ReduceResultPage> queue, Iterator<Value[]> iter) {
         if (!iter.hasNext()) {
             try (TraceSurroundings ignored = MTC.support(ctx.tracing().create(SQL_PAGE_FETCH, MTC.span()))) {
+                ReduceResultPage deferred = deferredFetches.remove(queue);
+
+                if (deferred != null)
+                    deferred.fetchNextPage();
+
                 ReduceResultPage page = takeNextPage(queue);
 
-                if (!page.isLast())
-                    page.fetchNextPage(); // Failed will throw an exception here.
+                if (!page.isLast()) {
+                    if (!page.isFail() && memTracker != null && memTracker.exceeded())
+                        deferredFetches.put(queue, page);
+                    else
+                        page.fetchNextPage(); // Failed will throw an exception here.
+                }
 
                 iter = page.rows();
 
@@ -43,6 +43,7 @@ import org.apache.ignite.events.CacheQueryExecutedEvent;
 import org.apache.ignite.events.DiscoveryEvent;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.GridTopic;
+import org.apache.ignite.internal.IgniteFeatures;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.metric.IoStatisticsQueryHelper;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
@@ -66,6 +67,7 @@ import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQuery
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryFailResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageRequest;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageResponse;
+import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageResponseV2;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2DmlRequest;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2DmlResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2QueryRequest;
@@ -78,6 +80,7 @@ import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.plugin.extensions.communication.Message;
 import org.apache.ignite.spi.indexing.IndexingQueryFilter;
 import org.h2.api.ErrorCode;
 import org.h2.jdbc.JdbcResultSet;
@@ -86,6 +89,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.events.EventType.EVT_CACHE_QUERY_EXECUTED;
+import static org.apache.ignite.internal.IgniteFeatures.SQL_MAP_THREADS;
 import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexImpl.calculateSegment;
 import static org.apache.ignite.internal.managers.communication.GridIoPolicy.QUERY_POOL;
 import static org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2QueryRequest.isDataPageScanEnabled;
@@ -118,6 +122,9 @@ public class GridMapQueryExecutor {
     /** */
     private ConcurrentMap<UUID, MapNodeResults> qryRess = new ConcurrentHashMap<>();
 
+    /** Executor of map queries over morsels of partitions. */
+    private MapQueryMorselExecutor morselExec;
+
     /**
      * @param ctx Context.
      * @param h2 H2 Indexing.
@@ -129,6 +136,8 @@ public class GridMapQueryExecutor {
 
         qryCtxRegistry = h2.queryContextRegistry();
 
+        morselExec = new MapQueryMorselExecutor(ctx, h2);
+
         log = ctx.log(GridMapQueryExecutor.class);
     }
 
@@ -451,14 +460,60 @@ public class GridMapQueryExecutor {
 
                         MapH2QueryInfo qryInfo = new MapH2QueryInfo(stmt, qry.query(), node, reqId, segmentId);
 
-                        ResultSet rs = h2.executeSqlQueryWithTimer(
-                            stmt,
-                            conn,
-                            sql,
-                            timeout,
-                            qryResults.queryCancel(qryIdx),
-                            dataPageScanEnabled,
-                            qryInfo);
+                        ResultSet rs = null;
+
+                        // Aggregates over columns of a columnar replica are computed without H2 table scan.
+                        if (!replicated && !distributedJoins && mvccSnapshot == null) {
+                            rs = h2.columnarManager().execute(
+                                conn,
+                                stmt,
+                                schemaName,
+                                sql,
+                                params0,
+                                mainCctx,
+                                topVer,
+                                parts,
+                                timeout,
+                                qryResults.queryCancel(qryIdx),
+                                dataPageScanEnabled,
+                                qryInfo);
+                        }
+
+                        int[] morselParts = null;
+
+                        // Large scans are split into morsels of partitions executed by several threads.
+                        if (rs == null && morselExec.enabled() && !lazy && !replicated && !distributedJoins &&
+                            mvccSnapshot == null && topVer != null)
+                            morselParts = morselExec.partitions(stmt, cacheIds, topVer, parts, segmentId);
+
+                        MapQueryMorselExecutor.Result morselRes = null;
+
+                        if (morselParts != null) {
+                            morselRes = morselExec.execute(
+                                stmt,
+                                node,
+                                reqId,
+                                segmentId,
+                                schemaName,
+                                sql,
+                                params0,
+                                topVer,
+                                morselParts,
+                                enforceJoinOrder,
+                                timeout,
+                                qryResults.queryCancel(qryIdx),
+                                dataPageScanEnabled);
+                        }
+                        else if (rs == null) {
+                            rs = h2.executeSqlQueryWithTimer(
+                                stmt,
+                                conn,
+                                sql,
+                                timeout,
+                                qryResults.queryCancel(qryIdx),
+                                dataPageScanEnabled,
+                                qryInfo);
+                        }
 
                         if (evt) {
                             ctx.event().record(new CacheQueryExecutedEvent<>(
@@ -476,15 +531,26 @@ public class GridMapQueryExecutor {
                                 null));
                         }
 
-                        assert rs instanceof JdbcResultSet : rs.getClass();
+                        if (morselRes != null) {
+                            if (qryResults.cancelled()) {
+                                morselRes.close();
 
-                        if (qryResults.cancelled()) {
-                            rs.close();
+                                throw new QueryCancelledException();
+                            }
 
-                            throw new QueryCancelledException();
+                            res.openResult(morselRes, qryInfo);
                         }
+                        else {
+                            assert rs instanceof JdbcResultSet : rs.getClass();
+
+                            if (qryResults.cancelled()) {
+                                rs.close();
 
-                        res.openResult(rs, qryInfo);
+                                throw new QueryCancelledException();
+                            }
+
+                            res.openResult(rs, qryInfo);
+                        }
 
                         final GridQueryNextPageResponse msg = prepareNextPage(
                             nodeRess,
@@ -927,12 +993,24 @@ public class GridMapQueryExecutor {
 
             boolean loc = node.isLocal();
 
-            GridQueryNextPageResponse msg = new GridQueryNextPageResponse(qr.queryRequestId(), segmentId, qry, page,
-                page == 0 ? res.rowCount() : -1,
-                res.columnCount(),
-                loc ? null : toMessages(rows, new ArrayList<>(res.columnCount()), res.columnCount()),
-                loc ? rows : null,
-                last);
+            Collection<Message> vals = loc ? null : toMessages(rows, new ArrayList<>(res.columnCount()),
+                res.columnCount());
+
+            GridQueryNextPageResponse msg;
+
+            // Nodes which don't know the number of map threads get the first page in the old format.
+            if (page == 0 && res.threads() > 1 && (loc || IgniteFeatures.nodeSupports(node, SQL_MAP_THREADS))) {
+                msg = new GridQueryNextPageResponseV2(qr.queryRequestId(), segmentId, qry, page, res.rowCount(),
+                    res.columnCount(), vals, loc ? rows : null, last, res.threads());
+            }
+            else {
+                msg = new GridQueryNextPageResponse(qr.queryRequestId(), segmentId, qry, page,
+                    page == 0 ? res.rowCount() : -1,
+                    res.columnCount(),
+                    vals,
+                    loc ? rows : null,
+                    last);
+            }
 
             MTC.span().addTag(SQL_PAGE_ROWS, () -> String.valueOf(rows.size()));
 
@@ -56,6 +56,7 @@ import org.apache.ignite.internal.processors.cache.query.GridCacheSqlQuery;
 import org.apache.ignite.internal.processors.cache.query.GridCacheTwoStepQuery;
 import org.apache.ignite.internal.processors.query.GridQueryCacheObjectsIterator;
 import org.apache.ignite.internal.processors.query.GridQueryCancel;
+import org.apache.ignite.internal.processors.query.GridRunningQueryInfo;
 import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.processors.query.h2.H2FieldsIterator;
 import org.apache.ignite.internal.processors.query.h2.H2PooledConnection;
@@ -71,6 +72,7 @@ import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQuery
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryFailResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageRequest;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageResponse;
+import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageResponseV2;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2DmlRequest;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2DmlResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2QueryRequest;
@@ -96,6 +98,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import static java.util.Collections.singletonList;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_REDUCE_MEMORY_QUOTA;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_RETRY_TIMEOUT;
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccUtils.checkActive;
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccUtils.tx;
@@ -157,6 +160,9 @@ public class GridReduceQueryExecutor {
     /** Default query timeout. */
     private final long dfltQueryTimeout = IgniteSystemProperties.getLong(IGNITE_SQL_RETRY_TIMEOUT, DFLT_RETRY_TIMEOUT);
 
+    /** Quota in bytes of rows buffered by reducers of a query run. */
+    private final long memQuota = IgniteSystemProperties.getLong(IGNITE_SQL_REDUCE_MEMORY_QUOTA, 0);
+
     /** Partition mapper. */
     private ReducePartitionMapper mapper;
 
@@ -300,8 +306,13 @@ public class GridReduceQueryExecutor {
 
             if (msg.retry() != null)
                 r.setStateOnRetry(node.id(), msg.retry(), msg.retryCause());
-            else if (msg.page() == 0) // Count down only on each first page received.
+            else if (msg.page() == 0) { // Count down only on each first page received.
+                // Map queries executed by the thread of the segment are sent in the old format.
+                r.onMapThreads(msg instanceof GridQueryNextPageResponseV2 ?
+                    ((GridQueryNextPageResponseV2)msg).mapThreads() : 1);
+
                 r.onFirstPage();
+            }
         }
     }
 
@@ -332,6 +343,7 @@ public class GridReduceQueryExecutor {
      * @param mvccTracker Query tracker.
      * @param dataPageScanEnabled If data page scan is enabled.
      * @param pageSize Page size.
+     * @param qryId Running query ID to report reduce memory statistics to.
      * @return Rows iterator.
      */
     @SuppressWarnings({"BusyWait", "IfMayBeConditional"})
@@ -347,7 +359,8 @@ public class GridReduceQueryExecutor {
         boolean lazy,
         MvccQueryTracker mvccTracker,
         Boolean dataPageScanEnabled,
-        int pageSize
+        int pageSize,
+        @Nullable Long qryId
     ) {
         assert !qry.mvccEnabled() || mvccTracker != null;
 
@@ -426,7 +439,7 @@ public class GridReduceQueryExecutor {
 
             try {
                 final ReduceQueryRun r = createReduceQueryRun(conn, mapQueries, nodes,
-                    pageSize, segmentsPerIdx, skipMergeTbl, qry.explain(), dataPageScanEnabled);
+                    pageSize, segmentsPerIdx, skipMergeTbl, qry.explain(), dataPageScanEnabled, qryId);
 
                 runs.put(qryReqId, r);
 
@@ -698,6 +711,7 @@ public class GridReduceQueryExecutor {
      * @param skipMergeTbl Skip merge table flag.
      * @param explain Explain query flag.
      * @param dataPageScanEnabled DataPage scan enabled flag.
+     * @param qryId Running query ID.
      * @return Reduce query run.
      */
     @NotNull private ReduceQueryRun createReduceQueryRun(
@@ -708,12 +722,24 @@ public class GridReduceQueryExecutor {
         int segmentsPerIndex,
         boolean skipMergeTbl,
         boolean explain,
-        Boolean dataPageScanEnabled) {
+        Boolean dataPageScanEnabled,
+        @Nullable Long qryId) {
+
+        GridRunningQueryInfo qryInfo = qryId != null ? h2.runningQueryManager().runningQueryInfo(qryId) : null;
+
+        ReduceMemoryTracker memTracker = new ReduceMemoryTracker(
+            memQuota,
+            ctx.config().getWorkDirectory(),
+            h2.connections().dataHandler(),
+            qryInfo
+        );
 
         final ReduceQueryRun r = new ReduceQueryRun(
             mapQueries.size(),
             pageSize,
-            dataPageScanEnabled
+            dataPageScanEnabled,
+            memTracker,
+            qryInfo
         );
 
         int tblIdx = 0;
@@ -752,6 +778,7 @@ public class GridReduceQueryExecutor {
                 reducer.setSources(nodes, segmentsPerIndex);
 
             reducer.setPageSize(r.pageSize());
+            reducer.setMemoryTracker(memTracker);
 
             r.reducers().add(reducer);
         }
@@ -994,6 +1021,8 @@ public class GridReduceQueryExecutor {
             }
         }
 
+        r.memoryTracker().close();
+
         if (!runs.remove(qryReqId, r))
             U.warn(log, "Query run was already removed: " + qryReqId);
         else if (mvccTracker != null)
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.twostep;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAggregateFunction;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAlias;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAst;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlFunction;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlFunctionType;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlQueryParser;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlSelect;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlStatement;
+import org.h2.value.Value;
+import org.h2.value.ValueDouble;
+import org.h2.value.ValueNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Merges partial aggregates of a map query executed over morsels into a single row, so the reduce query gets one
+ * row from the index segment as if the map query was executed by one thread. Only map queries without GROUP BY,
+ * HAVING and DISTINCT are merged, and only if every column is COUNT, SUM, MIN, MAX or the map part of AVG.
+ * Groups of other queries would have to be kept on heap, so their rows are sent to the reducer as they are.
+ */
+class MapQueryAggregateMerger {
+    /** Sum of partial values: COUNT and SUM. */
+    private static final byte ADD = 0;
+
+    /** */
+    private static final byte MIN = 1;
+
+    /** */
+    private static final byte MAX = 2;
+
+    /** Average weighted by the count in another column. */
+    private static final byte AVG = 3;
+
+    /** Table to compare values. */
+    private final GridH2Table tbl;
+
+    /** Merge operations of columns. */
+    private final byte[] ops;
+
+    /** Columns with counts of averages or {@code -1}. */
+    private final int[] cntCols;
+
+    /** Merged values. */
+    private final Value[] acc;
+
+    /** Sums of averages multiplied by their counts. */
+    private final double[] avgSums;
+
+    /** Counts of averages. */
+    private final long[] avgCnts;
+
+    /** Whether a row was merged. */
+    private boolean merged;
+
+    /**
+     * @param tbl Table to compare values.
+     * @param ops Merge operations of columns.
+     * @param cntCols Columns with counts of averages.
+     */
+    private MapQueryAggregateMerger(GridH2Table tbl, byte[] ops, int[] cntCols) {
+        this.tbl = tbl;
+        this.ops = ops;
+        this.cntCols = cntCols;
+
+        acc = new Value[ops.length];
+        avgSums = new double[ops.length];
+        avgCnts = new long[ops.length];
+    }
+
+    /**
+     * @param stmt Prepared map query.
+     * @param tbl Table scanned by the query.
+     * @param log Logger.
+     * @return Merger or {@code null} if rows of the query can't be merged.
+     */
+    @Nullable static MapQueryAggregateMerger create(PreparedStatement stmt, GridH2Table tbl, IgniteLogger log) {
+        try {
+            GridSqlStatement parsed = new GridSqlQueryParser(false, log).parse(GridSqlQueryParser.prepared(stmt));
+
+            if (!(parsed instanceof GridSqlSelect))
+                return null;
+
+            GridSqlSelect sel = (GridSqlSelect)parsed;
+
+            if (sel.distinct() || sel.groupColumns() != null || sel.havingColumn() >= 0)
+                return null;
+
+            List<GridSqlAst> cols = sel.columns(true);
+
+            if (cols.isEmpty() || cols.size() != stmt.getMetaData().getColumnCount())
+                return null;
+
+            byte[] ops = new byte[cols.size()];
+            int[] cntCols = new int[cols.size()];
+
+            for (int i = 0; i < ops.length; i++) {
+                GridSqlAst el = GridSqlAlias.unwrap(cols.get(i));
+
+                if (!(el instanceof GridSqlAggregateFunction) || ((GridSqlAggregateFunction)el).distinct())
+                    return null;
+
+                GridSqlAggregateFunction fn = (GridSqlAggregateFunction)el;
+
+                cntCols[i] = -1;
+
+                switch (fn.type()) {
+                    case COUNT_ALL:
+                    case COUNT:
+                    case SUM:
+                        ops[i] = ADD;
+
+                        break;
+
+                    case MIN:
+                        ops[i] = MIN;
+
+                        break;
+
+                    case MAX:
+                        ops[i] = MAX;
+
+                        break;
+
+                    case AVG:
+                        ops[i] = AVG;
+                        cntCols[i] = countColumn(cols, fn);
+
+                        if (cntCols[i] < 0)
+                            return null;
+
+                        break;
+
+                    default:
+                        return null;
+                }
+            }
+
+            return new MapQueryAggregateMerger(tbl, ops, cntCols);
+        }
+        catch (SQLException | IgniteSQLException e) {
+            if (log.isDebugEnabled())
+                log.debug("Failed to parse map query to merge aggregates [err=" + e.getMessage() + ']');
+
+            return null;
+        }
+    }
+
+    /**
+     * Finds the count which the splitter adds for the map part of AVG, that is {@code AVG(CAST(x AS DOUBLE))}.
+     *
+     * @param cols Columns.
+     * @param avg Average.
+     * @return Index of the {@code COUNT(x)} column or {@code -1} if not found.
+     */
+    private static int countColumn(List<GridSqlAst> cols, GridSqlAggregateFunction avg) {
+        if (avg.size() != 1 || !(avg.child() instanceof GridSqlFunction))
+            return -1;
+
+        GridSqlFunction cast = avg.child();
+
+        if (cast.type() != GridSqlFunctionType.CAST || cast.size() != 1)
+            return -1;
+
+        String arg = cast.child().getSQL();
+
+        for (int i = 0; i < cols.size(); i++) {
+            GridSqlAst el = GridSqlAlias.unwrap(cols.get(i));
+
+            if (el instanceof GridSqlAggregateFunction) {
+                GridSqlAggregateFunction fn = (GridSqlAggregateFunction)el;
+
+                if (fn.type() == GridSqlFunctionType.COUNT && !fn.distinct() && fn.size() == 1 &&
+                    arg.equals(fn.child().getSQL()))
+                    return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param row Row of partial aggregates of a morsel.
+     */
+    void merge(Value[] row) {
+        for (int i = 0; i < ops.length; i++) {
+            Value val = row[i];
+
+            if (ops[i] == AVG) {
+                if (val != ValueNull.INSTANCE) {
+                    long cnt = row[cntCols[i]].getLong();
+
+                    avgSums[i] += val.getDouble() * cnt;
+                    avgCnts[i] += cnt;
+                }
+
+                continue;
+            }
+
+            Value cur = acc[i];
+
+            if (cur == null || cur == ValueNull.INSTANCE)
+                acc[i] = val;
+            else if (val != ValueNull.INSTANCE) {
+                switch (ops[i]) {
+                    case ADD:
+                        acc[i] = cur.add(val);
+
+                        break;
+
+                    case MIN:
+                        if (tbl.compareTypeSafe(val, cur) < 0)
+                            acc[i] = val;
+
+                        break;
+
+                    case MAX:
+                        if (tbl.compareTypeSafe(val, cur) > 0)
+                            acc[i] = val;
+
+                        break;
+
+                    default:
+                        throw new IllegalStateException("Unknown operation: " + ops[i]);
+                }
+            }
+        }
+
+        merged = true;
+    }
+
+    /**
+     * @return Merged row or {@code null} if nothing was merged.
+     */
+    @Nullable Value[] row() {
+        if (!merged)
+            return null;
+
+        Value[] row = acc.clone();
+
+        for (int i = 0; i < ops.length; i++) {
+            if (ops[i] == AVG)
+                row[i] = avgCnts[i] == 0 ? ValueNull.INSTANCE : ValueDouble.get(avgSums[i] / avgCnts[i]);
+        }
+
+        return row;
+    }
+}
@@ -0,0 +1,637 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.twostep;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.query.GridQueryCancel;
+import org.apache.ignite.internal.processors.query.h2.H2PooledConnection;
+import org.apache.ignite.internal.processors.query.h2.H2StatementCache;
+import org.apache.ignite.internal.processors.query.h2.H2Utils;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.h2.MapH2QueryInfo;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.opt.H2TableScanIndex;
+import org.apache.ignite.internal.processors.query.h2.opt.QueryContext;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlQueryParser;
+import org.apache.ignite.internal.util.lang.GridPlainRunnable;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.h2.command.Prepared;
+import org.h2.command.dml.Select;
+import org.h2.result.ResultInterface;
+import org.h2.table.TableFilter;
+import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_MAP_PARALLELISM;
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexImpl.calculateSegment;
+import static org.apache.ignite.internal.managers.communication.GridIoPolicy.QUERY_POOL;
+
+/**
+ * Executes a map query on an index segment by several threads. Local primary partitions of the segment are split
+ * into morsels which are put to a shared queue. The thread of the segment and helper tasks submitted to the query
+ * pool take morsels from the queue until it is empty, so threads which got cheap morsels take more of them. Every
+ * morsel is executed as the map query over the partitions of the morsel with its own connection, table scans of
+ * such query iterate data of the partitions instead of the whole segment.
+ * <p>
+ * Morsels are sets of partitions, so rows of the morsel results are the same rows as results of the segment would
+ * have. Partial aggregates of queries without GROUP BY are merged into a single row by
+ * {@link MapQueryAggregateMerger}, rows of other queries are sent to the reducer which merges them like rows of
+ * segments. Results of morsels are kept open as H2 results and are paged one after another, so they are not copied
+ * to heap and H2 moves large results to disk as usual.
+ * <p>
+ * The thread of the segment waits only for helpers which took morsels, helpers which started after the queue is
+ * drained exit immediately. So a query never waits for a pool thread and can't deadlock the query pool.
+ */
+class MapQueryMorselExecutor {
+    /** Default parallelism, map queries are executed by the thread of the segment. */
+    static final int DFLT_PARALLELISM = 1;
+
+    /** Number of morsels per thread, more morsels balance threads better. */
+    private static final int MORSELS_PER_THREAD = 4;
+
+    /** */
+    private final GridKernalContext ctx;
+
+    /** */
+    private final IgniteH2Indexing h2;
+
+    /** */
+    private final IgniteLogger log;
+
+    /** Maximum number of threads executing a map query on a segment. */
+    private final int parallelism = IgniteSystemProperties.getInteger(IGNITE_SQL_MAP_PARALLELISM, DFLT_PARALLELISM);
+
+    /**
+     * @param ctx Kernal context.
+     * @param h2 Indexing.
+     */
+    MapQueryMorselExecutor(GridKernalContext ctx, IgniteH2Indexing h2) {
+        this.ctx = ctx;
+        this.h2 = h2;
+
+        log = ctx.log(MapQueryMorselExecutor.class);
+    }
+
+    /**
+     * @return {@code True} if map queries may be executed by several threads.
+     */
+    boolean enabled() {
+        return parallelism > 1;
+    }
+
+    /**
+     * Gets partitions to split between threads. Only queries which scan a partitioned table first and produce rows
+     * which can be merged in any order are split: the query must not have ORDER BY, LIMIT and OFFSET.
+     *
+     * @param stmt Prepared map query.
+     * @param cacheIds Caches of the query.
+     * @param topVer Topology version.
+     * @param parts Explicit partitions or {@code null} to query primary partitions for the topology version.
+     * @param segmentId Index segment.
+     * @return Partitions of the segment or {@code null} if the query must be executed by the thread of the segment.
+     */
+    @Nullable int[] partitions(
+        PreparedStatement stmt,
+        List<Integer> cacheIds,
+        AffinityTopologyVersion topVer,
+        @Nullable int[] parts,
+        int segmentId
+    ) {
+        Prepared prepared = GridSqlQueryParser.prepared(stmt);
+
+        if (!(prepared instanceof Select))
+            return null;
+
+        Select select = (Select)prepared;
+
+        if (select.getSortOrder() != null || select.getLimit() != null || select.getOffset() != null)
+            return null;
+
+        TableFilter filter = select.getTopTableFilter();
+
+        if (filter == null || !(filter.getTable() instanceof GridH2Table) ||
+            !(filter.getIndex() instanceof H2TableScanIndex))
+            return null;
+
+        GridCacheContext<?, ?> cctx = ((GridH2Table)filter.getTable()).cacheContext();
+
+        if (cctx == null || !cctx.isPartitioned())
+            return null;
+
+        // Morsels restrict all partitioned caches of the query, partitions of collocated caches must match.
+        for (Integer cacheId : cacheIds) {
+            GridCacheContext<?, ?> cctx0 = ctx.cache().context().cacheContext(cacheId);
+
+            if (cctx0 == null)
+                return null;
+
+            if (cctx0.isPartitioned() && cctx0.affinity().partitions() != cctx.affinity().partitions())
+                return null;
+        }
+
+        if (parts == null)
+            parts = U.toIntArray(cctx.affinity().primaryPartitions(ctx.localNodeId(), topVer));
+
+        int segments = cctx.config().getQueryParallelism();
+
+        int[] segParts = new int[parts.length];
+        int cnt = 0;
+
+        for (int part : parts) {
+            if (calculateSegment(segments, part) == segmentId)
+                segParts[cnt++] = part;
+        }
+
+        return cnt > 1 ? Arrays.copyOf(segParts, cnt) : null;
+    }
+
+    /**
+     * Executes a map query over partitions by several threads.
+     *
+     * @param stmt Prepared map query.
+     * @param node Node authored the request.
+     * @param reqId Request ID.
+     * @param segmentId Index segment.
+     * @param schemaName Schema name.
+     * @param sql Map query.
+     * @param params Query parameters.
+     * @param topVer Topology version.
+     * @param parts Partitions of the segment.
+     * @param enforceJoinOrder Enforce join order of tables.
+     * @param timeout Query timeout.
+     * @param cancel Query cancel.
+     * @param dataPageScanEnabled If data page scan is enabled.
+     * @return Result.
+     * @throws IgniteCheckedException If failed.
+     */
+    Result execute(
+        PreparedStatement stmt,
+        ClusterNode node,
+        long reqId,
+        int segmentId,
+        String schemaName,
+        String sql,
+        Collection<Object> params,
+        AffinityTopologyVersion topVer,
+        int[] parts,
+        boolean enforceJoinOrder,
+        int timeout,
+        GridQueryCancel cancel,
+        Boolean dataPageScanEnabled
+    ) throws IgniteCheckedException {
+        int threads = Math.min(parallelism, parts.length);
+        int morselsCnt = Math.min(parts.length, threads * MORSELS_PER_THREAD);
+
+        Queue<int[]> morsels = new ConcurrentLinkedQueue<>();
+
+        for (int i = 0; i < morselsCnt; i++)
+            morsels.add(Arrays.copyOfRange(parts, i * parts.length / morselsCnt, (i + 1) * parts.length / morselsCnt));
+
+        GridH2Table tbl = (GridH2Table)((Select)GridSqlQueryParser.prepared(stmt)).getTopTableFilter().getTable();
+
+        Run run = new Run(node, reqId, segmentId, schemaName, sql, params, topVer, enforceJoinOrder,
+            timeout > 0 ? U.currentTimeMillis() + timeout : 0, cancel, dataPageScanEnabled, morsels,
+            MapQueryAggregateMerger.create(stmt, tbl, log));
+
+        for (int i = 1; i < threads; i++)
+            ctx.closure().runLocalSafe((GridPlainRunnable)run::drain, QUERY_POOL);
+
+        run.drain();
+
+        return run.await();
+    }
+
+    /**
+     * Result of a map query executed by several threads. Rows are either the merged row of partial aggregates or
+     * rows of morsel results read one result after another.
+     */
+    static class Result implements AutoCloseable {
+        /** Results of morsels, closed results are removed. */
+        private final Queue<MorselResult> morselRess;
+
+        /** Merged row or {@code null}. */
+        private Value[] mergedRow;
+
+        /** Number of rows. */
+        private final int rowCnt;
+
+        /** Number of columns. */
+        private final int cols;
+
+        /** Number of threads which executed morsels. */
+        private final int threads;
+
+        /** Number of fetched rows. */
+        private int fetched;
+
+        /** Current row. */
+        private Value[] cur;
+
+        /**
+         * @param morselRess Results of morsels.
+         * @param mergedRow Merged row or {@code null}.
+         * @param cols Number of columns.
+         * @param threads Number of threads which executed morsels.
+         */
+        Result(Queue<MorselResult> morselRess, @Nullable Value[] mergedRow, int cols, int threads) {
+            this.morselRess = morselRess;
+            this.mergedRow = mergedRow;
+            this.cols = cols;
+            this.threads = threads;
+
+            int cnt = mergedRow != null ? 1 : 0;
+
+            for (MorselResult res : morselRess)
+                cnt += res.res.getRowCount();
+
+            rowCnt = cnt;
+        }
+
+        /**
+         * @return {@code True} if moved to the next row.
+         */
+        boolean next() {
+            if (mergedRow != null) {
+                cur = mergedRow;
+                mergedRow = null;
+            }
+            else {
+                cur = null;
+
+                for (MorselResult res = morselRess.peek(); res != null; res = morselRess.peek()) {
+                    if (res.res.next()) {
+                        cur = res.res.currentRow();
+
+                        break;
+                    }
+
+                    // Connections of fetched morsels are returned to the pool at once.
+                    morselRess.poll().close();
+                }
+
+                if (cur == null)
+                    return false;
+            }
+
+            fetched++;
+
+            return true;
+        }
+
+        /**
+         * @return Current row.
+         */
+        Value[] currentRow() {
+            return cur;
+        }
+
+        /**
+         * @return {@code True} if there are more rows.
+         */
+        boolean hasNext() {
+            return fetched < rowCnt;
+        }
+
+        /**
+         * @return Number of rows.
+         */
+        int rowCount() {
+            return rowCnt;
+        }
+
+        /**
+         * @return Number of columns.
+         */
+        int columns() {
+            return cols;
+        }
+
+        /**
+         * @return Number of threads which executed morsels.
+         */
+        int threads() {
+            return threads;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            for (MorselResult res = morselRess.poll(); res != null; res = morselRess.poll())
+                res.close();
+        }
+    }
+
+    /**
+     * Open result of a morsel with its connection.
+     */
+    private static class MorselResult implements AutoCloseable {
+        /** */
+        private final H2PooledConnection conn;
+
+        /** */
+        private final ResultSet rs;
+
+        /** */
+        private final ResultInterface res;
+
+        /** */
+        private final IgniteLogger log;
+
+        /**
+         * @param conn Connection.
+         * @param rs Result set.
+         * @param log Logger.
+         */
+        MorselResult(H2PooledConnection conn, ResultSet rs, IgniteLogger log) {
+            this.conn = conn;
+            this.rs = rs;
+            this.log = log;
+
+            res = MapQueryResult.result(rs);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            U.close(rs, log);
+
+            H2Utils.resetSession(conn);
+
+            U.close(conn, log);
+        }
+    }
+
+    /**
+     * Execution of a map query over morsels.
+     */
+    private class Run {
+        /** */
+        private final ClusterNode node;
+
+        /** */
+        private final long reqId;
+
+        /** */
+        private final int segmentId;
+
+        /** */
+        private final String schemaName;
+
+        /** */
+        private final String sql;
+
+        /** */
+        private final Collection<Object> params;
+
+        /** */
+        private final AffinityTopologyVersion topVer;
+
+        /** */
+        private final boolean enforceJoinOrder;
+
+        /** Query deadline or {@code 0} if the query has no timeout. */
+        private final long deadline;
+
+        /** */
+        private final GridQueryCancel cancel;
+
+        /** */
+        private final Boolean dataPageScanEnabled;
+
+        /** Morsels to execute. */
+        private final Queue<int[]> morsels;
+
+        /** Merger of partial aggregates or {@code null} if rows of morsels are sent as they are. */
+        @Nullable private final MapQueryAggregateMerger merger;
+
+        /** Open results of executed morsels. */
+        private final Queue<MorselResult> morselRess = new ConcurrentLinkedQueue<>();
+
+        /** Number of columns. */
+        private int cols;
+
+        /** Number of threads which executed morsels. */
+        private int threads;
+
+        /** Number of threads executing morsels. */
+        private int active;
+
+        /** Whether the thread of the segment stopped taking morsels. */
+        private boolean done;
+
+        /** First error. */
+        private Throwable err;
+
+        /**
+         * @param node Node authored the request.
+         * @param reqId Request ID.
+         * @param segmentId Index segment.
+         * @param schemaName Schema name.
+         * @param sql Map query.
+         * @param params Query parameters.
+         * @param topVer Topology version.
+         * @param enforceJoinOrder Enforce join order of tables.
+         * @param deadline Query deadline or {@code 0} if the query has no timeout.
+         * @param cancel Query cancel.
+         * @param dataPageScanEnabled If data page scan is enabled.
+         * @param morsels Morsels to execute.
+         * @param merger Merger of partial aggregates or {@code null} if rows of morsels are sent as they are.
+         */
+        Run(
+            ClusterNode node,
+            long reqId,
+            int segmentId,
+            String schemaName,
+            String sql,
+            Collection<Object> params,
+            AffinityTopologyVersion topVer,
+            boolean enforceJoinOrder,
+            long deadline,
+            GridQueryCancel cancel,
+            Boolean dataPageScanEnabled,
+            Queue<int[]> morsels,
+            @Nullable MapQueryAggregateMerger merger
+        ) {
+            this.node = node;
+            this.reqId = reqId;
+            this.segmentId = segmentId;
+            this.schemaName = schemaName;
+            this.sql = sql;
+            this.params = params;
+            this.topVer = topVer;
+            this.enforceJoinOrder = enforceJoinOrder;
+            this.deadline = deadline;
+            this.cancel = cancel;
+            this.dataPageScanEnabled = dataPageScanEnabled;
+            this.morsels = morsels;
+            this.merger = merger;
+        }
+
+        /**
+         * Executes morsels until the queue is empty.
+         */
+        void drain() {
+            synchronized (this) {
+                if (done)
+                    return;
+
+                active++;
+            }
+
+            boolean took = false;
+
+            try {
+                for (int[] morsel = morsels.poll(); morsel != null; morsel = morsels.poll()) {
+                    if (!took) {
+                        took = true;
+
+                        synchronized (this) {
+                            threads++;
+                        }
+                    }
+
+                    execute(morsel);
+                }
+            }
+            catch (Throwable e) {
+                morsels.clear();
+
+                synchronized (this) {
+                    if (err == null)
+                        err = e;
+                    else
+                        err.addSuppressed(e);
+                }
+            }
+            finally {
+                synchronized (this) {
+                    active--;
+
+                    notifyAll();
+                }
+            }
+        }
+
+        /**
+         * Executes the map query over partitions of a morsel. The result is kept open with its connection until
+         * it is fetched, results of aggregates are merged and closed at once.
+         *
+         * @param morsel Partitions of the morsel.
+         * @throws Exception If failed.
+         */
+        private void execute(int[] morsel) throws Exception {
+            H2PooledConnection conn = h2.connections().connection(schemaName);
+
+            MorselResult morselRes = null;
+
+            try {
+                QueryContext qctx = new QueryContext(
+                    segmentId,
+                    h2.backupFilter(topVer, morsel, false),
+                    null,
+                    null,
+                    null,
+                    true,
+                    true);
+
+                H2Utils.setupConnection(conn, qctx, false, enforceJoinOrder);
+
+                PreparedStatement stmt = conn.prepareStatement(sql, H2StatementCache.queryFlags(false,
+                    enforceJoinOrder));
+
+                H2Utils.bindParameters(stmt, params);
+
+                MapH2QueryInfo qryInfo = new MapH2QueryInfo(stmt, sql, node, reqId, segmentId);
+
+                // Expired timeout cancels the statement as usual.
+                int timeout = deadline > 0 ? (int)Math.max(1, deadline - U.currentTimeMillis()) : 0;
+
+                morselRes = new MorselResult(conn, h2.executeSqlQueryWithTimer(stmt, conn, sql, timeout, cancel,
+                    dataPageScanEnabled, qryInfo), log);
+
+                conn = null;
+
+                synchronized (this) {
+                    cols = morselRes.res.getVisibleColumnCount();
+
+                    if (merger != null) {
+                        while (morselRes.res.next())
+                            merger.merge(morselRes.res.currentRow());
+                    }
+                }
+
+                if (merger == null) {
+                    morselRess.add(morselRes);
+
+                    morselRes = null;
+                }
+            }
+            finally {
+                if (morselRes != null)
+                    morselRes.close();
+                else if (conn != null) {
+                    H2Utils.resetSession(conn);
+
+                    U.close(conn, log);
+                }
+            }
+        }
+
+        /**
+         * Waits for threads which took morsels.
+         *
+         * @return Result.
+         * @throws IgniteCheckedException If failed.
+         */
+        synchronized Result await() throws IgniteCheckedException {
+            done = true;
+
+            while (active > 0)
+                U.wait(this);
+
+            if (err != null) {
+                for (MorselResult res = morselRess.poll(); res != null; res = morselRess.poll())
+                    res.close();
+
+                if (err instanceof IgniteCheckedException)
+                    throw (IgniteCheckedException)err;
+
+                if (err instanceof RuntimeException)
+                    throw (RuntimeException)err;
+
+                if (err instanceof Error)
+                    throw (Error)err;
+
+                throw new IgniteCheckedException("Failed to execute map query over partitions.", err);
+            }
+
+            return new Result(morselRess, merger != null ? merger.row() : null, cols, threads);
+        }
+    }
+}
@@ -95,6 +95,9 @@ class MapQueryResult {
     /** */
     private int page;
 
+    /** Number of threads which executed the query. */
+    private int threads = 1;
+
     /** */
     private boolean cpNeeded;
 
@@ -138,6 +141,31 @@ class MapQueryResult {
         res = new Result(rs, qryInfo);
     }
 
+    /**
+     * Opens the result of a query executed in parallel over partitions.
+     *
+     * @param morselRes Result of the query executed over morsels.
+     * @param qryInfo Query info.
+     */
+    void openResult(@NotNull MapQueryMorselExecutor.Result morselRes, MapH2QueryInfo qryInfo) {
+        res = new Result(morselRes, qryInfo);
+
+        threads = morselRes.threads();
+    }
+
+    /**
+     * @param rs H2 result set.
+     * @return H2 result of the result set.
+     */
+    static ResultInterface result(ResultSet rs) {
+        try {
+            return (ResultInterface)RESULT_FIELD.get(rs);
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException(e); // Must not happen.
+        }
+    }
+
     /**
      * @return Page number.
      */
@@ -154,6 +182,13 @@ class MapQueryResult {
         return res.rowCnt;
     }
 
+    /**
+     * @return Number of threads which executed the query.
+     */
+    int threads() {
+        return threads;
+    }
+
     /**
      * @return Column ocunt.
      */
@@ -194,10 +229,10 @@ class MapQueryResult {
 
         try {
             for (int i = 0; i < pageSize; i++) {
-                if (!res.res.next())
+                if (!res.next())
                     return true;
 
-                Value[] row = res.res.currentRow();
+                Value[] row = res.currentRow();
 
                 if (cpNeeded) {
                     boolean copied = false;
@@ -246,12 +281,12 @@ class MapQueryResult {
                         row(row)));
                 }
 
-                rows.add(res.res.currentRow());
+                rows.add(res.currentRow());
 
                 res.fetchSizeInterceptor.checkOnFetchNext();
             }
 
-            return !res.res.hasNext();
+            return !res.hasNext();
         }
         finally {
             CacheDataTree.setDataPageScanEnabled(false);
@@ -324,12 +359,15 @@ class MapQueryResult {
 
     /** */
     private class Result {
-        /** */
+        /** H2 result or {@code null} if the query was executed in parallel over partitions. */
         private final ResultInterface res;
 
         /** */
         private final ResultSet rs;
 
+        /** Result of the query executed in parallel over partitions. */
+        private final MapQueryMorselExecutor.Result morselRes;
+
         /** */
         private final int cols;
 
@@ -347,12 +385,8 @@ class MapQueryResult {
         Result(@NotNull ResultSet rs, MapH2QueryInfo qryInfo) {
             this.rs = rs;
 
-            try {
-                res = (ResultInterface)RESULT_FIELD.get(rs);
-            }
-            catch (IllegalAccessException e) {
-                throw new IllegalStateException(e); // Must not happen.
-            }
+            res = result(rs);
+            morselRes = null;
 
             rowCnt = (res instanceof LazyResult) ? -1 : res.getRowCount();
             cols = res.getVisibleColumnCount();
@@ -360,11 +394,53 @@ class MapQueryResult {
             fetchSizeInterceptor = new H2QueryFetchSizeInterceptor(h2, qryInfo, log);
         }
 
+        /**
+         * Constructor.
+         *
+         * @param morselRes Result of the query executed in parallel over partitions.
+         * @param qryInfo Query info.
+         */
+        Result(@NotNull MapQueryMorselExecutor.Result morselRes, MapH2QueryInfo qryInfo) {
+            this.morselRes = morselRes;
+
+            rs = null;
+            res = null;
+
+            rowCnt = morselRes.rowCount();
+            cols = morselRes.columns();
+
+            fetchSizeInterceptor = new H2QueryFetchSizeInterceptor(h2, qryInfo, log);
+        }
+
+        /**
+         * @return {@code True} if moved to the next row.
+         */
+        boolean next() {
+            return res != null ? res.next() : morselRes.next();
+        }
+
+        /**
+         * @return Current row.
+         */
+        Value[] currentRow() {
+            return res != null ? res.currentRow() : morselRes.currentRow();
+        }
+
+        /**
+         * @return {@code True} if there are more rows.
+         */
+        boolean hasNext() {
+            return res != null ? res.hasNext() : morselRes.hasNext();
+        }
+
         /** */
         void close() {
             fetchSizeInterceptor.checkOnClose();
 
-            U.close(rs, log);
+            if (rs != null)
+                U.close(rs, log);
+            else
+                morselRes.close();
         }
     }
 }
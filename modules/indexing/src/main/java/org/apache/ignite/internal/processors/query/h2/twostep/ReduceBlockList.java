@@ -42,6 +42,12 @@ public class ReduceBlockList<Z> extends AbstractList<Z> implements RandomAccess
     /** */
     private final int mask;
 
+    /** Number of leading blocks spilled to disk. */
+    private int spilledBlocks;
+
+    /** Number of rows in spilled blocks. */
+    private int spilledSize;
+
     /**
      * @param maxBlockSize Max block size.
      */
@@ -81,6 +87,28 @@ public class ReduceBlockList<Z> extends AbstractList<Z> implements RandomAccess
         return blocks.get(idx >>> shift).get(idx & mask);
     }
 
+    /**
+     * @return Number of blocks, including the last one which may be empty.
+     */
+    public int blocks() {
+        return blocks.size();
+    }
+
+    /**
+     * @param idx Index of the block.
+     * @return Block.
+     */
+    public List<Z> block(int idx) {
+        return blocks.get(idx);
+    }
+
+    /**
+     * @return Max block size.
+     */
+    public int maxBlockSize() {
+        return maxBlockSize;
+    }
+
     /**
      * @return Last block.
      */
@@ -88,10 +116,39 @@ public class ReduceBlockList<Z> extends AbstractList<Z> implements RandomAccess
         return blocks.get(blocks.size() - 1);
     }
 
+    /**
+     * @return Number of rows kept in memory.
+     */
+    public int inMemorySize() {
+        return size - spilledSize;
+    }
+
+    /**
+     * @return The first full block kept in memory or {@code null} if there is none.
+     */
+    public List<Z> firstInMemoryBlock() {
+        return spilledBlocks < blocks.size() - 1 ? blocks.get(spilledBlocks) : null;
+    }
+
+    /**
+     * Replaces the first full block kept in memory with the spilled one.
+     *
+     * @param spilled Spilled block.
+     */
+    public void onFirstInMemoryBlockSpilled(List<Z> spilled) {
+        assert spilled.size() == maxBlockSize : spilled.size();
+
+        blocks.set(spilledBlocks++, spilled);
+
+        spilledSize += maxBlockSize;
+    }
+
     /**
      * @return Evicted block.
      */
     public List<Z> evictFirstBlock() {
+        assert spilledBlocks == 0 : "Blocks are spilled.";
+
         // Remove head block.
         List<Z> res = blocks.remove(0);
 
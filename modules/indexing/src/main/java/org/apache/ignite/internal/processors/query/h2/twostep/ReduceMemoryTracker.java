@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.twostep;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.processors.query.GridRunningQueryInfo;
+import org.apache.ignite.internal.processors.query.h2.opt.H2PlainRowFactory;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.h2.result.Row;
+import org.h2.store.Data;
+import org.h2.store.DataHandler;
+import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Tracks size of rows buffered by reducers of a query run against a memory quota. Blocks of buffered rows may be
+ * spilled to a file in the work directory, the file is deleted when the run is closed. Peak size of buffered rows and
+ * size of spilled rows are reported to the running query info.
+ * <p>
+ * Is used from the query execution thread only, does not need to be threadsafe.
+ */
+public class ReduceMemoryTracker implements AutoCloseable {
+    /** Name of the work directory subfolder for spill files. */
+    static final String SPILL_DIR = "sql_reduce_spill";
+
+    /** Estimated size of a row without values. */
+    private static final int ROW_OVERHEAD = 40;
+
+    /** Min estimated size of a value. */
+    private static final int MIN_VALUE_SIZE = 24;
+
+    /** Quota in bytes, {@code 0} if there is no quota. */
+    private final long quota;
+
+    /** Work directory. */
+    private final String workDir;
+
+    /** Data handler to serialize spilled rows. */
+    private final DataHandler hnd;
+
+    /** Running query info. */
+    @Nullable private final GridRunningQueryInfo qryInfo;
+
+    /** Size of buffered rows. */
+    private long used;
+
+    /** Peak size of buffered rows. */
+    private long peak;
+
+    /** Size of spilled rows. */
+    private long spilled;
+
+    /** Spill file channel. */
+    private FileChannel spillCh;
+
+    /** Buffer to serialize rows. */
+    private Data buf;
+
+    /** Spilled block which rows are loaded. */
+    private SpilledBlock loadedBlock;
+
+    /** Rows of the loaded block. */
+    private List<Row> loadedRows;
+
+    /**
+     * @param quota Quota in bytes, {@code 0} if there is no quota.
+     * @param workDir Work directory.
+     * @param hnd Data handler to serialize spilled rows.
+     * @param qryInfo Running query info.
+     */
+    public ReduceMemoryTracker(long quota, String workDir, DataHandler hnd, @Nullable GridRunningQueryInfo qryInfo) {
+        assert quota >= 0 : quota;
+
+        this.quota = quota;
+        this.workDir = workDir;
+        this.hnd = hnd;
+        this.qryInfo = qryInfo;
+    }
+
+    /**
+     * @param row Row.
+     * @return Estimated size of the row in bytes.
+     */
+    public static long size(Row row) {
+        long size = ROW_OVERHEAD;
+
+        for (int i = 0, cols = row.getColumnCount(); i < cols; i++) {
+            Value v = row.getValue(i);
+
+            size += v == null ? MIN_VALUE_SIZE : Math.max(v.getMemory(), MIN_VALUE_SIZE);
+        }
+
+        return size;
+    }
+
+    /**
+     * @param rows Rows.
+     * @return Estimated size of the rows in bytes.
+     */
+    public static long size(List<Row> rows) {
+        long size = 0;
+
+        for (Row row : rows)
+            size += size(row);
+
+        return size;
+    }
+
+    /**
+     * @param size Size of buffered rows.
+     */
+    public void reserve(long size) {
+        used += size;
+
+        if (used > peak) {
+            peak = used;
+
+            if (qryInfo != null)
+                qryInfo.onReduceMemory(used, 0);
+        }
+    }
+
+    /**
+     * @param size Size of released rows.
+     */
+    public void release(long size) {
+        used -= size;
+
+        assert used >= 0 : used;
+    }
+
+    /**
+     * @return {@code True} if the quota is set, so next pages must be requested when the quota is exceeded only
+     *      after the current ones are consumed and blocks of buffered rows must be spilled instead of evicted.
+     */
+    public boolean hasQuota() {
+        return quota > 0;
+    }
+
+    /**
+     * @return {@code True} if the quota is exceeded.
+     */
+    public boolean exceeded() {
+        return quota > 0 && used > quota;
+    }
+
+    /**
+     * @return Size of buffered rows, tracked only when the quota is set.
+     */
+    public long used() {
+        return used;
+    }
+
+    /**
+     * @return Peak size of buffered rows, tracked only when the quota is set.
+     */
+    public long peak() {
+        return peak;
+    }
+
+    /**
+     * @return Size of spilled rows in bytes.
+     */
+    public long spilledBytes() {
+        return spilled;
+    }
+
+    /**
+     * Writes a block of rows to the spill file and releases it.
+     *
+     * @param rows Rows.
+     * @return Spilled block which loads the rows on access.
+     */
+    public List<Row> spill(List<Row> rows) {
+        assert hasQuota();
+
+        try {
+            if (spillCh == null) {
+                File dir = U.resolveWorkDirectory(workDir, SPILL_DIR, false);
+
+                spillCh = FileChannel.open(File.createTempFile("reduce-", ".bin", dir).toPath(),
+                    READ, WRITE, DELETE_ON_CLOSE);
+
+                buf = Data.create(hnd, 4096);
+            }
+
+            buf.reset();
+
+            for (Row row : rows) {
+                int cols = row.getColumnCount();
+
+                buf.checkCapacity(Data.LENGTH_INT);
+                buf.writeVarInt(cols);
+
+                for (int i = 0; i < cols; i++) {
+                    Value v = row.getValue(i);
+
+                    buf.checkCapacity(buf.getValueLen(v));
+                    buf.writeValue(v);
+                }
+            }
+
+            long off = spillCh.size();
+            int len = buf.length();
+
+            ByteBuffer bb = ByteBuffer.wrap(buf.getBytes(), 0, len);
+
+            for (long pos = off; bb.hasRemaining(); )
+                pos += spillCh.write(bb, pos);
+
+            release(size(rows));
+
+            spilled += len;
+
+            if (qryInfo != null)
+                qryInfo.onReduceMemory(used, len);
+
+            return new SpilledBlock(off, len, rows.size(), rows.get(0), rows.get(rows.size() - 1));
+        }
+        catch (IOException | IgniteCheckedException e) {
+            throw new IgniteException("Failed to spill rows of the reduce query to disk.", e);
+        }
+    }
+
+    /**
+     * Loads rows of the spilled block. Only rows of the last loaded block are kept in memory.
+     *
+     * @param block Spilled block.
+     * @return Rows.
+     */
+    private List<Row> load(SpilledBlock block) {
+        if (loadedBlock == block)
+            return loadedRows;
+
+        try {
+            ByteBuffer bb = ByteBuffer.allocate(block.len);
+
+            for (long pos = block.off; bb.hasRemaining(); ) {
+                int read = spillCh.read(bb, pos);
+
+                if (read < 0)
+                    throw new IOException("Unexpected end of spill file.");
+
+                pos += read;
+            }
+
+            Data data = Data.create(hnd, bb.array());
+
+            List<Row> rows = new ArrayList<>(block.size);
+
+            for (int r = 0; r < block.size; r++) {
+                Value[] vals = new Value[data.readVarInt()];
+
+                for (int i = 0; i < vals.length; i++)
+                    vals[i] = data.readValue();
+
+                rows.add(H2PlainRowFactory.create(vals));
+            }
+
+            loadedBlock = block;
+            loadedRows = rows;
+
+            return rows;
+        }
+        catch (IOException e) {
+            throw new IgniteException("Failed to read rows of the reduce query spilled to disk.", e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        U.closeQuiet(spillCh);
+
+        spillCh = null;
+        buf = null;
+        loadedBlock = null;
+        loadedRows = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ReduceMemoryTracker.class, this);
+    }
+
+    /**
+     * Block of rows spilled to disk.
+     */
+    private class SpilledBlock extends AbstractList<Row> implements RandomAccess {
+        /** Offset in the spill file. */
+        private final long off;
+
+        /** Length in bytes. */
+        private final int len;
+
+        /** Number of rows. */
+        private final int size;
+
+        /** First row, kept in memory. */
+        private final Row first;
+
+        /** Last row, kept in memory so that blocks are searched by bounds without loading. */
+        private final Row last;
+
+        /**
+         * @param off Offset in the spill file.
+         * @param len Length in bytes.
+         * @param size Number of rows.
+         * @param first First row.
+         * @param last Last row.
+         */
+        private SpilledBlock(long off, int len, int size, Row first, Row last) {
+            this.off = off;
+            this.len = len;
+            this.size = size;
+            this.first = first;
+            this.last = last;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Row get(int idx) {
+            if (idx == 0)
+                return first;
+
+            if (idx == size - 1)
+                return last;
+
+            return load(this).get(idx);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int size() {
+            return size;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import javax.cache.CacheException;
 import org.apache.ignite.internal.IgniteInterruptedCheckedException;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.query.GridRunningQueryInfo;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
@@ -49,16 +50,26 @@ public class ReduceQueryRun {
     /** */
     private final AtomicReference<State> state = new AtomicReference<>();
 
+    /** Memory tracker. */
+    private final ReduceMemoryTracker memTracker;
+
+    /** Running query info. */
+    @Nullable private final GridRunningQueryInfo qryInfo;
+
     /**
      * Constructor.
      * @param idxsCnt Number of indexes.
      * @param pageSize Page size.
      * @param dataPageScanEnabled If data page scan is enabled.
+     * @param memTracker Memory tracker.
+     * @param qryInfo Running query info.
      */
     ReduceQueryRun(
         int idxsCnt,
         int pageSize,
-        Boolean dataPageScanEnabled
+        Boolean dataPageScanEnabled,
+        ReduceMemoryTracker memTracker,
+        @Nullable GridRunningQueryInfo qryInfo
     ) {
         assert pageSize > 0;
 
@@ -66,6 +77,8 @@ public class ReduceQueryRun {
 
         this.pageSize = pageSize;
         this.dataPageScanEnabled = dataPageScanEnabled;
+        this.memTracker = memTracker;
+        this.qryInfo = qryInfo;
     }
 
     /**
@@ -186,6 +199,21 @@ public class ReduceQueryRun {
         return idxs;
     }
 
+    /**
+     * @return Memory tracker.
+     */
+    ReduceMemoryTracker memoryTracker() {
+        return memTracker;
+    }
+
+    /**
+     * @param threads Number of threads which executed a map query on an index segment of a node.
+     */
+    void onMapThreads(int threads) {
+        if (qryInfo != null)
+            qryInfo.onMapThreads(threads);
+    }
+
     /**
      * Initialize.
      *
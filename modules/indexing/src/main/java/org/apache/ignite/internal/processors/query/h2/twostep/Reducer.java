@@ -64,6 +64,11 @@ public interface Reducer {
      */
     void setPageSize(int pageSize);
 
+    /**
+     * @param memTracker Memory tracker of the query run.
+     */
+    void setMemoryTracker(ReduceMemoryTracker memTracker);
+
     /**
      * Check if all rows has been fetched from all sources.
      *
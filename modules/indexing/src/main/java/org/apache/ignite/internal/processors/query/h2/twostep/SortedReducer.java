@@ -17,7 +17,6 @@
 
 package org.apache.ignite.internal.processors.query.h2.twostep;
 
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -32,7 +31,6 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.GridKernalContext;
-import org.apache.ignite.internal.processors.query.h2.H2Utils;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2Cursor;
 import org.apache.ignite.internal.processors.query.h2.opt.H2PlainRowFactory;
 import org.apache.ignite.internal.util.typedef.F;
@@ -67,20 +65,6 @@ public class SortedReducer extends AbstractReducer {
         return res == 0 ? -1 : res;
     };
 
-    /** */
-    private final Comparator<RowStream> streamCmp = (o1, o2) -> {
-        if (o1 == o2) // both nulls
-            return 0;
-
-        if (o1 == null)
-            return -1;
-
-        if (o2 == null)
-            return 1;
-
-        return compareRows(o1.get(), o2.get());
-    };
-
     /** */
     private final Lock lock = new ReentrantLock();
 
@@ -158,6 +142,8 @@ public class SortedReducer extends AbstractReducer {
 
     /** {@inheritDoc} */
     @Override protected Cursor findAllFetched(List<Row> fetched, SearchRow first, SearchRow last) {
+        assert fetched == this.fetched;
+
         Iterator<Row> iter;
 
         if (fetched.isEmpty())
@@ -165,12 +151,12 @@ public class SortedReducer extends AbstractReducer {
         else if (first == null && last == null)
             iter = fetched.iterator();
         else {
-            int low = first == null ? 0 : binarySearchRow(fetched, first, firstRowCmp, false);
+            int low = first == null ? 0 : binarySearchFetched(first, firstRowCmp);
 
             if (low == fetched.size())
                 iter = emptyIterator();
             else {
-                int high = last == null ? fetched.size() : binarySearchRow(fetched, last, lastRowCmp, false);
+                int high = last == null ? fetched.size() : binarySearchFetched(last, lastRowCmp);
 
                 iter = fetched.subList(low, high).iterator();
             }
@@ -217,20 +203,20 @@ public class SortedReducer extends AbstractReducer {
     }
 
     /**
-     * Iterator merging multiple row streams.
+     * Iterator merging multiple row streams with a binary heap of the streams ordered by their current rows.
      */
     private final class MergeStreamIterator implements Iterator<Row> {
         /** */
         private boolean first = true;
 
-        /** */
-        private int off;
-
         /** */
         private boolean hasNext;
 
-        /** */
-        private final RowStream[] streams;
+        /** Heap of streams, the stream with the least current row is the first one. */
+        private final RowStream[] heap;
+
+        /** Number of non-empty streams in the heap. */
+        private int size;
 
         /**
          * @param streams Streams.
@@ -238,14 +224,14 @@ public class SortedReducer extends AbstractReducer {
         MergeStreamIterator(RowStream[] streams) {
             assert !F.isEmpty(streams);
 
-            this.streams = streams;
+            heap = streams;
         }
 
         /**
          * @return {@code true} If fetched all.
          */
         private boolean fetchedAll() {
-            return off == streams.length;
+            return !first && size == 0;
         }
 
         /**
@@ -256,30 +242,57 @@ public class SortedReducer extends AbstractReducer {
 
             first = false;
 
-            for (int i = 0; i < streams.length; i++) {
-                RowStream s = streams[i];
+            for (int i = 0; i < heap.length; i++) {
+                RowStream s = heap[i];
 
-                if (!s.next()) {
-                    streams[i] = null;
-                    off++; // Move left bound.
-                }
+                heap[i] = null;
+
+                if (s.next())
+                    heap[size++] = s;
             }
 
-            if (off < streams.length)
-                Arrays.sort(streams, streamCmp);
+            for (int i = (size >>> 1) - 1; i >= 0; i--)
+                siftDown(i);
         }
 
         /**
          *
          */
         private void goNext() {
-            if (off == streams.length)
+            if (size == 0)
                 return; // All streams are done.
 
-            if (streams[off].next())
-                H2Utils.bubbleUp(streams, off, streamCmp);
-            else
-                streams[off++] = null; // Move left bound and nullify empty stream.
+            if (!heap[0].next()) {
+                // Replace the empty stream with the last one.
+                heap[0] = heap[--size];
+                heap[size] = null;
+
+                if (size == 0)
+                    return;
+            }
+
+            siftDown(0);
+        }
+
+        /**
+         * Moves the stream down the heap until its current row is not greater than the ones of its children.
+         *
+         * @param idx Index of the stream.
+         */
+        private void siftDown(int idx) {
+            RowStream s = heap[idx];
+
+            for (int child; (child = (idx << 1) + 1) < size; idx = child) {
+                if (child + 1 < size && compareRows(heap[child + 1].get(), heap[child].get()) < 0)
+                    child++;
+
+                if (compareRows(s.get(), heap[child].get()) <= 0)
+                    break;
+
+                heap[idx] = heap[child];
+            }
+
+            heap[idx] = s;
         }
 
         /** {@inheritDoc} */
@@ -292,7 +305,7 @@ public class SortedReducer extends AbstractReducer {
             else
                 goNext();
 
-            return hasNext = off < streams.length;
+            return hasNext = size > 0;
         }
 
         /** {@inheritDoc} */
@@ -302,7 +315,7 @@ public class SortedReducer extends AbstractReducer {
 
             hasNext = false;
 
-            return streams[off].get();
+            return heap[0].get();
         }
 
         /** {@inheritDoc} */
@@ -499,14 +512,8 @@ public class SortedReducer extends AbstractReducer {
 
                 // Fetch stream.
                 while (stream.hasNext()) {
-                    fetched.add(requireNonNull(stream.next()));
-
-                    // Evict block if we've fetched too many rows.
-                    if (fetched.size() == MAX_FETCH_SIZE) {
-                        onBlockEvict(fetched.evictFirstBlock());
-
-                        assert fetched.size() < MAX_FETCH_SIZE;
-                    }
+                    // Evict or spill blocks if we've fetched too many rows.
+                    addFetched(requireNonNull(stream.next()));
 
                     // No bounds -> no need to do binary search, can return the fetched row right away.
                     if (!haveBounds())
@@ -565,6 +572,39 @@ public class SortedReducer extends AbstractReducer {
         }
     }
 
+    /**
+     * Searches fetched rows comparing with the last rows of blocks first, so that at most one spilled block is loaded.
+     *
+     * @param searchRow Search row.
+     * @param cmp Comparator.
+     * @return Insertion point for the search row.
+     */
+    private int binarySearchFetched(SearchRow searchRow, Comparator<SearchRow> cmp) {
+        int blocks = fetched.blocks();
+
+        if (fetched.block(blocks - 1).isEmpty())
+            blocks--;
+
+        // Find the first block which last row is greater than the search row by the last rows of blocks only, they are
+        // kept in memory for spilled blocks too.
+        int lo = 0;
+        int hi = blocks;
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+
+            if (cmp.compare(last(fetched.block(mid)), searchRow) < 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+
+        if (lo == blocks)
+            return fetched.size();
+
+        return lo * fetched.maxBlockSize() + binarySearchRow(fetched.block(lo), searchRow, cmp, false);
+    }
+
     /**
      * @param rows Sorted rows list.
      * @param searchRow Search row.
@@ -98,16 +98,9 @@ public class UnsortedReducer extends UnsortedBaseReducer {
             cur = rows.size();
 
             // Fetch stream.
-            if (stream.hasNext()) {
-                fetched.add(requireNonNull(stream.next()));
-
-                // Evict block if we've fetched too many rows.
-                if (fetched.size() == MAX_FETCH_SIZE) {
-                    onBlockEvict(fetched.evictFirstBlock());
-
-                    assert fetched.size() < MAX_FETCH_SIZE;
-                }
-            }
+            // Evict or spill blocks if we've fetched too many rows.
+            if (stream.hasNext())
+                addFetched(requireNonNull(stream.next()));
 
             if (cur == rows.size())
                 cur = Integer.MAX_VALUE; // We were not able to fetch anything. Done.
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.cache.query.annotations.QuerySqlField;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteFutureCancelledCheckedException;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.persistence.defragmentation.IgniteDefragmentation;
+import org.apache.ignite.internal.visor.verify.ValidateIndexesClosure;
+import org.apache.ignite.internal.visor.verify.VisorValidateIndexesJobResult;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Online defragmentation tests with enabled ignite-indexing.
+ */
+public class IgnitePdsIndexingOnlineDefragmentationTest extends GridCommonAbstractTest {
+    /** */
+    private static final int KEYS = 20_000;
+
+    /** */
+    private static final int LOAD_THREADS = 4;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        DataStorageConfiguration dsCfg = new DataStorageConfiguration();
+
+        dsCfg.setWalSegmentSize(4 * 1024 * 1024);
+        dsCfg.setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+            .setMaxSize(200L * 1024 * 1024)
+            .setPersistenceEnabled(true));
+
+        cfg.setDataStorageConfiguration(dsCfg);
+
+        cfg.setCacheConfiguration(new CacheConfiguration<Integer, Item>(DEFAULT_CACHE_NAME)
+            .setIndexedTypes(Integer.class, Item.class));
+
+        return cfg;
+    }
+
+    /**
+     * Checks that SQL indexes stay consistent when rows are moved under concurrent puts and removes.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDefragmentUnderLoad() throws Exception {
+        IgniteEx ig = startSparseGrid();
+
+        IgniteCache<Integer, Item> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> loadFut = startLoad(cache, stop);
+
+        long moved;
+
+        try {
+            moved = ig.context().defragmentation()
+                .defragmentOnline(Collections.singletonList(DEFAULT_CACHE_NAME), 0.5, 0).get(getTestTimeout());
+        }
+        finally {
+            stop.set(true);
+        }
+
+        loadFut.get(getTestTimeout());
+
+        assertTrue("moved=" + moved, moved > 0);
+
+        checkIndexes(ig, cache);
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkIndexes(ig, ig.cache(DEFAULT_CACHE_NAME));
+    }
+
+    /**
+     * Checks that online defragmentation is cancelled by {@link IgniteDefragmentation#cancel()} under load.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCancelUnderLoad() throws Exception {
+        IgniteEx ig = startSparseGrid();
+
+        IgniteCache<Integer, Item> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        IgniteDefragmentation defrag = ig.context().defragmentation();
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> loadFut = startLoad(cache, stop);
+
+        try {
+            IgniteInternalFuture<Long> fut = defrag.defragmentOnline(Collections.emptyList(), 0.5, 1000);
+
+            assertTrue(defrag.inProgress());
+
+            GridTestUtils.assertThrows(log, () -> defrag.defragmentOnline(Collections.emptyList(), 0.5, 0),
+                IgniteCheckedException.class, "already in progress");
+
+            doSleep(500);
+
+            assertEquals(IgniteDefragmentation.CancelResult.CANCELLED, defrag.cancel());
+
+            GridTestUtils.assertThrows(log, () -> fut.get(getTestTimeout()),
+                IgniteFutureCancelledCheckedException.class, null);
+
+            assertFalse(defrag.inProgress());
+        }
+        finally {
+            stop.set(true);
+        }
+
+        loadFut.get(getTestTimeout());
+
+        checkIndexes(ig, cache);
+    }
+
+    /**
+     * Starts a node and fills the cache leaving one of five rows.
+     *
+     * @return Node.
+     * @throws Exception If failed.
+     */
+    private IgniteEx startSparseGrid() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, Item> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, new Item(i));
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 5 != 0)
+                cache.remove(i);
+        }
+
+        return ig;
+    }
+
+    /**
+     * @param cache Cache.
+     * @param stop Stop flag.
+     * @return Future of load threads.
+     */
+    private IgniteInternalFuture<?> startLoad(IgniteCache<Integer, Item> cache, AtomicBoolean stop) {
+        return GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                int key = rnd.nextInt(KEYS);
+
+                if (rnd.nextBoolean())
+                    cache.put(key, new Item(rnd.nextInt(KEYS)));
+                else
+                    cache.remove(key);
+            }
+        }, LOAD_THREADS, "online-defrag-load");
+    }
+
+    /**
+     * Validates SQL indexes and compares results of indexed queries with the cache.
+     *
+     * @param ig Node.
+     * @param cache Cache.
+     * @throws Exception If failed.
+     */
+    private void checkIndexes(IgniteEx ig, IgniteCache<Integer, Item> cache) throws Exception {
+        ValidateIndexesClosure clo = new ValidateIndexesClosure(
+            () -> false,
+            Collections.singleton(DEFAULT_CACHE_NAME),
+            0,
+            0,
+            false,
+            true
+        );
+
+        ig.context().resource().injectGeneric(clo);
+
+        VisorValidateIndexesJobResult res = clo.call();
+
+        assertFalse(res.toString(), res.hasIssues());
+
+        List<List<?>> cnt = cache.query(new SqlFieldsQuery("select count(*) from Item where val >= 0")).getAll();
+
+        assertEquals((long)cache.size(), cnt.get(0).get(0));
+
+        for (int i = 0; i < KEYS; i += 97) {
+            Item val = cache.get(i);
+
+            List<List<?>> rows = cache.query(new SqlFieldsQuery("select _key from Item where val = ? and _key = ?")
+                .setArgs(val == null ? i : val.val, i)).getAll();
+
+            assertEquals("key=" + i, val == null ? 0 : 1, rows.size());
+        }
+    }
+
+    /** */
+    private static class Item {
+        /** */
+        @QuerySqlField(index = true)
+        private final int val;
+
+        /** Payload which makes rows big enough to leave sparse pages. */
+        @QuerySqlField
+        private final String payload;
+
+        /**
+         * @param val Value.
+         */
+        private Item(int val) {
+            this.val = val;
+            payload = String.valueOf(val) + new String(new char[200]).replace('\0', 'x');
+        }
+    }
+}
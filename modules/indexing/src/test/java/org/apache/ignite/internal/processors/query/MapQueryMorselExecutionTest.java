@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.cache.query.annotations.QuerySqlFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_MAP_PARALLELISM;
+
+/**
+ * Tests execution of map queries by several threads over morsels of partitions.
+ */
+@WithSystemProperty(key = IGNITE_SQL_MAP_PARALLELISM, value = "4")
+public class MapQueryMorselExecutionTest extends GridCommonAbstractTest {
+    /** Number of nodes. */
+    private static final int NODES = 3;
+
+    /** Table size. */
+    private static final int TBL_SIZE = 1000;
+
+    /** */
+    private static final String SLOW_SQL = "select _key, delay(_val) from Integer";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName).setCacheConfiguration(
+            new CacheConfiguration<Integer, Integer>(DEFAULT_CACHE_NAME)
+                .setIndexedTypes(Integer.class, Integer.class)
+                .setSqlFunctionClasses(MapQueryMorselExecutionTest.class));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(NODES);
+
+        Map<Integer, Integer> data = new HashMap<>();
+
+        for (int i = 0; i < TBL_SIZE; i++)
+            data.put(i, i);
+
+        grid(0).cache(DEFAULT_CACHE_NAME).putAll(data);
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testAggregates() {
+        List<?> row = sql("select count(*), sum(_val), min(_val), max(_val), count(distinct _val % 10) " +
+            "from Integer").get(0);
+
+        assertEquals((long)TBL_SIZE, ((Number)row.get(0)).longValue());
+        assertEquals((long)TBL_SIZE * (TBL_SIZE - 1) / 2, ((Number)row.get(1)).longValue());
+        assertEquals(0, ((Number)row.get(2)).intValue());
+        assertEquals(TBL_SIZE - 1, ((Number)row.get(3)).intValue());
+        assertEquals(10L, ((Number)row.get(4)).longValue());
+
+        List<List<?>> groups = sql("select _val % 10, count(*) from Integer group by _val % 10 order by 1");
+
+        assertEquals(10, groups.size());
+
+        for (int i = 0; i < groups.size(); i++) {
+            assertEquals(i, ((Number)groups.get(i).get(0)).intValue());
+            assertEquals((long)TBL_SIZE / 10, ((Number)groups.get(i).get(1)).longValue());
+        }
+
+        assertEquals(TBL_SIZE - 10, sql("select _key from Integer where _val >= 10").size());
+    }
+
+    /**
+     * Checks partial aggregates merged on map nodes.
+     */
+    @Test
+    public void testMergedAggregates() {
+        List<?> row = sql("select avg(_val), avg(cast(_val as double)), count(_val), max(_key) from Integer " +
+            "where _val >= 100").get(0);
+
+        assertEquals((100 + TBL_SIZE - 1) / 2, ((Number)row.get(0)).intValue());
+        assertEquals((100 + TBL_SIZE - 1) / 2.0, ((Number)row.get(1)).doubleValue(), 1e-9);
+        assertEquals((long)TBL_SIZE - 100, ((Number)row.get(2)).longValue());
+        assertEquals(TBL_SIZE - 1, ((Number)row.get(3)).intValue());
+
+        // Morsels without rows give NULL partials except counts.
+        row = sql("select count(*), sum(_val), min(_val), avg(_val) from Integer where _val < 0").get(0);
+
+        assertEquals(0L, ((Number)row.get(0)).longValue());
+        assertNull(row.get(1));
+        assertNull(row.get(2));
+        assertNull(row.get(3));
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testThreadsAreVisibleInSqlQueriesView() {
+        IgniteCache<Integer, Integer> cache = grid(0).cache(DEFAULT_CACHE_NAME);
+
+        try (FieldsQueryCursor<List<?>> cur = cache.query(new SqlFieldsQuery(SLOW_SQL).setPageSize(10))) {
+            Iterator<List<?>> it = cur.iterator();
+
+            List<List<?>> view = grid(0).context().query().querySqlFields(
+                new SqlFieldsQuery("select map_threads from sys.sql_queries where sql = ?").setArgs(SLOW_SQL),
+                false).getAll();
+
+            assertEquals(1, view.size());
+
+            // Every node executes the map query by the thread of the segment and at least one helper.
+            assertTrue(view.toString(), ((Number)view.get(0).get(0)).intValue() > NODES);
+
+            int cnt = 0;
+
+            for (; it.hasNext(); it.next())
+                cnt++;
+
+            assertEquals(TBL_SIZE, cnt);
+        }
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testSortedQueryIsNotSplit() {
+        String sql = "select _key, _val from Integer order by _val";
+
+        IgniteCache<Integer, Integer> cache = grid(0).cache(DEFAULT_CACHE_NAME);
+
+        try (FieldsQueryCursor<List<?>> cur = cache.query(new SqlFieldsQuery(sql).setPageSize(10))) {
+            Iterator<List<?>> it = cur.iterator();
+
+            GridRunningQueryInfo info = null;
+
+            for (GridRunningQueryInfo qry : indexing().runningQueryManager().runningSqlQueries()) {
+                if (sql.equals(qry.query()))
+                    info = qry;
+            }
+
+            assertNotNull(info);
+            assertEquals(NODES, info.mapThreads());
+
+            int cnt = 0;
+
+            while (it.hasNext())
+                assertEquals(cnt++, it.next().get(1));
+
+            assertEquals(TBL_SIZE, cnt);
+        }
+    }
+
+    /**
+     * Slows down map queries, so helper threads take morsels.
+     *
+     * @param v Value.
+     * @return The same value.
+     */
+    @QuerySqlFunction
+    public static int delay(int v) {
+        doSleep(2);
+
+        return v;
+    }
+
+    /**
+     * @param sql SQL query.
+     * @return Results.
+     */
+    private List<List<?>> sql(String sql) {
+        return grid(0).cache(DEFAULT_CACHE_NAME).query(new SqlFieldsQuery(sql)).getAll();
+    }
+
+    /**
+     * @return Indexing.
+     */
+    private IgniteH2Indexing indexing() {
+        return (IgniteH2Indexing)grid(0).context().query().getIndexing();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.h2.opt.H2PlainRowFactory;
+import org.apache.ignite.internal.processors.query.h2.twostep.ReduceMemoryTracker;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.h2.result.Row;
+import org.h2.value.ValueInt;
+import org.h2.value.ValueString;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_REDUCE_MEMORY_QUOTA;
+
+/**
+ * Tests spilling of rows buffered by reducers when the memory quota is exceeded.
+ */
+@WithSystemProperty(key = IGNITE_SQL_REDUCE_MEMORY_QUOTA, value = "65536")
+public class ReduceMemoryQuotaTest extends GridCommonAbstractTest {
+    /** Table size. */
+    private static final int TBL_SIZE = 20_000;
+
+    /** */
+    private static final String SQL = "select _key, _val from Integer order by _val desc";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName).setCacheConfiguration(
+            new CacheConfiguration<Integer, Integer>(DEFAULT_CACHE_NAME)
+                .setIndexedTypes(Integer.class, Integer.class)
+                .setQueryParallelism(2));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(3);
+
+        Map<Integer, Integer> data = new HashMap<>();
+
+        for (int i = 0; i < TBL_SIZE; i++)
+            data.put(i, i);
+
+        grid(0).cache(DEFAULT_CACHE_NAME).putAll(data);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSortedResultIsSpilled() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(0).cache(DEFAULT_CACHE_NAME);
+
+        try (FieldsQueryCursor<List<?>> cur = cache.query(new SqlFieldsQuery(SQL).setPageSize(100))) {
+            Iterator<List<?>> it = cur.iterator();
+
+            GridRunningQueryInfo info = null;
+
+            for (GridRunningQueryInfo qry : indexing().runningQueryManager().runningSqlQueries()) {
+                if (SQL.equals(qry.query()))
+                    info = qry;
+            }
+
+            assertNotNull(info);
+            assertTrue(info.reduceMemoryPeak() > 0);
+            assertTrue(info.reduceSpilledBytes() > 0);
+
+            int cnt = 0;
+
+            while (it.hasNext()) {
+                List<?> row = it.next();
+
+                assertEquals(TBL_SIZE - 1 - cnt, row.get(1));
+
+                cnt++;
+            }
+
+            assertEquals(TBL_SIZE, cnt);
+        }
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testSpilledRowsAreLoaded() {
+        List<Row> rows = new ArrayList<>();
+
+        for (int i = 0; i < 1024; i++)
+            rows.add(H2PlainRowFactory.create(ValueInt.get(i), ValueString.get("val-" + i)));
+
+        try (ReduceMemoryTracker tracker = new ReduceMemoryTracker(1024, grid(0).configuration().getWorkDirectory(),
+            indexing().connections().dataHandler(), null)) {
+            tracker.reserve(ReduceMemoryTracker.size(rows) + ReduceMemoryTracker.size(rows.subList(0, 10)));
+
+            assertTrue(tracker.exceeded());
+
+            List<Row> spilled1 = tracker.spill(rows);
+            List<Row> spilled2 = tracker.spill(rows.subList(0, 10));
+
+            assertEquals(0, tracker.used());
+            assertTrue(tracker.spilledBytes() > 0);
+
+            assertEquals(rows.size(), spilled1.size());
+            assertEquals(10, spilled2.size());
+
+            for (int i = 0; i < rows.size(); i++) {
+                assertEquals(i, spilled1.get(i).getValue(0).getInt());
+                assertEquals("val-" + i, spilled1.get(i).getValue(1).getString());
+
+                // Switch between loaded blocks.
+                assertEquals(i % 10, spilled2.get(i % 10).getValue(0).getInt());
+            }
+        }
+    }
+
+    /**
+     * @return Indexing.
+     */
+    private IgniteH2Indexing indexing() {
+        return (IgniteH2Indexing)grid(0).context().query().getIndexing();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2;
+
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.query.stat.StatisticsKey;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_PLAN_CACHE_SIZE;
+import static org.apache.ignite.internal.processors.query.h2.QueryParserMetricsHolder.QUERY_PARSER_METRIC_GROUP_NAME;
+
+/**
+ * Tests node-wide cache of parsed queries.
+ */
+@WithSystemProperty(key = IGNITE_SQL_PLAN_CACHE_SIZE, value = "64")
+public class QueryPlanCacheTest extends GridCommonAbstractTest {
+    /** Table size. */
+    private static final int TBL_SIZE = 1000;
+
+    /** Node. */
+    private static IgniteEx ignite;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        ignite = startGrid();
+
+        sql("CREATE TABLE TBL (ID INT PRIMARY KEY, VAL INT)");
+        sql("CREATE INDEX IDX_VAL ON TBL (VAL)");
+
+        for (int i = 0; i < TBL_SIZE; i++)
+            sql("INSERT INTO TBL (ID, VAL) VALUES (?, ?)", i, i);
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testNormalize() {
+        assertEquals("SELECT * FROM T WHERE A = ?", QueryPlanCache.normalize(" SELECT *\n\tFROM  T WHERE A = ? \n"));
+        assertEquals("SELECT 'a  b' FROM \"T  1\"", QueryPlanCache.normalize("SELECT  'a  b'  FROM \"T  1\""));
+        assertEquals("SELECT A -- c  d\n, B FROM T /* x  y */ WHERE 1",
+            QueryPlanCache.normalize("SELECT A -- c  d\n, B FROM T  /* x  y */  WHERE 1"));
+        assertEquals("SELECT 'a  ", QueryPlanCache.normalize("SELECT  'a  "));
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testQueriesDifferentByFormattingShareEntry() {
+        long hits = metric("hits");
+
+        sql("SELECT ID FROM TBL WHERE ID = ?", 1);
+        sql("SELECT   ID\n  FROM TBL\n WHERE ID = ?", 2);
+
+        assertEquals(hits + 1, metric("hits"));
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testSchemaChangeInvalidatesEntries() {
+        sql("SELECT ID FROM TBL WHERE VAL = ?", 1);
+
+        long misses = metric("misses");
+
+        sql("SELECT ID FROM TBL WHERE VAL = ?", 1);
+
+        assertEquals(misses, metric("misses"));
+
+        sql("CREATE INDEX IDX_ID_VAL ON TBL (ID, VAL)");
+
+        try {
+            sql("SELECT ID FROM TBL WHERE VAL = ?", 1);
+
+            assertEquals(misses + 1, metric("misses"));
+        }
+        finally {
+            sql("DROP INDEX IDX_ID_VAL");
+        }
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testEviction() {
+        long evictions = metric("evictions");
+
+        for (int i = 0; i < 200; i++)
+            sql("SELECT ID FROM TBL WHERE VAL = " + i);
+
+        assertTrue(metric("evictions") > evictions);
+        assertTrue(String.valueOf(metric("size")), metric("size") <= 64);
+        assertTrue(metric("memory") > 0);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPlanVariantChosenBySelectivityOfParameters() throws Exception {
+        sql("ANALYZE TBL");
+
+        IgniteH2Indexing indexing = (IgniteH2Indexing)ignite.context().query().getIndexing();
+
+        assertTrue(GridTestUtils.waitForCondition(
+            () -> indexing.statsManager().getLocalStatistics(new StatisticsKey("PUBLIC", "TBL")) != null, 5_000));
+
+        String explain = "EXPLAIN SELECT ID FROM TBL WHERE VAL > ?";
+
+        // Selects 1% of rows, the index is used.
+        assertTrue(plan(explain, TBL_SIZE - 10), plan(explain, TBL_SIZE - 10).contains("IDX_VAL"));
+
+        // Selects 99% of rows, the table is scanned.
+        assertTrue(plan(explain, 10), plan(explain, 10).contains("USE INDEX ()"));
+
+        // Both variants are cached, every execution is counted once.
+        long hits = metric("hits");
+        long misses = metric("misses");
+
+        plan(explain, TBL_SIZE - 10);
+        plan(explain, 10);
+
+        assertEquals(hits + 2, metric("hits"));
+        assertEquals(misses, metric("misses"));
+
+        // The first execution of a variant is counted as a single miss.
+        String sql = "EXPLAIN SELECT ID, VAL FROM TBL WHERE VAL > ?";
+
+        plan(sql, TBL_SIZE - 10);
+        plan(sql, 10);
+
+        assertEquals(hits + 2, metric("hits"));
+        assertEquals(misses + 2, metric("misses"));
+
+        // Results of variants are the same.
+        assertEquals(TBL_SIZE - 11, sql("SELECT ID FROM TBL WHERE VAL > ?", 10).size());
+        assertEquals(9, sql("SELECT ID FROM TBL WHERE VAL > ?", TBL_SIZE - 10).size());
+    }
+
+    /**
+     * @param sql Query.
+     * @param arg Argument.
+     * @return Plan of the map query.
+     */
+    private String plan(String sql, Object arg) {
+        return sql(sql, arg).get(0).get(0).toString();
+    }
+
+    /**
+     * @param name Metric name.
+     * @return Metric value.
+     */
+    private long metric(String name) {
+        return ignite.context().metric().registry(QUERY_PARSER_METRIC_GROUP_NAME).<LongMetric>findMetric(name).value();
+    }
+
+    /**
+     * @param sql Query.
+     * @param args Arguments.
+     * @return Results.
+     */
+    private List<List<?>> sql(String sql, Object... args) {
+        return ignite.context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.columnar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.index.AbstractIndexingCommonTest;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperationType;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.h2.value.Value;
+import org.h2.value.ValueLong;
+import org.h2.value.ValueNull;
+import org.h2.value.ValueString;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_COLUMNAR_REFRESH_INTERVAL;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_VECTORIZED_SCAN_BATCH_SIZE;
+
+/**
+ * Tests for columnar replicas of tables.
+ */
+@WithSystemProperty(key = IGNITE_SQL_COLUMNAR_REFRESH_INTERVAL, value = "3600000")
+public class ColumnarReplicaQueryTest extends AbstractIndexingCommonTest {
+    /** Number of nodes. */
+    private static final int NODES = 2;
+
+    /** Number of rows. */
+    private static final int ROWS = 1000;
+
+    /** Queries evaluated over the replica. */
+    private static final String[] QUERIES = {
+        "SELECT COUNT(*), SUM(A), MIN(A), MAX(A), AVG(A) FROM T",
+        "SELECT COUNT(C), MIN(C), MAX(C) FROM T WHERE A > ? AND B <= ?",
+        "SELECT SUM(B), AVG(B), COUNT(A) FROM T WHERE C = 'v5'",
+        "SELECT COUNT(*) FROM T WHERE C < 'v3' AND A IS NOT NULL",
+        "SELECT COUNT(*), MAX(B) FROM T WHERE A IS NULL",
+        "SELECT COUNT(*), SUM(A), MIN(C) FROM T WHERE 100 < A",
+        "SELECT MIN(C), SUM(A) FROM T WHERE C <> 'v1' AND C >= 'v10x'"
+    };
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAggregates() throws Exception {
+        IgniteEx ig = startGrids(NODES);
+
+        awaitPartitionMapExchange();
+
+        createTable(ig);
+
+        List<List<List<?>>> exp = runQueries(ig);
+
+        for (int i = 0; i < NODES; i++) {
+            columnar(grid(i)).enable("PUBLIC", "T", Arrays.asList("A", "B", "C"));
+            columnar(grid(i)).refresh();
+        }
+
+        assertEquals(exp, runQueries(ig));
+        assertEquals(QUERIES.length * NODES, executedQueries());
+
+        // Queries over other columns are executed by H2.
+        assertEquals(Long.valueOf(ROWS), sql(ig, "SELECT COUNT(D) FROM T").get(0).get(0));
+        assertEquals(QUERIES.length * NODES, executedQueries());
+
+        // Modified partitions are queried by H2 until chunks are refreshed.
+        sql(ig, "UPDATE T SET A = A + 1 WHERE ID < 100");
+
+        String fallback = "SELECT SUM(A), COUNT(C) FROM T WHERE D IS NOT NULL";
+
+        assertEquals(sql(ig, fallback), sql(ig, "SELECT SUM(A), COUNT(C) FROM T"));
+        assertEquals(QUERIES.length * NODES, executedQueries());
+
+        for (int i = 0; i < NODES; i++)
+            columnar(grid(i)).refresh();
+
+        assertEquals(sql(ig, fallback), sql(ig, "SELECT SUM(A), COUNT(C) FROM T"));
+        assertEquals((QUERIES.length + 1) * NODES, executedQueries());
+
+        for (int i = 0; i < NODES; i++)
+            assertTrue(columnar(grid(i)).disable("PUBLIC", "T"));
+
+        sql(ig, "SELECT SUM(A), COUNT(C) FROM T");
+
+        assertEquals((QUERIES.length + 1) * NODES, executedQueries());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testColumnarTableParameter() throws Exception {
+        IgniteEx ig = startGrids(NODES);
+
+        awaitPartitionMapExchange();
+
+        createTable(ig);
+
+        List<List<List<?>>> exp = runQueries(ig);
+
+        sql(ig, "DROP TABLE T");
+
+        createTable(ig, " WITH \"COLUMNAR=true\"");
+
+        for (int i = 0; i < NODES; i++) {
+            columnar(grid(i)).refresh();
+
+            assertNotNull(columnar(grid(i)).replica("PUBLIC", "T"));
+        }
+
+        assertEquals(exp, runQueries(ig));
+        assertEquals(QUERIES.length * NODES, executedQueries());
+
+        // Replica is dropped with the table.
+        sql(ig, "DROP TABLE T");
+
+        for (int i = 0; i < NODES; i++) {
+            columnar(grid(i)).refresh();
+
+            assertNull(columnar(grid(i)).replica("PUBLIC", "T"));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_SQL_VECTORIZED_SCAN_BATCH_SIZE, value = "100")
+    public void testVectorizedScan() throws Exception {
+        IgniteEx ig = startGrids(NODES);
+
+        awaitPartitionMapExchange();
+
+        createTable(ig);
+
+        // Expressions in conditions are not supported, so such queries are executed by H2.
+        List<List<List<?>>> exp = new ArrayList<>();
+
+        for (String qry : QUERIES) {
+            qry = qry.contains("WHERE") ? qry.replace("WHERE", "WHERE ID + 0 >= 0 AND") : qry + " WHERE ID + 0 >= 0";
+
+            exp.add(qry.contains("?") ? sql(ig, qry, 3, 300.0) : sql(ig, qry));
+        }
+
+        assertEquals(0, executedQueries());
+
+        // Tables without replicas are scanned in batches.
+        assertEquals(exp, runQueries(ig));
+        assertEquals(QUERIES.length * NODES, executedQueries());
+
+        // Partitions are scanned in batches until their chunks are built.
+        for (int i = 0; i < NODES; i++)
+            columnar(grid(i)).enable("PUBLIC", "T", Arrays.asList("A", "B", "C"));
+
+        assertEquals(exp, runQueries(ig));
+        assertEquals(QUERIES.length * NODES * 2, executedQueries());
+
+        // Queries over columns out of the replica are executed by H2.
+        assertEquals(Long.valueOf(ROWS), sql(ig, "SELECT COUNT(D) FROM T").get(0).get(0));
+        assertEquals(QUERIES.length * NODES * 2, executedQueries());
+    }
+
+    /**
+     * Checks bit-packing and filters of chunks.
+     */
+    @Test
+    public void testChunks() {
+        ColumnChunk.Builder longs = ColumnChunk.builder(Value.LONG, 0);
+
+        for (int i = 0; i < 100; i++)
+            longs.add(i % 3 == 0 ? ValueNull.INSTANCE : ValueLong.get(i % 2 == 0 ? Long.MIN_VALUE + i : i));
+
+        LongColumnChunk chunk = (LongColumnChunk)longs.build();
+
+        assertEquals(64, chunk.bitsPerValue());
+
+        long[] sel = ColumnChunk.selectAll(chunk.size());
+
+        assertEquals(66, chunk.count(sel));
+        assertEquals(Long.MIN_VALUE + 2, chunk.extremum(sel, false));
+        assertEquals(97L, chunk.extremum(sel, true));
+
+        chunk.filter(GridSqlOperationType.BIGGER, 0L, sel);
+
+        assertEquals(33, chunk.count(sel));
+        assertEquals((Object)(1L + 5 + 7 + 11 + 13 + 17 + 19 + 23 + 25 + 29 + 31 + 35 + 37 + 41 + 43 + 47 + 49 + 53 +
+            55 + 59 + 61 + 65 + 67 + 71 + 73 + 77 + 79 + 83 + 85 + 89 + 91 + 95 + 97), chunk.sum(sel));
+
+        try {
+            chunk.sum(ColumnChunk.selectAll(chunk.size()));
+
+            fail("Overflow expected.");
+        }
+        catch (ArithmeticException ignored) {
+            // Expected.
+        }
+
+        ColumnChunk.Builder strs = ColumnChunk.builder(Value.STRING, 0);
+
+        for (String s : new String[] {"b", null, "d", "b", "f"})
+            strs.add(s == null ? ValueNull.INSTANCE : ValueString.get(s));
+
+        StringColumnChunk strChunk = (StringColumnChunk)strs.build();
+
+        assertEquals(3, strChunk.distinctValues());
+
+        sel = ColumnChunk.selectAll(strChunk.size());
+
+        strChunk.filter(GridSqlOperationType.BIGGER, "c", sel);
+
+        assertEquals(2, strChunk.count(sel));
+        assertEquals("d", strChunk.extremum(sel, false));
+
+        sel = ColumnChunk.selectAll(strChunk.size());
+
+        strChunk.filter(GridSqlOperationType.NOT_EQUAL, "c", sel);
+
+        assertEquals(4, strChunk.count(sel));
+
+        strChunk.filter(GridSqlOperationType.SMALLER_EQUAL, "b", sel);
+
+        assertEquals(2, strChunk.count(sel));
+    }
+
+    /**
+     * @param ig Node.
+     */
+    private static void createTable(IgniteEx ig) {
+        createTable(ig, "");
+    }
+
+    /**
+     * @param ig Node.
+     * @param params Parameters of the table.
+     */
+    private static void createTable(IgniteEx ig, String params) {
+        sql(ig, "CREATE TABLE T (ID INT PRIMARY KEY, A INT, B DOUBLE, C VARCHAR, D BIGINT)" + params);
+
+        for (int i = 0; i < ROWS; i++) {
+            sql(ig, "INSERT INTO T (ID, A, B, C, D) VALUES (?, ?, ?, ?, ?)", i, i % 7 == 0 ? null : i % 10,
+                i * 0.5, i % 11 == 0 ? null : "v" + (i % 13), (long)i * 1_000_000_000L);
+        }
+    }
+
+    /**
+     * @param ig Node.
+     * @return Results of {@link #QUERIES}.
+     */
+    private List<List<List<?>>> runQueries(IgniteEx ig) {
+        List<List<List<?>>> res = new ArrayList<>();
+
+        for (String qry : QUERIES)
+            res.add(qry.contains("?") ? sql(ig, qry, 3, 300.0) : sql(ig, qry));
+
+        return res;
+    }
+
+    /**
+     * @return Total number of map queries evaluated over replicas.
+     */
+    private long executedQueries() {
+        long cnt = 0;
+
+        for (int i = 0; i < NODES; i++)
+            cnt += columnar(grid(i)).executedQueries();
+
+        return cnt;
+    }
+
+    /**
+     * @param ig Node.
+     * @return Columnar replicas manager.
+     */
+    private static ColumnarManager columnar(IgniteEx ig) {
+        return ((IgniteH2Indexing)ig.context().query().getIndexing()).columnarManager();
+    }
+
+    /**
+     * @param ig Node.
+     * @param sql Query.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private static List<List<?>> sql(IgniteEx ig, String sql, Object... args) {
+        return ig.context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+}
@@ -40,6 +40,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.keys.JavaObjectIndexK
 import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
 import org.apache.ignite.internal.pagemem.PageIdAllocator;
 import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.pagemem.PageUtils;
 import org.apache.ignite.internal.pagemem.impl.PageMemoryNoStoreImpl;
 import org.apache.ignite.internal.processors.cache.CacheObjectValueContext;
 import org.apache.ignite.internal.processors.cache.index.AbstractIndexingCommonTest;
@@ -374,6 +375,78 @@ public class InlineIndexColumnTest extends AbstractIndexingCommonTest {
         }
     }
 
+    /** */
+    @Test
+    public void testCopyTruncate() throws Exception {
+        DataRegionConfiguration plcCfg = new DataRegionConfiguration().setInitialSize(1024 * MB)
+            .setMaxSize(1024 * MB);
+
+        PageMemory pageMem = new PageMemoryNoStoreImpl(
+            log,
+            new UnsafeMemoryProvider(log),
+            null,
+            PAGE_SIZE,
+            plcCfg,
+            new DataRegionMetricsImpl(plcCfg, new GridTestKernalContext(log())),
+            false
+        );
+
+        pageMem.start();
+
+        long pageId = 0L;
+        long page = 0L;
+
+        try {
+            pageId = pageMem.allocatePage(CACHE_ID, 1, PageIdAllocator.FLAG_DATA);
+            page = pageMem.acquirePage(CACHE_ID, pageId);
+            long pageAddr = pageMem.readLock(CACHE_ID, pageId, page);
+
+            IndexKeyTypeSettings keyTypeSettings = new IndexKeyTypeSettings()
+                .inlineObjHash(false)
+                .stringOptimizedCompare(true);
+
+            InlineIndexKeyType strType = InlineIndexKeyTypeRegistry.get(Value.STRING, keyTypeSettings);
+
+            strType.put(pageAddr, 0, idxKey(ValueString.get("aaa\u20acbbb")), 64);
+
+            // Fits entirely.
+            assertEquals(12, strType.copy(pageAddr, 0, 64, pageAddr, 100, 12));
+            assertEquals(0, strType.compare(pageAddr, 100, 12, idxKey(ValueString.get("aaa\u20acbbb"))));
+
+            // Multibyte character is not split on truncation.
+            assertEquals(3 + 3, strType.copy(pageAddr, 0, 64, pageAddr, 200, 3 + 5));
+            assertEquals("aaa", strType.get(pageAddr, 200, 3 + 5).key());
+            assertEquals(CANT_BE_COMPARE, strType.compare(pageAddr, 200, 3 + 5, idxKey(ValueString.get("aaa\u20acbbb"))));
+            assertEquals(1, strType.compare(pageAddr, 200, 3 + 5, idxKey(ValueString.get("aaa"))));
+            assertEquals(-1, strType.compare(pageAddr, 200, 3 + 5, idxKey(ValueString.get("aab"))));
+
+            // Truncated copy of a truncated value.
+            assertEquals(3 + 2, strType.copy(pageAddr, 200, 3 + 5, pageAddr, 300, 3 + 2));
+            assertEquals(CANT_BE_COMPARE, strType.compare(pageAddr, 300, 3 + 2, idxKey(ValueString.get("aaa"))));
+
+            // Nothing is written when there is no room at the destination.
+            PageUtils.putByte(pageAddr, 400, (byte)42);
+
+            assertEquals(0, strType.copy(pageAddr, 0, 64, pageAddr, 400, 0));
+            assertEquals(42, PageUtils.getByte(pageAddr, 400));
+
+            InlineIndexKeyType intType = InlineIndexKeyTypeRegistry.get(Value.INT, keyTypeSettings);
+
+            intType.put(pageAddr, 0, idxKey(ValueInt.get(42)), 5);
+
+            assertEquals(5, intType.copy(pageAddr, 0, 5, pageAddr, 100, 5));
+            assertEquals(0, intType.compare(pageAddr, 100, 5, idxKey(ValueInt.get(42))));
+
+            // Fixed size value can't be truncated.
+            assertEquals(0, intType.copy(pageAddr, 0, 5, pageAddr, 200, 4));
+        }
+        finally {
+            if (page != 0L)
+                pageMem.releasePage(CACHE_ID, pageId, page);
+            pageMem.stop(true);
+        }
+    }
+
     /** */
     @Test
     public void testBytes() throws Exception {
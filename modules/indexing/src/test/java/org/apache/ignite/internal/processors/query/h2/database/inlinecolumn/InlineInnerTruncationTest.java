@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.database.inlinecolumn;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.cache.query.index.IndexName;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexImpl;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexTree;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineInnerIO;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.processors.cache.index.AbstractIndexingCommonTest;
+import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusMetaIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.IOVersions;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+/**
+ * Tests splits and merges of inline index trees with truncated separator keys on inner pages.
+ */
+public class InlineInnerTruncationTest extends AbstractIndexingCommonTest {
+    /** */
+    private static final String CACHE = "CACHE";
+
+    /** Cache of the table with an index of fixed size keys. */
+    private static final String LONG_CACHE = "LONG_CACHE";
+
+    /** Inline size of leaf pages, inner pages of version 2 inline a half of it. */
+    private static final int INLINE_SIZE = 100;
+
+    /** Common prefix which is longer than keys inlined on inner pages of version 2. */
+    private static final String PREFIX = new String(new char[70]).replace('\0', 'x');
+
+    /** */
+    private static final int ROWS = 10_000;
+
+    /** */
+    private IgniteEx ignite;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        ignite = startGrid();
+
+        sql("create table T (id int primary key, s varchar) with \"cache_name=" + CACHE + "\"");
+        sql("create index T_S_IDX on T (s) inline_size " + INLINE_SIZE);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that the tree stays consistent when separators are truncated and can't be compared without rows.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSplitMergeWithTruncatedSeparators() throws Exception {
+        InlineIndexTree tree = tree();
+
+        NavigableMap<String, Integer> exp = new TreeMap<>();
+
+        insert(shuffled(0, ROWS), exp);
+
+        int[] vers = innerPageVersions(tree);
+
+        assertEquals(0, vers[1]);
+        assertTrue(vers[2] > 0);
+        assertTrue(tree.rootLevel() > 1);
+
+        checkTree(tree, exp);
+
+        remove(shuffled(0, ROWS), 4, exp);
+
+        checkTree(tree, exp);
+    }
+
+    /**
+     * Checks trees with inner pages of both versions, as after an upgrade of a node with a persisted index.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMixedInnerPageVersions() throws Exception {
+        InlineIndexTree tree = tree();
+
+        IOVersions<?> innerIos = GridTestUtils.getFieldValue(tree, BPlusTree.class, "innerIos");
+
+        NavigableMap<String, Integer> exp = new TreeMap<>();
+
+        // Inner pages with full inlined keys, like ones written before version 2.
+        GridTestUtils.setFieldValue(tree, BPlusTree.class, "innerIos",
+            new IOVersions<>((AbstractInlineInnerIO)innerIos.forVersion(1)));
+
+        try {
+            insert(shuffled(0, ROWS / 20), exp);
+        }
+        finally {
+            GridTestUtils.setFieldValue(tree, BPlusTree.class, "innerIos", innerIos);
+        }
+
+        assertEquals(1, tree.rootLevel());
+
+        int[] vers = innerPageVersions(tree);
+
+        assertEquals(1, vers[1]);
+        assertEquals(0, vers[2]);
+
+        // Split inner pages and roots created over them get the version of the split page, version 2 is used
+        // only for a root created over the leaf level. So a tree with inner pages of version 1 keeps them.
+        insert(shuffled(ROWS / 20, ROWS), exp);
+
+        assertTrue(tree.rootLevel() > 1);
+
+        vers = innerPageVersions(tree);
+
+        assertTrue(vers[1] > 1);
+        assertEquals(0, vers[2]);
+
+        checkTree(tree, exp);
+
+        remove(shuffled(0, ROWS), 4, exp);
+
+        checkTree(tree, exp);
+    }
+
+    /**
+     * Checks that inner pages of an index keep full inlined keys if version 2 would drop fixed size keys.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFixedSizeKeysAreNotTruncated() throws Exception {
+        // Six bigint keys take 54 bytes, that is more than inner pages of version 2 inline.
+        sql("create table L (id int primary key, a bigint, b bigint, c bigint, d bigint, e bigint, f bigint) " +
+            "with \"cache_name=" + LONG_CACHE + "\"");
+        sql("create index L_IDX on L (a, b, c, d, e, f) inline_size " + INLINE_SIZE);
+
+        for (int id : shuffled(0, ROWS))
+            sql("insert into L (id, a, b, c, d, e, f) values (?, 0, 0, 0, 0, ?, ?)", id, id / 10, id);
+
+        InlineIndexTree tree = tree(LONG_CACHE, "L", "L_IDX");
+
+        assertTrue(tree.rootLevel() > 1);
+
+        int[] vers = innerPageVersions(tree);
+
+        assertTrue(vers[1] > 1);
+        assertEquals(0, vers[2]);
+
+        tree.validateTree();
+
+        List<List<?>> rows = sql("select id from L use index (L_IDX) where a = 0 and b = 0 and c = 0 and d = 0 " +
+            "and e = ? order by f", 7);
+
+        assertEquals(10, rows.size());
+
+        for (int i = 0; i < rows.size(); i++)
+            assertEquals(70 + i, rows.get(i).get(0));
+    }
+
+    /**
+     * @param id Row ID.
+     * @return Indexed value, half of values share a prefix which doesn't fit inner pages of version 2.
+     */
+    private static String value(int id) {
+        String num = String.format("%06d", id);
+
+        return id % 2 == 0 ? PREFIX + num : num + PREFIX;
+    }
+
+    /**
+     * @param ids Row IDs.
+     * @param exp Expected index content.
+     */
+    private void insert(List<Integer> ids, NavigableMap<String, Integer> exp) {
+        for (int id : ids) {
+            sql("insert into T (id, s) values (?, ?)", id, value(id));
+
+            exp.put(value(id), id);
+        }
+    }
+
+    /**
+     * @param ids Row IDs.
+     * @param keep Every row with ID divisible by this number is kept.
+     * @param exp Expected index content.
+     */
+    private void remove(List<Integer> ids, int keep, NavigableMap<String, Integer> exp) {
+        for (int id : ids) {
+            if (id % keep != 0) {
+                sql("delete from T where id = ?", id);
+
+                exp.remove(value(id));
+            }
+        }
+    }
+
+    /**
+     * @param tree Index tree.
+     * @param exp Expected index content.
+     * @throws Exception If failed.
+     */
+    private void checkTree(InlineIndexTree tree, NavigableMap<String, Integer> exp) throws Exception {
+        tree.validateTree();
+
+        List<List<?>> rows = sql("select s, id from T use index (T_S_IDX) where s > '' order by s");
+
+        assertEquals(exp.size(), rows.size());
+
+        int i = 0;
+
+        for (String s : exp.keySet()) {
+            assertEquals(s, rows.get(i).get(0));
+            assertEquals(exp.get(s), rows.get(i).get(1));
+
+            i++;
+        }
+
+        for (int id = 0; id < ROWS; id += 7) {
+            rows = sql("select id from T use index (T_S_IDX) where s = ?", value(id));
+
+            assertEquals(value(id), exp.containsKey(value(id)) ? 1 : 0, rows.size());
+
+            String from = value(id);
+            String to = value(Math.min(id + 300, ROWS));
+
+            if (from.compareTo(to) < 0) {
+                rows = sql("select count(*) from T use index (T_S_IDX) where s >= ? and s < ?", from, to);
+
+                assertEquals((long)exp.subMap(from, to).size(), rows.get(0).get(0));
+            }
+        }
+    }
+
+    /**
+     * Counts inner pages of the tree by versions.
+     *
+     * @param tree Index tree.
+     * @return Numbers of inner pages indexed by page versions.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int[] innerPageVersions(InlineIndexTree tree) throws IgniteCheckedException {
+        PageMemory pageMem = ignite.context().cache().cache(CACHE).context().dataRegion().pageMemory();
+
+        int grpId = tree.groupId();
+
+        long metaPageId = tree.getMetaPageId();
+
+        int rootLvl = tree.rootLevel();
+
+        int[] vers = new int[3];
+
+        for (int lvl = 1; lvl <= rootLvl; lvl++) {
+            int lvl0 = lvl;
+
+            long pageId = read(pageMem, grpId, metaPageId,
+                addr -> ((BPlusMetaIO)PageIO.getPageIO(addr)).getFirstPageId(addr, lvl0));
+
+            while (pageId != 0L) {
+                pageId = read(pageMem, grpId, pageId, addr -> {
+                    BPlusIO<?> io = PageIO.getPageIO(addr);
+
+                    assertFalse(io.isLeaf());
+                    assertTrue(io instanceof InlineIO);
+
+                    int ver = PageIO.getVersion(addr);
+
+                    assertEquals(ver == 1 ? INLINE_SIZE : AbstractInlineInnerIO.truncatedInlineSize(INLINE_SIZE),
+                        ((InlineIO)io).inlineSize());
+
+                    vers[ver]++;
+
+                    return io.getForward(addr);
+                });
+            }
+        }
+
+        return vers;
+    }
+
+    /**
+     * @param pageMem Page memory.
+     * @param grpId Group ID.
+     * @param pageId Page ID.
+     * @param clo Closure reading the page.
+     * @return Result of the closure.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static long read(PageMemory pageMem, int grpId, long pageId, PageReader clo)
+        throws IgniteCheckedException {
+        long page = pageMem.acquirePage(grpId, pageId);
+
+        try {
+            long addr = pageMem.readLock(grpId, pageId, page);
+
+            try {
+                return clo.read(addr);
+            }
+            finally {
+                pageMem.readUnlock(grpId, pageId, page);
+            }
+        }
+        finally {
+            pageMem.releasePage(grpId, pageId, page);
+        }
+    }
+
+    /**
+     * @return Tree of the index.
+     */
+    private InlineIndexTree tree() {
+        return tree(CACHE, "T", "T_S_IDX");
+    }
+
+    /**
+     * @param cache Cache name.
+     * @param tbl Table name.
+     * @param idxName Index name.
+     * @return Tree of the index.
+     */
+    private InlineIndexTree tree(String cache, String tbl, String idxName) {
+        InlineIndexImpl idx = (InlineIndexImpl)ignite.context().indexProcessor()
+            .index(new IndexName(cache, "PUBLIC", tbl, idxName));
+
+        assertNotNull(idx);
+
+        return idx.segment(0);
+    }
+
+    /**
+     * @param from First ID, inclusive.
+     * @param to Last ID, exclusive.
+     * @return Shuffled IDs.
+     */
+    private static List<Integer> shuffled(int from, int to) {
+        List<Integer> ids = new ArrayList<>(to - from);
+
+        for (int i = from; i < to; i++)
+            ids.add(i);
+
+        Collections.shuffle(ids);
+
+        return ids;
+    }
+
+    /**
+     * @param sql Query.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private List<List<?>> sql(String sql, Object... args) {
+        return ignite.context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+
+    /** */
+    @FunctionalInterface
+    private interface PageReader {
+        /**
+         * @param pageAddr Page address.
+         * @return Result.
+         * @throws IgniteCheckedException If failed.
+         */
+        long read(long pageAddr) throws IgniteCheckedException;
+    }
+}
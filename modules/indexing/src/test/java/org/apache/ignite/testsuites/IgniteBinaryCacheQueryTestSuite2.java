@@ -66,6 +66,8 @@ import org.apache.ignite.internal.processors.query.IgniteSqlCreateTableTemplateT
 import org.apache.ignite.internal.processors.query.LazyOnDmlTest;
 import org.apache.ignite.internal.processors.query.LocalQueryLazyTest;
 import org.apache.ignite.internal.processors.query.LongRunningQueryTest;
+import org.apache.ignite.internal.processors.query.MapQueryMorselExecutionTest;
+import org.apache.ignite.internal.processors.query.ReduceMemoryQuotaTest;
 import org.apache.ignite.internal.processors.query.ReducerRowsBufferTest;
 import org.apache.ignite.internal.processors.query.SqlIndexConsistencyAfterInterruptAtomicCacheOperationTest;
 import org.apache.ignite.internal.processors.query.SqlIndexConsistencyAfterInterruptTxCacheOperationTest;
@@ -95,6 +97,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     ReducerRowsBufferTest.class,
+    ReduceMemoryQuotaTest.class,
+    MapQueryMorselExecutionTest.class,
 
     LazyOnDmlTest.class,
 
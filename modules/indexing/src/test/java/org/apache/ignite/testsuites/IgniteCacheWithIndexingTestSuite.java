@@ -56,6 +56,7 @@ import org.apache.ignite.internal.processors.cache.ttl.CacheTtlTransactionalPart
 import org.apache.ignite.internal.processors.client.IgniteDataStreamerTest;
 import org.apache.ignite.internal.processors.query.h2.database.inlinecolumn.ComputeInlineSizeTest;
 import org.apache.ignite.internal.processors.query.h2.database.inlinecolumn.InlineIndexColumnTest;
+import org.apache.ignite.internal.processors.query.h2.database.inlinecolumn.InlineInnerTruncationTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -66,6 +67,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
     InlineIndexColumnTest.class,
     ComputeInlineSizeTest.class,
+    InlineInnerTruncationTest.class,
 
     GridIndexingWithNoopSwapSelfTest.class,
     GridCacheOffHeapSelfTest.class,
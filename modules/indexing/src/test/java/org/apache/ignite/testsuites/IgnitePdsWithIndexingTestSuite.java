@@ -28,6 +28,7 @@ import org.apache.ignite.internal.processors.cache.index.ResumeCreateIndexTest;
 import org.apache.ignite.internal.processors.cache.index.ResumeRebuildIndexTest;
 import org.apache.ignite.internal.processors.cache.index.StopRebuildIndexTest;
 import org.apache.ignite.internal.processors.cache.persistence.IgnitePdsIndexingDefragmentationTest;
+import org.apache.ignite.internal.processors.cache.persistence.IgnitePdsIndexingOnlineDefragmentationTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.IgniteTcBotInitNewPageTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.IndexingMultithreadedLoadContinuousRestartTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.LongDestroyDurableBackgroundTaskTest;
@@ -70,6 +71,7 @@ import org.junit.runners.Suite;
     MultipleParallelCacheDeleteDeadlockTest.class,
     CacheGroupReencryptionTest.class,
     IgnitePdsIndexingDefragmentationTest.class,
+    IgnitePdsIndexingOnlineDefragmentationTest.class,
     StopRebuildIndexTest.class,
     ForceRebuildIndexTest.class,
     IgniteClusterSnapshotRestoreWithIndexingTest.class,